@@ -25,6 +25,8 @@ public class ForeignKeySpec
 	private Boolean quotedKeyName = null;
 	private Boolean quotedRefTableName = null;
 	private Boolean quotedRefColumnName = null;
+	private boolean deferredValidation = false;
+	private Boolean autoIndex = null;
 	
 	/**
 	 * Creates new foreignkey-specification with {@code constraintName} and {@code referencedTableName} and referenced column {@link DatabaseCommonElements#ID}
@@ -189,4 +191,40 @@ public class ForeignKeySpec
 		this.quotedKeyName = quotedName;
 		return this;
 	}
+	
+	public boolean getDeferredValidation()
+	{
+		return deferredValidation;
+	}
+	
+	/**
+	 * If deferred validation is enabled and supported by driver, the foreign key is created without validation of existing rows.
+	 * Existing rows are validated after schema check in a separate step with lower lock level.
+	 * 
+	 * @param deferredValidation deferred validation property
+	 * @return foreign key specification
+	 */
+	public ForeignKeySpec setDeferredValidation(boolean deferredValidation)
+	{
+		this.deferredValidation = deferredValidation;
+		return this;
+	}
+	
+	public Boolean getAutoIndex()
+	{
+		return autoIndex;
+	}
+	
+	/**
+	 * If auto index is enabled, the schema processor maintains an index {@code IX_<constraintname>} on foreign key column, 
+	 * if the column is not covered by primary key or another index. If auto index is null, {@link SchemaSpec#getForeignKeyAutoIndex()} is used.
+	 * 
+	 * @param autoIndex auto index property
+	 * @return foreign key specification
+	 */
+	public ForeignKeySpec setAutoIndex(Boolean autoIndex)
+	{
+		this.autoIndex = autoIndex;
+		return this;
+	}
 }
@@ -57,6 +57,15 @@ public interface IColumnType
 	 */
 	public default Applicability getApplicability(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, String dbProduct, IDatabaseSchemaDriver schemaDriver) throws SQLException {return Applicability.STANDARD;}
 	
+	/**
+	 * declares, that {@link IColumnType#getApplicability(Connection, SchemaSpec, TableSpec, ColumnSpec, String, IDatabaseSchemaDriver)} depends only on 
+	 * column type, database product, size, nullable and kind of default value, but not on schema or table specification.
+	 * Schema drivers may cache applicability of cacheable column types.
+	 * 
+	 * @return true, if applicability is cacheable, otherwise false
+	 */
+	public default boolean isApplicabilityCacheable() {return false;}
+	
 	/**
 	 * return the expression for column type in create or alter column command
 	 * 
@@ -10,11 +10,18 @@
  *******************************************************************************/
 package org.sodeac.dbschema.api;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +32,11 @@ public interface IDatabaseSchemaDriver
 	public static final int HANDLE_DEFAULT = 10000;
 	
 	public static final String REQUIRED_DEFAULT_COLUMN = "SodeacDfltCol";
+	
+	/**
+	 * default size of transfer buffer to stream blob content (1 MB)
+	 */
+	public static final int DEFAULT_BLOB_CHUNK_SIZE = 1024 * 1024;
 	public static enum Function {CURRENT_TIMESTAMP,CURRENT_DATE,CURRENT_TIME};
 
 	/**
@@ -55,6 +67,18 @@ public interface IDatabaseSchemaDriver
 	 */
 	public void  setColumnDriverList(List<IColumnType> columnDriverList);
 	
+	/**
+	 * prepare a complete check of {@code schemaSpec}. Driver can store working parameter (e.g. a snapshot of dbms catalog)
+	 * in {@code schemaProperties}. The processor provides these parameter in all table, column and index properties of this check.
+	 *
+	 * @param connection underlying connection to check schema
+	 * @param schemaSpec hole schema specification
+	 * @param schemaProperties properties to store working parameter for complete schema check
+	 *
+	 * @throws SQLException
+	 */
+	public default void prepareSchemaCheck(Connection connection, SchemaSpec schemaSpec, Map<String,Object> schemaProperties) throws SQLException {}
+	
 	/**
 	 * create a new schema
 	 * 
@@ -182,6 +206,24 @@ public interface IDatabaseSchemaDriver
 	 */
 	public void createColumn(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String,Object> columnProperties) throws SQLException;
 	
+	/**
+	 * create multiple columns of one table. Driver can combine all columns in one ddl statement to alter table only once.
+	 * 
+	 * @param connection connection underlying connection to create columns
+	 * @param schemaSpec hole schema specification
+	 * @param tableSpec table specification of columns table
+	 * @param columnSpecList column specifications to create
+	 * @param columnPropertiesList properties to store working parameter, in same order as {@code columnSpecList}
+	 * @throws SQLException
+	 */
+	public default void createColumns(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, List<ColumnSpec> columnSpecList, List<Map<String,Object>> columnPropertiesList) throws SQLException
+	{
+		for(int i = 0; i < columnSpecList.size(); i++)
+		{
+			createColumn(connection, schemaSpec, tableSpec, columnSpecList.get(i), columnPropertiesList.get(i));
+		}
+	}
+	
 	/**
 	 * drop column
 	 * 
@@ -223,6 +265,26 @@ public interface IDatabaseSchemaDriver
 	 */
 	public void setValidColumnProperties(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String,Object> columnProperties) throws SQLException;
 	
+	/**
+	 * set valid column properties (default-value, type, nullable) of multiple columns of one table. 
+	 * Driver can combine all changes in one ddl statement to alter (and rewrite) table only once.
+	 * 
+	 * @param connection connection underlying connection to setup columns
+	 * @param schemaSpec hole schema specification
+	 * @param tableSpec table specification of columns table
+	 * @param columnSpecList column specifications for setup
+	 * @param columnPropertiesList properties to store working parameter, in same order as {@code columnSpecList}
+	 * 
+	 * @throws SQLException
+	 */
+	public default void setValidColumnProperties(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, List<ColumnSpec> columnSpecList, List<Map<String,Object>> columnPropertiesList) throws SQLException
+	{
+		for(int i = 0; i < columnSpecList.size(); i++)
+		{
+			setValidColumnProperties(connection, schemaSpec, tableSpec, columnSpecList.get(i), columnPropertiesList.get(i));
+		}
+	}
+	
 	/**
 	 * 
 	 * check valid created foreign key
@@ -251,6 +313,20 @@ public interface IDatabaseSchemaDriver
 	 */
 	public void setValidForeignKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String,Object> columnProperties) throws SQLException;
 	
+	/**
+	 * validate existing rows for foreign key of {@code columnSpec}, created with {@link ForeignKeySpec#getDeferredValidation()}. 
+	 * Drivers without support of deferred validation create validated foreign keys and do nothing here.
+	 * 
+	 * @param connection underlying connection to validate foreign key
+	 * @param schemaSpec hole schema specification
+	 * @param tableSpec table specification of columns table
+	 * @param columnSpec column specification to validate foreign key
+	 * @param columnProperties  properties to store working parameter
+	 * 
+	 * @throws SQLException
+	 */
+	public void validateForeignKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String,Object> columnProperties) throws SQLException;
+	
 	/**
 	 * drop foreign key
 	 * 
@@ -310,6 +386,79 @@ public interface IDatabaseSchemaDriver
 	 */
 	public void dropDummyColumns(Connection connection, SchemaSpec schemaSpec) throws SQLException;
 	
+	/**
+	 * clean schema from columns created with table-objects by dbms can not create tables without columns. 
+	 * Implementations can use working parameter of schema check created by {@link IDatabaseSchemaDriver#prepareSchemaCheck(Connection, SchemaSpec, Map)}.
+	 * 
+	 * @param connection underlying connection to clean from dummy columns
+	 * @param schemaSpec hole schema specification
+	 * @param schemaProperties working parameter for complete schema check
+	 * @throws SQLException
+	 */
+	public default void dropDummyColumns(Connection connection, SchemaSpec schemaSpec, Map<String,Object> schemaProperties) throws SQLException
+	{
+		dropDummyColumns(connection, schemaSpec);
+	}
+	
+	/**
+	 * calculate a cheap marker of dbms catalog state for all dbms schemas used by {@code schemaSpec}. 
+	 * The marker must change with every ddl command in these schemas.
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * 
+	 * @return catalog change marker or null, if driver does not support catalog change markers
+	 * 
+	 * @throws SQLException
+	 */
+	public default String getCatalogChangeMarker(Connection connection, SchemaSpec schemaSpec) throws SQLException
+	{
+		return null;
+	}
+	
+	/**
+	 * getter for maximum length of names of dbms objects like tables, indices and constraints
+	 * 
+	 * @param connection underlying connection
+	 * 
+	 * @return maximum length of object names or 0, if length is not limited or unknown
+	 * 
+	 * @throws SQLException
+	 */
+	public default int getMaxObjectNameLength(Connection connection) throws SQLException
+	{
+		return connection.getMetaData().getMaxTableNameLength();
+	}
+	
+	/**
+	 * acquire exclusive dbms lock for checks of {@code schemaSpec} domain. The method blocks until the lock is granted. 
+	 * The lock coordinates concurrent schema checks of multiple nodes. It must be held by session, 
+	 * because schema checks commit between phases.
+	 * 
+	 * @param connection underlying connection to hold the lock
+	 * @param schemaSpec hole schema specification
+	 * @param lockProperties properties to store working parameter for {@link IDatabaseSchemaDriver#releaseSchemaLock(Connection, SchemaSpec, Map)}
+	 * 
+	 * @return true, if lock is acquired, false, if driver does not support dbms locks
+	 * 
+	 * @throws SQLException
+	 */
+	public default boolean acquireSchemaLock(Connection connection, SchemaSpec schemaSpec, Map<String,Object> lockProperties) throws SQLException
+	{
+		return false;
+	}
+	
+	/**
+	 * release lock acquired by {@link IDatabaseSchemaDriver#acquireSchemaLock(Connection, SchemaSpec, Map)}
+	 * 
+	 * @param connection underlying connection holds the lock
+	 * @param schemaSpec hole schema specification
+	 * @param lockProperties working parameter of acquire
+	 * 
+	 * @throws SQLException
+	 */
+	public default void releaseSchemaLock(Connection connection, SchemaSpec schemaSpec, Map<String,Object> lockProperties) throws SQLException {}
+	
 	/**
 	 * convert function name to  function syntax
 	 * 
@@ -436,4 +585,178 @@ public interface IDatabaseSchemaDriver
 	 * @param blob blob to clean
 	 */
 	public void cleanBlob(Connection connection, Blob blob) throws SQLException;
+	
+	/**
+	 * 
+	 * clean content of multiple blobs, if dbms does no clean content automatically after removing blob row or similar actions
+	 * 
+	 * @param connection underlying connection
+	 * @param blobs blobs to clean
+	 */
+	public default void cleanBlobs(Connection connection, Collection<Blob> blobs) throws SQLException
+	{
+		if(blobs == null)
+		{
+			return;
+		}
+		for(Blob blob : blobs)
+		{
+			cleanBlob(connection, blob);
+		}
+	}
+	
+	/**
+	 * 
+	 * clean content of blobs, which are not referenced by any table of database, if dbms does no clean content automatically.
+	 * Blobs referenced by tables of other schemas or domains are kept, so read access to all tables is required.
+	 * 
+	 * @param connection underlying connection
+	 * @return count of cleaned blobs
+	 */
+	public default long cleanOrphanBlobs(Connection connection) throws SQLException
+	{
+		return 0L;
+	}
+	
+	/**
+	 * stream content of input stream into blob
+	 * 
+	 * @param connection underlying connection
+	 * @param blob blob to write
+	 * @param pos position in blob to start writing (start with 1)
+	 * @param inputStream source of content
+	 * @param chunkSize size of transfer buffer, values lower than 1 select {@link IDatabaseSchemaDriver#DEFAULT_BLOB_CHUNK_SIZE}
+	 * 
+	 * @return count of written bytes
+	 * @throws SQLException
+	 */
+	public default long writeBlob(Connection connection, Blob blob, long pos, InputStream inputStream, int chunkSize) throws SQLException
+	{
+		OutputStream outputStream = blob.setBinaryStream(pos);
+		byte[] buffer = new byte[chunkSize < 1 ? DEFAULT_BLOB_CHUNK_SIZE : chunkSize];
+		try
+		{
+			// fill buffer completely before writing, so target receives one write call per chunk
+			
+			long count = 0L;
+			int filled;
+			do
+			{
+				filled = 0;
+				int len;
+				while((filled < buffer.length) && ((len = inputStream.read(buffer, filled, buffer.length - filled)) > -1))
+				{
+					filled += len;
+				}
+				if(filled > 0)
+				{
+					outputStream.write(buffer, 0, filled);
+					count += filled;
+				}
+			}
+			while(filled == buffer.length);
+			outputStream.flush();
+			return count;
+		}
+		catch (IOException e) 
+		{
+			throw new SQLException(e.getMessage(), e);
+		}
+		finally
+		{
+			try
+			{
+				outputStream.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * stream content of channel into blob
+	 * 
+	 * @param connection underlying connection
+	 * @param blob blob to write
+	 * @param pos position in blob to start writing (start with 1)
+	 * @param channel source of content
+	 * @param chunkSize size of transfer buffer, values lower than 1 select {@link IDatabaseSchemaDriver#DEFAULT_BLOB_CHUNK_SIZE}
+	 * 
+	 * @return count of written bytes
+	 * @throws SQLException
+	 */
+	public default long writeBlob(Connection connection, Blob blob, long pos, ReadableByteChannel channel, int chunkSize) throws SQLException
+	{
+		return writeBlob(connection, blob, pos, Channels.newInputStream(channel), chunkSize);
+	}
+	
+	/**
+	 * stream content of blob into output stream
+	 * 
+	 * @param connection underlying connection
+	 * @param blob blob to read
+	 * @param pos position in blob to start reading (start with 1)
+	 * @param outputStream target of content
+	 * @param chunkSize size of transfer buffer, values lower than 1 select {@link IDatabaseSchemaDriver#DEFAULT_BLOB_CHUNK_SIZE}
+	 * 
+	 * @return count of read bytes
+	 * @throws SQLException
+	 */
+	public default long readBlob(Connection connection, Blob blob, long pos, OutputStream outputStream, int chunkSize) throws SQLException
+	{
+		InputStream inputStream = pos == 1L ? blob.getBinaryStream() : blob.getBinaryStream(pos, blob.length() - pos + 1L);
+		byte[] buffer = new byte[chunkSize < 1 ? DEFAULT_BLOB_CHUNK_SIZE : chunkSize];
+		try
+		{
+			// fill buffer completely before writing, so target receives one write call per chunk
+			
+			long count = 0L;
+			int filled;
+			do
+			{
+				filled = 0;
+				int len;
+				while((filled < buffer.length) && ((len = inputStream.read(buffer, filled, buffer.length - filled)) > -1))
+				{
+					filled += len;
+				}
+				if(filled > 0)
+				{
+					outputStream.write(buffer, 0, filled);
+					count += filled;
+				}
+			}
+			while(filled == buffer.length);
+			outputStream.flush();
+			return count;
+		}
+		catch (IOException e) 
+		{
+			throw new SQLException(e.getMessage(), e);
+		}
+		finally
+		{
+			try
+			{
+				inputStream.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * stream content of blob into channel
+	 * 
+	 * @param connection underlying connection
+	 * @param blob blob to read
+	 * @param pos position in blob to start reading (start with 1)
+	 * @param channel target of content
+	 * @param chunkSize size of transfer buffer, values lower than 1 select {@link IDatabaseSchemaDriver#DEFAULT_BLOB_CHUNK_SIZE}
+	 * 
+	 * @return count of read bytes
+	 * @throws SQLException
+	 */
+	public default long readBlob(Connection connection, Blob blob, long pos, WritableByteChannel channel, int chunkSize) throws SQLException
+	{
+		return readBlob(connection, blob, pos, Channels.newOutputStream(channel), chunkSize);
+	}
 }
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.api;
+
+/**
+ * MetricsListeners are informed about metrics of completed schema checks. Listeners are registered as OSGi service.
+ * 
+ * @author Sebastian Palarus
+ *
+ */
+public interface IDatabaseSchemaMetricsListener
+{
+	/**
+	 * Listener-Methode to publish metrics of completed schema check
+	 * 
+	 * @param metrics metrics of schema check
+	 */
+	public void onSchemaCheckMetrics(SchemaCheckMetrics metrics);
+}
@@ -12,6 +12,11 @@ package org.sodeac.dbschema.api;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import javax.sql.DataSource;
 
 /**
  * Database Schema Processor to create or update a database schema by specification objects
@@ -42,4 +47,63 @@ public interface IDatabaseSchemaProcessor
 	 * @throws SQLException
 	 */
 	public boolean checkSchemaSpec(SchemaSpec schemaSpec, Connection connection) throws SQLException;
+	
+	/**
+	 * create or update a database schema by specification objects. Independent tables are checked parallel 
+	 * with own connections of {@code dataSource}. Primary keys and indices are checked after all tables and columns exist,
+	 * foreign keys are checked after all primary keys exist. Changes of worker connections are committed after each phase, 
+	 * if auto commit is disabled.
+	 * 
+	 * @param schemaSpec schema specification
+	 * @param dataSource datasource to get connections
+	 * @param parallelism count of parallel connections
+	 * @return false, if process is interrupted, otherwise true
+	 * 
+	 * @throws SQLException
+	 */
+	public boolean checkSchemaSpec(SchemaSpec schemaSpec, DataSource dataSource, int parallelism) throws SQLException;
+	
+	/**
+	 * create or update a database schema by specification objects asynchronously with executor of processor. 
+	 * Works like {@link IDatabaseSchemaProcessor#checkSchemaSpec(SchemaSpec, DataSource, int)}.
+	 * Cancelling {@link CompletionStage#toCompletableFuture()} stops the check like a {@link TerminateException}. 
+	 * @param schemaSpec schema specification
+	 * @param dataSource datasource to get connections
+	 * @param parallelism count of parallel connections
+	 * @return completion stage of schema check result
+	 */
+	public CompletionStage<SchemaCheckResult> checkSchemaSpecAsync(SchemaSpec schemaSpec, DataSource dataSource, int parallelism);
+	
+	/**
+	 * create or update a database schema by specification objects asynchronously with {@code executor}. 
+	 * Works like {@link IDatabaseSchemaProcessor#checkSchemaSpec(SchemaSpec, DataSource, int)}.
+	 * Cancelling {@link CompletionStage#toCompletableFuture()} stops the check like a {@link TerminateException}. 
+	 * @param schemaSpec schema specification
+	 * @param dataSource datasource to get connections
+	 * @param parallelism count of parallel connections
+	 * @param executor executor to run schema check
+	 * @return completion stage of schema check result
+	 */
+	public CompletionStage<SchemaCheckResult> checkSchemaSpecAsync(SchemaSpec schemaSpec, DataSource dataSource, int parallelism, Executor executor);
+	
+	/**
+	 * compare database schema with specification objects without executing ddl operations (dry-run). 
+	 * The comparison uses the same logic as {@link IDatabaseSchemaProcessor#checkSchemaSpec(SchemaSpec, Connection)}, 
+	 * update listeners are not notified.
+	 * 
+	 * @param schemaSpec schema specification
+	 * @param connection used connection to read dbms catalog
+	 * @return ordered list of planned ddl operations
+	 * 
+	 * @throws SQLException
+	 */
+	public List<SchemaChange> planSchemaSpec(SchemaSpec schemaSpec, Connection connection) throws SQLException;
+	
+	/**
+	 * getter for metrics of last schema check of {@code domain}
+	 * 
+	 * @param domain name of schema domain
+	 * @return metrics of last schema check or null, if schema of domain was not checked
+	 */
+	public SchemaCheckMetrics getSchemaCheckMetrics(String domain);
 }
@@ -177,6 +177,9 @@ public class IndexSpec
 	private TableSpec tableSpec = null;
 	private Boolean quotedName = null;
 	private String tableSpace = null;
+	private boolean online = false;
+	private int parallelDegree = 0;
+	private boolean coverable = false;
 	
 	/**
 	 * Setter for include context property
@@ -257,6 +260,76 @@ public class IndexSpec
 		return this;
 	}
 
+	/**
+	 * Getter for online property. If index is created online, dbms allows write access to table while index is build, if supported by driver.
+	 * 
+	 * @return true, if index should be created online
+	 */
+	public boolean getOnline()
+	{
+		return online;
+	}
+	
+	/**
+	 * Setter for online property. If index is created online, dbms allows write access to table while index is build, if supported by driver.
+	 * Postgresql drivers commit pending work of connection before creating index concurrently.
+	 * 
+	 * @param online online property
+	 * 
+	 * @return index specification
+	 */
+	public IndexSpec setOnline(boolean online)
+	{
+		this.online = online;
+		return this;
+	}
+	
+	/**
+	 * Getter for parallel degree. If greater than 0 and supported by dbms, the index is build by given count of parallel processes.
+	 * 
+	 * @return parallel degree of index build
+	 */
+	public int getParallelDegree()
+	{
+		return parallelDegree;
+	}
+	
+	/**
+	 * Setter for parallel degree. If greater than 0 and supported by dbms, the index is build by given count of parallel processes.
+	 * 
+	 * @param parallelDegree parallel degree of index build
+	 * 
+	 * @return index specification
+	 */
+	public IndexSpec setParallelDegree(int parallelDegree)
+	{
+		this.parallelDegree = parallelDegree;
+		return this;
+	}
+	
+	/**
+	 * Getter for coverable property. A coverable index is not created, if another existing index starts with all columns of this index in same order.
+	 * 
+	 * @return true, if index can be covered by another index
+	 */
+	public boolean getCoverable()
+	{
+		return coverable;
+	}
+	
+	/**
+	 * Setter for coverable property. A coverable index is not created, if another existing index starts with all columns of this index in same order.
+	 * 
+	 * @param coverable coverable property
+	 * 
+	 * @return index specification
+	 */
+	public IndexSpec setCoverable(boolean coverable)
+	{
+		this.coverable = coverable;
+		return this;
+	}
+	
 	/**
 	 * Getter for columnlist
 	 * 
@@ -78,7 +78,12 @@ public enum ObjectType
 	/**
 	 * handle custom schema-transformation between createing tables/columns and column-properties/keys
 	 */
-	SCHEMA_CONVERT_SCHEMA(16)
+	SCHEMA_CONVERT_SCHEMA(16),
+	
+	/**
+	 * handle deferred validation of foreign key
+	 */
+	COLUMN_FOREIGN_KEY_VALIDATION(17)
 	
 	;
 	
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.api;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Planned ddl operation returned by {@link IDatabaseSchemaProcessor#planSchemaSpec(SchemaSpec, java.sql.Connection)}
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class SchemaChange implements Serializable
+{
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 4460853582406378615L;
+	
+	/**
+	 * Type of planned ddl operation
+	 *
+	 */
+	public static enum Operation {CREATE,UPDATE,DROP}
+	
+	private int sequence = 0;
+	private Operation operation = null;
+	private ObjectType objectType = null;
+	private String dbmsSchemaName = null;
+	private String tableName = null;
+	private String objectName = null;
+	private ArrayList<String> details = new ArrayList<String>();
+	
+	/**
+	 * Getter for position of operation in plan
+	 *
+	 * @return position of operation in plan
+	 */
+	public int getSequence()
+	{
+		return sequence;
+	}
+	
+	/**
+	 * Setter for position of operation in plan
+	 *
+	 * @param sequence position of operation in plan
+	 * @return schema change
+	 */
+	public SchemaChange setSequence(int sequence)
+	{
+		this.sequence = sequence;
+		return this;
+	}
+	
+	/**
+	 * Getter for type of operation
+	 *
+	 * @return type of operation
+	 */
+	public Operation getOperation()
+	{
+		return operation;
+	}
+	
+	/**
+	 * Setter for type of operation
+	 *
+	 * @param operation type of operation
+	 * @return schema change
+	 */
+	public SchemaChange setOperation(Operation operation)
+	{
+		this.operation = operation;
+		return this;
+	}
+	
+	/**
+	 * Getter for type of affected object
+	 *
+	 * @return type of affected object
+	 */
+	public ObjectType getObjectType()
+	{
+		return objectType;
+	}
+	
+	/**
+	 * Setter for type of affected object
+	 *
+	 * @param objectType type of affected object
+	 * @return schema change
+	 */
+	public SchemaChange setObjectType(ObjectType objectType)
+	{
+		this.objectType = objectType;
+		return this;
+	}
+	
+	/**
+	 * Getter for dbms schema name of affected object
+	 *
+	 * @return dbms schema name
+	 */
+	public String getDbmsSchemaName()
+	{
+		return dbmsSchemaName;
+	}
+	
+	/**
+	 * Setter for dbms schema name of affected object
+	 *
+	 * @param dbmsSchemaName dbms schema name
+	 * @return schema change
+	 */
+	public SchemaChange setDbmsSchemaName(String dbmsSchemaName)
+	{
+		this.dbmsSchemaName = dbmsSchemaName;
+		return this;
+	}
+	
+	/**
+	 * Getter for table name of affected object
+	 *
+	 * @return table name
+	 */
+	public String getTableName()
+	{
+		return tableName;
+	}
+	
+	/**
+	 * Setter for table name of affected object
+	 *
+	 * @param tableName table name
+	 * @return schema change
+	 */
+	public SchemaChange setTableName(String tableName)
+	{
+		this.tableName = tableName;
+		return this;
+	}
+	
+	/**
+	 * Getter for name of affected object (column, key, index)
+	 *
+	 * @return name of affected object
+	 */
+	public String getObjectName()
+	{
+		return objectName;
+	}
+	
+	/**
+	 * Setter for name of affected object (column, key, index)
+	 *
+	 * @param objectName name of affected object
+	 * @return schema change
+	 */
+	public SchemaChange setObjectName(String objectName)
+	{
+		this.objectName = objectName;
+		return this;
+	}
+	
+	/**
+	 * Getter for details of operation, like invalid column properties (INVALID_NULLABLE, INVALID_TYPE ...)
+	 *
+	 * @return details of operation
+	 */
+	public List<String> getDetails()
+	{
+		return details;
+	}
+	
+	/**
+	 * add detail of operation
+	 *
+	 * @param detail detail of operation
+	 * @return schema change
+	 */
+	public SchemaChange addDetail(String detail)
+	{
+		this.details.add(detail);
+		return this;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "SchemaChange " + sequence + " " + operation + " " + objectType + " " + dbmsSchemaName + "." + tableName + (objectName == null ? "" : "." + objectName) + (details.isEmpty() ? "" : " " + details);
+	}
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.api;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Metrics of one schema check run. Collects wall time of processing phases, count and time of driver calls, 
+ * count of queries and rows read from dbms catalog and count of ddl operations.
+ * 
+ * @author Sebastian Palarus
+ *
+ */
+public class SchemaCheckMetrics implements Serializable
+{
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -3120463307452236129L;
+	
+	/**
+	 * key of metrics in working parameter of schema check
+	 */
+	public static final String PROPERTY_KEY = "SCHEMA_CHECK_METRICS";
+	
+	public static final String PHASE_TOTAL = "TOTAL";
+	public static final String PHASE_TABLES = "TABLES";
+	public static final String PHASE_COLUMNS = "COLUMNS";
+	public static final String PHASE_CONVERT_SCHEMA = "CONVERT_SCHEMA";
+	public static final String PHASE_COLUMN_PROPERTIES = "COLUMN_PROPERTIES";
+	public static final String PHASE_KEYS_AND_INDICES = "KEYS_AND_INDICES";
+	public static final String PHASE_FOREIGN_KEYS = "FOREIGN_KEYS";
+	public static final String PHASE_DROP_DUMMY_COLUMNS = "DROP_DUMMY_COLUMNS";
+	public static final String PHASE_CLUSTER_LOCK = "CLUSTER_LOCK";
+	
+	private String domain = null;
+	private long timestamp = System.currentTimeMillis();
+	private Map<String,Long> phaseTimeIndex = new LinkedHashMap<String,Long>();
+	private Map<String,Long> driverCallCountIndex = new TreeMap<String,Long>();
+	private Map<String,Long> driverCallTimeIndex = new TreeMap<String,Long>();
+	private long metaDataQueryCount = 0L;
+	private long metaDataRowCount = 0L;
+	private long ddlCount = 0L;
+	
+	public SchemaCheckMetrics(String domain)
+	{
+		super();
+		this.domain = domain;
+	}
+	
+	/**
+	 * Getter for domain of checked schema
+	 * 
+	 * @return domain of checked schema
+	 */
+	public String getDomain()
+	{
+		return domain;
+	}
+	
+	/**
+	 * Getter for start time of schema check
+	 * 
+	 * @return start time in milliseconds
+	 */
+	public long getTimestamp()
+	{
+		return timestamp;
+	}
+	
+	/**
+	 * add wall time of processing phase
+	 * 
+	 * @param phase name of phase
+	 * @param nanos duration in nanoseconds
+	 */
+	public synchronized void addPhaseTime(String phase, long nanos)
+	{
+		Long current = phaseTimeIndex.get(phase);
+		phaseTimeIndex.put(phase, current == null ? nanos : current.longValue() + nanos);
+	}
+	
+	/**
+	 * add call of driver method
+	 * 
+	 * @param method name of driver method
+	 * @param nanos duration in nanoseconds
+	 * @param ddl true, if driver method executes ddl operations
+	 */
+	public synchronized void addDriverCall(String method, long nanos, boolean ddl)
+	{
+		Long count = driverCallCountIndex.get(method);
+		driverCallCountIndex.put(method, count == null ? 1L : count.longValue() + 1L);
+		Long time = driverCallTimeIndex.get(method);
+		driverCallTimeIndex.put(method, time == null ? nanos : time.longValue() + nanos);
+		if(ddl)
+		{
+			ddlCount++;
+		}
+	}
+	
+	/**
+	 * add queries to dbms catalog
+	 * 
+	 * @param queries count of queries
+	 * @param rows count of rows read from result sets
+	 */
+	public synchronized void addMetaDataQueries(long queries, long rows)
+	{
+		this.metaDataQueryCount += queries;
+		this.metaDataRowCount += rows;
+	}
+	
+	/**
+	 * Getter for wall time of processing phases
+	 * 
+	 * @return durations in nanoseconds by phase name
+	 */
+	public synchronized Map<String,Long> getPhaseTimes()
+	{
+		return new LinkedHashMap<String,Long>(phaseTimeIndex);
+	}
+	
+	/**
+	 * Getter for count of driver calls
+	 * 
+	 * @return count by driver method
+	 */
+	public synchronized Map<String,Long> getDriverCallCounts()
+	{
+		return new HashMap<String,Long>(driverCallCountIndex);
+	}
+	
+	/**
+	 * Getter for accumulated time of driver calls
+	 * 
+	 * @return durations in nanoseconds by driver method
+	 */
+	public synchronized Map<String,Long> getDriverCallTimes()
+	{
+		return new HashMap<String,Long>(driverCallTimeIndex);
+	}
+	
+	/**
+	 * Getter for count of queries to dbms catalog
+	 * 
+	 * @return count of queries
+	 */
+	public synchronized long getMetaDataQueryCount()
+	{
+		return metaDataQueryCount;
+	}
+	
+	/**
+	 * Getter for count of rows read from dbms catalog
+	 * 
+	 * @return count of rows
+	 */
+	public synchronized long getMetaDataRowCount()
+	{
+		return metaDataRowCount;
+	}
+	
+	/**
+	 * Getter for count of driver calls with ddl operations
+	 * 
+	 * @return count of ddl operations
+	 */
+	public synchronized long getDdlCount()
+	{
+		return ddlCount;
+	}
+	
+	/**
+	 * fetch metrics from working parameter
+	 * 
+	 * @param properties working parameter
+	 * @return metrics or null, if working parameter contains no metrics
+	 */
+	public static SchemaCheckMetrics fromProperties(Map<String,Object> properties)
+	{
+		if(properties == null)
+		{
+			return null;
+		}
+		Object metrics = properties.get(PROPERTY_KEY);
+		if(metrics instanceof SchemaCheckMetrics)
+		{
+			return (SchemaCheckMetrics)metrics;
+		}
+		return null;
+	}
+	
+	@Override
+	public synchronized String toString()
+	{
+		return "SchemaCheckMetrics " + domain + " phases(ns)=" + phaseTimeIndex + " driverCalls=" + driverCallCountIndex + " driverCallTimes(ns)=" + driverCallTimeIndex 
+				+ " metaDataQueries=" + metaDataQueryCount + " metaDataRows=" + metaDataRowCount + " ddl=" + ddlCount;
+	}
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of an asynchronous schema check
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class SchemaCheckResult
+{
+	private String domain = null;
+	private boolean usable = false;
+	private boolean terminated = false;
+	private SchemaCheckMetrics metrics = null;
+	private List<SchemaUnusableException> unusableExceptionList = null;
+	
+	public SchemaCheckResult(String domain, boolean usable, boolean terminated, SchemaCheckMetrics metrics, List<SchemaUnusableException> unusableExceptionList)
+	{
+		super();
+		this.domain = domain;
+		this.usable = usable;
+		this.terminated = terminated;
+		this.metrics = metrics;
+		this.unusableExceptionList = unusableExceptionList == null ? Collections.emptyList() : Collections.unmodifiableList(unusableExceptionList);
+	}
+	
+	/**
+	 * Getter for domain
+	 *
+	 * @return name of schema domain
+	 */
+	public String getDomain()
+	{
+		return domain;
+	}
+	
+	/**
+	 * Getter for usable property. Corresponds to return value of {@link IDatabaseSchemaProcessor#checkSchemaSpec(SchemaSpec, javax.sql.DataSource, int)}.
+	 *
+	 * @return true, if schema is usable, otherwise false
+	 */
+	public boolean isUsable()
+	{
+		return usable;
+	}
+	
+	/**
+	 * Getter for terminated property
+	 *
+	 * @return true, if check is stopped by {@link TerminateException} or cancellation, otherwise false
+	 */
+	public boolean isTerminated()
+	{
+		return terminated;
+	}
+	
+	/**
+	 * Getter for metrics
+	 *
+	 * @return metrics of schema check
+	 */
+	public SchemaCheckMetrics getMetrics()
+	{
+		return metrics;
+	}
+	
+	/**
+	 * Getter for unusable exceptions
+	 *
+	 * @return exceptions, which marked the schema as unusable
+	 */
+	public List<SchemaUnusableException> getUnusableExceptionList()
+	{
+		return unusableExceptionList;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "SchemaCheckResult " + domain + " usable: " + usable + " terminated: " + terminated;
+	}
+}
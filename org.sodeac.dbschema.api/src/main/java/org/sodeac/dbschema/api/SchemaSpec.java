@@ -54,6 +54,9 @@ public class SchemaSpec
 	private List<IDatabaseSchemaUpdateListener> updateListenerList = null;
 	private boolean skipChecks = false;
 	private boolean logUpdates = true;
+	private boolean skipUnchanged = false;
+	private boolean foreignKeyAutoIndex = false;
+	private boolean clusterLock = false;
 
 	/**
 	 * getter for list of  table specifications
@@ -263,6 +266,78 @@ public class SchemaSpec
 		this.logUpdates = logUpdates;
 	}
 
+	/**
+	 * getter for flag to skip unchanged schema checks
+	 * 
+	 * @return true, if schema check is skipped for unchanged specification and unchanged dbms catalog, otherwise false
+	 */
+	public boolean getSkipUnchanged()
+	{
+		return skipUnchanged;
+	}
+	
+	/**
+	 * set flag to skip unchanged schema checks. If set true, the schemaprocessor stores a fingerprint of specification 
+	 * and a change marker of dbms catalog after successful check. The next check is skipped, if both values are unchanged. 
+	 * Update listeners are not notified for skipped checks.
+	 * 
+	 * @param skipUnchanged flag to skip unchanged schema checks
+	 * @return schema spec
+	 */
+	public SchemaSpec setSkipUnchanged(boolean skipUnchanged)
+	{
+		this.skipUnchanged = skipUnchanged;
+		return this;
+	}
+	
+	/**
+	 * getter for flag to index foreign key columns
+	 * 
+	 * @return true, if foreign key columns are indexed by default, otherwise false
+	 */
+	public boolean getForeignKeyAutoIndex()
+	{
+		return foreignKeyAutoIndex;
+	}
+	
+	/**
+	 * set flag to index foreign key columns. If set true, the schemaprocessor creates an index for each foreign key column, 
+	 * which is not covered by primary key or another index. The setting can be overwritten by {@link ForeignKeySpec#setAutoIndex(Boolean)}.
+	 * 
+	 * @param foreignKeyAutoIndex flag to index foreign key columns
+	 * @return schema spec
+	 */
+	public SchemaSpec setForeignKeyAutoIndex(boolean foreignKeyAutoIndex)
+	{
+		this.foreignKeyAutoIndex = foreignKeyAutoIndex;
+		return this;
+	}
+	
+	/**
+	 * getter for flag to coordinate schema checks of multiple nodes
+	 * 
+	 * @return true, if schema checks of domain are serialized by dbms lock, otherwise false
+	 */
+	public boolean getClusterLock()
+	{
+		return clusterLock;
+	}
+	
+	/**
+	 * set flag to coordinate schema checks of multiple nodes. If set true, the schemaprocessor holds an exclusive dbms lock 
+	 * for the domain while checking. Concurrent checks of other nodes wait for the lock. Combined with {@link SchemaSpec#setSkipUnchanged(boolean)}
+	 * waiting nodes reuse the fingerprint stored by first node and skip their check. Dbms without lock support of driver use a lock table, 
+	 * in this case pending work of connection is committed, if no datasource is available.
+	 * 
+	 * @param clusterLock flag to coordinate schema checks of multiple nodes
+	 * @return schema spec
+	 */
+	public SchemaSpec setClusterLock(boolean clusterLock)
+	{
+		this.clusterLock = clusterLock;
+		return this;
+	}
+	
 	@Override
 	public String toString()
 	{
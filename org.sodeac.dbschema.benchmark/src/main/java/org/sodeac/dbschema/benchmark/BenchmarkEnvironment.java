@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.Version;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+import org.sodeac.dbschema.driver.h2.H2DatabaseSchemaProvider;
+import org.sodeac.dbschema.impl.DatabaseSchemaProcessorImpl;
+import org.sodeac.dbschema.impl.DefaultColumnTypeImpl;
+
+/**
+ * Wires schema processor, h2 driver and default column types without osgi container and generates schema specifications for benchmarks.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class BenchmarkEnvironment
+{
+	public static final String DOMAIN = "benchmark";
+	public static final String INCREMENTAL_COLUMN = "BM_EXTRA";
+	
+	private static final AtomicLong databaseCounter = new AtomicLong();
+	
+	/**
+	 * create processor with bound h2 driver and default column types
+	 *
+	 * @return schema processor
+	 */
+	public static DatabaseSchemaProcessorImpl createProcessor()
+	{
+		DatabaseSchemaProcessorImpl processor = new DatabaseSchemaProcessorImpl();
+		processor.bindSchemaDriver(new H2DatabaseSchemaProvider(), serviceReference("org.sodeac.dbschema.driver.h2"));
+		processor.bindColumnType(new DefaultColumnTypeImpl(), serviceReference("org.sodeac.dbschema.provider"));
+		return processor;
+	}
+	
+	/**
+	 * open connection to new empty in-memory database
+	 *
+	 * @return connection to new database
+	 * @throws SQLException
+	 */
+	public static Connection openDatabase() throws SQLException
+	{
+		String url = "jdbc:h2:mem:benchmark" + databaseCounter.incrementAndGet() + ";DB_CLOSE_DELAY=0";
+		Connection connection = DriverManager.getConnection(url, "sa", "sa");
+		connection.setAutoCommit(false);
+		return connection;
+	}
+	
+	/**
+	 * close connection and drop in-memory database
+	 *
+	 * @param connection connection to close
+	 */
+	public static void closeDatabase(Connection connection)
+	{
+		if(connection == null)
+		{
+			return;
+		}
+		Statement statement = null;
+		try
+		{
+			statement = connection.createStatement();
+			statement.execute("SHUTDOWN");
+		}
+		catch (Exception e) {}
+		finally
+		{
+			if(statement != null)
+			{
+				try
+				{
+					statement.close();
+				}
+				catch (Exception e) {}
+			}
+			try
+			{
+				connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * drop column added by incremental benchmark
+	 *
+	 * @param connection connection to database
+	 * @param tableName name of table
+	 * @throws SQLException
+	 */
+	public static void dropIncrementalColumn(Connection connection, String tableName) throws SQLException
+	{
+		Statement statement = connection.createStatement();
+		try
+		{
+			statement.executeUpdate("ALTER TABLE " + tableName + " DROP COLUMN IF EXISTS " + INCREMENTAL_COLUMN);
+			connection.commit();
+		}
+		finally
+		{
+			try
+			{
+				statement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * generate schema specification with realistic tables. Each table has primary key, several typed columns,
+	 * a foreign key to previous table and a unique and a non-unique index.
+	 *
+	 * @param tableCount count of tables
+	 * @param incremental add one additional column to first table
+	 * @return schema specification
+	 */
+	public static SchemaSpec createSchemaSpec(int tableCount, boolean incremental)
+	{
+		SchemaSpec schemaSpec = new SchemaSpec(DOMAIN);
+		schemaSpec.setLogUpdates(false);
+		
+		for(int i = 0; i < tableCount; i++)
+		{
+			String tableName = tableName(i);
+			TableSpec tableSpec = schemaSpec.addTable(tableName);
+			
+			tableSpec.addColumn("ID", IColumnType.ColumnType.CHAR.toString(), false, 36).setPrimaryKey();
+			tableSpec.addColumn("CODE", IColumnType.ColumnType.VARCHAR.toString(), false, 64);
+			tableSpec.addColumn("NAME", IColumnType.ColumnType.VARCHAR.toString(), false, 255);
+			tableSpec.addColumn("DESCRIPTION", IColumnType.ColumnType.CLOB.toString(), true);
+			tableSpec.addColumn("AMOUNT", IColumnType.ColumnType.DOUBLE.toString(), true);
+			tableSpec.addColumn("QUANTITY", IColumnType.ColumnType.INTEGER.toString(), false).setDefaultValue("0");
+			tableSpec.addColumn("VERSION_NO", IColumnType.ColumnType.BIGINT.toString(), false).setDefaultValue("1");
+			tableSpec.addColumn("ACTIVE", IColumnType.ColumnType.BOOLEAN.toString(), false).setDefaultValue("true");
+			tableSpec.addColumn("VALID_FROM", IColumnType.ColumnType.DATE.toString(), true);
+			tableSpec.addColumn("CREATED", IColumnType.ColumnType.TIMESTAMP.toString(), true);
+			
+			if(i > 0)
+			{
+				ColumnSpec parentColumn = tableSpec.addColumn("PARENT_ID", IColumnType.ColumnType.CHAR.toString(), true, 36);
+				parentColumn.setForeignKey("FK_BM_" + i + "_PARENT", tableName(i - 1));
+			}
+			
+			tableSpec.addColumnIndex("UX_BM_" + i + "_CODE", "CODE", true);
+			tableSpec.addColumnIndex("IX_BM_" + i + "_NAME", new String[] {"NAME","VALID_FROM"}, false);
+			
+			if(incremental && (i == 0))
+			{
+				tableSpec.addColumn(INCREMENTAL_COLUMN, IColumnType.ColumnType.VARCHAR.toString(), true, 128);
+			}
+		}
+		
+		return schemaSpec;
+	}
+	
+	/**
+	 * name of generated table
+	 *
+	 * @param index index of table
+	 * @return name of table
+	 */
+	public static String tableName(int index)
+	{
+		return "BM_TABLE_" + index;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> ServiceReference<T> serviceReference(String symbolicName)
+	{
+		Bundle bundle = (Bundle)Proxy.newProxyInstance
+		(
+			BenchmarkEnvironment.class.getClassLoader(),
+			new Class<?>[] {Bundle.class},
+			new StubInvocationHandler(symbolicName)
+		);
+		return (ServiceReference<T>)Proxy.newProxyInstance
+		(
+			BenchmarkEnvironment.class.getClassLoader(),
+			new Class<?>[] {ServiceReference.class},
+			new StubInvocationHandler(bundle)
+		);
+	}
+	
+	private static class StubInvocationHandler implements InvocationHandler
+	{
+		private Object value = null;
+		
+		private StubInvocationHandler(Object value)
+		{
+			super();
+			this.value = value;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			switch(method.getName())
+			{
+				case "getSymbolicName" :
+				case "getBundle" :
+					
+					return value;
+				
+				case "getVersion" :
+					
+					return Version.emptyVersion;
+				
+				case "equals" :
+					
+					return proxy == args[0];
+				
+				case "hashCode" :
+					
+					return System.identityHashCode(proxy);
+				
+				case "toString" :
+					
+					return "Stub " + value;
+				
+				default :
+					
+					return null;
+			}
+		}
+	}
+}
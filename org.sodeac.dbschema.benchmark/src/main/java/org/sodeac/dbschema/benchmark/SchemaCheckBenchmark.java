@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.benchmark;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.impl.DatabaseSchemaProcessorImpl;
+
+/**
+ * Benchmarks of schema check against in-memory h2 database with 10, 100 and 1000 generated tables:
+ *
+ * <ul>
+ * <li>cold create: all tables, columns, keys and indices are created in empty database</li>
+ * <li>warm no-op re-check: check of up-to-date schema without ddl</li>
+ * <li>incremental column add: check of up-to-date schema with one additional column</li>
+ * </ul>
+ *
+ * Run with {@code mvn -P benchmark package} and {@code java -jar org.sodeac.dbschema.benchmark/target/benchmarks.jar}.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchemaCheckBenchmark
+{
+	@State(Scope.Thread)
+	public static class ColdState
+	{
+		@Param({"10","100","1000"})
+		public int tableCount;
+		
+		public DatabaseSchemaProcessorImpl processor = null;
+		public SchemaSpec schemaSpec = null;
+		public Connection connection = null;
+		
+		@Setup(Level.Trial)
+		public void setupTrial()
+		{
+			this.processor = BenchmarkEnvironment.createProcessor();
+			this.schemaSpec = BenchmarkEnvironment.createSchemaSpec(tableCount, false);
+		}
+		
+		@Setup(Level.Invocation)
+		public void setupInvocation() throws Exception
+		{
+			this.connection = BenchmarkEnvironment.openDatabase();
+		}
+		
+		@TearDown(Level.Invocation)
+		public void tearDownInvocation()
+		{
+			BenchmarkEnvironment.closeDatabase(this.connection);
+			this.connection = null;
+		}
+	}
+	
+	@State(Scope.Thread)
+	public static class WarmState
+	{
+		@Param({"10","100","1000"})
+		public int tableCount;
+		
+		public DatabaseSchemaProcessorImpl processor = null;
+		public SchemaSpec schemaSpec = null;
+		public SchemaSpec incrementalSchemaSpec = null;
+		public Connection connection = null;
+		
+		@Setup(Level.Trial)
+		public void setupTrial() throws Exception
+		{
+			this.processor = BenchmarkEnvironment.createProcessor();
+			this.schemaSpec = BenchmarkEnvironment.createSchemaSpec(tableCount, false);
+			this.incrementalSchemaSpec = BenchmarkEnvironment.createSchemaSpec(tableCount, true);
+			this.connection = BenchmarkEnvironment.openDatabase();
+			this.processor.checkSchemaSpec(this.schemaSpec, this.connection);
+		}
+		
+		@TearDown(Level.Trial)
+		public void tearDownTrial()
+		{
+			BenchmarkEnvironment.closeDatabase(this.connection);
+			this.connection = null;
+		}
+	}
+	
+	@State(Scope.Thread)
+	public static class IncrementalState extends WarmState
+	{
+		@TearDown(Level.Invocation)
+		public void tearDownInvocation() throws Exception
+		{
+			BenchmarkEnvironment.dropIncrementalColumn(this.connection, BenchmarkEnvironment.tableName(0));
+		}
+	}
+	
+	@Benchmark
+	public void coldCreate(ColdState state) throws Exception
+	{
+		state.processor.checkSchemaSpec(state.schemaSpec, state.connection);
+	}
+	
+	@Benchmark
+	public void warmNoOpRecheck(WarmState state) throws Exception
+	{
+		state.processor.checkSchemaSpec(state.schemaSpec, state.connection);
+	}
+	
+	@Benchmark
+	public void incrementalColumnAdd(IncrementalState state) throws Exception
+	{
+		state.processor.checkSchemaSpec(state.incrementalSchemaSpec, state.connection);
+	}
+}
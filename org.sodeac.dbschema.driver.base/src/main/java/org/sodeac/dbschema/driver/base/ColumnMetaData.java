@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.base;
+
+import java.util.Map;
+
+/**
+ * Snapshot of existing column in dbms catalog
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class ColumnMetaData
+{
+	private String tableCatalog = null;
+	private String tableSchema = null;
+	private String tableName = null;
+	private String columnName = null;
+	private int dataType = 0;
+	private String typeName = null;
+	private int columnSize = 0;
+	private int decimalDigits = 0;
+	private int nullable = 0;
+	private String columnDefault = null;
+	
+	public String getTableCatalog()
+	{
+		return tableCatalog;
+	}
+	public ColumnMetaData setTableCatalog(String tableCatalog)
+	{
+		this.tableCatalog = tableCatalog;
+		return this;
+	}
+	public String getTableSchema()
+	{
+		return tableSchema;
+	}
+	public ColumnMetaData setTableSchema(String tableSchema)
+	{
+		this.tableSchema = tableSchema;
+		return this;
+	}
+	public String getTableName()
+	{
+		return tableName;
+	}
+	public ColumnMetaData setTableName(String tableName)
+	{
+		this.tableName = tableName;
+		return this;
+	}
+	public String getColumnName()
+	{
+		return columnName;
+	}
+	public ColumnMetaData setColumnName(String columnName)
+	{
+		this.columnName = columnName;
+		return this;
+	}
+	public int getDataType()
+	{
+		return dataType;
+	}
+	public ColumnMetaData setDataType(int dataType)
+	{
+		this.dataType = dataType;
+		return this;
+	}
+	public String getTypeName()
+	{
+		return typeName;
+	}
+	public ColumnMetaData setTypeName(String typeName)
+	{
+		this.typeName = typeName;
+		return this;
+	}
+	public int getColumnSize()
+	{
+		return columnSize;
+	}
+	public ColumnMetaData setColumnSize(int columnSize)
+	{
+		this.columnSize = columnSize;
+		return this;
+	}
+	public int getDecimalDigits()
+	{
+		return decimalDigits;
+	}
+	public ColumnMetaData setDecimalDigits(int decimalDigits)
+	{
+		this.decimalDigits = decimalDigits;
+		return this;
+	}
+	public int getNullable()
+	{
+		return nullable;
+	}
+	public ColumnMetaData setNullable(int nullable)
+	{
+		this.nullable = nullable;
+		return this;
+	}
+	public String getColumnDefault()
+	{
+		return columnDefault;
+	}
+	public ColumnMetaData setColumnDefault(String columnDefault)
+	{
+		this.columnDefault = columnDefault;
+		return this;
+	}
+	
+	/**
+	 * write column informations to working parameter of column check
+	 *
+	 * @param columnProperties working parameter of column check
+	 */
+	public void fillColumnProperties(Map<String,Object> columnProperties)
+	{
+		columnProperties.put("COLUMN_TABLE_CAT", tableCatalog);
+		columnProperties.put("COLUMN_TABLE_SCHEM", tableSchema);
+		columnProperties.put("COLUMN_TABLE_NAME", tableName);
+		
+		columnProperties.put("COLUMN_COLUMN_NAME", columnName);
+		columnProperties.put("COLUMN_DATA_TYPE", dataType);
+		columnProperties.put("COLUMN_TYPE_NAME", typeName);
+		columnProperties.put("COLUMN_COLUMN_SIZE", columnSize);
+		columnProperties.put("COLUMN_DECIMAL_DIGITS", decimalDigits);
+		columnProperties.put("COLUMN_NULLABLE", nullable);
+		columnProperties.put("COLUMN_COLUMN_DEF",columnDefault);
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+
+/**
+ * Index of column type implementations by uppercase type name and cache of resolved column types.
+ * An index is valid for one column driver list and is replaced if the list changes.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class ColumnTypeIndex
+{
+	private List<IColumnType> columnDriverList = null;
+	private Map<String,List<IColumnType>> typeIndex = new HashMap<String,List<IColumnType>>();
+	private Map<String,Boolean> cacheableIndex = new HashMap<String,Boolean>();
+	private Map<String,IColumnType> resolutionCache = new ConcurrentHashMap<String,IColumnType>();
+	
+	public ColumnTypeIndex(List<IColumnType> columnDriverList)
+	{
+		super();
+		this.columnDriverList = columnDriverList;
+		if(columnDriverList == null)
+		{
+			return;
+		}
+		for(IColumnType columnType : columnDriverList)
+		{
+			List<String> typeList = columnType.getTypeList();
+			if(typeList == null)
+			{
+				continue;
+			}
+			for(String typeItem : typeList)
+			{
+				if(typeItem == null)
+				{
+					continue;
+				}
+				String key = typeItem.toUpperCase();
+				List<IColumnType> candidateList = typeIndex.get(key);
+				if(candidateList == null)
+				{
+					candidateList = new ArrayList<IColumnType>(1);
+					typeIndex.put(key, candidateList);
+				}
+				if(! candidateList.contains(columnType))
+				{
+					candidateList.add(columnType);
+				}
+			}
+		}
+		for(Map.Entry<String,List<IColumnType>> entry : typeIndex.entrySet())
+		{
+			boolean cacheable = true;
+			for(IColumnType columnType : entry.getValue())
+			{
+				cacheable = cacheable && columnType.isApplicabilityCacheable();
+			}
+			cacheableIndex.put(entry.getKey(), cacheable);
+		}
+	}
+	
+	/**
+	 *
+	 * @return column driver list, the index is build for
+	 */
+	public List<IColumnType> getColumnDriverList()
+	{
+		return columnDriverList;
+	}
+	
+	/**
+	 * lookup column type implementations supports column type, in order of column driver list
+	 *
+	 * @param columnType name of column type
+	 * @return list of column type implementations
+	 */
+	public List<IColumnType> getCandidateList(String columnType)
+	{
+		if(columnType == null)
+		{
+			return Collections.emptyList();
+		}
+		List<IColumnType> candidateList = typeIndex.get(columnType.toUpperCase());
+		if(candidateList == null)
+		{
+			return Collections.emptyList();
+		}
+		return candidateList;
+	}
+	
+	/**
+	 * 
+	 * @param columnType name of column type
+	 * @return true, if applicability of all candidates for {@code columnType} is cacheable, otherwise false
+	 */
+	public boolean isCacheable(String columnType)
+	{
+		if(columnType == null)
+		{
+			return false;
+		}
+		return Boolean.TRUE.equals(cacheableIndex.get(columnType.toUpperCase()));
+	}
+	
+	/**
+	 * lookup cached resolution
+	 *
+	 * @param key resolution key
+	 * @return resolved column type implementation or null
+	 */
+	public IColumnType getResolution(String key)
+	{
+		return resolutionCache.get(key);
+	}
+	
+	/**
+	 * cache resolution
+	 *
+	 * @param key resolution key
+	 * @param columnType resolved column type implementation
+	 */
+	public void putResolution(String key, IColumnType columnType)
+	{
+		if(columnType == null)
+		{
+			return;
+		}
+		resolutionCache.put(key, columnType);
+	}
+	
+	/**
+	 * create resolution key by inputs of {@link IColumnType#getApplicability(java.sql.Connection, org.sodeac.dbschema.api.SchemaSpec, org.sodeac.dbschema.api.TableSpec, ColumnSpec, String, org.sodeac.dbschema.api.IDatabaseSchemaDriver)}.
+	 * The key is valid only, if all candidates are {@link IColumnType#isApplicabilityCacheable()}.
+	 *
+	 * @param columnSpec column specification
+	 * @param dbProduct database product name
+	 * @return resolution key
+	 */
+	public static String resolutionKey(ColumnSpec columnSpec, String dbProduct)
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append(columnSpec.getColumntype() == null ? "" : columnSpec.getColumntype().toUpperCase());
+		builder.append('|');
+		builder.append(dbProduct);
+		builder.append('|');
+		builder.append(columnSpec.getSize());
+		builder.append('|');
+		builder.append(columnSpec.getNullable());
+		builder.append('|');
+		builder.append(columnSpec.getDefaultValue() == null ? "" : columnSpec.getDefaultValueByFunction() ? "F" : "V");
+		return builder.toString();
+	}
+}
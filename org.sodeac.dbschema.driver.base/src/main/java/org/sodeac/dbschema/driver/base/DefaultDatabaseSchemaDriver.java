@@ -18,10 +18,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.osgi.service.component.annotations.Component;
 import org.sodeac.dbschema.api.IndexSpec;
@@ -30,6 +33,7 @@ import org.sodeac.dbschema.api.DatabaseCommonElements;
 import org.sodeac.dbschema.api.IColumnType;
 import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
 import org.sodeac.dbschema.api.PrimaryKeySpec;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
 import org.sodeac.dbschema.api.SchemaSpec;
 import org.sodeac.dbschema.api.TableSpec;
 import org.sodeac.dbschema.api.IColumnType.Applicability;
@@ -38,6 +42,7 @@ import org.sodeac.dbschema.api.IColumnType.Applicability;
 public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 {
 	protected List<IColumnType> columnDriverList = null;
+	private volatile ColumnTypeIndex columnTypeIndex = new ColumnTypeIndex(null);
 
 	@Override
 	public int handle(Connection connection) throws SQLException
@@ -58,6 +63,10 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 	public void  setColumnDriverList(List<IColumnType> columnDriverList)
 	{
 		this.columnDriverList = columnDriverList;
+		if(this.columnTypeIndex.getColumnDriverList() != columnDriverList)
+		{
+			this.columnTypeIndex = new ColumnTypeIndex(columnDriverList);
+		}
 	}
 
 	@Override
@@ -87,6 +96,12 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			quoted = tableSpec.getQuotedName().booleanValue();
 		}
 		
+		SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, properties);
+		if(schemaSnapshot != null)
+		{
+			return getTableMetaData(connection, schemaSpec, schemaSnapshot, tableSpec) != null;
+		}
+		
 		String cat = null;
 		String schem = null;
 		String tbl;
@@ -160,67 +175,18 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			}
 		}
 		
-		try
+		// Try again case-insensitive with all tables of schema
+		
+		for(TableMetaData table : readTableMetaData(connection, schemaSpec, catalog, schema, "%"))
 		{
-			// Try again with wildcard tablename
-			
-			DatabaseMetaData databaseMetaData = connection.getMetaData();
-			resultSet = databaseMetaData.getTables(null, null, "%", new String[]{"TABLE"});
-			while(resultSet.next())
+			if(quoted && table.getTableName().equals(tableSpec.getName()))
 			{
-				/*
-				 * TABLE_CAT 						in H2 the name of DB
-				 * TABLE_SCHEM 						INFORMATION_SCHEMA / PUBLIC
-				 * TABLE_NAME 						
-				 * TABLE_TYPE 						"TABLE", "VIEW", "SYSTEM TABLE", "GLOBAL TEMPORARY", "LOCAL TEMPORARY", "ALIAS", "SYNONYM"
-				 * REMARKS 							explanatory comment on the table 
-				 * TYPE_CAT 						
-				 * TYPE_SCHEM 
-				 * TYPE_NAME 
-				 * SELF_REFERENCING_COL_NAME 		name of the designated "identifier" column of a typed table
-				 * REF_GENERATION 					specifies how values in SELF_REFERENCING_COL_NAME are created. Values are "SYSTEM", "USER", "DERIVED"
-				 */
-				cat 	= resultSet.getString("TABLE_CAT");
-				schem 	= resultSet.getString("TABLE_SCHEM");
-				tbl 	= resultSet.getString("TABLE_NAME");
-				
-				if(schem == null)
-				{
-					schem = cat;
-				}
-				
-				if(cat == null) {cat = "";}
-				if(schem == null) {schem = "";}
-				if(tbl == null) {tbl = "";}
-				
-				if(!(cat.isEmpty() || cat.equalsIgnoreCase("null") || cat.equalsIgnoreCase(catalog) || cat.equalsIgnoreCase(schema)))
-				{
-					continue;
-				}
-				if(! schem.equalsIgnoreCase(schema))
-				{
-					continue;
-				}
-				if(quoted && tbl.equals(tableSpec.getName()))
-				{
-					return true;
-				}
-				
-				if((! quoted) && tbl.equalsIgnoreCase(tableSpec.getName()))
-				{
-					return true;
-				}
+				return true;
 			}
-		}
-		finally 
-		{
-			if(resultSet != null)
+			
+			if((! quoted) && table.getTableName().equalsIgnoreCase(tableSpec.getName()))
 			{
-				try
-				{
-					resultSet.close();
-				}
-				catch (Exception e) {}
+				return true;
 			}
 		}
 		
@@ -283,6 +249,12 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 						;
 			createTableStatement = connection.prepareStatement(sql);
 			createTableStatement.executeUpdate();
+			
+			SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, properties);
+			if(schemaSnapshot != null)
+			{
+				schemaSnapshot.invalidateTable(tableSpec.getName());
+			}
 		}
 		finally
 		{
@@ -360,6 +332,29 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			columnQuoted = columnSpec.getQuotedName().booleanValue();
 		}
 		
+		SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, tableProperties);
+		if(schemaSnapshot != null)
+		{
+			TableMetaData tableMetaData = getTableMetaData(connection, schemaSpec, schemaSnapshot, tableSpec);
+			if(tableMetaData == null)
+			{
+				return false;
+			}
+			loadPrimaryKeyMetaData(connection, schemaSpec, schemaSnapshot, tableMetaData);
+			for(String pkColumn : tableMetaData.getPrimaryKeyColumnList())
+			{
+				if(columnQuoted && pkColumn.equals(columnSpec.getName()))
+				{
+					return true;
+				}
+				if((!columnQuoted) && pkColumn.equalsIgnoreCase(columnSpec.getName()))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+		
 		String cat = null;
 		String schem = null;
 		String tbl = null;
@@ -568,7 +563,9 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		{
 			String createPK = "ALTER TABLE " + tablePart + " ADD CONSTRAINT " + constraintName  + " PRIMARY KEY(" + columnPart + ") INDEX " + indexName + " " + tableSpaceDefinition;
 			createPKStatement = connection.prepareStatement(createPK);
-			createPKStatement.executeUpdate();			
+			createPKStatement.executeUpdate();
+			
+			invalidateTableMetaData(connection, schemaSpec, tableSpec, tableProperties, false, true, false, true);
 		}
 		finally
 		{
@@ -681,7 +678,9 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		{
 			String createPK = "ALTER TABLE " + tablePart + " ADD CONSTRAINT " + constraintName  + " PRIMARY KEY(" + columnPart + ") " + tableSpaceDefinition;
 			createPKStatement = connection.prepareStatement(createPK);
-			createPKStatement.executeUpdate();			
+			createPKStatement.executeUpdate();
+			
+			invalidateTableMetaData(connection, schemaSpec, tableSpec, tableProperties, false, true, false, true);
 		}
 		finally
 		{
@@ -730,6 +729,24 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			columnQuoted = columnSpec.getQuotedName().booleanValue();
 		}
 		
+		SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, properties);
+		if(schemaSnapshot != null)
+		{
+			TableMetaData tableMetaData = getTableMetaData(connection, schemaSpec, schemaSnapshot, tableSpec);
+			if(tableMetaData == null)
+			{
+				return false;
+			}
+			loadColumnMetaData(connection, schemaSpec, schemaSnapshot, tableMetaData);
+			ColumnMetaData columnMetaData = tableMetaData.getColumn(columnSpec.getName(), columnQuoted);
+			if(columnMetaData == null)
+			{
+				return false;
+			}
+			columnMetaData.fillColumnProperties(properties);
+			return true;
+		}
+		
 		String cat = null;
 		String schem = null;
 		String tbl = null;
@@ -829,92 +846,33 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			}
 		}
 		
-		resultSet = null;
-		try
+		// Try again case-insensitive with all columns of schema
+		
+		for(ColumnMetaData column : readColumnMetaData(connection, schemaSpec, catalog, schema, "%"))
 		{
-			DatabaseMetaData databaseMetaData = connection.getMetaData();
-			resultSet = databaseMetaData.getColumns(null,null,"%","%");
-			while(resultSet.next())
+			if(tableQuoted && (!column.getTableName().equals(tableSpec.getName())))
 			{
-				/*
-				 * TABLE_CAT 						in H2 the name of DB
-				 * TABLE_SCHEM 						INFORMATION_SCHEMA / PUBLIC
-				 * TABLE_NAME 						
-				 * COLUMN_NAME 						column name
-				 * DATA_TYPE 						SQL type from java.sql.Types (int)
-				 * TYPE_NAME						SQL type - Name
-				 * COLUMN_SIZE						size (int)
-				 * DECIMAL_DIGITS					digits for float .... (int)
-				 * NULLABLE 						nullable
-
-				 */
-				cat 	= resultSet.getString("TABLE_CAT");
-				schem 	= resultSet.getString("TABLE_SCHEM");
-				tbl 	= resultSet.getString("TABLE_NAME");
-				col 	= resultSet.getString("COLUMN_NAME");
-				
-				if(schem == null)
-				{
-					schem = cat;
-				}
-				
-				if(cat == null) {cat = "";}
-				if(schem == null) {schem = "";}
-				if(tbl == null) {tbl = "";}
-				if(col == null) {col = "";}
-				
-				if(!(cat.isEmpty() || cat.equalsIgnoreCase("null") || cat.equalsIgnoreCase(catalog) || cat.equalsIgnoreCase(schema)))
-				{
-					continue;
-				}
-				if(! schem.equalsIgnoreCase(schema))
-				{
-					continue;
-				}
-				if(tableQuoted && (!tbl.equals(tableSpec.getName())))
-				{
-					continue;
-				}
-				if((!tableQuoted) && (!tbl.equalsIgnoreCase(tableSpec.getName())))
-				{
-					continue;
-				}
-				
-				if(columnQuoted && (!col.equals(columnSpec.getName())))
-				{
-					continue;
-				}
-				if((!columnQuoted) && (!col.equalsIgnoreCase(columnSpec.getName())))
-				{
-					continue;
-				}
-				
-				properties.put("COLUMN_TABLE_CAT", cat);
-				properties.put("COLUMN_TABLE_SCHEM", schem);
-				properties.put("COLUMN_TABLE_NAME", tbl);
-				
-				properties.put("COLUMN_COLUMN_NAME", col);
-				properties.put("COLUMN_DATA_TYPE", resultSet.getInt("DATA_TYPE"));
-				properties.put("COLUMN_TYPE_NAME", resultSet.getString("TYPE_NAME"));
-				properties.put("COLUMN_COLUMN_SIZE", resultSet.getInt("COLUMN_SIZE"));
-				properties.put("COLUMN_DECIMAL_DIGITS", resultSet.getInt("DECIMAL_DIGITS"));
-				properties.put("COLUMN_NULLABLE", resultSet.getInt("NULLABLE"));
-				properties.put("COLUMN_COLUMN_DEF",resultSet.getString("COLUMN_DEF"));
-				
-				return true;
+				continue;
 			}
-		}
-		finally 
-		{
-			if(resultSet != null)
+			if((!tableQuoted) && (!column.getTableName().equalsIgnoreCase(tableSpec.getName())))
 			{
-				try
-				{
-					resultSet.close();
-				}
-				catch (Exception e) {}
+				continue;
+			}
+			
+			if(columnQuoted && (!column.getColumnName().equals(columnSpec.getName())))
+			{
+				continue;
+			}
+			if((!columnQuoted) && (!column.getColumnName().equalsIgnoreCase(columnSpec.getName())))
+			{
+				continue;
 			}
+			
+			column.fillColumnProperties(properties);
+			
+			return true;
 		}
+		
 		return false;
 	}
 	
@@ -989,70 +947,98 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		Map<String, Object> properties
 	) throws SQLException
 	{
-		String schema = connection.getSchema();
-		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		createColumns(connection, schemaSpec, tableSpec, Collections.singletonList(columnSpec), Collections.singletonList(properties));
+	}
+	
+	@Override
+	public void createColumns
+	(
+		Connection connection,
+		SchemaSpec schemaSpec, 
+		TableSpec tableSpec,
+		List<ColumnSpec> columnSpecList, 
+		List<Map<String, Object>> columnPropertiesList
+	) throws SQLException
+	{
+		if(columnSpecList.isEmpty())
 		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, schemaSpec.getDbmsSchemaName(), "SCHEMA");
+			return;
 		}
-		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+		
+		List<String> columnDefinitionList = new ArrayList<String>();
+		for(int i = 0; i < columnSpecList.size(); i++)
 		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getDbmsSchemaName(), "SCHEMA");
+			ColumnSpec columnSpec = columnSpecList.get(i);
+			IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec, columnPropertiesList.get(i));
+			
+			if(columnType == null)
+			{
+				throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
+			}
+			
+			columnDefinitionList.add
+			(
+				columnPart(connection, schemaSpec, columnSpec) + 
+				" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this) + 
+				" " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this)
+			);
 		}
 		
-		boolean tableQuoted = false;
-		if(tableSpec.getQuotedName() != null)
+		try
 		{
-			tableQuoted = tableSpec.getQuotedName().booleanValue();
+			alterTable(connection, tablePart(connection, schemaSpec, tableSpec), columnDefinitionList, new ArrayList<String>());
 		}
-		
-		boolean columnQuoted = false;
-		if(columnSpec.getQuotedName() != null)
+		finally
 		{
-			columnQuoted = columnSpec.getQuotedName().booleanValue();
+			invalidateTableMetaData(connection, schemaSpec, tableSpec, columnPropertiesList.get(0), true, false, false, false);
 		}
-		
-		String tablePart = tableQuoted ? 
-				" " + schema + "." + quotedChar() +  "" + tableSpec.getName() + "" + quotedChar() +  " " :
-				" " + schema + "." + objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getName(), "TABLE") + " " ;
-			
-		String columnPart =  columnQuoted ? 
-				" " + quotedChar() +  "" + columnSpec.getName() + "" + quotedChar() +  " " :
-				" " + objectNameGuidelineFormat(schemaSpec, connection, columnSpec.getName(), "COLUMN") + " " ;
-				
-		PreparedStatement createColumnStatement = null;
+	}
+	
+	/**
+	 * execute alter table statement(s) to add new columns and to change existing columns. 
+	 * Default implementation executes a separate statement for each column definition and each action.
+	 * 
+	 * @param connection underlying connection
+	 * @param tablePart qualified table name
+	 * @param columnDefinitionList definitions of columns to add
+	 * @param columnActionList driver specific actions to change existing columns
+	 * 
+	 * @throws SQLException
+	 */
+	protected void alterTable(Connection connection, String tablePart, List<String> columnDefinitionList, List<String> columnActionList) throws SQLException
+	{
+		for(String columnDefinition : columnDefinitionList)
+		{
+			executeUpdate(connection, "ALTER TABLE  " + tablePart + " ADD " + columnDefinition);
+		}
+		for(String columnAction : columnActionList)
+		{
+			executeUpdate(connection, "ALTER TABLE  " + tablePart + " " + columnAction);
+		}
+	}
+	
+	protected void executeUpdate(Connection connection, String sql) throws SQLException
+	{
+		PreparedStatement statement = null;
 		try
 		{
-			StringBuilder sqlBuilder = new StringBuilder("ALTER TABLE  " + tablePart + " ADD " + columnPart + " ");
-			
-			IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec);
-			
-			if(columnType == null)
-			{
-				throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
-			}
-			
-			sqlBuilder.append(" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-			sqlBuilder.append(" " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-			
-			createColumnStatement = connection.prepareStatement(sqlBuilder.toString());
-			createColumnStatement.executeUpdate();
-			
+			statement = connection.prepareStatement(sql);
+			statement.executeUpdate();
 		}
 		finally
 		{
-			if(createColumnStatement != null)
+			if(statement != null)
 			{
 				try
 				{
-					createColumnStatement.close();
+					statement.close();
 				}
 				catch(Exception e){}
 			}
 		}
-		
 	}
 	
-	public void dropColumn(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, String columnName, boolean quoted)throws SQLException
+	protected String tablePart(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec) throws SQLException
 	{
 		String schema = connection.getSchema();
 		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
@@ -1070,11 +1056,47 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			tableQuoted = tableSpec.getQuotedName().booleanValue();
 		}
 		
-		String tablePart = tableQuoted ? 
+		return tableQuoted ? 
 				" " + schema + "." + quotedChar() +  "" + tableSpec.getName() + "" + quotedChar() +  " " :
 				" " + schema + "." + objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getName(), "TABLE") + " " ;
-			
-		String columnPart =  quoted ? 
+	}
+	
+	protected String columnPart(Connection connection, SchemaSpec schemaSpec, ColumnSpec columnSpec)
+	{
+		boolean columnQuoted = false;
+		if(columnSpec.getQuotedName() != null)
+		{
+			columnQuoted = columnSpec.getQuotedName().booleanValue();
+		}
+		
+		return columnQuoted ? 
+				" " + quotedChar() +  "" + columnSpec.getName() + "" + quotedChar() +  " " :
+				" " + objectNameGuidelineFormat(schemaSpec, connection, columnSpec.getName(), "COLUMN") + " " ;
+	}
+	
+	public void dropColumn(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, String columnName, boolean quoted)throws SQLException
+	{
+		String schema = connection.getSchema();
+		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = objectNameGuidelineFormat(schemaSpec, connection, schemaSpec.getDbmsSchemaName(), "SCHEMA");
+		}
+		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getDbmsSchemaName(), "SCHEMA");
+		}
+		
+		boolean tableQuoted = false;
+		if(tableSpec.getQuotedName() != null)
+		{
+			tableQuoted = tableSpec.getQuotedName().booleanValue();
+		}
+		
+		String tablePart = tableQuoted ? 
+				" " + schema + "." + quotedChar() +  "" + tableSpec.getName() + "" + quotedChar() +  " " :
+				" " + schema + "." + objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getName(), "TABLE") + " " ;
+			
+		String columnPart =  quoted ? 
 				" " + quotedChar() +  "" + columnName + "" + quotedChar() +  " " :
 				" " + objectNameGuidelineFormat(schemaSpec, connection, columnName, "COLUMN") + " " ;
 				
@@ -1211,58 +1233,65 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		ColumnSpec columnSpec, Map<String, Object> columnProperties
 	) throws SQLException
 	{
-		String schema = connection.getSchema();
-		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		setValidColumnProperties(connection, schemaSpec, tableSpec, Collections.singletonList(columnSpec), Collections.singletonList(columnProperties));
+	}
+	
+	@Override
+	public void setValidColumnProperties
+	(
+		Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec,
+		List<ColumnSpec> columnSpecList, List<Map<String, Object>> columnPropertiesList
+	) throws SQLException
+	{
+		if(columnSpecList.isEmpty())
 		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, schemaSpec.getDbmsSchemaName(), "SCHEMA");
+			return;
 		}
-		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+		
+		List<String> columnActionList = new ArrayList<String>();
+		for(int i = 0; i < columnSpecList.size(); i++)
 		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getDbmsSchemaName(), "SCHEMA");
+			addColumnPropertiesActions(connection, schemaSpec, tableSpec, columnSpecList.get(i), columnPropertiesList.get(i), columnActionList);
 		}
 		
-		boolean tableQuoted = false;
-		if(tableSpec.getQuotedName() != null)
+		try
 		{
-			tableQuoted = tableSpec.getQuotedName().booleanValue();
+			if(! columnActionList.isEmpty())
+			{
+				alterTable(connection, tablePart(connection, schemaSpec, tableSpec), new ArrayList<String>(), columnActionList);
+			}
 		}
-		
-		boolean columnQuoted = false;
-		if(columnSpec.getQuotedName() != null)
+		finally
 		{
-			columnQuoted = columnSpec.getQuotedName().booleanValue();
+			invalidateTableMetaData(connection, schemaSpec, tableSpec, columnPropertiesList.get(0), true, false, false, false);
 		}
-		
-		String tablePart = tableQuoted ? 
-				" " + schema + "." + quotedChar() +  "" + tableSpec.getName() + "" + quotedChar() +  " " :
-				" " + schema + "." + objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getName(), "TABLE") + " " ;
-			
-		String columnPart =  columnQuoted ? 
-				" " + quotedChar() +  "" + columnSpec.getName() + "" + quotedChar() +  " " :
-				" " + objectNameGuidelineFormat(schemaSpec, connection, columnSpec.getName(), "COLUMN") + " " ;
+	}
+	
+	/**
+	 * add actions to set valid column properties (default-value, type, nullable) of existing column 
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * @param tableSpec table specification of columns table
+	 * @param columnSpec column specification for setup
+	 * @param columnProperties properties with invalid flags (INVALID_NULLABLE, INVALID_SIZE, INVALID_TYPE, INVALID_DEFAULT)
+	 * @param columnActionList list to add driver specific actions, executed by {@link DefaultDatabaseSchemaDriver#alterTable(Connection, String, List, List)}
+	 * 
+	 * @throws SQLException
+	 */
+	protected void addColumnPropertiesActions
+	(
+		Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec,
+		ColumnSpec columnSpec, Map<String, Object> columnProperties, List<String> columnActionList
+	) throws SQLException
+	{
+		String columnPart = columnPart(connection, schemaSpec, columnSpec);
 		
 		boolean nullable = columnSpec.getNullable();
 		
 		if(columnProperties.get("INVALID_NULLABLE") != null)
 		{
-			PreparedStatement updateNullableStatment = null;
-			try
-			{
-				String nullableStatement = "ALTER TABLE  " + tablePart +  " ALTER COLUMN " + columnPart + " SET " + ( nullable ? "" : "NOT" ) + " NULL";
-				updateNullableStatment = connection.prepareStatement(nullableStatement);
-				updateNullableStatment.executeUpdate();
-			}
-			finally
-			{
-				if(updateNullableStatment != null)
-				{
-					try
-					{
-						updateNullableStatment.close();
-					}
-					catch(Exception e){}
-				}
-			}
+			columnActionList.add("ALTER COLUMN " + columnPart + " SET " + ( nullable ? "" : "NOT" ) + " NULL");
 		}
 		
 		if
@@ -1272,35 +1301,19 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			(columnProperties.get("INVALID_TYPE") != null)
 		)
 		{
-			PreparedStatement createColumnStatement = null;
-			try
-			{
-				StringBuilder sqlBuilder = new StringBuilder("ALTER TABLE  " + tablePart + " ALTER " + columnPart + " ");
-				
-				IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec);
-				
-				if(columnType == null)
-				{
-					throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
-				}
-				
-				sqlBuilder.append(" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-				sqlBuilder.append(" " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-				
-				createColumnStatement = connection.prepareStatement(sqlBuilder.toString());
-				createColumnStatement.executeUpdate();
-			}
-			finally
+			IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
+			
+			if(columnType == null)
 			{
-				if(createColumnStatement != null)
-				{
-					try
-					{
-						createColumnStatement.close();
-					}
-					catch(Exception e){}
-				}
+				throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
 			}
+			
+			columnActionList.add
+			(
+				"ALTER " + columnPart + " " +
+				" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this) +
+				" " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this)
+			);
 		}
 		
 		if
@@ -1309,25 +1322,7 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			(columnSpec.getDefaultValue() == null)
 		)
 		{
-			PreparedStatement createColumnStatement = null;
-			try
-			{
-				String sql =  "ALTER TABLE  " + tablePart + " ALTER " + columnPart + " DROP DEFAULT ";
-				
-				createColumnStatement = connection.prepareStatement(sql);
-				createColumnStatement.executeUpdate();
-			}
-			finally
-			{
-				if(createColumnStatement != null)
-				{
-					try
-					{
-						createColumnStatement.close();
-					}
-					catch(Exception e){}
-				}
-			}
+			columnActionList.add("ALTER " + columnPart + " DROP DEFAULT ");
 		}
 	}
 
@@ -1363,8 +1358,6 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			columnQuoted = columnSpec.getQuotedName().booleanValue();
 		}
 		
-		String cat = null;
-		String schem = null;
 		String tbl = null;
 		String col = null;
 		String keyName = null;
@@ -1375,6 +1368,150 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			keyQuoted = columnSpec.getForeignKey().getQuotedKeyName().booleanValue();
 		}
 		
+		List<ForeignKeyMetaData> foreignKeyList = null;
+		
+		SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, columnProperties);
+		if(schemaSnapshot != null)
+		{
+			TableMetaData tableMetaData = getTableMetaData(connection, schemaSpec, schemaSnapshot, tableSpec);
+			if(tableMetaData == null)
+			{
+				return columnSpec.getForeignKey() == null;
+			}
+			loadForeignKeyMetaData(connection, schemaSpec, schemaSnapshot, tableMetaData);
+			foreignKeyList = tableMetaData.getForeignKeyList();
+		}
+		else
+		{
+			foreignKeyList = readForeignKeyMetaData
+			(
+				connection, schemaSpec, catalog, schema, 
+				objectSearchPattern(schemaSpec, connection, tableSpec.getName(), tableQuoted, "TABLE")
+			);
+		}
+		
+		for(ForeignKeyMetaData foreignKey : foreignKeyList)
+		{
+			tbl 	= foreignKey.getTableName();
+			col 	= foreignKey.getColumnName();
+			keyName = foreignKey.getKeyName();
+			
+			boolean tableNameMatch = false;
+			if(tableQuoted && tbl.equals(tableSpec.getName()))
+			{
+				tableNameMatch = true;
+			}
+			if((!tableQuoted) && tbl.equalsIgnoreCase(tableSpec.getName()))
+			{
+				tableNameMatch = true;
+			}
+			
+			boolean columnNameMatch = false;
+			if(columnQuoted && col.equals(columnSpec.getName()))
+			{
+				columnNameMatch = true;
+			}
+			if((!columnQuoted) && col.equalsIgnoreCase(columnSpec.getName()))
+			{
+				columnNameMatch = true;
+			}
+			
+			if((columnSpec.getForeignKey() == null) && tableNameMatch && columnNameMatch)
+			{
+				return false;
+			}
+			
+			if(columnSpec.getForeignKey() == null)
+			{
+				continue;
+			}
+			
+			boolean keyNameMatch = false;
+			if(keyQuoted && (keyName.equals(columnSpec.getForeignKey().getConstraintName() == null ? "" : columnSpec.getForeignKey().getConstraintName())))
+			{
+				keyNameMatch = true;
+			}
+			if((!keyQuoted) && (keyName.equalsIgnoreCase(columnSpec.getForeignKey().getConstraintName() == null ? "" :  columnSpec.getForeignKey().getConstraintName())))
+			{
+				keyNameMatch = true;
+			}
+			
+			if(keyNameMatch && ((! columnNameMatch) || (! tableNameMatch)))
+			{
+				columnProperties.put("CLEAN_FK", true);
+				return false;
+			}
+			
+			if((! columnNameMatch) || (! tableNameMatch))
+			{
+				continue;
+			}
+			
+			if(! keyNameMatch)
+			{
+				continue;
+			}
+			
+			if
+			(
+				foreignKey.getReferencedTableName().equalsIgnoreCase(columnSpec.getForeignKey().getTableName()) &&
+				foreignKey.getReferencedColumnName().equalsIgnoreCase(columnSpec.getForeignKey().getReferencedColumnName()) 
+			)
+			{
+				if(! foreignKey.isValidated())
+				{
+					// existing rows are not validated yet (interrupted or failed validation of previous check)
+					
+					columnProperties.put("UNVALIDATED_FK", true);
+				}
+				return true;
+			}
+			columnProperties.put("CLEAN_FK", true);
+			return false;
+		}
+		
+		return columnSpec.getForeignKey() == null;
+	}
+	
+	protected void cleanColumnForeignKeys
+	(
+		Connection connection, SchemaSpec schemaSpec,
+		TableSpec tableSpec, ColumnSpec columnSpec
+	) 
+	throws SQLException
+	{	
+		String catalog = connection.getCatalog();
+		String schema = connection.getSchema();
+		
+		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = schemaSpec.getDbmsSchemaName();
+		}
+		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = tableSpec.getDbmsSchemaName();
+		}
+		  
+		boolean tableQuoted = false;
+		if(tableSpec.getQuotedName() != null)
+		{
+			tableQuoted = tableSpec.getQuotedName().booleanValue();
+		}
+		
+		boolean columnQuoted = false;
+		if(columnSpec.getQuotedName() != null)
+		{
+			columnQuoted = columnSpec.getQuotedName().booleanValue();
+		}
+		
+		String cat = null;
+		String schem = null;
+		String tbl = null;
+		String col = null;
+		String keyName = null;
+		
+		List<String> toDelete = new ArrayList<>();
+		
 		ResultSet resultSet = null;
 		try
 		{
@@ -1477,53 +1614,12 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 					columnNameMatch = true;
 				}
 				
-				if((columnSpec.getForeignKey() == null) && tableNameMatch && columnNameMatch)
-				{
-					return false;
-				}
-				
-				if(columnSpec.getForeignKey() == null)
-				{
-					continue;
-				}
-				
-				boolean keyNameMatch = false;
-				if(keyQuoted && (keyName.equals(columnSpec.getForeignKey().getConstraintName() == null ? "" : columnSpec.getForeignKey().getConstraintName())))
-				{
-					keyNameMatch = true;
-				}
-				if((!keyQuoted) && (keyName.equalsIgnoreCase(columnSpec.getForeignKey().getConstraintName() == null ? "" :  columnSpec.getForeignKey().getConstraintName())))
-				{
-					keyNameMatch = true;
-				}
-				
-				
-				if(keyNameMatch && ((! columnNameMatch) || (! tableNameMatch)))
-				{
-					columnProperties.put("CLEAN_FK", true);
-					return false;
-				}
-				
 				if((! columnNameMatch) || (! tableNameMatch))
 				{
 					continue;
 				}
 				
-				if(! keyNameMatch)
-				{
-					continue;
-				}
-				
-				if
-				(
-					resultSet.getString("PKTABLE_NAME").equalsIgnoreCase(columnSpec.getForeignKey().getTableName()) &&
-					resultSet.getString("PKCOLUMN_NAME").equalsIgnoreCase(columnSpec.getForeignKey().getReferencedColumnName()) 
-				)
-				{
-					return true;
-				}
-				columnProperties.put("CLEAN_FK", true);
-				return false;
+				toDelete.add(keyName);
 			}
 		}
 		finally 
@@ -1538,174 +1634,10 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			}
 		}
 		
-		return columnSpec.getForeignKey() == null;
-	}
-	
-	protected void cleanColumnForeignKeys
-	(
-		Connection connection, SchemaSpec schemaSpec,
-		TableSpec tableSpec, ColumnSpec columnSpec
-	) 
-	throws SQLException
-	{	
-		String catalog = connection.getCatalog();
-		String schema = connection.getSchema();
-		
-		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
-		{
-			schema = schemaSpec.getDbmsSchemaName();
-		}
-		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
-		{
-			schema = tableSpec.getDbmsSchemaName();
-		}
-		  
-		boolean tableQuoted = false;
-		if(tableSpec.getQuotedName() != null)
-		{
-			tableQuoted = tableSpec.getQuotedName().booleanValue();
-		}
-		
-		boolean columnQuoted = false;
-		if(columnSpec.getQuotedName() != null)
-		{
-			columnQuoted = columnSpec.getQuotedName().booleanValue();
-		}
-		
-		String cat = null;
-		String schem = null;
-		String tbl = null;
-		String col = null;
-		String keyName = null;
-		
-		List<String> toDelete = new ArrayList<>();
-		
-		ResultSet resultSet = null;
-		try
-		{
-			DatabaseMetaData databaseMetaData = connection.getMetaData();
-			resultSet = databaseMetaData.getImportedKeys
-			(
-				catalogSearchPattern(schemaSpec, connection, catalog), 
-				schemaSearchPattern(schemaSpec, connection, schema),  
-				objectSearchPattern(schemaSpec, connection, tableSpec.getName(), tableQuoted, "TABLE")
-			);
-			while(resultSet.next())
-			{
-				/*
-				 * PKTABLE_CAT String => primary key table catalog being imported (may be null)
-				 * PKTABLE_SCHEM String => primary key table schema being imported (may be null)
-				 * PKTABLE_NAME String => primary key table name being imported
-				 * PKCOLUMN_NAME String => primary key column name being imported
-				 * FKTABLE_CAT String => foreign key table catalog (may be null)
-				 * FKTABLE_SCHEM String => foreign key table schema (may be null)
-				 * FKTABLE_NAME String => foreign key table name
-				 * FKCOLUMN_NAME String => foreign key column name
-				 * KEY_SEQ short => sequence number within a foreign key( a value of 1 represents the first column of the foreign key, a value of 2 would represent the second column within the foreign key).
-				 * UPDATE_RULE short => What happens to a foreign key when the primary key is updated:
-				 * 		importedNoAction - do not allow update of primary key if it has been imported
-				 * 		importedKeyCascade - change imported key to agree with primary key update
-				 * 		importedKeySetNull - change imported key to NULL if its primary key has been updated
-				 * 		importedKeySetDefault - change imported key to default values if its primary key has been updated
-				 * 		importedKeyRestrict - same as importedKeyNoAction (for ODBC 2.x compatibility)
-				 * DELETE_RULE short => What happens to the foreign key when primary is deleted.
-				 * 		importedKeyNoAction - do not allow delete of primary key if it has been imported
-				 * 		importedKeyCascade - delete rows that import a deleted key
-				 * 		importedKeySetNull - change imported key to NULL if its primary key has been deleted
-				 * 		importedKeyRestrict - same as importedKeyNoAction (for ODBC 2.x compatibility)
-				 * 		importedKeySetDefault - change imported key to default if its primary key has been deleted
-				 * FK_NAME String => foreign key name (may be null)
-				 * PK_NAME String => primary key name (may be null)
-				 * DEFERRABILITY short => can the evaluation of foreign key constraints be deferred until commit
-				 * 		importedKeyInitiallyDeferred - see SQL92 for definition
-				 * 		importedKeyInitiallyImmediate - see SQL92 for definition
-				 * 		importedKeyNotDeferrable - see SQL92 for definition
-				 * 
-				 * PKTABLE_CAT: 		SODEAC
-				 * PKTABLE_SCHEM: 		PUBLIC
-				 * PKTABLE_NAME: 		SODEAC_DOMAIN
-				 * PKCOLUMN_NAME: 		ID
-				 * FKTABLE_CAT: 		SODEAC
-				 * FKTABLE_SCHEM: 		PUBLIC
-				 * FKTABLE_NAME: 		SODEAC_USER
-				 * FKCOLUMN_NAME: 		SODEAC_DOMAIN_ID
-				 * KEY_SEQ: 			1
-				 * UPDATE_RULE: 		1
-				 * DELETE_RULE: 		1
-				 * FK_NAME: 			CONSTRAINT_F
-				 * PK_NAME: 			PRIMARY_KEY_4
-				 * DEFERRABILITY:		7
-				 */
-				
-				cat 	= resultSet.getString("FKTABLE_CAT");
-				schem 	= resultSet.getString("FKTABLE_SCHEM");
-				tbl 	= resultSet.getString("FKTABLE_NAME");
-				col 	= resultSet.getString("FKCOLUMN_NAME");
-				keyName = resultSet.getString("FK_NAME");
-				
-				if(schem == null)
-				{
-					schem = cat;
-				}
-				
-				if(cat == null) {cat = "";}
-				if(schem == null) {schem = "";}
-				if(tbl == null) {tbl = "";}
-				if(keyName == null) {keyName = "";}
-				
-				if(!(cat.isEmpty() || cat.equalsIgnoreCase("null") || cat.equalsIgnoreCase(catalog) || cat.equalsIgnoreCase(schema)))
-				{
-					continue;
-				}
-				if(! schem.equalsIgnoreCase(schema))
-				{
-					continue;
-				}
-
-				boolean tableNameMatch = false;
-				if(tableQuoted && tbl.equals(tableSpec.getName()))
-				{
-					tableNameMatch = true;
-				}
-				if((!tableQuoted) && tbl.equalsIgnoreCase(tableSpec.getName()))
-				{
-					tableNameMatch = true;
-				}
-				
-				boolean columnNameMatch = false;
-				if(columnQuoted && col.equals(columnSpec.getName()))
-				{
-					columnNameMatch = true;
-				}
-				if((!columnQuoted) && col.equalsIgnoreCase(columnSpec.getName()))
-				{
-					columnNameMatch = true;
-				}
-				
-				if((! columnNameMatch) || (! tableNameMatch))
-				{
-					continue;
-				}
-				
-				toDelete.add(keyName);
-			}
-		}
-		finally 
-		{
-			if(resultSet != null)
-			{
-				try
-				{
-					resultSet.close();
-				}
-				catch (Exception e) {}
-			}
-		}
-		
-		for(String toDeleteKey : toDelete)
-		{
-			dropForeignKey(connection, schemaSpec, tableSpec, toDeleteKey, true);
-		}
+		for(String toDeleteKey : toDelete)
+		{
+			dropForeignKey(connection, schemaSpec, tableSpec, toDeleteKey, true);
+		}
 	}
 	
 	public void dropForeignKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, String keyName, boolean quoted) throws SQLException
@@ -1786,6 +1718,8 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		
 		cleanColumnForeignKeys(connection, schemaSpec, tableSpec, columnSpec);
 		
+		invalidateTableMetaData(connection, schemaSpec, tableSpec, columnProperties, false, false, true, false);
+		
 		if(columnSpec.getForeignKey() == null)
 		{
 			return;
@@ -1816,8 +1750,14 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		{
 			String createFK = "ALTER TABLE  " + tablePart + " ADD CONSTRAINT " + constraintPart + " FOREIGN KEY (" + columnPart + ") REFERENCES " 
 					+	refTablePart + " (" + refColumnPart + ") ";
+			if(columnSpec.getForeignKey().getDeferredValidation())
+			{
+				createFK = createFK + foreignKeyNoValidateAppendix(connection);
+			}
 			createFKStatement = connection.prepareStatement(createFK);
 			createFKStatement.executeUpdate();
+			
+			invalidateTableMetaData(connection, schemaSpec, tableSpec, columnProperties, false, false, true, false);
 		}
 		finally
 		{
@@ -1831,6 +1771,72 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			}
 		}
 	}
+	
+	@Override
+	public void validateForeignKey
+	(
+		Connection connection, SchemaSpec schemaSpec,
+		TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties
+	) 
+	throws SQLException
+	{
+		if((columnSpec.getForeignKey() == null) || (! columnSpec.getForeignKey().getDeferredValidation()))
+		{
+			return;
+		}
+		
+		String schema = connection.getSchema();
+		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = objectNameGuidelineFormat(schemaSpec, connection, schemaSpec.getDbmsSchemaName(), "SCHEMA");
+		}
+		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getDbmsSchemaName(), "SCHEMA");
+		}
+		
+		boolean tableQuoted = tableSpec.getQuotedName() == null ? false : tableSpec.getQuotedName().booleanValue();
+		boolean keyQuoted = columnSpec.getForeignKey().getQuotedKeyName() == null ? false : columnSpec.getForeignKey().getQuotedKeyName().booleanValue();
+		
+		String tablePart = tableQuoted ? 
+				" " + schema + "." + quotedChar() +  "" + tableSpec.getName() + "" + quotedChar() +  " " :
+				" " + schema + "." + objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getName(), "TABLE") + " " ;
+		
+		String constraintPart = keyQuoted ?  
+				" " + quotedChar() +  "" + columnSpec.getForeignKey().getConstraintName() + "" + quotedChar() +  " " :
+				" " + objectNameGuidelineFormat(schemaSpec, connection, columnSpec.getForeignKey().getConstraintName(), "FOREIGNKEY") + " " ;
+		
+		String validateFK = foreignKeyValidateStatement(connection, tablePart, constraintPart);
+		if(validateFK == null)
+		{
+			return;
+		}
+		executeUpdate(connection, validateFK);
+	}
+	
+	/**
+	 * appendix of add foreign key statement to skip validation of existing rows
+	 * 
+	 * @param connection underlying connection
+	 * @return sql appendix, or empty string, if foreign keys are always created validated
+	 */
+	protected String foreignKeyNoValidateAppendix(Connection connection)
+	{
+		return "";
+	}
+	
+	/**
+	 * statement to validate existing rows of foreign key created with {@link #foreignKeyNoValidateAppendix(Connection)}
+	 * 
+	 * @param connection underlying connection
+	 * @param tablePart table name with schema
+	 * @param constraintPart name of foreign key
+	 * @return validate statement, or null, if foreign keys are always created validated
+	 */
+	protected String foreignKeyValidateStatement(Connection connection, String tablePart, String constraintPart)
+	{
+		return null;
+	}
 
 	@Override
 	public boolean isValidIndex
@@ -1864,213 +1870,185 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			indexQuoted = indexSpec.getQuotedName().booleanValue();
 		}
 		
-		String cat = null;
-		String schem = null;
 		String tbl = null;
-		String col = null;
 		String idx = null;
 		
-		ResultSet resultSet = null;
-		try
+		ColumnSpec contextColumn = null;
+		List<ColumnSpec> columnListOfIndex = new ArrayList<ColumnSpec>();
+		for(ColumnSpec column : indexSpec.getColumns())
 		{
-			
-			ColumnSpec contextColumn = null;
-			List<ColumnSpec> columnListOfIndex = new ArrayList<ColumnSpec>();
-			for(ColumnSpec column : indexSpec.getColumns())
-			{
-				columnListOfIndex.add(column);
-				if(column.getName().equalsIgnoreCase(DatabaseCommonElements.CONTEXT))
-				{
-					contextColumn = column;
-				}
-			}
-			
-			if(indexSpec.getIncludeContext() && (contextColumn == null))
-			{
-				contextColumn = new ColumnSpec(tableSpec,DatabaseCommonElements.CONTEXT, IColumnType.ColumnType.CHAR.toString(), false,36);
-				columnListOfIndex.add(contextColumn);
-			}
-			
-			if(columnListOfIndex.isEmpty())
+			columnListOfIndex.add(column);
+			if(column.getName().equalsIgnoreCase(DatabaseCommonElements.CONTEXT))
 			{
-				return false;
+				contextColumn = column;
 			}
-			
-			if(indexSpec.getIndexName() == null)
+		}
+		
+		if(indexSpec.getIncludeContext() && (contextColumn == null))
+		{
+			contextColumn = new ColumnSpec(tableSpec,DatabaseCommonElements.CONTEXT, IColumnType.ColumnType.CHAR.toString(), false,36);
+			columnListOfIndex.add(contextColumn);
+		}
+		
+		if(columnListOfIndex.isEmpty())
+		{
+			return false;
+		}
+		
+		if(indexSpec.getIndexName() == null)
+		{
+			return false;
+		}
+		
+		if(indexSpec.getIndexName().isEmpty())
+		{
+			return false;
+		}
+		
+		Map<String,Short> columnExists = new HashMap<String,Short>();
+		boolean unique = false;
+		boolean valid = true;
+		Map<String,Map<Short,String>> tableIndexColumns = indexSpec.getCoverable() ? new HashMap<String,Map<Short,String>>() : null;
+		Set<String> invalidIndexSet = indexSpec.getCoverable() ? new HashSet<String>() : null;
+		
+		List<IndexMetaData> indexList = null;
+		
+		SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, columnIndexProperties);
+		if(schemaSnapshot != null)
+		{
+			TableMetaData tableMetaData = getTableMetaData(connection, schemaSpec, schemaSnapshot, tableSpec);
+			if(tableMetaData == null)
 			{
 				return false;
 			}
+			loadIndexMetaData(connection, schemaSpec, schemaSnapshot, tableMetaData);
+			indexList = tableMetaData.getIndexList();
+		}
+		else
+		{
+			indexList = readIndexMetaData
+			(
+				connection, schemaSpec, catalog, schema, 
+				objectSearchPattern(schemaSpec, connection, tableSpec.getName(), tableQuoted, "TABLE")
+			);
+		}
+		
+		for(IndexMetaData index : indexList)
+		{
+			tbl = index.getTableName();
+			idx = index.getIndexName();
 			
-			if(indexSpec.getIndexName().isEmpty())
+			boolean tableNameMatch = false;
+			if(tableQuoted && tbl.equals(tableSpec.getName()))
 			{
-				return false;
+				tableNameMatch = true;
+			}
+			if((!tableQuoted) && tbl.equalsIgnoreCase(tableSpec.getName()))
+			{
+				tableNameMatch = true;
 			}
 			
-			Map<String,Short> columnExists = new HashMap<String,Short>();
-			boolean unique = false;
-			
+			if(! tableNameMatch)
+			{
+				continue;
+			}
 			
-			DatabaseMetaData databaseMetaData = connection.getMetaData();
-			resultSet = databaseMetaData.getIndexInfo
-			(
-				catalogSearchPattern(schemaSpec, connection, catalog), 
-				schemaSearchPattern(schemaSpec, connection, schema),  
-				objectSearchPattern(schemaSpec, connection, tableSpec.getName(), tableQuoted, "TABLE"), 
-				false, false
-			);
-			while(resultSet.next())
+			if(tableIndexColumns != null)
 			{
-				/*
-				 * TABLE_CAT String => table catalog (may be null)
-				 * TABLE_SCHEM String => table schema (may be null)
-				 * TABLE_NAME String => table name
-				 * NON_UNIQUE boolean => Can index values be non-unique. false when TYPE is tableIndexStatistic
-				 * INDEX_QUALIFIER String => index catalog (may be null); null when TYPE is tableIndexStatistic
-				 * INDEX_NAME String => index name; null when TYPE is tableIndexStatistic
-				 * TYPE short => index type:
-				 * 		tableIndexStatistic - this identifies table statistics that are returned in conjuction with a table's index descriptions
-				 * 		tableIndexClustered - this is a clustered index
-				 * 		tableIndexHashed - this is a hashed index
-				 * 		tableIndexOther - this is some other style of index
-				 * ORDINAL_POSITION short => column sequence number within index; zero when TYPE is tableIndexStatistic
-				 * COLUMN_NAME String => column name; null when TYPE is tableIndexStatistic
-				 * ASC_OR_DESC String => column sort sequence, "A" => ascending, "D" => descending, may be null if sort sequence is not supported; null when TYPE is tableIndexStatistic
-				 * CARDINALITY long => When TYPE is tableIndexStatistic, then this is the number of rows in the table; otherwise, it is the number of unique values in the index.
-				 * PAGES long => When TYPE is tableIndexStatisic then this is the number of pages used for the table, otherwise it is the number of pages used for the current index.
-				 * FILTER_CONDITION String => Filter condition, if any. (may be null)
-				 * 
-				 * Key:
-				 * 	TABLE_CAT: SODEAC
-				 * 	TABLE_SCHEM: PUBLIC
-				 * 	TABLE_NAME: SODEAC_USER
-				 * 	NON_UNIQUE: false
-				 * 	INDEX_QUALIFIER: SODEAC
-				 * 	INDEX_NAME: IDX2
-				 * 	TYPE: 3
-				 * 	ORDINAL_POSITION: 1
-				 * 	COLUMN_NAME: SODEAC_DOMAIN_ID
-				 * 	ASC_OR_DESC: A
-				 * 	CARDINALITY: 0
-				 * 	PAGES : 0
-				 * 	FILTER_CONDITION: 
-				 * Key:
-				 * 	TABLE_CAT: SODEAC
-				 * 	TABLE_SCHEM: PUBLIC
-				 * 	TABLE_NAME: SODEAC_USER
-				 * 	NON_UNIQUE: false
-				 * 	INDEX_QUALIFIER: SODEAC
-				 * 	INDEX_NAME: IDX2
-				 * 	TYPE: 3
-				 * 	ORDINAL_POSITION: 2
-				 * 	COLUMN_NAME: LOGIN_NAME
-				 * 	ASC_OR_DESC: A
-				 * 	CARDINALITY: 0
-				 * 	PAGES : 0
-				 * 	FILTER_CONDITION: 
-				 */
-				
-				cat 	= resultSet.getString("TABLE_CAT");
-				schem 	= resultSet.getString("TABLE_SCHEM");
-				tbl 	= resultSet.getString("TABLE_NAME");
-				col 	= resultSet.getString("COLUMN_NAME");
-				idx		= resultSet.getString("INDEX_NAME");
-				
-				if(schem == null)
-				{
-					schem = cat;
-				}
-				
-				if(cat == null) {cat = "";}
-				if(schem == null) {schem = "";}
-				if(tbl == null) {tbl = "";}
-				if(idx ==  null) {idx = "";}
-				
-				if(!(cat.isEmpty() || cat.equalsIgnoreCase("null") || cat.equalsIgnoreCase(catalog)))
-				{
-					continue;
-				}
-				if(! schem.equalsIgnoreCase(schema))
-				{
-					continue;
-				}
-				
-				boolean tableNameMatch = false;
-				if(tableQuoted && tbl.equals(tableSpec.getName()))
-				{
-					tableNameMatch = true;
-				}
-				if((!tableQuoted) && tbl.equalsIgnoreCase(tableSpec.getName()))
-				{
-					tableNameMatch = true;
-				}
-				
-				if(! tableNameMatch)
-				{
-					continue;
-				}
-				
-				boolean indexNameMatch = false;
-				if(indexQuoted && (idx.equals(indexSpec.getIndexName())))
-				{
-					indexNameMatch = true;
-				}
-				if((!indexQuoted) && (idx.equalsIgnoreCase(indexSpec.getIndexName())))
+				Map<Short,String> indexColumns = tableIndexColumns.get(idx);
+				if(indexColumns == null)
 				{
-					indexNameMatch = true;
+					indexColumns = new HashMap<Short,String>();
+					tableIndexColumns.put(idx, indexColumns);
 				}
-				
-				if(! indexNameMatch)
+				indexColumns.put(index.getOrdinalPosition(), index.getColumnName());
+				if(! index.isValid())
 				{
-					continue;
+					invalidIndexSet.add(idx);
 				}
-				
-				unique = ! resultSet.getBoolean("NON_UNIQUE");
-				columnExists.put(col.toUpperCase(), resultSet.getShort("ORDINAL_POSITION"));
 			}
-			resultSet.close();
-			
-			boolean diff = false;
-			boolean keyExists = ! columnExists.isEmpty();
 			
-			if(unique != indexSpec.getUnique())
+			boolean indexNameMatch = false;
+			if(indexQuoted && (idx.equals(indexSpec.getIndexName())))
 			{
-				diff = true;
+				indexNameMatch = true;
 			}
-			else if((columnExists.size() != columnListOfIndex.size()))
+			if((!indexQuoted) && (idx.equalsIgnoreCase(indexSpec.getIndexName())))
 			{
-				diff = true;
+				indexNameMatch = true;
 			}
-			else 
+			
+			if(! indexNameMatch)
 			{
-				for(ColumnSpec column : columnListOfIndex)
-				{
-					if(!columnExists.containsKey(column.getName().toUpperCase()))
-					{
-						diff = true;
-						break;
-					}
-				}
+				continue;
 			}
 			
-			if(keyExists && diff)
+			unique = ! index.isNonUnique();
+			valid = valid && index.isValid();
+			columnExists.put(index.getColumnName().toUpperCase(), index.getOrdinalPosition());
+		}
+		
+		boolean diff = false;
+		boolean keyExists = ! columnExists.isEmpty();
+		
+		if(unique != indexSpec.getUnique())
+		{
+			diff = true;
+		}
+		else if(! valid)
+		{
+			// leftover of failed online build
+			diff = true;
+		}
+		else if((columnExists.size() != columnListOfIndex.size()))
+		{
+			diff = true;
+		}
+		else 
+		{
+			for(ColumnSpec column : columnListOfIndex)
 			{
-				columnIndexProperties.put("CLEAR_INDEX", true);
-				
-				keyExists = false;
+				if(!columnExists.containsKey(column.getName().toUpperCase()))
+				{
+					diff = true;
+					break;
+				}
 			}
-			return keyExists;
 		}
-		finally 
+		
+		if(keyExists && diff)
 		{
-			if(resultSet != null)
+			columnIndexProperties.put("CLEAR_INDEX", true);
+			
+			keyExists = false;
+		}
+		
+		if(columnExists.isEmpty() && (tableIndexColumns != null) && (! indexSpec.getUnique()))
+		{
+			// another index starts with columns of index
+			
+			for(Map.Entry<String,Map<Short,String>> entry : tableIndexColumns.entrySet())
 			{
-				try
+				if(invalidIndexSet.contains(entry.getKey()))
 				{
-					resultSet.close();
+					// leftover of failed online build does not cover columns
+					
+					continue;
+				}
+				Map<Short,String> indexColumns = entry.getValue();
+				boolean covered = indexColumns.size() >= columnListOfIndex.size();
+				for(int i = 0; covered && (i < columnListOfIndex.size()); i++)
+				{
+					String columnName = indexColumns.get((short)(i + 1));
+					covered = (columnName != null) && columnName.equalsIgnoreCase(columnListOfIndex.get(i).getName());
+				}
+				if(covered)
+				{
+					return true;
 				}
-				catch (Exception e) {}
 			}
 		}
+		return keyExists;
 	}
 
 	@Override
@@ -2115,6 +2093,7 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		if((columnIndexProperties.get("CLEAR_INDEX") != null) && ((Boolean)columnIndexProperties.get("CLEAR_INDEX")).booleanValue())
 		{
 			dropIndex(connection, schemaSpec, tableSpec, indexSpec.getIndexName(), indexSpec.getQuotedName() == null ? false : indexSpec.getQuotedName().booleanValue());
+			invalidateTableMetaData(connection, schemaSpec, tableSpec, columnIndexProperties, false, false, false, true);
 		}
 		
 		String tablePart = tableQuoted ? 
@@ -2145,6 +2124,7 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 			sqlBuilder.append("UNIQUE ");
 		}
 		sqlBuilder.append("INDEX ");
+		sqlBuilder.append(createIndexOption(connection, schemaSpec, tableSpec, indexSpec, columnIndexProperties));
 		sqlBuilder.append(indexPart + " ON ");
 		sqlBuilder.append(tablePart + " (");
 		String separator = "";
@@ -2165,12 +2145,65 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 		}
 		sqlBuilder.append(") ");
 		sqlBuilder.append(tableSpaceDefinition);
+		sqlBuilder.append(createIndexAppendix(connection, schemaSpec, tableSpec, indexSpec, columnIndexProperties));
 	
-		
+		try
+		{
+			executeCreateIndex(connection, schemaSpec, tableSpec, indexSpec, columnIndexProperties, sqlBuilder.toString());
+		}
+		finally
+		{
+			invalidateTableMetaData(connection, schemaSpec, tableSpec, columnIndexProperties, false, false, false, true);
+		}
+	}
+	
+	/**
+	 * option between {@code CREATE [UNIQUE] INDEX} and index name, like {@code CONCURRENTLY} for online index creation
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec schema specification
+	 * @param tableSpec table specification
+	 * @param indexSpec index specification
+	 * @param columnIndexProperties index properties
+	 * @return sql part of option, or empty string
+	 */
+	protected String createIndexOption(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> columnIndexProperties)
+	{
+		return "";
+	}
+	
+	/**
+	 * appendix of create index statement, like {@code ONLINE} for online index creation
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec schema specification
+	 * @param tableSpec table specification
+	 * @param indexSpec index specification
+	 * @param columnIndexProperties index properties
+	 * @return sql appendix, or empty string
+	 */
+	protected String createIndexAppendix(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> columnIndexProperties)
+	{
+		return "";
+	}
+	
+	/**
+	 * execute create index statement
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec schema specification
+	 * @param tableSpec table specification
+	 * @param indexSpec index specification
+	 * @param columnIndexProperties index properties
+	 * @param sql create index statement
+	 * @throws SQLException
+	 */
+	protected void executeCreateIndex(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> columnIndexProperties, String sql) throws SQLException
+	{
 		PreparedStatement createIndexStatement = null;
 		try
 		{
-			createIndexStatement = connection.prepareStatement(sqlBuilder.toString());
+			createIndexStatement = connection.prepareStatement(sql);
 			createIndexStatement.executeUpdate();
 		}
 		finally
@@ -2223,86 +2256,725 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 				{
 					createColumnStatement.close();
 				}
-				catch(Exception e){}
+				catch(Exception e){}
+			}
+		}
+	}
+	
+	@Override
+	public void dropDummyColumns(Connection connection, SchemaSpec schemaSpec) throws SQLException
+	{
+		dropDummyColumns(connection, schemaSpec, null);
+	}
+	
+	@Override
+	public void dropDummyColumns(Connection connection, SchemaSpec schemaSpec, Map<String,Object> schemaProperties) throws SQLException
+	{
+		if(schemaSpec.getListTableSpec() == null)
+		{
+			return;
+		}
+		
+		if(MetaDataSnapshot.fromProperties(schemaProperties) == null)
+		{
+			schemaProperties = new HashMap<String,Object>();
+			schemaProperties.put(MetaDataSnapshot.PROPERTY_KEY, new MetaDataSnapshot());
+		}
+		
+		for(TableSpec tableSpec : schemaSpec.getListTableSpec())
+		{
+			SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, schemaProperties);
+			TableMetaData table = getTableMetaData(connection, schemaSpec, schemaSnapshot, tableSpec);
+			if(table == null)
+			{
+				continue;
+			}
+			
+			loadColumnMetaData(connection, schemaSpec, schemaSnapshot, table);
+			
+			List<ColumnMetaData> columnList = table.getColumnList();
+			ColumnMetaData dummyColumn = table.getColumn("SODEACDFLTCOL", false);
+			
+			if((dummyColumn != null) && (columnList.size() > 1))
+			{
+				TableSpec dummyTableSpec = new TableSpec(table.getTableName(), schemaSpec);
+				dummyTableSpec.setQuotedName(true);
+				dummyTableSpec.setDbmsSchemaName(tableSpec.getDbmsSchemaName());
+				
+				dropColumn(connection, schemaSpec, dummyTableSpec, dummyColumn.getColumnName(), true);
+				table.invalidateColumns();
+			}
+		}
+	}
+	
+	@Override
+	public String getCatalogChangeMarker(Connection connection, SchemaSpec schemaSpec) throws SQLException
+	{
+		String sql = catalogChangeMarkerStatement(connection);
+		if(sql == null)
+		{
+			return null;
+		}
+		
+		StringBuilder markerBuilder = new StringBuilder();
+		PreparedStatement preparedStatement = connection.prepareStatement(sql);
+		try
+		{
+			for(String schema : getDbmsSchemaNameSet(connection, schemaSpec))
+			{
+				preparedStatement.setString(1, schema);
+				ResultSet resultSet = preparedStatement.executeQuery();
+				try
+				{
+					markerBuilder.append(schema + "=");
+					if(resultSet.next())
+					{
+						markerBuilder.append(resultSet.getString(1));
+					}
+					markerBuilder.append(";");
+				}
+				finally 
+				{
+					try
+					{
+						resultSet.close();
+					}
+					catch (Exception e) {}
+				}
+			}
+		}
+		finally 
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+		
+		return markerBuilder.toString();
+	}
+	
+	/**
+	 * statement to calculate catalog change marker of one dbms schema. The statement has one parameter for dbms schema name 
+	 * and returns one string value. The value must change with every ddl command in dbms schema.
+	 * 
+	 * @param connection underlying connection
+	 * 
+	 * @return statement or null, if dbms does not support cheap catalog change markers
+	 */
+	protected String catalogChangeMarkerStatement(Connection connection)
+	{
+		return null;
+	}
+	
+	/**
+	 * calculate stable numeric key of dbms lock for checks of schema domain (64-bit FNV-1a hash)
+	 * 
+	 * @param schemaSpec hole schema specification
+	 * 
+	 * @return lock key
+	 */
+	protected long schemaLockKey(SchemaSpec schemaSpec)
+	{
+		String name = "sodeac.dbschema." + schemaSpec.getDomain();
+		long hash = 0xcbf29ce484222325L;
+		for(int i = 0; i < name.length(); i++)
+		{
+			hash ^= name.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+	
+	/**
+	 * collect names of all dbms schemas used by schema specification
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * 
+	 * @return sorted set of dbms schema names
+	 * 
+	 * @throws SQLException
+	 */
+	protected Set<String> getDbmsSchemaNameSet(Connection connection, SchemaSpec schemaSpec) throws SQLException
+	{
+		Set<String> schemaSet = new TreeSet<String>();
+		
+		String schema = connection.getSchema();
+		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = schemaSpec.getDbmsSchemaName();
+		}
+		schemaSet.add(objectNameGuidelineFormat(schemaSpec, connection, schema, "SCHEMA"));
+		
+		if(schemaSpec.getListTableSpec() != null)
+		{
+			for(TableSpec tableSpec : schemaSpec.getListTableSpec())
+			{
+				if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+				{
+					schemaSet.add(objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getDbmsSchemaName(), "SCHEMA"));
+				}
+			}
+		}
+		
+		return schemaSet;
+	}
+	
+	public String getFunctionExpression(String function)
+	{
+		return function + "()";
+	}
+	
+	public boolean tableRequiresColumn()
+	{
+		return false;
+	}
+	
+	@Override
+	public String objectSearchPattern(SchemaSpec schemaSpec, Connection connection, String name, boolean quoted, String type)
+	{
+		return quoted ? name : objectNameGuidelineFormat(schemaSpec, connection, name, type);
+	}
+
+	@Override
+	public String catalogSearchPattern(SchemaSpec schemaSpec, Connection connection, String catalog)
+	{
+		return catalog;
+	}
+	
+	@Override
+	public String schemaSearchPattern(SchemaSpec schemaSpec, Connection connection, String schema)
+	{
+		return objectNameGuidelineFormat(schemaSpec, connection, schema, "SCHEMA");
+	}
+	
+	@Override
+	public String objectNameGuidelineFormat(SchemaSpec schemaSpec, Connection connection, String name, String type)
+	{
+		return name;
+	}
+
+	@Override
+	public char quotedChar()
+	{
+		return '"';
+	}
+	
+	@Override
+	public void prepareSchemaCheck(Connection connection, SchemaSpec schemaSpec, Map<String, Object> schemaProperties) throws SQLException
+	{
+		if(schemaProperties == null)
+		{
+			return;
+		}
+		schemaProperties.put(MetaDataSnapshot.PROPERTY_KEY, new MetaDataSnapshot().setMetrics(SchemaCheckMetrics.fromProperties(schemaProperties)));
+	}
+	
+	/**
+	 * fetch snapshot of dbms schema for {@code tableSpec} from working parameter. The snapshot is loaded on first request.
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * @param tableSpec table specification
+	 * @param properties working parameter
+	 * 
+	 * @return snapshot of dbms schema or null, if working parameter contains no snapshot
+	 * 
+	 * @throws SQLException
+	 */
+	protected SchemaMetaDataSnapshot getSchemaMetaDataSnapshot(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, Map<String,Object> properties) throws SQLException
+	{
+		MetaDataSnapshot snapshot = MetaDataSnapshot.fromProperties(properties);
+		if(snapshot == null)
+		{
+			return null;
+		}
+		
+		String schema = connection.getSchema();
+		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = schemaSpec.getDbmsSchemaName();
+		}
+		if((tableSpec != null) && (tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+		{
+			schema = tableSpec.getDbmsSchemaName();
+		}
+		
+		SchemaMetaDataSnapshot schemaSnapshot = snapshot.getSchema(schema);
+		if(schemaSnapshot != null)
+		{
+			return schemaSnapshot;
+		}
+		synchronized(snapshot)
+		{
+			schemaSnapshot = snapshot.getSchema(schema);
+			if(schemaSnapshot == null)
+			{
+				schemaSnapshot = loadSchemaMetaDataSnapshot(connection, schemaSpec, connection.getCatalog(), schema);
+				snapshot.putSchema(schemaSnapshot);
+			}
+			return schemaSnapshot;
+		}
+	}
+	
+	/**
+	 * load tables and columns of dbms schema with bulk requests
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * @param catalog catalog name
+	 * @param schema dbms schema name
+	 * 
+	 * @return snapshot of dbms schema
+	 * 
+	 * @throws SQLException
+	 */
+	protected SchemaMetaDataSnapshot loadSchemaMetaDataSnapshot(Connection connection, SchemaSpec schemaSpec, String catalog, String schema) throws SQLException
+	{
+		SchemaMetaDataSnapshot schemaSnapshot = new SchemaMetaDataSnapshot(catalog, schema);
+		List<TableMetaData> tableList = readTableMetaData(connection, schemaSpec, catalog, schema, "%");
+		schemaSnapshot.countMetaDataQuery(tableList.size());
+		for(TableMetaData table : tableList)
+		{
+			table.setColumnsLoaded(true);
+			schemaSnapshot.addTable(table);
+		}
+		List<ColumnMetaData> columnList = readColumnMetaData(connection, schemaSpec, catalog, schema, "%");
+		schemaSnapshot.countMetaDataQuery(columnList.size());
+		for(ColumnMetaData column : columnList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(column.getTableName(), true);
+			if(table != null)
+			{
+				table.addColumn(column);
+			}
+		}
+		return schemaSnapshot;
+	}
+	
+	/**
+	 * lookup table in snapshot. Invalid table informations are reloaded.
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * @param schemaSnapshot snapshot of dbms schema
+	 * @param tableSpec table specification
+	 * 
+	 * @return table snapshot or null, if table not exists
+	 * 
+	 * @throws SQLException
+	 */
+	protected TableMetaData getTableMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableSpec tableSpec) throws SQLException
+	{
+		boolean quoted = false;
+		if(tableSpec.getQuotedName() != null)
+		{
+			quoted = tableSpec.getQuotedName().booleanValue();
+		}
+		
+		synchronized(schemaSnapshot)
+		{
+			if(schemaSnapshot.isTableInvalid(tableSpec.getName()))
+			{
+				List<TableMetaData> tableList = readTableMetaData(connection, schemaSpec, schemaSnapshot.getCatalog(), schemaSnapshot.getSchema(), objectSearchPattern(schemaSpec, connection, tableSpec.getName(), quoted, "TABLE"));
+				schemaSnapshot.countMetaDataQuery(tableList.size());
+				for(TableMetaData table : tableList)
+				{
+					schemaSnapshot.addTable(table);
+				}
+				schemaSnapshot.validateTable(tableSpec.getName());
+			}
+		}
+		return schemaSnapshot.getTable(tableSpec.getName(), quoted);
+	}
+	
+	protected void loadColumnMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableMetaData table) throws SQLException
+	{
+		synchronized(table)
+		{
+			if(table.isColumnsLoaded())
+			{
+				return;
+			}
+			List<ColumnMetaData> columnList = readColumnMetaData(connection, schemaSpec, schemaSnapshot.getCatalog(), schemaSnapshot.getSchema(), objectSearchPattern(schemaSpec, connection, table.getTableName(), true, "TABLE"));
+			schemaSnapshot.countMetaDataQuery(columnList.size());
+			for(ColumnMetaData column : columnList)
+			{
+				if(table.getTableName().equals(column.getTableName()))
+				{
+					table.addColumn(column);
+				}
+			}
+			table.setColumnsLoaded(true);
+		}
+	}
+	
+	protected void loadPrimaryKeyMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableMetaData table) throws SQLException
+	{
+		synchronized(table)
+		{
+			if(table.isPrimaryKeyLoaded())
+			{
+				return;
+			}
+			
+			long rows = 0L;
+			ResultSet resultSet = null;
+			try
+			{
+				DatabaseMetaData databaseMetaData = connection.getMetaData();
+				resultSet = databaseMetaData.getPrimaryKeys
+				(
+					catalogSearchPattern(schemaSpec, connection, schemaSnapshot.getCatalog()), 
+					schemaSearchPattern(schemaSpec, connection, schemaSnapshot.getSchema()),  
+					objectSearchPattern(schemaSpec, connection, table.getTableName(), true, "TABLE")
+				);
+				while(resultSet.next())
+				{
+					rows++;
+					String cat 	= resultSet.getString("TABLE_CAT");
+					String schem 	= resultSet.getString("TABLE_SCHEM");
+					String tbl 	= resultSet.getString("TABLE_NAME");
+					String col 	= resultSet.getString("COLUMN_NAME");
+					
+					if(! isSchemaMember(cat, schem, schemaSnapshot.getCatalog(), schemaSnapshot.getSchema()))
+					{
+						continue;
+					}
+					if((tbl == null) || (col == null) || (! tbl.equals(table.getTableName())))
+					{
+						continue;
+					}
+					table.getPrimaryKeyColumnList().add(col);
+				}
+			}
+			finally 
+			{
+				if(resultSet != null)
+				{
+					try
+					{
+						resultSet.close();
+					}
+					catch (Exception e) {}
+				}
+			}
+			schemaSnapshot.countMetaDataQuery(rows);
+			table.setPrimaryKeyLoaded(true);
+		}
+	}
+	
+	protected void loadForeignKeyMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableMetaData table) throws SQLException
+	{
+		synchronized(table)
+		{
+			if(table.isForeignKeysLoaded())
+			{
+				return;
+			}
+			List<ForeignKeyMetaData> foreignKeyList = readForeignKeyMetaData(connection, schemaSpec, schemaSnapshot.getCatalog(), schemaSnapshot.getSchema(), objectSearchPattern(schemaSpec, connection, table.getTableName(), true, "TABLE"));
+			schemaSnapshot.countMetaDataQuery(foreignKeyList.size());
+			for(ForeignKeyMetaData foreignKey : foreignKeyList)
+			{
+				if(table.getTableName().equals(foreignKey.getTableName()))
+				{
+					table.getForeignKeyList().add(foreignKey);
+				}
+			}
+			table.setForeignKeysLoaded(true);
+		}
+	}
+	
+	protected void loadIndexMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableMetaData table) throws SQLException
+	{
+		synchronized(table)
+		{
+			if(table.isIndicesLoaded())
+			{
+				return;
+			}
+			List<IndexMetaData> indexList = readIndexMetaData(connection, schemaSpec, schemaSnapshot.getCatalog(), schemaSnapshot.getSchema(), objectSearchPattern(schemaSpec, connection, table.getTableName(), true, "TABLE"));
+			schemaSnapshot.countMetaDataQuery(indexList.size());
+			for(IndexMetaData index : indexList)
+			{
+				if(table.getTableName().equals(index.getTableName()))
+				{
+					table.getIndexList().add(index);
+				}
+			}
+			table.setIndicesLoaded(true);
+		}
+	}
+	
+	/**
+	 * invalidate snapshot informations of table after ddl statements
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * @param tableSpec table specification
+	 * @param properties working parameter
+	 * @param columns invalidate column informations
+	 * @param primaryKey invalidate primary key informations
+	 * @param foreignKeys invalidate foreign key informations
+	 * @param indices invalidate index informations
+	 * 
+	 * @throws SQLException
+	 */
+	protected void invalidateTableMetaData
+	(
+		Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, Map<String,Object> properties, 
+		boolean columns, boolean primaryKey, boolean foreignKeys, boolean indices
+	) 
+	throws SQLException
+	{
+		if(MetaDataSnapshot.fromProperties(properties) == null)
+		{
+			return;
+		}
+		SchemaMetaDataSnapshot schemaSnapshot = getSchemaMetaDataSnapshot(connection, schemaSpec, tableSpec, properties);
+		boolean quoted = false;
+		if(tableSpec.getQuotedName() != null)
+		{
+			quoted = tableSpec.getQuotedName().booleanValue();
+		}
+		TableMetaData table = schemaSnapshot.getTable(tableSpec.getName(), quoted);
+		if(table == null)
+		{
+			return;
+		}
+		if(columns)
+		{
+			table.invalidateColumns();
+		}
+		if(primaryKey)
+		{
+			table.invalidatePrimaryKey();
+		}
+		if(foreignKeys)
+		{
+			table.invalidateForeignKeys();
+		}
+		if(indices)
+		{
+			table.invalidateIndices();
+		}
+	}
+	
+	protected boolean isSchemaMember(String cat, String schem, String catalog, String schema)
+	{
+		if(schem == null)
+		{
+			schem = cat;
+		}
+		
+		if(cat == null) {cat = "";}
+		if(schem == null) {schem = "";}
+		
+		if(!(cat.isEmpty() || cat.equalsIgnoreCase("null") || cat.equalsIgnoreCase(catalog) || cat.equalsIgnoreCase(schema)))
+		{
+			return false;
+		}
+		return schem.equalsIgnoreCase(schema);
+	}
+	
+	protected List<TableMetaData> readTableMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		List<TableMetaData> tableList = new ArrayList<TableMetaData>();
+		ResultSet resultSet = null;
+		try
+		{
+			DatabaseMetaData databaseMetaData = connection.getMetaData();
+			resultSet = databaseMetaData.getTables
+			(
+				catalogSearchPattern(schemaSpec, connection, catalog), 
+				schemaSearchPattern(schemaSpec, connection, schema),  
+				tablePattern,
+				new String[]{"TABLE"}
+			);
+			while(resultSet.next())
+			{
+				String cat 	= resultSet.getString("TABLE_CAT");
+				String schem 	= resultSet.getString("TABLE_SCHEM");
+				String tbl 	= resultSet.getString("TABLE_NAME");
+				
+				if(! isSchemaMember(cat, schem, catalog, schema))
+				{
+					continue;
+				}
+				if(tbl == null)
+				{
+					continue;
+				}
+				
+				tableList.add(new TableMetaData().setTableCatalog(cat).setTableSchema(schem == null ? cat : schem).setTableName(tbl));
+			}
+		}
+		finally 
+		{
+			if(resultSet != null)
+			{
+				try
+				{
+					resultSet.close();
+				}
+				catch (Exception e) {}
+			}
+		}
+		return tableList;
+	}
+	
+	protected List<ColumnMetaData> readColumnMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		List<ColumnMetaData> columnList = new ArrayList<ColumnMetaData>();
+		ResultSet resultSet = null;
+		try
+		{
+			DatabaseMetaData databaseMetaData = connection.getMetaData();
+			resultSet = databaseMetaData.getColumns
+			(
+				catalogSearchPattern(schemaSpec, connection, catalog), 
+				schemaSearchPattern(schemaSpec, connection, schema),  
+				tablePattern,
+				"%"
+			);
+			while(resultSet.next())
+			{
+				String cat 	= resultSet.getString("TABLE_CAT");
+				String schem 	= resultSet.getString("TABLE_SCHEM");
+				String tbl 	= resultSet.getString("TABLE_NAME");
+				String col 	= resultSet.getString("COLUMN_NAME");
+				
+				if(! isSchemaMember(cat, schem, catalog, schema))
+				{
+					continue;
+				}
+				
+				if(schem == null)
+				{
+					schem = cat;
+				}
+				
+				if(cat == null) {cat = "";}
+				if(schem == null) {schem = "";}
+				if(tbl == null) {tbl = "";}
+				if(col == null) {col = "";}
+				
+				columnList.add
+				(
+					new ColumnMetaData()
+						.setTableCatalog(cat)
+						.setTableSchema(schem)
+						.setTableName(tbl)
+						.setColumnName(col)
+						.setDataType(resultSet.getInt("DATA_TYPE"))
+						.setTypeName(resultSet.getString("TYPE_NAME"))
+						.setColumnSize(resultSet.getInt("COLUMN_SIZE"))
+						.setDecimalDigits(resultSet.getInt("DECIMAL_DIGITS"))
+						.setNullable(resultSet.getInt("NULLABLE"))
+						.setColumnDefault(resultSet.getString("COLUMN_DEF"))
+				);
+			}
+		}
+		finally 
+		{
+			if(resultSet != null)
+			{
+				try
+				{
+					resultSet.close();
+				}
+				catch (Exception e) {}
 			}
 		}
+		return columnList;
 	}
 	
-	public void dropDummyColumns(Connection connection, SchemaSpec schemaSpec) throws SQLException
+	protected List<ForeignKeyMetaData> readForeignKeyMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
 	{
-		Map<String,String> tableIndex = new HashMap<String,String>();
-		Map<String, Map<String,String>> colIndex = new HashMap<String,Map<String,String>>();
-		
-		if(schemaSpec.getListTableSpec() != null)
-		{
-			for(TableSpec tableSpec : schemaSpec.getListTableSpec())
-			{
-				tableIndex.put(tableSpec.getName().toUpperCase(), tableSpec.getName());
-			}
-		}
-		
-		String schema = connection.getSchema();
-		
-		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
-		{
-			schema = schemaSpec.getDbmsSchemaName();
-		}
-		
-		String tbl = null;
-		String col = null;
-		String cat = null;
-		String schem = null;
-		
+		List<ForeignKeyMetaData> foreignKeyList = new ArrayList<ForeignKeyMetaData>();
 		ResultSet resultSet = null;
 		try
 		{
 			DatabaseMetaData databaseMetaData = connection.getMetaData();
-			resultSet = databaseMetaData.getColumns(null,null,"%","%");
+			resultSet = databaseMetaData.getImportedKeys
+			(
+				catalogSearchPattern(schemaSpec, connection, catalog), 
+				schemaSearchPattern(schemaSpec, connection, schema),  
+				tableName
+			);
 			while(resultSet.next())
 			{
 				/*
-				 * TABLE_CAT 						in H2 the name of DB
-				 * TABLE_SCHEM 						INFORMATION_SCHEMA / PUBLIC
-				 * TABLE_NAME 						
-				 * COLUMN_NAME 						column name
-				 * DATA_TYPE 						SQL type from java.sql.Types (int)
-				 * TYPE_NAME						SQL type - Name
-				 * COLUMN_SIZE						size (int)
-				 * DECIMAL_DIGITS					digits for float .... (int)
-				 * NULLABLE 						nullable
-
+				 * PKTABLE_CAT String => primary key table catalog being imported (may be null)
+				 * PKTABLE_SCHEM String => primary key table schema being imported (may be null)
+				 * PKTABLE_NAME String => primary key table name being imported
+				 * PKCOLUMN_NAME String => primary key column name being imported
+				 * FKTABLE_CAT String => foreign key table catalog (may be null)
+				 * FKTABLE_SCHEM String => foreign key table schema (may be null)
+				 * FKTABLE_NAME String => foreign key table name
+				 * FKCOLUMN_NAME String => foreign key column name
+				 * KEY_SEQ short => sequence number within a foreign key( a value of 1 represents the first column of the foreign key, a value of 2 would represent the second column within the foreign key).
+				 * UPDATE_RULE short => What happens to a foreign key when the primary key is updated:
+				 * 		importedNoAction - do not allow update of primary key if it has been imported
+				 * 		importedKeyCascade - change imported key to agree with primary key update
+				 * 		importedKeySetNull - change imported key to NULL if its primary key has been updated
+				 * 		importedKeySetDefault - change imported key to default values if its primary key has been updated
+				 * 		importedKeyRestrict - same as importedKeyNoAction (for ODBC 2.x compatibility)
+				 * DELETE_RULE short => What happens to the foreign key when primary is deleted.
+				 * 		importedKeyNoAction - do not allow delete of primary key if it has been imported
+				 * 		importedKeyCascade - delete rows that import a deleted key
+				 * 		importedKeySetNull - change imported key to NULL if its primary key has been deleted
+				 * 		importedKeyRestrict - same as importedKeyNoAction (for ODBC 2.x compatibility)
+				 * 		importedKeySetDefault - change imported key to default if its primary key has been deleted
+				 * FK_NAME String => foreign key name (may be null)
+				 * PK_NAME String => primary key name (may be null)
+				 * DEFERRABILITY short => can the evaluation of foreign key constraints be deferred until commit
+				 * 		importedKeyInitiallyDeferred - see SQL92 for definition
+				 * 		importedKeyInitiallyImmediate - see SQL92 for definition
+				 * 		importedKeyNotDeferrable - see SQL92 for definition
+				 * 
+				 * PKTABLE_CAT: 		SODEAC
+				 * PKTABLE_SCHEM: 		PUBLIC
+				 * PKTABLE_NAME: 		SODEAC_DOMAIN
+				 * PKCOLUMN_NAME: 		ID
+				 * FKTABLE_CAT: 		SODEAC
+				 * FKTABLE_SCHEM: 		PUBLIC
+				 * FKTABLE_NAME: 		SODEAC_USER
+				 * FKCOLUMN_NAME: 		SODEAC_DOMAIN_ID
+				 * KEY_SEQ: 			1
+				 * UPDATE_RULE: 		1
+				 * DELETE_RULE: 		1
+				 * FK_NAME: 			CONSTRAINT_F
+				 * PK_NAME: 			PRIMARY_KEY_4
+				 * DEFERRABILITY:		7
 				 */
-				cat 	= resultSet.getString("TABLE_CAT");
-				schem 	= resultSet.getString("TABLE_SCHEM");
-				tbl 	= resultSet.getString("TABLE_NAME");
-				col 	= resultSet.getString("COLUMN_NAME");
-				
-				if(schem == null)
-				{
-					schem = cat;
-				}
-				
-				if(tbl == null) {tbl = "";}
-				if(col == null) {col = "";}
 				
+				String cat 		= resultSet.getString("FKTABLE_CAT");
+				String schem 	= resultSet.getString("FKTABLE_SCHEM");
+				String tbl 		= resultSet.getString("FKTABLE_NAME");
+				String col 		= resultSet.getString("FKCOLUMN_NAME");
+				String keyName 	= resultSet.getString("FK_NAME");
 				
-				if(! tableIndex.containsKey(tbl.toUpperCase()))
+				if(! isSchemaMember(cat, schem, catalog, schema))
 				{
 					continue;
 				}
 				
-				if(! schem.equalsIgnoreCase(schema))
-				{
-					continue;
-				}
+				if(tbl == null) {tbl = "";}
+				if(col == null) {col = "";}
+				if(keyName == null) {keyName = "";}
 				
-				Map<String,String> cols = colIndex.get(tbl);
-				if(cols == null)
-				{
-					cols = new HashMap<String,String>();
-					colIndex.put(tbl, cols);
-				}
-				cols.put(col, col);
+				foreignKeyList.add
+				(
+					new ForeignKeyMetaData()
+						.setTableName(tbl)
+						.setColumnName(col)
+						.setKeyName(keyName)
+						.setReferencedTableName(resultSet.getString("PKTABLE_NAME"))
+						.setReferencedColumnName(resultSet.getString("PKCOLUMN_NAME"))
+				);
 			}
 		}
 		finally 
@@ -2316,102 +2988,169 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 				catch (Exception e) {}
 			}
 		}
-		
-		for(Entry<String, Map<String,String>> colEntry : colIndex.entrySet())
+		return foreignKeyList;
+	}
+	
+	protected List<IndexMetaData> readIndexMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
+	{
+		List<IndexMetaData> indexList = new ArrayList<IndexMetaData>();
+		ResultSet resultSet = null;
+		try
 		{
-			TableSpec tableSpec = new TableSpec(colEntry.getKey(), schemaSpec);
-			tableSpec.setQuotedName(true);
-			
-			String colName = null;
-			for(String columnName : colEntry.getValue().keySet())
+			DatabaseMetaData databaseMetaData = connection.getMetaData();
+			resultSet = databaseMetaData.getIndexInfo
+			(
+				catalogSearchPattern(schemaSpec, connection, catalog), 
+				schemaSearchPattern(schemaSpec, connection, schema),  
+				tableName, 
+				false, false
+			);
+			while(resultSet.next())
 			{
-				if(columnName.equalsIgnoreCase("SODEACDFLTCOL"))
+				/*
+				 * TABLE_CAT String => table catalog (may be null)
+				 * TABLE_SCHEM String => table schema (may be null)
+				 * TABLE_NAME String => table name
+				 * NON_UNIQUE boolean => Can index values be non-unique. false when TYPE is tableIndexStatistic
+				 * INDEX_QUALIFIER String => index catalog (may be null); null when TYPE is tableIndexStatistic
+				 * INDEX_NAME String => index name; null when TYPE is tableIndexStatistic
+				 * TYPE short => index type:
+				 * 		tableIndexStatistic - this identifies table statistics that are returned in conjuction with a table's index descriptions
+				 * 		tableIndexClustered - this is a clustered index
+				 * 		tableIndexHashed - this is a hashed index
+				 * 		tableIndexOther - this is some other style of index
+				 * ORDINAL_POSITION short => column sequence number within index; zero when TYPE is tableIndexStatistic
+				 * COLUMN_NAME String => column name; null when TYPE is tableIndexStatistic
+				 * ASC_OR_DESC String => column sort sequence, "A" => ascending, "D" => descending, may be null if sort sequence is not supported; null when TYPE is tableIndexStatistic
+				 * CARDINALITY long => When TYPE is tableIndexStatistic, then this is the number of rows in the table; otherwise, it is the number of unique values in the index.
+				 * PAGES long => When TYPE is tableIndexStatisic then this is the number of pages used for the table, otherwise it is the number of pages used for the current index.
+				 * FILTER_CONDITION String => Filter condition, if any. (may be null)
+				 * 
+				 * Key:
+				 * 	TABLE_CAT: SODEAC
+				 * 	TABLE_SCHEM: PUBLIC
+				 * 	TABLE_NAME: SODEAC_USER
+				 * 	NON_UNIQUE: false
+				 * 	INDEX_QUALIFIER: SODEAC
+				 * 	INDEX_NAME: IDX2
+				 * 	TYPE: 3
+				 * 	ORDINAL_POSITION: 1
+				 * 	COLUMN_NAME: SODEAC_DOMAIN_ID
+				 * 	ASC_OR_DESC: A
+				 * 	CARDINALITY: 0
+				 * 	PAGES : 0
+				 * 	FILTER_CONDITION: 
+				 * Key:
+				 * 	TABLE_CAT: SODEAC
+				 * 	TABLE_SCHEM: PUBLIC
+				 * 	TABLE_NAME: SODEAC_USER
+				 * 	NON_UNIQUE: false
+				 * 	INDEX_QUALIFIER: SODEAC
+				 * 	INDEX_NAME: IDX2
+				 * 	TYPE: 3
+				 * 	ORDINAL_POSITION: 2
+				 * 	COLUMN_NAME: LOGIN_NAME
+				 * 	ASC_OR_DESC: A
+				 * 	CARDINALITY: 0
+				 * 	PAGES : 0
+				 * 	FILTER_CONDITION: 
+				 */
+				
+				String cat 		= resultSet.getString("TABLE_CAT");
+				String schem 	= resultSet.getString("TABLE_SCHEM");
+				String tbl 		= resultSet.getString("TABLE_NAME");
+				String col 		= resultSet.getString("COLUMN_NAME");
+				String idx		= resultSet.getString("INDEX_NAME");
+				
+				if(! isSchemaMember(cat, schem, catalog, schema))
 				{
-					colName = columnName;
-					break;
+					continue;
 				}
+				
+				if(tbl == null) {tbl = "";}
+				if(idx ==  null) {idx = "";}
+				if(col ==  null) {col = "";}
+				
+				indexList.add
+				(
+					new IndexMetaData()
+						.setTableName(tbl)
+						.setIndexName(idx)
+						.setColumnName(col)
+						.setNonUnique(resultSet.getBoolean("NON_UNIQUE"))
+						.setOrdinalPosition(resultSet.getShort("ORDINAL_POSITION"))
+				);
 			}
-			
-			if((colName != null) && (colEntry.getValue().size() > 1))
+		}
+		finally 
+		{
+			if(resultSet != null)
 			{
-				dropColumn(connection, schemaSpec, tableSpec, colName, true);
+				try
+				{
+					resultSet.close();
+				}
+				catch (Exception e) {}
 			}
 		}
+		return indexList;
 	}
 	
-	public String getFunctionExpression(String function)
-	{
-		return function + "()";
-	}
-	
-	public boolean tableRequiresColumn()
-	{
-		return false;
-	}
-	
-	@Override
-	public String objectSearchPattern(SchemaSpec schemaSpec, Connection connection, String name, boolean quoted, String type)
-	{
-		return quoted ? name : objectNameGuidelineFormat(schemaSpec, connection, name, type);
-	}
-
-	@Override
-	public String catalogSearchPattern(SchemaSpec schemaSpec, Connection connection, String catalog)
-	{
-		return catalog;
-	}
-	
-	@Override
-	public String schemaSearchPattern(SchemaSpec schemaSpec, Connection connection, String schema)
-	{
-		return objectNameGuidelineFormat(schemaSpec, connection, schema, "SCHEMA");
-	}
-	
-	@Override
-	public String objectNameGuidelineFormat(SchemaSpec schemaSpec, Connection connection, String name, String type)
-	{
-		return name;
-	}
-
-	@Override
-	public char quotedChar()
+	protected IColumnType findBestColumnType(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec) throws SQLException
 	{
-		return '"';
+		return findBestColumnType(connection, schemaSpec, tableSpec, columnSpec, null);
 	}
 	
-	protected IColumnType findBestColumnType(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec) throws SQLException
+	/**
+	 * find column type implementation with best applicability for column specification. 
+	 * The resolution is cached only, if all candidates are {@link IColumnType#isApplicabilityCacheable()}.
+	 * 
+	 * @param connection underlying connection
+	 * @param schemaSpec hole schema specification
+	 * @param tableSpec table specification of column
+	 * @param columnSpec column specification
+	 * @param properties working parameter with metadata snapshot or null
+	 * 
+	 * @return column type implementation or null, if no implementation is applicable
+	 * 
+	 * @throws SQLException
+	 */
+	protected IColumnType findBestColumnType(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String,Object> properties) throws SQLException
 	{
 		//boolean FALLBACK,STANDARD,SPECIFIC
 		
-		Applicability best = Applicability.NONE;
+		ColumnTypeIndex index = this.columnTypeIndex;
+		if(index.getColumnDriverList() != this.columnDriverList)
+		{
+			index = new ColumnTypeIndex(this.columnDriverList);
+			this.columnTypeIndex = index;
+		}
+		
+		List<IColumnType> candidateList = index.getCandidateList(columnSpec.getColumntype());
+		if(candidateList.isEmpty())
+		{
+			return null;
+		}
+		
+		MetaDataSnapshot snapshot = MetaDataSnapshot.fromProperties(properties);
+		String dbProduct = snapshot == null ? connection.getMetaData().getDatabaseProductName() : snapshot.getDatabaseProductName(connection);
+		
 		IColumnType columnType = null;
-		boolean typeMatch = false;
-		for(IColumnType check : columnDriverList)
+		String resolutionKey = null;
+		if(index.isCacheable(columnSpec.getColumntype()))
 		{
-			List<String> list = check.getTypeList();
-			
-			if(list == null)
-			{
-				continue;
-			}
-			
-			typeMatch = false;
-			
-			for(String typeItem : list)
-			{
-				if(typeItem.equalsIgnoreCase(columnSpec.getColumntype()))
-				{
-					typeMatch = true;
-					break;
-				}
-			}
-			
-			if(! typeMatch)
+			resolutionKey = ColumnTypeIndex.resolutionKey(columnSpec, dbProduct);
+			columnType = index.getResolution(resolutionKey);
+			if(columnType != null)
 			{
-				continue;
+				return columnType;
 			}
-			
-			Applicability applicability = check.getApplicability(connection, schemaSpec, tableSpec, columnSpec, connection.getMetaData().getDatabaseProductName(), this);
+		}
+		
+		Applicability best = Applicability.NONE;
+		for(IColumnType check : candidateList)
+		{
+			Applicability applicability = check.getApplicability(connection, schemaSpec, tableSpec, columnSpec, dbProduct, this);
 			if(applicability == null)
 			{
 				continue;
@@ -2440,6 +3179,10 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 				best = applicability;
 			}
 		}
+		if(resolutionKey != null)
+		{
+			index.putResolution(resolutionKey, columnType);
+		}
 		return columnType;
 	}
 	
@@ -2551,4 +3294,14 @@ public class DefaultDatabaseSchemaDriver implements IDatabaseSchemaDriver
 
 	@Override
 	public void cleanBlob(Connection connection, Blob blob)throws SQLException{}
+	
+	/**
+	 * 
+	 * @param chunkSize requested size of transfer buffer
+	 * @return size of transfer buffer to stream blob content
+	 */
+	protected int blobChunkSize(int chunkSize)
+	{
+		return chunkSize < 1 ? DEFAULT_BLOB_CHUNK_SIZE : chunkSize;
+	}
 }
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.base;
+
+/**
+ * Snapshot of existing foreign key column in dbms catalog
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class ForeignKeyMetaData
+{
+	private String tableName = null;
+	private String columnName = null;
+	private String keyName = null;
+	private String referencedTableName = null;
+	private String referencedColumnName = null;
+	private boolean validated = true;
+	
+	public String getTableName()
+	{
+		return tableName;
+	}
+	public ForeignKeyMetaData setTableName(String tableName)
+	{
+		this.tableName = tableName;
+		return this;
+	}
+	public String getColumnName()
+	{
+		return columnName;
+	}
+	public ForeignKeyMetaData setColumnName(String columnName)
+	{
+		this.columnName = columnName;
+		return this;
+	}
+	public String getKeyName()
+	{
+		return keyName;
+	}
+	public ForeignKeyMetaData setKeyName(String keyName)
+	{
+		this.keyName = keyName;
+		return this;
+	}
+	public String getReferencedTableName()
+	{
+		return referencedTableName;
+	}
+	public ForeignKeyMetaData setReferencedTableName(String referencedTableName)
+	{
+		this.referencedTableName = referencedTableName;
+		return this;
+	}
+	public String getReferencedColumnName()
+	{
+		return referencedColumnName;
+	}
+	public ForeignKeyMetaData setReferencedColumnName(String referencedColumnName)
+	{
+		this.referencedColumnName = referencedColumnName;
+		return this;
+	}
+	
+	/**
+	 * 
+	 * @return false, if foreign key is created without validation of existing rows and not validated yet
+	 */
+	public boolean isValidated()
+	{
+		return validated;
+	}
+	public ForeignKeyMetaData setValidated(boolean validated)
+	{
+		this.validated = validated;
+		return this;
+	}
+}
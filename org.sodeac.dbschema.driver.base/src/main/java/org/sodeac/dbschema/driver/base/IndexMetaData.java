@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.base;
+
+/**
+ * Snapshot of existing index column in dbms catalog
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class IndexMetaData
+{
+	private String tableName = null;
+	private String indexName = null;
+	private String columnName = null;
+	private boolean nonUnique = true;
+	private short ordinalPosition = 0;
+	private boolean valid = true;
+	
+	public String getTableName()
+	{
+		return tableName;
+	}
+	public IndexMetaData setTableName(String tableName)
+	{
+		this.tableName = tableName;
+		return this;
+	}
+	public String getIndexName()
+	{
+		return indexName;
+	}
+	public IndexMetaData setIndexName(String indexName)
+	{
+		this.indexName = indexName;
+		return this;
+	}
+	public String getColumnName()
+	{
+		return columnName;
+	}
+	public IndexMetaData setColumnName(String columnName)
+	{
+		this.columnName = columnName;
+		return this;
+	}
+	public boolean isNonUnique()
+	{
+		return nonUnique;
+	}
+	public IndexMetaData setNonUnique(boolean nonUnique)
+	{
+		this.nonUnique = nonUnique;
+		return this;
+	}
+	public short getOrdinalPosition()
+	{
+		return ordinalPosition;
+	}
+	public IndexMetaData setOrdinalPosition(short ordinalPosition)
+	{
+		this.ordinalPosition = ordinalPosition;
+		return this;
+	}
+	public boolean isValid()
+	{
+		return valid;
+	}
+	public IndexMetaData setValid(boolean valid)
+	{
+		this.valid = valid;
+		return this;
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.base;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+
+/**
+ * Catalog snapshot for one schema check run. Contains a {@link SchemaMetaDataSnapshot} for each dbms schema,
+ * which is loaded with bulk requests on first usage.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class MetaDataSnapshot
+{
+	/**
+	 * key of snapshot in working parameter of schema check
+	 */
+	public static final String PROPERTY_KEY = "METADATA_SNAPSHOT";
+	
+	private Map<String,SchemaMetaDataSnapshot> schemaIndex = new ConcurrentHashMap<String,SchemaMetaDataSnapshot>();
+	private SchemaCheckMetrics metrics = null;
+	private volatile String databaseProductName = null;
+	
+	public SchemaCheckMetrics getMetrics()
+	{
+		return metrics;
+	}
+	
+	/**
+	 * setter for metrics of schema check. Queries of all registered schema snapshots are counted in metrics.
+	 * 
+	 * @param metrics metrics of schema check
+	 * @return snapshot
+	 */
+	public MetaDataSnapshot setMetrics(SchemaCheckMetrics metrics)
+	{
+		this.metrics = metrics;
+		return this;
+	}
+	
+	/**
+	 * getter for database product name. The name is requested from connection metadata once per snapshot.
+	 * 
+	 * @param connection underlying connection
+	 * @return database product name
+	 * 
+	 * @throws SQLException
+	 */
+	public String getDatabaseProductName(Connection connection) throws SQLException
+	{
+		String productName = this.databaseProductName;
+		if(productName == null)
+		{
+			productName = connection.getMetaData().getDatabaseProductName();
+			this.databaseProductName = productName;
+		}
+		return productName;
+	}
+	
+	/**
+	 * lookup snapshot of dbms schema
+	 *
+	 * @param schema name of dbms schema
+	 * @return snapshot of dbms schema or null, if snapshot is not loaded
+	 */
+	public SchemaMetaDataSnapshot getSchema(String schema)
+	{
+		return schemaIndex.get(schema == null ? "" : schema.toUpperCase());
+	}
+	
+	/**
+	 * register snapshot of dbms schema
+	 *
+	 * @param schemaSnapshot snapshot of dbms schema
+	 */
+	public void putSchema(SchemaMetaDataSnapshot schemaSnapshot)
+	{
+		schemaSnapshot.setMetrics(metrics);
+		schemaIndex.put(schemaSnapshot.getSchema() == null ? "" : schemaSnapshot.getSchema().toUpperCase(), schemaSnapshot);
+	}
+	
+	/**
+	 * fetch snapshot from working parameter
+	 *
+	 * @param properties working parameter
+	 * @return snapshot or null, if working parameter contains no snapshot
+	 */
+	public static MetaDataSnapshot fromProperties(Map<String,Object> properties)
+	{
+		if(properties == null)
+		{
+			return null;
+		}
+		Object snapshot = properties.get(PROPERTY_KEY);
+		if(snapshot instanceof MetaDataSnapshot)
+		{
+			return (MetaDataSnapshot)snapshot;
+		}
+		return null;
+	}
+}
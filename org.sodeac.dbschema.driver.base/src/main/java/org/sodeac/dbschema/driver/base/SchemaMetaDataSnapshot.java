@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.base;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+
+/**
+ * Snapshot of all tables of one dbms schema, indexed by table name. The snapshot can be shared by parallel workers of one schema check.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class SchemaMetaDataSnapshot
+{
+	private String catalog = null;
+	private String schema = null;
+	private Map<String,List<TableMetaData>> tableIndex = new HashMap<String,List<TableMetaData>>();
+	private Set<String> invalidTableSet = new HashSet<String>();
+	private SchemaCheckMetrics metrics = null;
+	private long metaDataQueryCount = 0L;
+	private long metaDataRowCount = 0L;
+	
+	public SchemaMetaDataSnapshot(String catalog, String schema)
+	{
+		super();
+		this.catalog = catalog;
+		this.schema = schema;
+	}
+	
+	public String getCatalog()
+	{
+		return catalog;
+	}
+	
+	public String getSchema()
+	{
+		return schema;
+	}
+	
+	/**
+	 * count query to dbms catalog. Queries before registration in {@link MetaDataSnapshot} are counted after registration. 
+	 * 
+	 * @param rows count of rows read from result set
+	 */
+	public synchronized void countMetaDataQuery(long rows)
+	{
+		if(metrics != null)
+		{
+			metrics.addMetaDataQueries(1L, rows);
+			return;
+		}
+		this.metaDataQueryCount++;
+		this.metaDataRowCount += rows;
+	}
+	
+	/**
+	 * setter for metrics of schema check
+	 * 
+	 * @param metrics metrics of schema check
+	 */
+	public synchronized void setMetrics(SchemaCheckMetrics metrics)
+	{
+		this.metrics = metrics;
+		if((metrics != null) && (this.metaDataQueryCount > 0L))
+		{
+			metrics.addMetaDataQueries(this.metaDataQueryCount, this.metaDataRowCount);
+			this.metaDataQueryCount = 0L;
+			this.metaDataRowCount = 0L;
+		}
+	}
+	
+	/**
+	 * add table to snapshot
+	 *
+	 * @param table table to add
+	 */
+	public synchronized void addTable(TableMetaData table)
+	{
+		String key = table.getTableName() == null ? "" : table.getTableName().toUpperCase();
+		List<TableMetaData> list = tableIndex.get(key);
+		if(list == null)
+		{
+			list = new ArrayList<TableMetaData>(1);
+			tableIndex.put(key, list);
+		}
+		for(TableMetaData existing : list)
+		{
+			if(existing.getTableName().equals(table.getTableName()))
+			{
+				list.remove(existing);
+				break;
+			}
+		}
+		list.add(table);
+	}
+	
+	/**
+	 * lookup table by name
+	 *
+	 * @param name name of table
+	 * @param quoted use name as quoted object name (case sensitive)
+	 *
+	 * @return table or null, if table not exists
+	 */
+	public synchronized TableMetaData getTable(String name, boolean quoted)
+	{
+		if(name == null)
+		{
+			return null;
+		}
+		List<TableMetaData> list = tableIndex.get(name.toUpperCase());
+		if(list == null)
+		{
+			return null;
+		}
+		for(TableMetaData table : list)
+		{
+			if(quoted && (! name.equals(table.getTableName())))
+			{
+				continue;
+			}
+			return table;
+		}
+		return null;
+	}
+	
+	/**
+	 * Getter for all tables of schema
+	 *
+	 * @return list of all tables
+	 */
+	public synchronized List<TableMetaData> getTableList()
+	{
+		List<TableMetaData> tableList = new ArrayList<TableMetaData>();
+		for(List<TableMetaData> list : tableIndex.values())
+		{
+			tableList.addAll(list);
+		}
+		return tableList;
+	}
+	
+	/**
+	 * mark table informations as invalid (after create or drop). Table has to reload on next request.
+	 *
+	 * @param name name of table
+	 */
+	public synchronized void invalidateTable(String name)
+	{
+		if(name == null)
+		{
+			return;
+		}
+		tableIndex.remove(name.toUpperCase());
+		invalidTableSet.add(name.toUpperCase());
+	}
+	
+	/**
+	 *
+	 * @param name name of table
+	 * @return true, if table informations are invalid and has to reload
+	 */
+	public synchronized boolean isTableInvalid(String name)
+	{
+		if(name == null)
+		{
+			return false;
+		}
+		return invalidTableSet.contains(name.toUpperCase());
+	}
+	
+	/**
+	 * mark table informations as valid after reload
+	 *
+	 * @param name name of table
+	 */
+	public synchronized void validateTable(String name)
+	{
+		if(name == null)
+		{
+			return;
+		}
+		invalidTableSet.remove(name.toUpperCase());
+	}
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.base;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of existing table in dbms catalog. Columns, primary key, foreign keys and indices are loaded separately
+ * and can be invalidated separately after ddl statements.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class TableMetaData
+{
+	private String tableCatalog = null;
+	private String tableSchema = null;
+	private String tableName = null;
+	
+	private boolean columnsLoaded = false;
+	private Map<String,List<ColumnMetaData>> columnIndex = new HashMap<String,List<ColumnMetaData>>();
+	
+	private boolean primaryKeyLoaded = false;
+	private List<String> primaryKeyColumnList = new ArrayList<String>();
+	
+	private boolean foreignKeysLoaded = false;
+	private List<ForeignKeyMetaData> foreignKeyList = new ArrayList<ForeignKeyMetaData>();
+	
+	private boolean indicesLoaded = false;
+	private List<IndexMetaData> indexList = new ArrayList<IndexMetaData>();
+	
+	public String getTableCatalog()
+	{
+		return tableCatalog;
+	}
+	public TableMetaData setTableCatalog(String tableCatalog)
+	{
+		this.tableCatalog = tableCatalog;
+		return this;
+	}
+	public String getTableSchema()
+	{
+		return tableSchema;
+	}
+	public TableMetaData setTableSchema(String tableSchema)
+	{
+		this.tableSchema = tableSchema;
+		return this;
+	}
+	public String getTableName()
+	{
+		return tableName;
+	}
+	public TableMetaData setTableName(String tableName)
+	{
+		this.tableName = tableName;
+		return this;
+	}
+	
+	public boolean isColumnsLoaded()
+	{
+		return columnsLoaded;
+	}
+	public void setColumnsLoaded(boolean columnsLoaded)
+	{
+		this.columnsLoaded = columnsLoaded;
+	}
+	
+	/**
+	 * add column to snapshot
+	 *
+	 * @param column column to add
+	 */
+	public synchronized void addColumn(ColumnMetaData column)
+	{
+		String key = column.getColumnName() == null ? "" : column.getColumnName().toUpperCase();
+		List<ColumnMetaData> list = columnIndex.get(key);
+		if(list == null)
+		{
+			list = new ArrayList<ColumnMetaData>(1);
+			columnIndex.put(key, list);
+		}
+		list.add(column);
+	}
+	
+	/**
+	 * lookup column by name
+	 *
+	 * @param name name of column
+	 * @param quoted use name as quoted object name (case sensitive)
+	 *
+	 * @return column or null, if column not exists
+	 */
+	public synchronized ColumnMetaData getColumn(String name, boolean quoted)
+	{
+		if(name == null)
+		{
+			return null;
+		}
+		List<ColumnMetaData> list = columnIndex.get(name.toUpperCase());
+		if(list == null)
+		{
+			return null;
+		}
+		for(ColumnMetaData column : list)
+		{
+			if(quoted && (! name.equals(column.getColumnName())))
+			{
+				continue;
+			}
+			return column;
+		}
+		return null;
+	}
+	
+	/**
+	 * Getter for all columns of table
+	 *
+	 * @return list of all columns
+	 */
+	public synchronized List<ColumnMetaData> getColumnList()
+	{
+		List<ColumnMetaData> columnList = new ArrayList<ColumnMetaData>();
+		for(List<ColumnMetaData> list : columnIndex.values())
+		{
+			columnList.addAll(list);
+		}
+		return columnList;
+	}
+	
+	/**
+	 * remove column informations. Columns have to reload on next request.
+	 */
+	public synchronized void invalidateColumns()
+	{
+		this.columnIndex.clear();
+		this.columnsLoaded = false;
+	}
+	
+	public boolean isPrimaryKeyLoaded()
+	{
+		return primaryKeyLoaded;
+	}
+	public void setPrimaryKeyLoaded(boolean primaryKeyLoaded)
+	{
+		this.primaryKeyLoaded = primaryKeyLoaded;
+	}
+	public List<String> getPrimaryKeyColumnList()
+	{
+		return primaryKeyColumnList;
+	}
+	
+	/**
+	 * remove primary key informations. Primary key has to reload on next request.
+	 */
+	public synchronized void invalidatePrimaryKey()
+	{
+		this.primaryKeyColumnList.clear();
+		this.primaryKeyLoaded = false;
+	}
+	
+	public boolean isForeignKeysLoaded()
+	{
+		return foreignKeysLoaded;
+	}
+	public void setForeignKeysLoaded(boolean foreignKeysLoaded)
+	{
+		this.foreignKeysLoaded = foreignKeysLoaded;
+	}
+	public List<ForeignKeyMetaData> getForeignKeyList()
+	{
+		return foreignKeyList;
+	}
+	
+	/**
+	 * remove foreign key informations. Foreign keys have to reload on next request.
+	 */
+	public synchronized void invalidateForeignKeys()
+	{
+		this.foreignKeyList.clear();
+		this.foreignKeysLoaded = false;
+	}
+	
+	public boolean isIndicesLoaded()
+	{
+		return indicesLoaded;
+	}
+	public void setIndicesLoaded(boolean indicesLoaded)
+	{
+		this.indicesLoaded = indicesLoaded;
+	}
+	public List<IndexMetaData> getIndexList()
+	{
+		return indexList;
+	}
+	
+	/**
+	 * remove index informations. Indices have to reload on next request.
+	 */
+	public synchronized void invalidateIndices()
+	{
+		this.indexList.clear();
+		this.indicesLoaded = false;
+	}
+}
@@ -0,0 +1,395 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.h2;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sodeac.dbschema.driver.base.ColumnMetaData;
+import org.sodeac.dbschema.driver.base.ForeignKeyMetaData;
+import org.sodeac.dbschema.driver.base.IndexMetaData;
+import org.sodeac.dbschema.driver.base.TableMetaData;
+
+/**
+ * Reads tables, columns, keys and indices of one schema from h2 INFORMATION_SCHEMA. Supports catalog layout of h2 1.4 and 2.x.
+ * The result corresponds to the result of {@link DatabaseMetaData} requests of h2 1.4 jdbc driver.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class H2CatalogReader
+{
+	private static final String SQL_TABLES =
+			"SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_TYPE IN ('TABLE','BASE TABLE') AND TABLE_SCHEMA = ? ";
+	
+	private static final String SQL_COLUMNS_V1 =
+			"SELECT TABLE_NAME, COLUMN_NAME, TYPE_NAME, COALESCE(CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, 0) AS COLUMN_SIZE, "
+			+ "COALESCE(NUMERIC_SCALE, 0) AS DECIMAL_DIGITS, IS_NULLABLE, COLUMN_DEFAULT "
+			+ "FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = ? ";
+	
+	private static final String SQL_COLUMNS_V2 =
+			"SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE AS TYPE_NAME, COALESCE(CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, 0) AS COLUMN_SIZE, "
+			+ "COALESCE(NUMERIC_SCALE, 0) AS DECIMAL_DIGITS, IS_NULLABLE, COLUMN_DEFAULT "
+			+ "FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = ? ";
+	
+	private static final String SQL_PRIMARY_KEYS_V1 =
+			"SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE PRIMARY_KEY = TRUE AND TABLE_SCHEMA = ? ";
+	
+	private static final String SQL_PRIMARY_KEYS_V2 =
+			"SELECT KCU.TABLE_NAME, KCU.COLUMN_NAME "
+			+ "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS TC "
+			+ "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE KCU ON KCU.CONSTRAINT_SCHEMA = TC.CONSTRAINT_SCHEMA AND KCU.CONSTRAINT_NAME = TC.CONSTRAINT_NAME "
+			+ "WHERE TC.CONSTRAINT_TYPE = 'PRIMARY KEY' AND TC.TABLE_SCHEMA = ? ";
+	
+	private static final String SQL_FOREIGN_KEYS_V1 =
+			"SELECT FKTABLE_NAME AS TABLE_NAME, FKCOLUMN_NAME AS COLUMN_NAME, FK_NAME AS KEY_NAME, PKTABLE_NAME AS R_TABLE_NAME, PKCOLUMN_NAME AS R_COLUMN_NAME "
+			+ "FROM INFORMATION_SCHEMA.CROSS_REFERENCES WHERE FKTABLE_SCHEMA = ? ";
+	
+	private static final String SQL_FOREIGN_KEYS_V2 =
+			"SELECT FK.TABLE_NAME, FK.COLUMN_NAME, FK.CONSTRAINT_NAME AS KEY_NAME, PK.TABLE_NAME AS R_TABLE_NAME, PK.COLUMN_NAME AS R_COLUMN_NAME "
+			+ "FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS RC "
+			+ "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE FK ON FK.CONSTRAINT_SCHEMA = RC.CONSTRAINT_SCHEMA AND FK.CONSTRAINT_NAME = RC.CONSTRAINT_NAME "
+			+ "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE PK ON PK.CONSTRAINT_SCHEMA = RC.UNIQUE_CONSTRAINT_SCHEMA AND PK.CONSTRAINT_NAME = RC.UNIQUE_CONSTRAINT_NAME "
+			+ "AND PK.ORDINAL_POSITION = FK.POSITION_IN_UNIQUE_CONSTRAINT "
+			+ "WHERE FK.TABLE_SCHEMA = ? ";
+	
+	private static final String SQL_INDICES_V1 =
+			"SELECT TABLE_NAME, INDEX_NAME, COLUMN_NAME, NON_UNIQUE, ORDINAL_POSITION FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = ? ";
+	
+	private static final String SQL_INDICES_V2 =
+			"SELECT IC.TABLE_NAME, IC.INDEX_NAME, IC.COLUMN_NAME, I.INDEX_TYPE_NAME NOT IN ('PRIMARY KEY','UNIQUE INDEX') AS NON_UNIQUE, IC.ORDINAL_POSITION "
+			+ "FROM INFORMATION_SCHEMA.INDEXES I "
+			+ "JOIN INFORMATION_SCHEMA.INDEX_COLUMNS IC ON IC.INDEX_SCHEMA = I.INDEX_SCHEMA AND IC.INDEX_NAME = I.INDEX_NAME "
+			+ "WHERE I.TABLE_SCHEMA = ? ";
+	
+	/**
+	 *
+	 * @param connection underlying connection
+	 * @return true, if connected h2 database uses catalog layout of h2 2.x
+	 * @throws SQLException
+	 */
+	public static boolean isVersion2(Connection connection) throws SQLException
+	{
+		return connection.getMetaData().getDatabaseMajorVersion() >= 2;
+	}
+	
+	/**
+	 * read tables of schema
+	 *
+	 * @param connection underlying connection
+	 * @param catalog catalog name
+	 * @param schema schema name (as stored in catalog)
+	 * @param tablePattern like pattern of table name or null for all tables
+	 *
+	 * @return list of tables
+	 *
+	 * @throws SQLException
+	 */
+	public static List<TableMetaData> readTables(Connection connection, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		List<TableMetaData> tableList = new ArrayList<TableMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_TABLES, "TABLE_NAME", schema, tablePattern, true, "TABLE_NAME");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				tableList.add(new TableMetaData().setTableCatalog(catalog).setTableSchema(schema).setTableName(resultSet.getString(1)));
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return tableList;
+	}
+	
+	/**
+	 * read columns of schema
+	 *
+	 * @param connection underlying connection
+	 * @param catalog catalog name
+	 * @param schema schema name (as stored in catalog)
+	 * @param tablePattern like pattern of table name or null for all tables
+	 *
+	 * @return list of columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<ColumnMetaData> readColumns(Connection connection, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		List<ColumnMetaData> columnList = new ArrayList<ColumnMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, isVersion2(connection) ? SQL_COLUMNS_V2 : SQL_COLUMNS_V1, "TABLE_NAME", schema, tablePattern, true, "TABLE_NAME, ORDINAL_POSITION");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				String typeName = typeName(resultSet.getString("TYPE_NAME"));
+				columnList.add
+				(
+					new ColumnMetaData()
+						.setTableCatalog(catalog == null ? "" : catalog)
+						.setTableSchema(schema)
+						.setTableName(resultSet.getString("TABLE_NAME"))
+						.setColumnName(resultSet.getString("COLUMN_NAME"))
+						.setDataType(dataType(typeName))
+						.setTypeName(typeName)
+						.setColumnSize((int)Math.min(Integer.MAX_VALUE, resultSet.getLong("COLUMN_SIZE")))
+						.setDecimalDigits(resultSet.getInt("DECIMAL_DIGITS"))
+						.setNullable("NO".equals(resultSet.getString("IS_NULLABLE")) ? DatabaseMetaData.columnNoNulls : DatabaseMetaData.columnNullable)
+						.setColumnDefault(resultSet.getString("COLUMN_DEFAULT"))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return columnList;
+	}
+	
+	/**
+	 * read primary key columns of schema and add them to table snapshots
+	 *
+	 * @param connection underlying connection
+	 * @param schema schema name (as stored in catalog)
+	 * @param tableName table name or null for all tables
+	 * @param tableList tables to fill
+	 *
+	 * @return count of read rows
+	 *
+	 * @throws SQLException
+	 */
+	public static long readPrimaryKeys(Connection connection, String schema, String tableName, List<TableMetaData> tableList) throws SQLException
+	{
+		Map<String,TableMetaData> tableIndex = new HashMap<String,TableMetaData>();
+		for(TableMetaData table : tableList)
+		{
+			tableIndex.put(table.getTableName(), table);
+		}
+		
+		boolean version2 = isVersion2(connection);
+		long rows = 0L;
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = version2 ?
+					prepare(connection, SQL_PRIMARY_KEYS_V2, "KCU.TABLE_NAME", schema, tableName, false, "KCU.TABLE_NAME, KCU.ORDINAL_POSITION") :
+					prepare(connection, SQL_PRIMARY_KEYS_V1, "TABLE_NAME", schema, tableName, false, "TABLE_NAME, ORDINAL_POSITION");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				rows++;
+				TableMetaData table = tableIndex.get(resultSet.getString("TABLE_NAME"));
+				if(table != null)
+				{
+					table.getPrimaryKeyColumnList().add(resultSet.getString("COLUMN_NAME"));
+				}
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return rows;
+	}
+	
+	/**
+	 * read foreign keys of schema
+	 *
+	 * @param connection underlying connection
+	 * @param schema schema name (as stored in catalog)
+	 * @param tableName table name or null for all tables
+	 *
+	 * @return list of foreign key columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<ForeignKeyMetaData> readForeignKeys(Connection connection, String schema, String tableName) throws SQLException
+	{
+		boolean version2 = isVersion2(connection);
+		List<ForeignKeyMetaData> foreignKeyList = new ArrayList<ForeignKeyMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = version2 ?
+					prepare(connection, SQL_FOREIGN_KEYS_V2, "FK.TABLE_NAME", schema, tableName, false, "FK.TABLE_NAME, FK.CONSTRAINT_NAME, FK.ORDINAL_POSITION") :
+					prepare(connection, SQL_FOREIGN_KEYS_V1, "FKTABLE_NAME", schema, tableName, false, "FKTABLE_NAME, FK_NAME, ORDINAL_POSITION");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				foreignKeyList.add
+				(
+					new ForeignKeyMetaData()
+						.setTableName(resultSet.getString("TABLE_NAME"))
+						.setColumnName(resultSet.getString("COLUMN_NAME"))
+						.setKeyName(resultSet.getString("KEY_NAME"))
+						.setReferencedTableName(resultSet.getString("R_TABLE_NAME"))
+						.setReferencedColumnName(resultSet.getString("R_COLUMN_NAME"))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return foreignKeyList;
+	}
+	
+	/**
+	 * read indices of schema
+	 *
+	 * @param connection underlying connection
+	 * @param schema schema name (as stored in catalog)
+	 * @param tableName table name or null for all tables
+	 *
+	 * @return list of index columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<IndexMetaData> readIndices(Connection connection, String schema, String tableName) throws SQLException
+	{
+		boolean version2 = isVersion2(connection);
+		List<IndexMetaData> indexList = new ArrayList<IndexMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = version2 ?
+					prepare(connection, SQL_INDICES_V2, "IC.TABLE_NAME", schema, tableName, false, "IC.TABLE_NAME, IC.INDEX_NAME, IC.ORDINAL_POSITION") :
+					prepare(connection, SQL_INDICES_V1, "TABLE_NAME", schema, tableName, false, "TABLE_NAME, INDEX_NAME, ORDINAL_POSITION");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				String col = resultSet.getString("COLUMN_NAME");
+				indexList.add
+				(
+					new IndexMetaData()
+						.setTableName(resultSet.getString("TABLE_NAME"))
+						.setIndexName(resultSet.getString("INDEX_NAME"))
+						.setColumnName(col == null ? "" : col)
+						.setNonUnique(resultSet.getBoolean("NON_UNIQUE"))
+						.setOrdinalPosition(resultSet.getShort("ORDINAL_POSITION"))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return indexList;
+	}
+	
+	private static PreparedStatement prepare(Connection connection, String sql, String tableColumn, String schema, String table, boolean pattern, String orderBy) throws SQLException
+	{
+		StringBuilder sqlBuilder = new StringBuilder(sql);
+		boolean filter = (table != null) && (! (pattern && "%".equals(table)));
+		if(filter)
+		{
+			sqlBuilder.append(" AND " + tableColumn + (pattern ? " LIKE ? " : " = ? "));
+		}
+		sqlBuilder.append(" ORDER BY " + orderBy);
+		
+		PreparedStatement preparedStatement = connection.prepareStatement(sqlBuilder.toString());
+		preparedStatement.setString(1, schema);
+		if(filter)
+		{
+			preparedStatement.setString(2, table);
+		}
+		return preparedStatement;
+	}
+	
+	private static void close(ResultSet resultSet, PreparedStatement preparedStatement)
+	{
+		if(resultSet != null)
+		{
+			try
+			{
+				resultSet.close();
+			}
+			catch (Exception e) {}
+		}
+		if(preparedStatement != null)
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/*
+	 * h2 2.x reports standard sql type names. Those are mapped to type names of h2 1.4
+	 */
+	private static String typeName(String typeName)
+	{
+		if(typeName == null)
+		{
+			return null;
+		}
+		switch(typeName)
+		{
+			case "CHARACTER" : return "CHAR";
+			case "CHARACTER VARYING" : return "VARCHAR";
+			case "CHARACTER LARGE OBJECT" : return "CLOB";
+			case "BINARY VARYING" : return "VARBINARY";
+			case "BINARY LARGE OBJECT" : return "BLOB";
+			case "DOUBLE PRECISION" : return "DOUBLE";
+			default : return typeName;
+		}
+	}
+	
+	private static int dataType(String typeName)
+	{
+		if(typeName == null)
+		{
+			return Types.OTHER;
+		}
+		switch(typeName)
+		{
+			case "CHAR" : return Types.CHAR;
+			case "VARCHAR" : return Types.VARCHAR;
+			case "CLOB" : return Types.CLOB;
+			case "BOOLEAN" : return Types.BOOLEAN;
+			case "TINYINT" : return Types.TINYINT;
+			case "SMALLINT" : return Types.SMALLINT;
+			case "INTEGER" : return Types.INTEGER;
+			case "BIGINT" : return Types.BIGINT;
+			case "REAL" : return Types.REAL;
+			case "DOUBLE" : return Types.DOUBLE;
+			case "DECIMAL" : return Types.DECIMAL;
+			case "NUMERIC" : return Types.NUMERIC;
+			case "DATE" : return Types.DATE;
+			case "TIME" : return Types.TIME;
+			case "TIMESTAMP" : return Types.TIMESTAMP;
+			case "BINARY" : return Types.BINARY;
+			case "VARBINARY" : return Types.VARBINARY;
+			case "BLOB" : return Types.BLOB;
+			default : return Types.OTHER;
+		}
+	}
+}
@@ -12,13 +12,20 @@ package org.sodeac.dbschema.driver.h2;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.osgi.service.component.annotations.Component;
 import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
 import org.sodeac.dbschema.api.SchemaSpec;
 import org.sodeac.dbschema.api.TableSpec;
+import org.sodeac.dbschema.driver.base.ColumnMetaData;
 import org.sodeac.dbschema.driver.base.DefaultDatabaseSchemaDriver;
+import org.sodeac.dbschema.driver.base.ForeignKeyMetaData;
+import org.sodeac.dbschema.driver.base.IndexMetaData;
+import org.sodeac.dbschema.driver.base.SchemaMetaDataSnapshot;
+import org.sodeac.dbschema.driver.base.TableMetaData;
 
 
 @Component(service=IDatabaseSchemaDriver.class)
@@ -49,4 +56,108 @@ public class H2DatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 	{
 		return name == null ? name : name.toUpperCase();
 	}
+	
+	@Override
+	protected SchemaMetaDataSnapshot loadSchemaMetaDataSnapshot(Connection connection, SchemaSpec schemaSpec, String catalog, String schema) throws SQLException
+	{
+		// INFORMATION_SCHEMA queries per object type instead of generic DatabaseMetaData requests per table
+		
+		SchemaMetaDataSnapshot schemaSnapshot = new SchemaMetaDataSnapshot(catalog, schema);
+		String schemaName = schemaSearchPattern(schemaSpec, connection, schema);
+		
+		List<TableMetaData> tableList = H2CatalogReader.readTables(connection, catalog, schemaName, null);
+		schemaSnapshot.countMetaDataQuery(tableList.size());
+		for(TableMetaData table : tableList)
+		{
+			schemaSnapshot.addTable(table);
+		}
+		
+		List<ColumnMetaData> columnList = H2CatalogReader.readColumns(connection, catalog, schemaName, null);
+		schemaSnapshot.countMetaDataQuery(columnList.size());
+		for(ColumnMetaData column : columnList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(column.getTableName(), true);
+			if(table != null)
+			{
+				table.addColumn(column);
+			}
+		}
+		
+		schemaSnapshot.countMetaDataQuery(H2CatalogReader.readPrimaryKeys(connection, schemaName, null, tableList));
+		
+		List<ForeignKeyMetaData> foreignKeyList = H2CatalogReader.readForeignKeys(connection, schemaName, null);
+		schemaSnapshot.countMetaDataQuery(foreignKeyList.size());
+		for(ForeignKeyMetaData foreignKey : foreignKeyList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(foreignKey.getTableName(), true);
+			if(table != null)
+			{
+				table.getForeignKeyList().add(foreignKey);
+			}
+		}
+		
+		List<IndexMetaData> indexList = H2CatalogReader.readIndices(connection, schemaName, null);
+		schemaSnapshot.countMetaDataQuery(indexList.size());
+		for(IndexMetaData index : indexList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(index.getTableName(), true);
+			if(table != null)
+			{
+				table.getIndexList().add(index);
+			}
+		}
+		
+		for(TableMetaData table : tableList)
+		{
+			table.setColumnsLoaded(true);
+			table.setPrimaryKeyLoaded(true);
+			table.setForeignKeysLoaded(true);
+			table.setIndicesLoaded(true);
+		}
+		
+		return schemaSnapshot;
+	}
+	
+	@Override
+	protected List<TableMetaData> readTableMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		return H2CatalogReader.readTables(connection, catalog, schemaSearchPattern(schemaSpec, connection, schema), tablePattern);
+	}
+	
+	@Override
+	protected List<ColumnMetaData> readColumnMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		return H2CatalogReader.readColumns(connection, catalog, schemaSearchPattern(schemaSpec, connection, schema), tablePattern);
+	}
+	
+	@Override
+	protected void loadPrimaryKeyMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableMetaData table) throws SQLException
+	{
+		synchronized(table)
+		{
+			if(table.isPrimaryKeyLoaded())
+			{
+				return;
+			}
+			long rows = H2CatalogReader.readPrimaryKeys
+			(
+				connection, schemaSearchPattern(schemaSpec, connection, schemaSnapshot.getSchema()), 
+				table.getTableName(), Collections.singletonList(table)
+			);
+			schemaSnapshot.countMetaDataQuery(rows);
+			table.setPrimaryKeyLoaded(true);
+		}
+	}
+	
+	@Override
+	protected List<ForeignKeyMetaData> readForeignKeyMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
+	{
+		return H2CatalogReader.readForeignKeys(connection, schemaSearchPattern(schemaSpec, connection, schema), tableName);
+	}
+	
+	@Override
+	protected List<IndexMetaData> readIndexMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
+	{
+		return H2CatalogReader.readIndices(connection, schemaSearchPattern(schemaSpec, connection, schema), tableName);
+	}
 }
@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.oracle;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sodeac.dbschema.driver.base.ColumnMetaData;
+import org.sodeac.dbschema.driver.base.ForeignKeyMetaData;
+import org.sodeac.dbschema.driver.base.IndexMetaData;
+import org.sodeac.dbschema.driver.base.TableMetaData;
+
+/**
+ * Reads tables, columns, keys and indices of one owner from oracle data dictionary with bind variables and array fetch.
+ * The result corresponds to the result of {@link DatabaseMetaData} requests of oracle jdbc driver.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class OracleCatalogReader
+{
+	public static final int FETCH_SIZE = 1000;
+	
+	private static final String SQL_TABLES =
+			"SELECT TABLE_NAME FROM ALL_TABLES WHERE DROPPED = 'NO' AND OWNER = ? ";
+	
+	// DATA_DEFAULT is a LONG column and disables array fetch. Defaults are read separately for columns with DEFAULT_LENGTH > 0
+	
+	private static final String SQL_COLUMNS =
+			"SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, DATA_LENGTH, DATA_PRECISION, DATA_SCALE, CHAR_LENGTH, NULLABLE, DEFAULT_LENGTH, "
+			+ "DECODE(DATA_PRECISION, NULL, DECODE(DATA_TYPE, 'NUMBER', DECODE(DATA_SCALE, NULL, 0, 38), "
+			+ "DECODE(DATA_TYPE, 'CHAR', CHAR_LENGTH, 'VARCHAR', CHAR_LENGTH, 'VARCHAR2', CHAR_LENGTH, 'NVARCHAR2', CHAR_LENGTH, 'NCHAR', CHAR_LENGTH, DATA_LENGTH)), "
+			+ "DATA_PRECISION) AS COLUMN_SIZE "
+			+ "FROM ALL_TAB_COLUMNS WHERE OWNER = ? ";
+	
+	private static final String SQL_COLUMN_DEFAULTS =
+			"SELECT TABLE_NAME, COLUMN_NAME, DATA_DEFAULT FROM ALL_TAB_COLUMNS WHERE DEFAULT_LENGTH > 0 AND OWNER = ? ";
+	
+	private static final String SQL_PRIMARY_KEYS =
+			"SELECT CC.TABLE_NAME, CC.COLUMN_NAME "
+			+ "FROM ALL_CONSTRAINTS C "
+			+ "JOIN ALL_CONS_COLUMNS CC ON CC.OWNER = C.OWNER AND CC.CONSTRAINT_NAME = C.CONSTRAINT_NAME AND CC.TABLE_NAME = C.TABLE_NAME "
+			+ "WHERE C.CONSTRAINT_TYPE = 'P' AND C.OWNER = ? ";
+	
+	private static final String SQL_FOREIGN_KEYS =
+			"SELECT CC.TABLE_NAME, CC.COLUMN_NAME, C.CONSTRAINT_NAME, RC.TABLE_NAME AS R_TABLE_NAME, RC.COLUMN_NAME AS R_COLUMN_NAME, C.VALIDATED "
+			+ "FROM ALL_CONSTRAINTS C "
+			+ "JOIN ALL_CONS_COLUMNS CC ON CC.OWNER = C.OWNER AND CC.CONSTRAINT_NAME = C.CONSTRAINT_NAME AND CC.TABLE_NAME = C.TABLE_NAME "
+			+ "JOIN ALL_CONS_COLUMNS RC ON RC.OWNER = C.R_OWNER AND RC.CONSTRAINT_NAME = C.R_CONSTRAINT_NAME AND RC.POSITION = CC.POSITION "
+			+ "WHERE C.CONSTRAINT_TYPE = 'R' AND C.OWNER = ? ";
+	
+	private static final String SQL_INDICES =
+			"SELECT I.TABLE_NAME, I.INDEX_NAME, IC.COLUMN_NAME, I.UNIQUENESS, I.STATUS, IC.COLUMN_POSITION "
+			+ "FROM ALL_INDEXES I "
+			+ "JOIN ALL_IND_COLUMNS IC ON IC.INDEX_OWNER = I.OWNER AND IC.INDEX_NAME = I.INDEX_NAME "
+			+ "WHERE I.TABLE_OWNER = ? ";
+	
+	/**
+	 * read tables of owner
+	 *
+	 * @param connection underlying connection
+	 * @param catalog catalog name
+	 * @param owner owner (as stored in data dictionary)
+	 * @param tablePattern like pattern of table name or null for all tables
+	 *
+	 * @return list of tables
+	 *
+	 * @throws SQLException
+	 */
+	public static List<TableMetaData> readTables(Connection connection, String catalog, String owner, String tablePattern) throws SQLException
+	{
+		List<TableMetaData> tableList = new ArrayList<TableMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_TABLES, "TABLE_NAME", owner, tablePattern, true, "TABLE_NAME");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				tableList.add(new TableMetaData().setTableCatalog(catalog).setTableSchema(owner).setTableName(resultSet.getString(1)));
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return tableList;
+	}
+	
+	/**
+	 * read columns of owner
+	 *
+	 * @param connection underlying connection
+	 * @param catalog catalog name
+	 * @param owner owner (as stored in data dictionary)
+	 * @param tablePattern like pattern of table name or null for all tables
+	 *
+	 * @return list of columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<ColumnMetaData> readColumns(Connection connection, String catalog, String owner, String tablePattern) throws SQLException
+	{
+		List<ColumnMetaData> columnList = new ArrayList<ColumnMetaData>();
+		Map<String,ColumnMetaData> columnWithDefaultIndex = new HashMap<String,ColumnMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_COLUMNS, "TABLE_NAME", owner, tablePattern, true, "TABLE_NAME, COLUMN_ID");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				String typeName = resultSet.getString("DATA_TYPE");
+				ColumnMetaData column = new ColumnMetaData()
+					.setTableCatalog(catalog == null ? "" : catalog)
+					.setTableSchema(owner)
+					.setTableName(resultSet.getString("TABLE_NAME"))
+					.setColumnName(resultSet.getString("COLUMN_NAME"))
+					.setDataType(dataType(typeName))
+					.setTypeName(typeName)
+					.setColumnSize(resultSet.getInt("COLUMN_SIZE"))
+					.setDecimalDigits(resultSet.getInt("DATA_SCALE"))
+					.setNullable("N".equals(resultSet.getString("NULLABLE")) ? DatabaseMetaData.columnNoNulls : DatabaseMetaData.columnNullable);
+				columnList.add(column);
+				
+				if(resultSet.getInt("DEFAULT_LENGTH") > 0)
+				{
+					columnWithDefaultIndex.put(column.getTableName() + "." + column.getColumnName(), column);
+				}
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		
+		if(columnWithDefaultIndex.isEmpty())
+		{
+			return columnList;
+		}
+		
+		try
+		{
+			preparedStatement = prepare(connection, SQL_COLUMN_DEFAULTS, "TABLE_NAME", owner, tablePattern, true, "TABLE_NAME, COLUMN_ID");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				String tbl = resultSet.getString("TABLE_NAME");
+				String col = resultSet.getString("COLUMN_NAME");
+				String columnDefault = resultSet.getString("DATA_DEFAULT");
+				ColumnMetaData column = columnWithDefaultIndex.get(tbl + "." + col);
+				if(column != null)
+				{
+					column.setColumnDefault(columnDefault);
+				}
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		
+		return columnList;
+	}
+	
+	/**
+	 * read primary key columns of owner and add them to table snapshots
+	 *
+	 * @param connection underlying connection
+	 * @param owner owner (as stored in data dictionary)
+	 * @param tableName table name or null for all tables
+	 * @param tableList tables to fill
+	 *
+	 * @return count of read rows
+	 *
+	 * @throws SQLException
+	 */
+	public static long readPrimaryKeys(Connection connection, String owner, String tableName, List<TableMetaData> tableList) throws SQLException
+	{
+		Map<String,TableMetaData> tableIndex = new HashMap<String,TableMetaData>();
+		for(TableMetaData table : tableList)
+		{
+			tableIndex.put(table.getTableName(), table);
+		}
+		
+		long rows = 0L;
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_PRIMARY_KEYS, "C.TABLE_NAME", owner, tableName, false, "CC.TABLE_NAME, CC.POSITION");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				rows++;
+				TableMetaData table = tableIndex.get(resultSet.getString("TABLE_NAME"));
+				if(table != null)
+				{
+					table.getPrimaryKeyColumnList().add(resultSet.getString("COLUMN_NAME"));
+				}
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return rows;
+	}
+	
+	/**
+	 * read foreign keys of owner
+	 *
+	 * @param connection underlying connection
+	 * @param owner owner (as stored in data dictionary)
+	 * @param tableName table name or null for all tables
+	 *
+	 * @return list of foreign key columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<ForeignKeyMetaData> readForeignKeys(Connection connection, String owner, String tableName) throws SQLException
+	{
+		List<ForeignKeyMetaData> foreignKeyList = new ArrayList<ForeignKeyMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_FOREIGN_KEYS, "C.TABLE_NAME", owner, tableName, false, "CC.TABLE_NAME, C.CONSTRAINT_NAME, CC.POSITION");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				foreignKeyList.add
+				(
+					new ForeignKeyMetaData()
+						.setTableName(resultSet.getString("TABLE_NAME"))
+						.setColumnName(resultSet.getString("COLUMN_NAME"))
+						.setKeyName(resultSet.getString("CONSTRAINT_NAME"))
+						.setReferencedTableName(resultSet.getString("R_TABLE_NAME"))
+						.setReferencedColumnName(resultSet.getString("R_COLUMN_NAME"))
+						.setValidated(! "NOT VALIDATED".equals(resultSet.getString("VALIDATED")))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return foreignKeyList;
+	}
+	
+	/**
+	 * read indices of owner
+	 *
+	 * @param connection underlying connection
+	 * @param owner owner (as stored in data dictionary)
+	 * @param tableName table name or null for all tables
+	 *
+	 * @return list of index columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<IndexMetaData> readIndices(Connection connection, String owner, String tableName) throws SQLException
+	{
+		List<IndexMetaData> indexList = new ArrayList<IndexMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_INDICES, "I.TABLE_NAME", owner, tableName, false, "I.TABLE_NAME, I.INDEX_NAME, IC.COLUMN_POSITION");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				String col = resultSet.getString("COLUMN_NAME");
+				indexList.add
+				(
+					new IndexMetaData()
+						.setTableName(resultSet.getString("TABLE_NAME"))
+						.setIndexName(resultSet.getString("INDEX_NAME"))
+						.setColumnName(col == null ? "" : col)
+						.setNonUnique(! "UNIQUE".equals(resultSet.getString("UNIQUENESS")))
+						.setOrdinalPosition(resultSet.getShort("COLUMN_POSITION"))
+						.setValid(! "UNUSABLE".equals(resultSet.getString("STATUS")))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return indexList;
+	}
+	
+	private static PreparedStatement prepare(Connection connection, String sql, String tableColumn, String owner, String table, boolean pattern, String orderBy) throws SQLException
+	{
+		StringBuilder sqlBuilder = new StringBuilder(sql);
+		boolean filter = (table != null) && (! (pattern && "%".equals(table)));
+		if(filter)
+		{
+			sqlBuilder.append(" AND " + tableColumn + (pattern ? " LIKE ? " : " = ? "));
+		}
+		sqlBuilder.append(" ORDER BY " + orderBy);
+		
+		PreparedStatement preparedStatement = connection.prepareStatement(sqlBuilder.toString());
+		preparedStatement.setFetchSize(FETCH_SIZE);
+		preparedStatement.setString(1, owner);
+		if(filter)
+		{
+			preparedStatement.setString(2, table);
+		}
+		return preparedStatement;
+	}
+	
+	private static void close(ResultSet resultSet, PreparedStatement preparedStatement)
+	{
+		if(resultSet != null)
+		{
+			try
+			{
+				resultSet.close();
+			}
+			catch (Exception e) {}
+		}
+		if(preparedStatement != null)
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private static int dataType(String typeName)
+	{
+		if(typeName == null)
+		{
+			return Types.OTHER;
+		}
+		if(typeName.startsWith("TIMESTAMP"))
+		{
+			return Types.TIMESTAMP;
+		}
+		switch(typeName)
+		{
+			case "CHAR" : return Types.CHAR;
+			case "NCHAR" : return Types.NCHAR;
+			case "VARCHAR2" : return Types.VARCHAR;
+			case "NVARCHAR2" : return Types.NVARCHAR;
+			case "NUMBER" : return Types.DECIMAL;
+			case "FLOAT" : return Types.FLOAT;
+			case "DATE" : return Types.DATE;
+			case "CLOB" : return Types.CLOB;
+			case "NCLOB" : return Types.NCLOB;
+			case "BLOB" : return Types.BLOB;
+			case "RAW" : return Types.VARBINARY;
+			case "LONG RAW" : return Types.LONGVARBINARY;
+			default : return Types.OTHER;
+		}
+	}
+}
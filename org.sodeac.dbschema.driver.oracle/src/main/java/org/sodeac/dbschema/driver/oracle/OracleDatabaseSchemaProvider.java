@@ -10,18 +10,29 @@
  *******************************************************************************/
 package org.sodeac.dbschema.driver.oracle;
 
+import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.osgi.service.component.annotations.Component;
 import org.sodeac.dbschema.api.ColumnSpec;
 import org.sodeac.dbschema.api.IColumnType;
 import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IndexSpec;
 import org.sodeac.dbschema.api.SchemaSpec;
 import org.sodeac.dbschema.api.TableSpec;
+import org.sodeac.dbschema.driver.base.ColumnMetaData;
 import org.sodeac.dbschema.driver.base.DefaultDatabaseSchemaDriver;
+import org.sodeac.dbschema.driver.base.ForeignKeyMetaData;
+import org.sodeac.dbschema.driver.base.IndexMetaData;
+import org.sodeac.dbschema.driver.base.SchemaMetaDataSnapshot;
+import org.sodeac.dbschema.driver.base.TableMetaData;
 
 // https://books.google.de/books?id=r13SMVABpx4C&printsec=frontcover&hl=de#v=onepage&q&f=false
 //https://docs.oracle.com/database/121/DRDAS/data_type.htm#DRDAS277
@@ -40,42 +51,12 @@ public class OracleDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver im
 	}
 	
 	@Override
-	public void setValidColumnProperties
+	protected void addColumnPropertiesActions
 	(
 		Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec,
-		ColumnSpec columnSpec, Map<String, Object> columnProperties
+		ColumnSpec columnSpec, Map<String, Object> columnProperties, List<String> columnActionList
 	) throws SQLException
 	{
-		String schema = connection.getSchema();
-		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
-		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, schemaSpec.getDbmsSchemaName(), "SCHEMA");
-		}
-		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
-		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getDbmsSchemaName(), "SCHEMA");
-		}
-		
-		boolean tableQuoted = false;
-		if(tableSpec.getQuotedName() != null)
-		{
-			tableQuoted = tableSpec.getQuotedName().booleanValue();
-		}
-		
-		boolean columnQuoted = false;
-		if(columnSpec.getQuotedName() != null)
-		{
-			columnQuoted = columnSpec.getQuotedName().booleanValue();
-		}
-		
-		String tablePart = tableQuoted ? 
-				" " + schema + "." + quotedChar() +  "" + tableSpec.getName() + "" + quotedChar() +  " " :
-				" " + schema + "." + objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getName(), "TABLE") + " " ;
-			
-		String columnPart =  columnQuoted ? 
-				" " + quotedChar() +  "" + columnSpec.getName() + "" + quotedChar() +  " " :
-				" " + objectNameGuidelineFormat(schemaSpec, connection, columnSpec.getName(), "COLUMN") + " " ;
-		
 		if
 		(
 			(columnProperties.get("INVALID_NULLABLE") != null) || 
@@ -84,77 +65,49 @@ public class OracleDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver im
 			(columnProperties.get("INVALID_TYPE") != null)
 		)
 		{
-			PreparedStatement createColumnStatement = null;
-			try
-			{
-				StringBuilder sqlBuilder = new StringBuilder("ALTER TABLE  " + tablePart + " MODIFY " + columnPart + " ");
-				
-				IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec);
-				
-				if(columnType == null)
-				{
-					throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
-				}
-				
-				sqlBuilder.append(" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-				sqlBuilder.append(" " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-				if(columnProperties.get("INVALID_NULLABLE") != null)
-				{
-					sqlBuilder.append(" " + (columnSpec.getNullable() ? "" : "NOT " ) + "NULL");
-				}
-				
-				createColumnStatement = connection.prepareStatement(sqlBuilder.toString());
-				createColumnStatement.executeUpdate();
-				
-			}
-			finally
+			StringBuilder sqlBuilder = new StringBuilder(columnPart(connection, schemaSpec, columnSpec) + " ");
+			
+			IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
+			
+			if(columnType == null)
 			{
-				if(createColumnStatement != null)
-				{
-					try
-					{
-						createColumnStatement.close();
-					}
-					catch(Exception e){}
-				}
+				throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
 			}
 			
+			sqlBuilder.append(" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
 			if
 			(
 				(columnProperties.get("INVALID_DEFAULT") != null) &&
 				(columnSpec.getDefaultValue() == null)
 			)
 			{
-				try
-				{
-					StringBuilder sqlBuilder = new StringBuilder("ALTER TABLE  " + tablePart + " MODIFY " + columnPart + " ");
-					
-					IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec);
-					
-					if(columnType == null)
-					{
-						throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
-					}
-					
-					sqlBuilder.append(" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-					sqlBuilder.append(" DEFAULT NULL ");
-					
-					createColumnStatement = connection.prepareStatement(sqlBuilder.toString());
-					createColumnStatement.executeUpdate();
-					
-				}
-				finally
-				{
-					if(createColumnStatement != null)
-					{
-						try
-						{
-							createColumnStatement.close();
-						}
-						catch(Exception e){}
-					}
-				}
+				sqlBuilder.append(" DEFAULT NULL ");
+			}
+			else
+			{
+				sqlBuilder.append(" " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
 			}
+			if(columnProperties.get("INVALID_NULLABLE") != null)
+			{
+				sqlBuilder.append(" " + (columnSpec.getNullable() ? "" : "NOT " ) + "NULL");
+			}
+			
+			columnActionList.add(sqlBuilder.toString());
+		}
+	}
+	
+	@Override
+	protected void alterTable(Connection connection, String tablePart, List<String> columnDefinitionList, List<String> columnActionList) throws SQLException
+	{
+		// ADD (col1 ..., col2 ...) and MODIFY (col1 ..., col2 ...) alter table only once
+		
+		if(! columnDefinitionList.isEmpty())
+		{
+			executeUpdate(connection, "ALTER TABLE  " + tablePart + " ADD (" + String.join(", ", columnDefinitionList) + ")");
+		}
+		if(! columnActionList.isEmpty())
+		{
+			executeUpdate(connection, "ALTER TABLE  " + tablePart + " MODIFY (" + String.join(", ", columnActionList) + ")");
 		}
 	}
 	
@@ -176,6 +129,122 @@ public class OracleDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver im
 		return  " TABLESPACE " + tableSpace;
 	}
 	
+	@Override
+	public int getMaxObjectNameLength(Connection connection) throws SQLException
+	{
+		// long identifiers are supported since 12.2
+		
+		DatabaseMetaData metaData = connection.getMetaData();
+		int major = metaData.getDatabaseMajorVersion();
+		if((major > 12) || ((major == 12) && (metaData.getDatabaseMinorVersion() >= 2)))
+		{
+			return 128;
+		}
+		return 30;
+	}
+	
+	@Override
+	public boolean acquireSchemaLock(Connection connection, SchemaSpec schemaSpec, Map<String, Object> lockProperties) throws SQLException
+	{
+		// ddl commits implicitly, the lock must not be released on commit
+		
+		CallableStatement callableStatement = connection.prepareCall
+		(
+			"DECLARE R INTEGER; BEGIN R := DBMS_LOCK.REQUEST(ID => ?, LOCKMODE => DBMS_LOCK.X_MODE, TIMEOUT => DBMS_LOCK.MAXWAIT, RELEASE_ON_COMMIT => FALSE); ? := R; END;"
+		);
+		try
+		{
+			callableStatement.setLong(1, schemaLockId(schemaSpec));
+			callableStatement.registerOutParameter(2, Types.INTEGER);
+			callableStatement.execute();
+			
+			// 0: success, 4: already own lock
+			int result = callableStatement.getInt(2);
+			if((result != 0) && (result != 4))
+			{
+				throw new SQLException("DBMS_LOCK.REQUEST failed with result " + result);
+			}
+		}
+		finally
+		{
+			try
+			{
+				callableStatement.close();
+			}
+			catch (Exception e) {}
+		}
+		return true;
+	}
+	
+	@Override
+	public void releaseSchemaLock(Connection connection, SchemaSpec schemaSpec, Map<String, Object> lockProperties) throws SQLException
+	{
+		CallableStatement callableStatement = connection.prepareCall("DECLARE R INTEGER; BEGIN R := DBMS_LOCK.RELEASE(ID => ?); END;");
+		try
+		{
+			callableStatement.setLong(1, schemaLockId(schemaSpec));
+			callableStatement.execute();
+		}
+		finally
+		{
+			try
+			{
+				callableStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private long schemaLockId(SchemaSpec schemaSpec)
+	{
+		// range of user lock ids: 0 - 1073741823
+		return schemaLockKey(schemaSpec) & 0x3FFFFFFFL;
+	}
+	
+	@Override
+	protected String foreignKeyNoValidateAppendix(Connection connection)
+	{
+		return " ENABLE NOVALIDATE";
+	}
+	
+	@Override
+	protected String foreignKeyValidateStatement(Connection connection, String tablePart, String constraintPart)
+	{
+		return "ALTER TABLE " + tablePart + " MODIFY CONSTRAINT " + constraintPart + " VALIDATE";
+	}
+	
+	@Override
+	protected String createIndexAppendix(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> columnIndexProperties)
+	{
+		StringBuilder appendix = new StringBuilder();
+		if(indexSpec.getOnline())
+		{
+			appendix.append(" ONLINE");
+		}
+		if(indexSpec.getParallelDegree() > 0)
+		{
+			appendix.append(" PARALLEL " + indexSpec.getParallelDegree());
+		}
+		return appendix.toString();
+	}
+	
+	@Override
+	protected void executeCreateIndex(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> columnIndexProperties, String sql) throws SQLException
+	{
+		super.executeCreateIndex(connection, schemaSpec, tableSpec, indexSpec, columnIndexProperties, sql);
+		
+		if(indexSpec.getParallelDegree() > 0)
+		{
+			// parallel degree of build remains as default degree for queries otherwise
+			
+			boolean indexQuoted = (indexSpec.getQuotedName() != null) && indexSpec.getQuotedName().booleanValue();
+			String indexPart =  indexQuoted ? 
+					quotedChar() + indexSpec.getIndexName() + quotedChar() :
+					objectNameGuidelineFormat(schemaSpec, connection, indexSpec.getIndexName(), "INDEX");
+			executeUpdate(connection, "ALTER INDEX " + indexPart + " NOPARALLEL");
+		}
+	}
+	
 	@Override
 	public String determineColumnType
 	(
@@ -285,6 +354,116 @@ public class OracleDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver im
 		return name == null ? name : name.toUpperCase();
 	}
 	
+	@Override
+	protected String catalogChangeMarkerStatement(Connection connection)
+	{
+		return "SELECT COUNT(*) || ':' || TO_CHAR(MAX(LAST_DDL_TIME),'YYYYMMDDHH24MISS') FROM ALL_OBJECTS WHERE OWNER = ? ";
+	}
+	
+	@Override
+	protected SchemaMetaDataSnapshot loadSchemaMetaDataSnapshot(Connection connection, SchemaSpec schemaSpec, String catalog, String schema) throws SQLException
+	{
+		// bulk data dictionary queries per owner instead of generic DatabaseMetaData requests per table
+		
+		SchemaMetaDataSnapshot schemaSnapshot = new SchemaMetaDataSnapshot(catalog, schema);
+		String owner = schemaSearchPattern(schemaSpec, connection, schema);
+		
+		List<TableMetaData> tableList = OracleCatalogReader.readTables(connection, catalog, owner, null);
+		schemaSnapshot.countMetaDataQuery(tableList.size());
+		for(TableMetaData table : tableList)
+		{
+			schemaSnapshot.addTable(table);
+		}
+		
+		List<ColumnMetaData> columnList = OracleCatalogReader.readColumns(connection, catalog, owner, null);
+		schemaSnapshot.countMetaDataQuery(columnList.size());
+		for(ColumnMetaData column : columnList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(column.getTableName(), true);
+			if(table != null)
+			{
+				table.addColumn(column);
+			}
+		}
+		
+		schemaSnapshot.countMetaDataQuery(OracleCatalogReader.readPrimaryKeys(connection, owner, null, tableList));
+		
+		List<ForeignKeyMetaData> foreignKeyList = OracleCatalogReader.readForeignKeys(connection, owner, null);
+		schemaSnapshot.countMetaDataQuery(foreignKeyList.size());
+		for(ForeignKeyMetaData foreignKey : foreignKeyList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(foreignKey.getTableName(), true);
+			if(table != null)
+			{
+				table.getForeignKeyList().add(foreignKey);
+			}
+		}
+		
+		List<IndexMetaData> indexList = OracleCatalogReader.readIndices(connection, owner, null);
+		schemaSnapshot.countMetaDataQuery(indexList.size());
+		for(IndexMetaData index : indexList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(index.getTableName(), true);
+			if(table != null)
+			{
+				table.getIndexList().add(index);
+			}
+		}
+		
+		for(TableMetaData table : tableList)
+		{
+			table.setColumnsLoaded(true);
+			table.setPrimaryKeyLoaded(true);
+			table.setForeignKeysLoaded(true);
+			table.setIndicesLoaded(true);
+		}
+		
+		return schemaSnapshot;
+	}
+	
+	@Override
+	protected List<TableMetaData> readTableMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		return OracleCatalogReader.readTables(connection, catalog, schemaSearchPattern(schemaSpec, connection, schema), tablePattern);
+	}
+	
+	@Override
+	protected List<ColumnMetaData> readColumnMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		return OracleCatalogReader.readColumns(connection, catalog, schemaSearchPattern(schemaSpec, connection, schema), tablePattern);
+	}
+	
+	@Override
+	protected void loadPrimaryKeyMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableMetaData table) throws SQLException
+	{
+		synchronized(table)
+		{
+			if(table.isPrimaryKeyLoaded())
+			{
+				return;
+			}
+			long rows = OracleCatalogReader.readPrimaryKeys
+			(
+				connection, schemaSearchPattern(schemaSpec, connection, schemaSnapshot.getSchema()), 
+				table.getTableName(), Collections.singletonList(table)
+			);
+			schemaSnapshot.countMetaDataQuery(rows);
+			table.setPrimaryKeyLoaded(true);
+		}
+	}
+	
+	@Override
+	protected List<ForeignKeyMetaData> readForeignKeyMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
+	{
+		return OracleCatalogReader.readForeignKeys(connection, schemaSearchPattern(schemaSpec, connection, schema), tableName);
+	}
+	
+	@Override
+	protected List<IndexMetaData> readIndexMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
+	{
+		return OracleCatalogReader.readIndices(connection, schemaSearchPattern(schemaSpec, connection, schema), tableName);
+	}
+	
 	@Override
 	public String getFunctionExpression(String function)
 	{
@@ -10,24 +10,41 @@
  *******************************************************************************/
 package org.sodeac.dbschema.driver.postgresql;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.sql.Blob;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.postgresql.largeobject.LargeObject;
 import org.postgresql.largeobject.LargeObjectManager;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
 
 public class LargeObjectBlob implements Blob
 {
+	/**
+	 * default size of read-ahead buffer of {@link LargeObjectChannel}
+	 */
+	public static final int DEFAULT_READ_AHEAD_SIZE = 64 * 1024;
+	
 	private LargeObject largeObject;
 	private org.postgresql.core.BaseConnection nativeConnection;
 	private long oid = -1;
+	private long replacedOID = -1;
 	private boolean isFree = false;
 	private boolean writable = false;
+	private boolean copyOnWrite = false;
+	private int chunkSize = IDatabaseSchemaDriver.DEFAULT_BLOB_CHUNK_SIZE;
 	private List<LargeObject> usedList = new ArrayList<LargeObject>();
+	private List<LargeObjectChannel> channelList = new ArrayList<LargeObjectChannel>();
+	private LargeObjectChannel randomAccessChannel = null;
 	
 	public LargeObjectBlob(org.postgresql.core.BaseConnection nativeConnection, long oid)
 	{
@@ -64,12 +81,36 @@ public class LargeObjectBlob implements Blob
 		{
 			throw new SQLException("Blob is free");
 		}
-		checkLargeObject();
-		largeObject.seek64(pos - 1L, LargeObject.SEEK_SET);
-		byte[] ret = this.largeObject.read(length);
-		this.usedList.add(this.largeObject);
-		this.largeObject = null;
-		return ret;
+		if(pos < 1L)
+		{
+			throw new SQLException("position must be greater than 0: " + pos);
+		}
+		if(length < 0)
+		{
+			throw new SQLException("length must not be negative: " + length);
+		}
+		if((this.randomAccessChannel == null) || (! this.randomAccessChannel.isOpen()))
+		{
+			// without read-ahead: content can be modified by other descriptors of this blob
+			
+			this.randomAccessChannel = openUnbufferedChannel();
+		}
+		try
+		{
+			byte[] buffer = new byte[length];
+			int len = this.randomAccessChannel.read(pos - 1L, buffer);
+			if(len == length)
+			{
+				return buffer;
+			}
+			byte[] ret = new byte[len];
+			System.arraycopy(buffer, 0, ret, 0, len);
+			return ret;
+		}
+		catch (IOException e) 
+		{
+			throw new SQLException(e.getMessage(), e);
+		}
 	}
 
 	@Override
@@ -103,44 +144,84 @@ public class LargeObjectBlob implements Blob
 			return 1;
 		}
 		
-		InputStream is = start == 1 ? getBinaryStream() : getBinaryStream(start, length());
+		if(start < 1L)
+		{
+			throw new SQLException("start position must be greater than 0: " + start);
+		}
+		
+		// Boyer-Moore-Horspool over sliding window, unmatched tail of window is kept for next read 
+		
+		int patternLength = pattern.length;
+		int last = patternLength - 1;
+		int[] shift = new int[256];
+		for(int i = 0; i < shift.length; i++)
+		{
+			shift[i] = patternLength;
+		}
+		for(int i = 0; i < last; i++)
+		{
+			shift[pattern[i] & 0xFF] = last - i;
+		}
+		
+		byte[] buffer = new byte[Math.max(chunkSize, patternLength * 2)];
+		ByteBuffer window = ByteBuffer.wrap(buffer);
+		long windowStart = start - 1L;
+		int valid = 0;
+		int index = 0;
+		
+		LargeObjectChannel channel = openUnbufferedChannel();
 		try
 		{
-			byte[] buffer = new byte[1080];
-			int len;
-			int matchedLength = 0;
-			long matchStart = -1;
-			long pos = 0;
-			while((len = is.read(buffer)) > 0)
+			channel.position(windowStart);
+			while(true)
 			{
-				for(int i = 0; i < len; i++)
+				while(index + last < valid)
 				{
-					pos++;
-					
-					if(buffer[i] == pattern[matchedLength])
+					int j = last;
+					while((j >= 0) && (buffer[index + j] == pattern[j]))
 					{
-						matchedLength++;
+						j--;
 					}
-					else
+					if(j < 0)
 					{
-						matchStart = -1;
-						matchedLength = 0;
-						continue;
+						return windowStart + index + 1L;
 					}
-					
-					if(matchedLength == 1)
-					{
-						matchStart = pos;
-					}
-					
-					if(matchedLength == pattern.length)
+					index += shift[buffer[index + last] & 0xFF];
+				}
+				
+				// move tail to begin of buffer and refill
+				
+				if(index < valid)
+				{
+					System.arraycopy(buffer, index, buffer, 0, valid - index);
+					windowStart += index;
+					valid -= index;
+				}
+				else
+				{
+					windowStart += index;
+					channel.position(windowStart);
+					valid = 0;
+				}
+				index = 0;
+				
+				window.clear();
+				window.position(valid);
+				while(window.hasRemaining())
+				{
+					if(channel.read(window) < 0)
 					{
-						return matchStart;
+						break;
 					}
 				}
+				if(window.position() == valid)
+				{
+					return -1;
+				}
+				valid = window.position();
 			}
 		}
-		catch (Exception e) 
+		catch (IOException e) 
 		{
 			throw new SQLException(e.getMessage(), e);
 		}
@@ -148,11 +229,10 @@ public class LargeObjectBlob implements Blob
 		{
 			try
 			{
-				is.close();
+				channel.close();
 			}
 			catch (Exception e) {}
 		}
-		return -1;
 	}
 
 	@Override
@@ -182,6 +262,7 @@ public class LargeObjectBlob implements Blob
 		{
 			throw new SQLException("Blob is free");
 		}
+		checkWritable();
 		checkLargeObject();
 		this.largeObject.seek64(pos - 1L, LargeObject.SEEK_SET);
 		this.largeObject.write(bytes, offset, len);
@@ -197,6 +278,7 @@ public class LargeObjectBlob implements Blob
 		{
 			throw new SQLException("Blob is free");
 		}
+		checkWritable();
 		checkLargeObject();
 		
 		if(pos != 1)
@@ -216,6 +298,7 @@ public class LargeObjectBlob implements Blob
 		{
 			throw new SQLException("Blob is free");
 		}
+		checkWritable();
 		checkLargeObject();
 		this.largeObject.truncate64(len);
 		this.usedList.add(this.largeObject);
@@ -246,7 +329,16 @@ public class LargeObjectBlob implements Blob
 			}
 			catch (Exception e) {}
 		}
+		for(LargeObjectChannel channel : new ArrayList<LargeObjectChannel>(this.channelList))
+		{
+			try
+			{
+				channel.close();
+			}
+			catch (Exception e) {}
+		}
 		this.largeObject = null;
+		this.randomAccessChannel = null;
 	}
 
 	@Override
@@ -268,11 +360,319 @@ public class LargeObjectBlob implements Blob
 		return is;
 	}
 	
+	/**
+	 * stream content of large object into output stream by {@code lo_read} calls of {@code chunkSize}
+	 * 
+	 * @param pos position to start reading (start with 1)
+	 * @param outputStream target of content
+	 * @param chunkSize size of transfer buffer, values lower than 1 select size of this blob
+	 * 
+	 * @return count of read bytes
+	 * @throws SQLException
+	 */
+	public long read(long pos, OutputStream outputStream, int chunkSize) throws SQLException
+	{
+		if(isFree)
+		{
+			throw new SQLException("Blob is free");
+		}
+		checkLargeObject();
+		LargeObject source = this.largeObject;
+		this.usedList.add(source);
+		this.largeObject = null;
+		
+		source.seek64(pos - 1L, LargeObject.SEEK_SET);
+		byte[] buffer = new byte[chunkSize < 1 ? this.chunkSize : chunkSize];
+		long count = 0L;
+		int len;
+		try
+		{
+			while((len = source.read(buffer, 0, buffer.length)) > 0)
+			{
+				outputStream.write(buffer, 0, len);
+				count += len;
+			}
+			outputStream.flush();
+		}
+		catch (IOException e) 
+		{
+			throw new SQLException(e.getMessage(), e);
+		}
+		return count;
+	}
+	
+	/**
+	 * stream content of input stream into large object by {@code lo_write} calls of {@code chunkSize}
+	 * 
+	 * @param pos position to start writing (start with 1)
+	 * @param inputStream source of content
+	 * @param chunkSize size of transfer buffer, values lower than 1 select size of this blob
+	 * 
+	 * @return count of written bytes
+	 * @throws SQLException
+	 */
+	public long write(long pos, InputStream inputStream, int chunkSize) throws SQLException
+	{
+		if(isFree)
+		{
+			throw new SQLException("Blob is free");
+		}
+		checkWritable();
+		if(! writable)
+		{
+			throw new SQLException("Blob is readonly");
+		}
+		checkLargeObject();
+		LargeObject target = this.largeObject;
+		this.usedList.add(target);
+		this.largeObject = null;
+		
+		target.seek64(pos - 1L, LargeObject.SEEK_SET);
+		byte[] buffer = new byte[chunkSize < 1 ? this.chunkSize : chunkSize];
+		long count = 0L;
+		try
+		{
+			while(true)
+			{
+				int filled = 0;
+				int len;
+				while((filled < buffer.length) && ((len = inputStream.read(buffer, filled, buffer.length - filled)) > -1))
+				{
+					filled += len;
+				}
+				if(filled == 0)
+				{
+					break;
+				}
+				target.write(buffer, 0, filled);
+				count += filled;
+			}
+		}
+		catch (IOException e) 
+		{
+			throw new SQLException(e.getMessage(), e);
+		}
+		return count;
+	}
+	
+	/**
+	 * copy content of other large object into this large object by {@code lo_read} / {@code lo_write} calls of chunk size
+	 * 
+	 * @param source large object to copy
+	 * 
+	 * @return count of copied bytes
+	 * @throws SQLException
+	 */
+	public long copyFrom(LargeObjectBlob source) throws SQLException
+	{
+		if(isFree || source.isFree)
+		{
+			throw new SQLException("Blob is free");
+		}
+		checkLargeObject();
+		LargeObject target = this.largeObject;
+		this.usedList.add(target);
+		this.largeObject = null;
+		
+		LargeObject in = source.nativeConnection.getLargeObjectAPI().open(source.oid, LargeObjectManager.READ);
+		try
+		{
+			target.seek64(0L, LargeObject.SEEK_SET);
+			byte[] buffer = new byte[chunkSize];
+			long count = 0L;
+			int len;
+			while((len = in.read(buffer, 0, buffer.length)) > 0)
+			{
+				target.write(buffer, 0, len);
+				count += len;
+			}
+			return count;
+		}
+		finally 
+		{
+			try
+			{
+				in.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * open seekable channel with positioned reads and writes on one descriptor. The channel is closed by {@link LargeObjectBlob#free()} at the latest.
+	 * Open channels follow the copy, if read-only large object is copied on write.
+	 * Channels of read-only large objects are not writable.
+	 * 
+	 * @param readAheadSize size of read-ahead buffer, values lower than 1 select {@link LargeObjectBlob#DEFAULT_READ_AHEAD_SIZE}
+	 * 
+	 * @return seekable channel, position 0 corresponds to blob position 1
+	 * @throws SQLException
+	 */
+	public LargeObjectChannel openChannel(int readAheadSize) throws SQLException
+	{
+		if(isFree)
+		{
+			throw new SQLException("Blob is free");
+		}
+		LargeObjectChannel channel = new LargeObjectChannel(openDescriptor(), writable, readAheadSize, this.channelList::remove);
+		this.channelList.add(channel);
+		return channel;
+	}
+	
+	/**
+	 * open seekable channel without read-ahead buffer. Reads see modifications of other descriptors of this blob.
+	 * 
+	 * @return seekable channel, position 0 corresponds to blob position 1
+	 * @throws SQLException
+	 */
+	protected LargeObjectChannel openUnbufferedChannel() throws SQLException
+	{
+		if(isFree)
+		{
+			throw new SQLException("Blob is free");
+		}
+		LargeObjectChannel channel = new LargeObjectChannel(openDescriptor(), writable, this.channelList::remove);
+		this.channelList.add(channel);
+		return channel;
+	}
+	
+	private LargeObject openDescriptor() throws SQLException
+	{
+		LargeObjectManager lobj = nativeConnection.getLargeObjectAPI();
+		return lobj.open(oid, writable ? LargeObjectManager.READWRITE : LargeObjectManager.READ);
+	}
+	
+	/**
+	 * open seekable channel with default read-ahead buffer
+	 * 
+	 * @return seekable channel, position 0 corresponds to blob position 1
+	 * @throws SQLException
+	 */
+	public SeekableByteChannel openChannel() throws SQLException
+	{
+		return openChannel(DEFAULT_READ_AHEAD_SIZE);
+	}
+	
+	/**
+	 * create a copy of large object. The copy runs server side with lo_get / lo_put (since PostgreSQL 9.4), 
+	 * content is not transferred to client.
+	 * 
+	 * @return oid of copy
+	 * @throws SQLException
+	 */
+	public long copy() throws SQLException
+	{
+		if(isFree)
+		{
+			throw new SQLException("Blob is free");
+		}
+		
+		DatabaseMetaData databaseMetaData = nativeConnection.getMetaData();
+		if
+		(
+			(databaseMetaData.getDatabaseMajorVersion() < 9) || 
+			((databaseMetaData.getDatabaseMajorVersion() == 9) && (databaseMetaData.getDatabaseMinorVersion() < 4))
+		)
+		{
+			LargeObjectBlob deepCopy = new LargeObjectBlob(nativeConnection);
+			try
+			{
+				deepCopy.copyFrom(this);
+				return deepCopy.getOID();
+			}
+			finally
+			{
+				try {deepCopy.free();}catch (Exception e) {}
+			}
+		}
+		
+		long size = length();
+		if(size <= PGDatabaseSchemaProvider.LARGE_OBJECT_COPY_SINGLE_STATEMENT_LIMIT)
+		{
+			PreparedStatement copyStatement = nativeConnection.prepareStatement("SELECT lo_from_bytea(0, lo_get(?)) ");
+			ResultSet resultSet = null;
+			try
+			{
+				copyStatement.setLong(1, this.oid);
+				resultSet = copyStatement.executeQuery();
+				resultSet.next();
+				return resultSet.getLong(1);
+			}
+			finally
+			{
+				try {resultSet.close();}catch (Exception e) {}
+				try {copyStatement.close();}catch (Exception e) {}
+			}
+		}
+		
+		// copy greater objects chunk by chunk to limit memory usage of server process
+		
+		long copyOID = nativeConnection.getLargeObjectAPI().createLO(LargeObjectManager.READ | LargeObjectManager.WRITE);
+		PreparedStatement copyStatement = nativeConnection.prepareStatement("SELECT lo_put(?, ?, lo_get(?, ?, ?)) ");
+		ResultSet resultSet = null;
+		try
+		{
+			for(long offset = 0L; offset < size; offset += PGDatabaseSchemaProvider.LARGE_OBJECT_COPY_CHUNK_SIZE)
+			{
+				copyStatement.setLong(1, copyOID);
+				copyStatement.setLong(2, offset);
+				copyStatement.setLong(3, this.oid);
+				copyStatement.setLong(4, offset);
+				copyStatement.setInt(5, PGDatabaseSchemaProvider.LARGE_OBJECT_COPY_CHUNK_SIZE);
+				resultSet = copyStatement.executeQuery();
+				resultSet.close();
+			}
+		}
+		finally
+		{
+			try {resultSet.close();}catch (Exception e) {}
+			try {copyStatement.close();}catch (Exception e) {}
+		}
+		return copyOID;
+	}
+	
 	public long getOID()
 	{
 		return this.oid;
 	}
 	
+	/**
+	 * 
+	 * @return oid of original large object replaced by copy on write, or -1, if not copied or already released
+	 */
+	public long getReplacedOID()
+	{
+		return this.replacedOID;
+	}
+	
+	/**
+	 * mark replaced large object as released
+	 */
+	protected void clearReplacedOID()
+	{
+		this.replacedOID = -1;
+	}
+	
+	/**
+	 * 
+	 * @return size of transfer buffer
+	 */
+	public int getChunkSize()
+	{
+		return chunkSize;
+	}
+	
+	/**
+	 * 
+	 * @param chunkSize size of transfer buffer, values lower than 1 select {@link IDatabaseSchemaDriver#DEFAULT_BLOB_CHUNK_SIZE}
+	 * @return blob
+	 */
+	public LargeObjectBlob setChunkSize(int chunkSize)
+	{
+		this.chunkSize = chunkSize < 1 ? IDatabaseSchemaDriver.DEFAULT_BLOB_CHUNK_SIZE : chunkSize;
+		return this;
+	}
+	
 	private void checkLargeObject() throws SQLException
 	{
 		if(this.largeObject == null) 
@@ -282,6 +682,45 @@ public class LargeObjectBlob implements Blob
 		}
 	}
 
+	/**
+	 * replace read-only large object by a writable copy, if copy on write is enabled
+	 * 
+	 * @throws SQLException
+	 */
+	private void checkWritable() throws SQLException
+	{
+		if(writable || (! copyOnWrite))
+		{
+			return;
+		}
+		long copyOID = copy();
+		if(this.largeObject != null)
+		{
+			this.usedList.add(this.largeObject);
+			this.largeObject = null;
+		}
+		this.replacedOID = this.oid;
+		this.oid = copyOID;
+		this.writable = true;
+		
+		// open channels must not read original large object anymore
+		
+		if(this.randomAccessChannel != null)
+		{
+			try
+			{
+				this.randomAccessChannel.close();
+			}
+			catch (Exception e) {}
+			this.randomAccessChannel = null;
+		}
+		LargeObjectManager lobj = nativeConnection.getLargeObjectAPI();
+		for(LargeObjectChannel channel : new ArrayList<LargeObjectChannel>(this.channelList))
+		{
+			channel.replaceLargeObject(lobj.open(copyOID, LargeObjectManager.READWRITE), true);
+		}
+	}
+	
 	private LargeObject createLargeObject() throws SQLException
 	{
 		LargeObjectManager lobj = nativeConnection.getLargeObjectAPI();
@@ -294,5 +733,27 @@ public class LargeObjectBlob implements Blob
 	{
 		return writable;
 	}
+	
+	/**
+	 * 
+	 * @return true, if read-only large object is copied on first write, otherwise false
+	 */
+	public boolean isCopyOnWrite()
+	{
+		return copyOnWrite;
+	}
+	
+	/**
+	 * 
+	 * @param copyOnWrite true, if read-only large object should be copied on first write. 
+	 * Shared large objects of reference counted mode must not be modified in place.
+	 * 
+	 * @return blob
+	 */
+	public LargeObjectBlob setCopyOnWrite(boolean copyOnWrite)
+	{
+		this.copyOnWrite = copyOnWrite;
+		return this;
+	}
 
 }
@@ -0,0 +1,375 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.postgresql;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+import org.postgresql.largeobject.LargeObject;
+
+/**
+ * Seekable channel of large object. Keeps one descriptor open until channel or blob is closed.
+ * Reads are buffered by read-ahead buffer, if channel is not unbuffered. Writes are passed through.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class LargeObjectChannel implements SeekableByteChannel
+{
+	private LargeObject largeObject = null;
+	private boolean writable = false;
+	private volatile boolean open = true;
+	
+	private long position = 0L;
+	private long descriptorPosition = 0L;
+	
+	private byte[] readAhead = null;
+	private long readAheadStart = -1L;
+	private int readAheadLength = 0;
+	
+	private Consumer<LargeObjectChannel> closeHandler = null;
+	
+	protected LargeObjectChannel(LargeObject largeObject, boolean writable, int readAheadSize, Consumer<LargeObjectChannel> closeHandler)
+	{
+		super();
+		this.largeObject = largeObject;
+		this.writable = writable;
+		this.readAhead = new byte[readAheadSize < 1 ? LargeObjectBlob.DEFAULT_READ_AHEAD_SIZE : readAheadSize];
+		this.closeHandler = closeHandler;
+	}
+	
+	/**
+	 * create unbuffered channel. Every read is passed through to descriptor.
+	 */
+	protected LargeObjectChannel(LargeObject largeObject, boolean writable, Consumer<LargeObjectChannel> closeHandler)
+	{
+		super();
+		this.largeObject = largeObject;
+		this.writable = writable;
+		this.readAhead = null;
+		this.closeHandler = closeHandler;
+	}
+	
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException
+	{
+		checkOpen();
+		if(! dst.hasRemaining())
+		{
+			return 0;
+		}
+		
+		try
+		{
+			if(readAhead == null)
+			{
+				return readUnbuffered(dst);
+			}
+			
+			if(! readAheadContains(position))
+			{
+				if(dst.hasArray() && (dst.remaining() >= readAhead.length))
+				{
+					// large reads bypass read-ahead buffer
+					
+					seek(position);
+					int len = largeObject.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+					if(len <= 0)
+					{
+						return -1;
+					}
+					descriptorPosition += len;
+					dst.position(dst.position() + len);
+					position += len;
+					return len;
+				}
+				
+				seek(position);
+				int len = largeObject.read(readAhead, 0, readAhead.length);
+				if(len <= 0)
+				{
+					readAheadStart = -1L;
+					readAheadLength = 0;
+					return -1;
+				}
+				descriptorPosition += len;
+				readAheadStart = position;
+				readAheadLength = len;
+			}
+			
+			int offset = (int)(position - readAheadStart);
+			int len = Math.min(readAheadLength - offset, dst.remaining());
+			dst.put(readAhead, offset, len);
+			position += len;
+			return len;
+		}
+		catch (SQLException e)
+		{
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+	
+	@Override
+	public synchronized int write(ByteBuffer src) throws IOException
+	{
+		checkOpen();
+		if(! writable)
+		{
+			throw new NonWritableChannelException();
+		}
+		
+		int len = src.remaining();
+		if(len == 0)
+		{
+			return 0;
+		}
+		
+		try
+		{
+			invalidateReadAhead();
+			seek(position);
+			if(src.hasArray())
+			{
+				largeObject.write(src.array(), src.arrayOffset() + src.position(), len);
+				src.position(src.position() + len);
+			}
+			else
+			{
+				byte[] buffer = new byte[Math.min(len, readAhead == null ? LargeObjectBlob.DEFAULT_READ_AHEAD_SIZE : readAhead.length)];
+				int remaining = len;
+				while(remaining > 0)
+				{
+					int chunk = Math.min(remaining, buffer.length);
+					src.get(buffer, 0, chunk);
+					largeObject.write(buffer, 0, chunk);
+					remaining -= chunk;
+				}
+			}
+			descriptorPosition += len;
+			position += len;
+			return len;
+		}
+		catch (SQLException e)
+		{
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+	
+	@Override
+	public synchronized long position() throws IOException
+	{
+		checkOpen();
+		return position;
+	}
+	
+	@Override
+	public synchronized SeekableByteChannel position(long newPosition) throws IOException
+	{
+		checkOpen();
+		if(newPosition < 0L)
+		{
+			throw new IllegalArgumentException("negative position " + newPosition);
+		}
+		this.position = newPosition;
+		return this;
+	}
+	
+	@Override
+	public synchronized long size() throws IOException
+	{
+		checkOpen();
+		try
+		{
+			// size64 moves descriptor to end of large object
+			
+			long size = largeObject.size64();
+			descriptorPosition = -1L;
+			return size;
+		}
+		catch (SQLException e)
+		{
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+	
+	@Override
+	public synchronized SeekableByteChannel truncate(long size) throws IOException
+	{
+		checkOpen();
+		if(! writable)
+		{
+			throw new NonWritableChannelException();
+		}
+		if(size < 0L)
+		{
+			throw new IllegalArgumentException("negative size " + size);
+		}
+		if(size < size())
+		{
+			try
+			{
+				largeObject.truncate64(size);
+			}
+			catch (SQLException e)
+			{
+				throw new IOException(e.getMessage(), e);
+			}
+			invalidateReadAhead();
+		}
+		if(position > size)
+		{
+			position = size;
+		}
+		return this;
+	}
+	
+	@Override
+	public boolean isOpen()
+	{
+		return open;
+	}
+	
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if(! open)
+		{
+			return;
+		}
+		open = false;
+		readAhead = null;
+		try
+		{
+			largeObject.close();
+		}
+		catch (SQLException e)
+		{
+			throw new IOException(e.getMessage(), e);
+		}
+		finally
+		{
+			largeObject = null;
+			if(closeHandler != null)
+			{
+				closeHandler.accept(this);
+			}
+		}
+	}
+	
+	/**
+	 * replace descriptor, if large object of blob is replaced by copy on write. The position of channel is kept.
+	 * 
+	 * @param largeObject descriptor of new large object
+	 * @param writable true, if new large object is writable
+	 */
+	protected synchronized void replaceLargeObject(LargeObject largeObject, boolean writable)
+	{
+		LargeObject replaced = this.open ? this.largeObject : largeObject;
+		if(this.open)
+		{
+			this.largeObject = largeObject;
+			this.writable = writable;
+			this.descriptorPosition = 0L;
+			invalidateReadAhead();
+		}
+		try
+		{
+			replaced.close();
+		}
+		catch (Exception e) {}
+	}
+	
+	/**
+	 * read from position until buffer is full or end of large object is reached
+	 *
+	 * @param pos position (start with 0)
+	 * @param buffer buffer to fill
+	 *
+	 * @return count of read bytes
+	 * @throws IOException
+	 */
+	public synchronized int read(long pos, byte[] buffer) throws IOException
+	{
+		position(pos);
+		ByteBuffer dst = ByteBuffer.wrap(buffer);
+		while(dst.hasRemaining())
+		{
+			if(read(dst) < 0)
+			{
+				break;
+			}
+		}
+		return dst.position();
+	}
+	
+	private int readUnbuffered(ByteBuffer dst) throws SQLException
+	{
+		seek(position);
+		int len;
+		if(dst.hasArray())
+		{
+			len = largeObject.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+			if(len > 0)
+			{
+				dst.position(dst.position() + len);
+			}
+		}
+		else
+		{
+			byte[] buffer = new byte[dst.remaining()];
+			len = largeObject.read(buffer, 0, buffer.length);
+			if(len > 0)
+			{
+				dst.put(buffer, 0, len);
+			}
+		}
+		if(len <= 0)
+		{
+			return -1;
+		}
+		descriptorPosition += len;
+		position += len;
+		return len;
+	}
+	
+	private boolean readAheadContains(long pos)
+	{
+		return (readAheadStart > -1L) && (pos >= readAheadStart) && (pos < (readAheadStart + readAheadLength));
+	}
+	
+	private void invalidateReadAhead()
+	{
+		readAheadStart = -1L;
+		readAheadLength = 0;
+	}
+	
+	private void seek(long pos) throws SQLException
+	{
+		if(descriptorPosition != pos)
+		{
+			largeObject.seek64(pos, LargeObject.SEEK_SET);
+			descriptorPosition = pos;
+		}
+	}
+	
+	private void checkOpen() throws ClosedChannelException
+	{
+		if(! open)
+		{
+			throw new ClosedChannelException();
+		}
+	}
+}
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.driver.postgresql;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sodeac.dbschema.driver.base.ColumnMetaData;
+import org.sodeac.dbschema.driver.base.ForeignKeyMetaData;
+import org.sodeac.dbschema.driver.base.IndexMetaData;
+import org.sodeac.dbschema.driver.base.TableMetaData;
+
+/**
+ * Reads tables, columns, keys and indices of one schema directly from pg_catalog with set-based queries.
+ * The result corresponds to the result of {@link DatabaseMetaData} requests of postgresql jdbc driver.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class PGCatalogReader
+{
+	private static final String SQL_TABLES =
+			"SELECT c.relname "
+			+ "FROM pg_catalog.pg_class c JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+			+ "WHERE c.relkind IN ('r','p') AND n.nspname = ? ";
+	
+	private static final String SQL_COLUMNS =
+			"SELECT c.relname, a.attname, t.typname, a.atttypmod, a.attnotnull, pg_catalog.pg_get_expr(d.adbin, d.adrelid) AS coldef "
+			+ "FROM pg_catalog.pg_attribute a "
+			+ "JOIN pg_catalog.pg_class c ON c.oid = a.attrelid "
+			+ "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+			+ "JOIN pg_catalog.pg_type t ON t.oid = a.atttypid "
+			+ "LEFT JOIN pg_catalog.pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum "
+			+ "WHERE c.relkind IN ('r','p') AND a.attnum > 0 AND NOT a.attisdropped AND n.nspname = ? ";
+	
+	private static final String SQL_PRIMARY_KEYS =
+			"SELECT c.relname, a.attname "
+			+ "FROM pg_catalog.pg_constraint co "
+			+ "JOIN pg_catalog.pg_class c ON c.oid = co.conrelid "
+			+ "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+			+ "CROSS JOIN LATERAL unnest(co.conkey) WITH ORDINALITY AS k(attnum, seq) "
+			+ "JOIN pg_catalog.pg_attribute a ON a.attrelid = co.conrelid AND a.attnum = k.attnum "
+			+ "WHERE co.contype = 'p' AND n.nspname = ? ";
+	
+	private static final String SQL_FOREIGN_KEYS =
+			"SELECT c.relname, co.conname, a.attname, rc.relname AS refrelname, ra.attname AS refattname, co.convalidated "
+			+ "FROM pg_catalog.pg_constraint co "
+			+ "JOIN pg_catalog.pg_class c ON c.oid = co.conrelid "
+			+ "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+			+ "JOIN pg_catalog.pg_class rc ON rc.oid = co.confrelid "
+			+ "CROSS JOIN LATERAL unnest(co.conkey, co.confkey) WITH ORDINALITY AS k(attnum, refattnum, seq) "
+			+ "JOIN pg_catalog.pg_attribute a ON a.attrelid = co.conrelid AND a.attnum = k.attnum "
+			+ "JOIN pg_catalog.pg_attribute ra ON ra.attrelid = co.confrelid AND ra.attnum = k.refattnum "
+			+ "WHERE co.contype = 'f' AND n.nspname = ? ";
+	
+	private static final String SQL_INDICES =
+			"SELECT c.relname, ic.relname AS indexname, a.attname, i.indisunique, i.indisvalid, k.seq "
+			+ "FROM pg_catalog.pg_index i "
+			+ "JOIN pg_catalog.pg_class c ON c.oid = i.indrelid "
+			+ "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+			+ "JOIN pg_catalog.pg_class ic ON ic.oid = i.indexrelid "
+			+ "CROSS JOIN LATERAL unnest(i.indkey::smallint[]) WITH ORDINALITY AS k(attnum, seq) "
+			+ "LEFT JOIN pg_catalog.pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = k.attnum "
+			+ "WHERE n.nspname = ? ";
+	
+	/**
+	 * read tables of schema
+	 *
+	 * @param connection underlying connection
+	 * @param catalog catalog name
+	 * @param schema dbms schema name (as stored in catalog)
+	 * @param tablePattern like pattern of table name or null for all tables
+	 *
+	 * @return list of tables
+	 *
+	 * @throws SQLException
+	 */
+	public static List<TableMetaData> readTables(Connection connection, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		List<TableMetaData> tableList = new ArrayList<TableMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_TABLES, "c.relname", schema, tablePattern, true, "c.relname");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				tableList.add(new TableMetaData().setTableCatalog(catalog).setTableSchema(schema).setTableName(resultSet.getString(1)));
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return tableList;
+	}
+	
+	/**
+	 * read columns of schema
+	 *
+	 * @param connection underlying connection
+	 * @param catalog catalog name
+	 * @param schema dbms schema name (as stored in catalog)
+	 * @param tablePattern like pattern of table name or null for all tables
+	 *
+	 * @return list of columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<ColumnMetaData> readColumns(Connection connection, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		List<ColumnMetaData> columnList = new ArrayList<ColumnMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_COLUMNS, "c.relname", schema, tablePattern, true, "c.relname, a.attnum");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				String typeName = resultSet.getString("typname");
+				int typeModifier = resultSet.getInt("atttypmod");
+				
+				columnList.add
+				(
+					new ColumnMetaData()
+						.setTableCatalog(catalog == null ? "" : catalog)
+						.setTableSchema(schema)
+						.setTableName(resultSet.getString("relname"))
+						.setColumnName(resultSet.getString("attname"))
+						.setDataType(dataType(typeName))
+						.setTypeName(typeName)
+						.setColumnSize(columnSize(typeName, typeModifier))
+						.setDecimalDigits(decimalDigits(typeName, typeModifier))
+						.setNullable(resultSet.getBoolean("attnotnull") ? DatabaseMetaData.columnNoNulls : DatabaseMetaData.columnNullable)
+						.setColumnDefault(resultSet.getString("coldef"))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return columnList;
+	}
+	
+	/**
+	 * read primary key columns of schema and add them to table snapshots
+	 *
+	 * @param connection underlying connection
+	 * @param schema dbms schema name (as stored in catalog)
+	 * @param tableName table name or null for all tables
+	 * @param tableList tables to fill
+	 *
+	 * @return count of read rows
+	 *
+	 * @throws SQLException
+	 */
+	public static long readPrimaryKeys(Connection connection, String schema, String tableName, List<TableMetaData> tableList) throws SQLException
+	{
+		Map<String,TableMetaData> tableIndex = new HashMap<String,TableMetaData>();
+		for(TableMetaData table : tableList)
+		{
+			tableIndex.put(table.getTableName(), table);
+		}
+		
+		long rows = 0L;
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_PRIMARY_KEYS, "c.relname", schema, tableName, false, "c.relname, k.seq");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				rows++;
+				TableMetaData table = tableIndex.get(resultSet.getString("relname"));
+				if(table != null)
+				{
+					table.getPrimaryKeyColumnList().add(resultSet.getString("attname"));
+				}
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return rows;
+	}
+	
+	/**
+	 * read foreign keys of schema
+	 *
+	 * @param connection underlying connection
+	 * @param schema dbms schema name (as stored in catalog)
+	 * @param tableName table name or null for all tables
+	 *
+	 * @return list of foreign key columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<ForeignKeyMetaData> readForeignKeys(Connection connection, String schema, String tableName) throws SQLException
+	{
+		List<ForeignKeyMetaData> foreignKeyList = new ArrayList<ForeignKeyMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_FOREIGN_KEYS, "c.relname", schema, tableName, false, "c.relname, co.conname, k.seq");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				foreignKeyList.add
+				(
+					new ForeignKeyMetaData()
+						.setTableName(resultSet.getString("relname"))
+						.setColumnName(resultSet.getString("attname"))
+						.setKeyName(resultSet.getString("conname"))
+						.setReferencedTableName(resultSet.getString("refrelname"))
+						.setReferencedColumnName(resultSet.getString("refattname"))
+						.setValidated(resultSet.getBoolean("convalidated"))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return foreignKeyList;
+	}
+	
+	/**
+	 * read indices of schema
+	 *
+	 * @param connection underlying connection
+	 * @param schema dbms schema name (as stored in catalog)
+	 * @param tableName table name or null for all tables
+	 *
+	 * @return list of index columns
+	 *
+	 * @throws SQLException
+	 */
+	public static List<IndexMetaData> readIndices(Connection connection, String schema, String tableName) throws SQLException
+	{
+		List<IndexMetaData> indexList = new ArrayList<IndexMetaData>();
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+		try
+		{
+			preparedStatement = prepare(connection, SQL_INDICES, "c.relname", schema, tableName, false, "c.relname, ic.relname, k.seq");
+			resultSet = preparedStatement.executeQuery();
+			while(resultSet.next())
+			{
+				String col = resultSet.getString("attname");
+				indexList.add
+				(
+					new IndexMetaData()
+						.setTableName(resultSet.getString("relname"))
+						.setIndexName(resultSet.getString("indexname"))
+						.setColumnName(col == null ? "" : col)
+						.setNonUnique(! resultSet.getBoolean("indisunique"))
+						.setOrdinalPosition(resultSet.getShort("seq"))
+						.setValid(resultSet.getBoolean("indisvalid"))
+				);
+			}
+		}
+		finally
+		{
+			close(resultSet, preparedStatement);
+		}
+		return indexList;
+	}
+	
+	private static PreparedStatement prepare(Connection connection, String sql, String tableColumn, String schema, String table, boolean pattern, String orderBy) throws SQLException
+	{
+		StringBuilder sqlBuilder = new StringBuilder(sql);
+		boolean filter = (table != null) && (! (pattern && "%".equals(table)));
+		if(filter)
+		{
+			sqlBuilder.append(" AND " + tableColumn + (pattern ? " LIKE ? " : " = ? "));
+		}
+		sqlBuilder.append(" ORDER BY " + orderBy);
+		
+		PreparedStatement preparedStatement = connection.prepareStatement(sqlBuilder.toString());
+		preparedStatement.setString(1, schema);
+		if(filter)
+		{
+			preparedStatement.setString(2, table);
+		}
+		return preparedStatement;
+	}
+	
+	private static void close(ResultSet resultSet, PreparedStatement preparedStatement)
+	{
+		if(resultSet != null)
+		{
+			try
+			{
+				resultSet.close();
+			}
+			catch (Exception e) {}
+		}
+		if(preparedStatement != null)
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private static int dataType(String typeName)
+	{
+		if(typeName == null)
+		{
+			return Types.OTHER;
+		}
+		switch(typeName)
+		{
+			case "bpchar" : return Types.CHAR;
+			case "varchar" : return Types.VARCHAR;
+			case "text" : return Types.VARCHAR;
+			case "bool" : return Types.BIT;
+			case "int2" : return Types.SMALLINT;
+			case "int4" : return Types.INTEGER;
+			case "int8" : return Types.BIGINT;
+			case "oid" : return Types.BIGINT;
+			case "float4" : return Types.REAL;
+			case "float8" : return Types.DOUBLE;
+			case "numeric" : return Types.NUMERIC;
+			case "date" : return Types.DATE;
+			case "time" : return Types.TIME;
+			case "timestamp" : return Types.TIMESTAMP;
+			case "bytea" : return Types.BINARY;
+			default : return Types.OTHER;
+		}
+	}
+	
+	private static int columnSize(String typeName, int typeModifier)
+	{
+		if(typeName == null)
+		{
+			return 0;
+		}
+		switch(typeName)
+		{
+			case "bpchar" :
+			case "varchar" : return typeModifier > 4 ? typeModifier - 4 : Integer.MAX_VALUE;
+			case "text" : return Integer.MAX_VALUE;
+			case "numeric" : return typeModifier > 4 ? ((typeModifier - 4) >> 16) & 0xffff : 1000;
+			case "bool" : return 1;
+			case "int2" : return 5;
+			case "int4" : return 10;
+			case "int8" :
+			case "oid" : return 19;
+			case "float4" : return 8;
+			case "float8" : return 17;
+			case "date" : return 13;
+			case "time" : return 15;
+			case "timestamp" : return 29;
+			case "bytea" : return Integer.MAX_VALUE;
+			default : return Integer.MAX_VALUE;
+		}
+	}
+	
+	private static int decimalDigits(String typeName, int typeModifier)
+	{
+		if("numeric".equals(typeName))
+		{
+			return typeModifier > 4 ? (typeModifier - 4) & 0xffff : 0;
+		}
+		if("float4".equals(typeName))
+		{
+			return 8;
+		}
+		if("float8".equals(typeName))
+		{
+			return 17;
+		}
+		if("timestamp".equals(typeName) || "time".equals(typeName))
+		{
+			return typeModifier >= 0 ? typeModifier : 6;
+		}
+		return 0;
+	}
+}
@@ -12,23 +12,38 @@ package org.sodeac.dbschema.driver.postgresql;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
-import org.postgresql.largeobject.LargeObject;
 import org.postgresql.largeobject.LargeObjectManager;
 import org.sodeac.dbschema.api.ColumnSpec;
 import org.sodeac.dbschema.api.IColumnType;
 import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IndexSpec;
 import org.sodeac.dbschema.api.SchemaSpec;
 import org.sodeac.dbschema.api.TableSpec;
+import org.sodeac.dbschema.driver.base.ColumnMetaData;
 import org.sodeac.dbschema.driver.base.DefaultDatabaseSchemaDriver;
+import org.sodeac.dbschema.driver.base.ForeignKeyMetaData;
+import org.sodeac.dbschema.driver.base.IndexMetaData;
+import org.sodeac.dbschema.driver.base.SchemaMetaDataSnapshot;
+import org.sodeac.dbschema.driver.base.TableMetaData;
 
 
 @Component(service=IDatabaseSchemaDriver.class)
@@ -37,6 +52,54 @@ public class PGDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 	// https://jdbc.postgresql.org/documentation/head/binary-data.html
 	// https://www.techonthenet.com/postgresql/index.php
 	
+	/**
+	 * large objects up to this size are copied server side by one lo_from_bytea statement
+	 */
+	public static final long LARGE_OBJECT_COPY_SINGLE_STATEMENT_LIMIT 	= 64L * 1024L * 1024L	;
+	
+	/**
+	 * size of lo_get / lo_put chunks to copy greater large objects server side
+	 */
+	public static final int LARGE_OBJECT_COPY_CHUNK_SIZE 				= 16 * 1024 * 1024		;
+	
+	/**
+	 * bookkeeping table of reference counted large objects
+	 */
+	public static final String TABLE_LARGE_OBJECT_REFERENCE 			= "SODEAC_LO_REFERENCE"	;
+	public static final String COLUMN_LARGE_OBJECT_OID 					= "LO_OID"				;
+	public static final String COLUMN_REFERENCE_COUNT 					= "REFERENCE_COUNT"		;
+	
+	/**
+	 * component property to enable reference counted large objects
+	 */
+	public static final String PROPERTY_LARGE_OBJECT_REFERENCE_COUNT 	= "largeobject.referencecount";
+	
+	/**
+	 * component property to define dbms schema of bookkeeping table, default is current schema of connection
+	 */
+	public static final String PROPERTY_LARGE_OBJECT_REFERENCE_SCHEMA 	= "largeobject.referenceschema";
+	
+	/**
+	 * max count of large objects unlinked by one statement
+	 */
+	public static final int LARGE_OBJECT_UNLINK_BATCH_SIZE 				= 10000					;
+	
+	private volatile boolean largeObjectReferenceCount = false;
+	private volatile String largeObjectReferenceSchema = null;
+	private Set<String> largeObjectReferenceTableIndex = ConcurrentHashMap.newKeySet();
+	
+	@Activate
+	private void activate(Map<String, ?> properties)
+	{
+		if(properties != null)
+		{
+			Object referenceCount = properties.get(PROPERTY_LARGE_OBJECT_REFERENCE_COUNT);
+			this.largeObjectReferenceCount = (referenceCount != null) && Boolean.parseBoolean(referenceCount.toString());
+			Object referenceSchema = properties.get(PROPERTY_LARGE_OBJECT_REFERENCE_SCHEMA);
+			this.largeObjectReferenceSchema = (referenceSchema == null) || referenceSchema.toString().isEmpty() ? null : referenceSchema.toString();
+		}
+	}
+	
 	@Override
 	public int handle(Connection connection) throws SQLException
 	{
@@ -126,146 +189,189 @@ public class PGDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 	}
 	
 	@Override
-	public void setValidColumnProperties
+	protected void addColumnPropertiesActions
 	(
 		Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec,
-		ColumnSpec columnSpec, Map<String, Object> columnProperties
+		ColumnSpec columnSpec, Map<String, Object> columnProperties, List<String> columnActionList
 	) throws SQLException
 	{
-		String schema = connection.getSchema();
-		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
-		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, schemaSpec.getDbmsSchemaName(), "SCHEMA");
-		}
-		if((tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
-		{
-			schema = objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getDbmsSchemaName(), "SCHEMA");
-		}
+		String columnPart = columnPart(connection, schemaSpec, columnSpec);
 		
-		boolean tableQuoted = false;
-		if(tableSpec.getQuotedName() != null)
-		{
-			tableQuoted = tableSpec.getQuotedName().booleanValue();
-		}
+		boolean nullable = columnSpec.getNullable();
 		
-		boolean columnQuoted = false;
-		if(columnSpec.getQuotedName() != null)
+		if(columnProperties.get("INVALID_NULLABLE") != null)
 		{
-			columnQuoted = columnSpec.getQuotedName().booleanValue();
+			columnActionList.add("ALTER COLUMN " + columnPart + " " + ( nullable ? " DROP NOT NULL " : " SET NOT NULL" ));
 		}
 		
-		String tablePart = tableQuoted ? 
-				" " + schema + "." + quotedChar() +  "" + tableSpec.getName() + "" + quotedChar() +  " " :
-				" " + schema + "." + objectNameGuidelineFormat(schemaSpec, connection, tableSpec.getName(), "TABLE") + " " ;
-			
-		String columnPart =  columnQuoted ? 
-				" " + quotedChar() +  "" + columnSpec.getName() + "" + quotedChar() +  " " :
-				" " + objectNameGuidelineFormat(schemaSpec, connection, columnSpec.getName(), "COLUMN") + " " ;
-		
-		boolean nullable = columnSpec.getNullable();
-		
-		if(columnProperties.get("INVALID_NULLABLE") != null)
+		if
+		(
+			(columnProperties.get("INVALID_SIZE") != null) ||
+			(columnProperties.get("INVALID_TYPE") != null)
+		)
 		{
-			PreparedStatement updateNullableStatment = null;
-			try
+			IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
+			
+			if(columnType == null)
 			{
-				String nullableStatement = "ALTER TABLE  " + tablePart +  " ALTER COLUMN " + columnPart + " " + ( nullable ? " DROP NOT NULL " : " SET NOT NULL" ) ;
-				updateNullableStatment = connection.prepareStatement(nullableStatement);
-				updateNullableStatment.executeUpdate();
-			}
-			finally
-			{
-				if(updateNullableStatment != null)
-				{
-					try
-					{
-						updateNullableStatment.close();
-					}
-					catch(Exception e){}
-				}
+				throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
 			}
+			
+			columnActionList.add("ALTER " + columnPart + " TYPE " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
 		}
 		
 		if
 		(
-			(columnProperties.get("INVALID_SIZE") != null) ||
-			(columnProperties.get("INVALID_TYPE") != null)
+			(columnProperties.get("INVALID_DEFAULT") != null)
 		)
 		{
-			PreparedStatement createColumnStatement = null;
-			try
+			if(columnSpec.getDefaultValue() == null)
 			{
-				StringBuilder sqlBuilder = new StringBuilder("ALTER TABLE  " + tablePart + " ALTER " + columnPart + " TYPE ");
-				
-				IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec);
+				columnActionList.add("ALTER " + columnPart + " DROP DEFAULT ");
+			}
+			else
+			{
+				IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
 				
 				if(columnType == null)
 				{
 					throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
 				}
 				
-				sqlBuilder.append(" " + columnType.getTypeExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-				
-				createColumnStatement = connection.prepareStatement(sqlBuilder.toString());
-				createColumnStatement.executeUpdate();
+				columnActionList.add("ALTER " + columnPart + " SET  " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
 			}
-			finally
+		}
+	}
+	
+	@Override
+	protected void alterTable(Connection connection, String tablePart, List<String> columnDefinitionList, List<String> columnActionList) throws SQLException
+	{
+		// all actions in one statement: table is locked and rewritten only once
+		
+		StringBuilder sqlBuilder = new StringBuilder("ALTER TABLE  " + tablePart + " ");
+		boolean first = true;
+		for(String columnDefinition : columnDefinitionList)
+		{
+			sqlBuilder.append((first ? "" : ", ") + "ADD " + columnDefinition);
+			first = false;
+		}
+		for(String columnAction : columnActionList)
+		{
+			sqlBuilder.append((first ? "" : ", ") + columnAction);
+			first = false;
+		}
+		
+		if(first)
+		{
+			return;
+		}
+		
+		executeUpdate(connection, sqlBuilder.toString());
+	}
+	
+	@Override
+	public boolean acquireSchemaLock(Connection connection, SchemaSpec schemaSpec, Map<String, Object> lockProperties) throws SQLException
+	{
+		// session scoped lock: schema check commits between phases, the lock must not be released on commit
+		
+		executeAdvisoryLockFunction(connection, "pg_advisory_lock", schemaLockKey(schemaSpec));
+		return true;
+	}
+	
+	@Override
+	public void releaseSchemaLock(Connection connection, SchemaSpec schemaSpec, Map<String, Object> lockProperties) throws SQLException
+	{
+		try
+		{
+			executeAdvisoryLockFunction(connection, "pg_advisory_unlock", schemaLockKey(schemaSpec));
+		}
+		catch (SQLException e) 
+		{
+			// session lock survives rollback: leave aborted transaction and try again
+			
+			if(connection.getAutoCommit() || (! "25P02".equals(e.getSQLState())))
 			{
-				if(createColumnStatement != null)
-				{
-					try
-					{
-						createColumnStatement.close();
-					}
-					catch(Exception e){}
-				}
+				throw e;
 			}
+			connection.rollback();
+			executeAdvisoryLockFunction(connection, "pg_advisory_unlock", schemaLockKey(schemaSpec));
 		}
-		
-		if
-		(
-			(columnProperties.get("INVALID_DEFAULT") != null)
-		)
+	}
+	
+	private void executeAdvisoryLockFunction(Connection connection, String function, long key) throws SQLException
+	{
+		PreparedStatement preparedStatement = connection.prepareStatement("SELECT " + function + "(?)");
+		try
 		{
-			PreparedStatement createColumnStatement = null;
+			preparedStatement.setLong(1, key);
+			ResultSet resultSet = preparedStatement.executeQuery();
 			try
 			{
-				if(columnSpec.getDefaultValue() == null)
-				{
-					createColumnStatement = connection.prepareStatement("ALTER TABLE  " + tablePart + " ALTER " + columnPart + " DROP DEFAULT ");
-					createColumnStatement.executeUpdate();
-				}
-				else
-				{
-					StringBuilder sqlBuilder = new StringBuilder("ALTER TABLE  " + tablePart + " ALTER " + columnPart + " SET  ");
-					
-					IColumnType columnType = findBestColumnType(connection, schemaSpec, tableSpec, columnSpec);
-					
-					if(columnType == null)
-					{
-						throw new SQLException("No ColumnType Provider found for \"" + columnSpec.getColumntype()+ "\"");
-					}
-					
-					sqlBuilder.append(" " + columnType.getDefaultValueExpression(connection, schemaSpec, tableSpec, columnSpec, "TODO", this));
-					
-					createColumnStatement = connection.prepareStatement(sqlBuilder.toString());
-					createColumnStatement.executeUpdate();
-				}
+				resultSet.next();
 			}
 			finally
 			{
-				if(createColumnStatement != null)
+				try
 				{
-					try
-					{
-						createColumnStatement.close();
-					}
-					catch(Exception e){}
+					resultSet.close();
 				}
+				catch (Exception e) {}
+			}
+		}
+		finally
+		{
+			try
+			{
+				preparedStatement.close();
 			}
+			catch (Exception e) {}
+		}
+	}
+	
+	@Override
+	protected String foreignKeyNoValidateAppendix(Connection connection)
+	{
+		return " NOT VALID";
+	}
+	
+	@Override
+	protected String foreignKeyValidateStatement(Connection connection, String tablePart, String constraintPart)
+	{
+		// requires SHARE UPDATE EXCLUSIVE lock only, writes are not blocked
+		return "ALTER TABLE " + tablePart + " VALIDATE CONSTRAINT " + constraintPart;
+	}
+	
+	@Override
+	protected String createIndexOption(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> columnIndexProperties)
+	{
+		return indexSpec.getOnline() ? "CONCURRENTLY " : "";
+	}
+	
+	@Override
+	protected void executeCreateIndex(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> columnIndexProperties, String sql) throws SQLException
+	{
+		if((! indexSpec.getOnline()) || connection.getAutoCommit())
+		{
+			super.executeCreateIndex(connection, schemaSpec, tableSpec, indexSpec, columnIndexProperties, sql);
+			return;
+		}
+		
+		// CREATE INDEX CONCURRENTLY cannot run inside a transaction block. 
+		// A failed build leaves an INVALID index, which is dropped and rebuild by next check.
+		
+		connection.commit();
+		connection.setAutoCommit(true);
+		try
+		{
+			super.executeCreateIndex(connection, schemaSpec, tableSpec, indexSpec, columnIndexProperties, sql);
+		}
+		finally
+		{
+			connection.setAutoCommit(false);
 		}
 	}
 	
+	@Override
 	public String getFunctionExpression(String function)
 	{
 		return function ;
@@ -277,6 +383,127 @@ public class PGDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 		return name == null ? name : name.toLowerCase();
 	}
 	
+	@Override
+	protected String catalogChangeMarkerStatement(Connection connection)
+	{
+		// xmin of catalog rows changes with every ddl command, relfilenode changes with table rewrites
+		
+		return  "SELECT "
+				+ "(SELECT COUNT(*) || ':' || md5(COALESCE(string_agg(c.oid || ':' || c.relfilenode || ':' || c.xmin, ',' ORDER BY c.oid),'')) "
+				+ "FROM pg_catalog.pg_class c WHERE c.relnamespace = n.oid) || '/' || "
+				+ "(SELECT COUNT(*) || ':' || md5(COALESCE(string_agg(a.attrelid || ':' || a.attnum || ':' || a.xmin, ',' ORDER BY a.attrelid, a.attnum),'')) "
+				+ "FROM pg_catalog.pg_attribute a JOIN pg_catalog.pg_class c ON c.oid = a.attrelid WHERE c.relnamespace = n.oid AND a.attnum > 0) || '/' || "
+				+ "(SELECT COUNT(*) || ':' || md5(COALESCE(string_agg(d.oid || ':' || d.xmin, ',' ORDER BY d.oid),'')) "
+				+ "FROM pg_catalog.pg_attrdef d JOIN pg_catalog.pg_class c ON c.oid = d.adrelid WHERE c.relnamespace = n.oid) || '/' || "
+				+ "(SELECT COUNT(*) || ':' || md5(COALESCE(string_agg(co.oid || ':' || co.xmin, ',' ORDER BY co.oid),'')) "
+				+ "FROM pg_catalog.pg_constraint co WHERE co.connamespace = n.oid) "
+				+ "FROM pg_catalog.pg_namespace n WHERE n.nspname = ? ";
+	}
+	
+	@Override
+	protected SchemaMetaDataSnapshot loadSchemaMetaDataSnapshot(Connection connection, SchemaSpec schemaSpec, String catalog, String schema) throws SQLException
+	{
+		// one set-based pg_catalog query per object type instead of generic DatabaseMetaData requests per table
+		
+		SchemaMetaDataSnapshot schemaSnapshot = new SchemaMetaDataSnapshot(catalog, schema);
+		String nspname = schemaSearchPattern(schemaSpec, connection, schema);
+		
+		List<TableMetaData> tableList = PGCatalogReader.readTables(connection, catalog, nspname, null);
+		schemaSnapshot.countMetaDataQuery(tableList.size());
+		for(TableMetaData table : tableList)
+		{
+			schemaSnapshot.addTable(table);
+		}
+		
+		List<ColumnMetaData> columnList = PGCatalogReader.readColumns(connection, catalog, nspname, null);
+		schemaSnapshot.countMetaDataQuery(columnList.size());
+		for(ColumnMetaData column : columnList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(column.getTableName(), true);
+			if(table != null)
+			{
+				table.addColumn(column);
+			}
+		}
+		
+		schemaSnapshot.countMetaDataQuery(PGCatalogReader.readPrimaryKeys(connection, nspname, null, tableList));
+		
+		List<ForeignKeyMetaData> foreignKeyList = PGCatalogReader.readForeignKeys(connection, nspname, null);
+		schemaSnapshot.countMetaDataQuery(foreignKeyList.size());
+		for(ForeignKeyMetaData foreignKey : foreignKeyList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(foreignKey.getTableName(), true);
+			if(table != null)
+			{
+				table.getForeignKeyList().add(foreignKey);
+			}
+		}
+		
+		List<IndexMetaData> indexList = PGCatalogReader.readIndices(connection, nspname, null);
+		schemaSnapshot.countMetaDataQuery(indexList.size());
+		for(IndexMetaData index : indexList)
+		{
+			TableMetaData table = schemaSnapshot.getTable(index.getTableName(), true);
+			if(table != null)
+			{
+				table.getIndexList().add(index);
+			}
+		}
+		
+		for(TableMetaData table : tableList)
+		{
+			table.setColumnsLoaded(true);
+			table.setPrimaryKeyLoaded(true);
+			table.setForeignKeysLoaded(true);
+			table.setIndicesLoaded(true);
+		}
+		
+		return schemaSnapshot;
+	}
+	
+	@Override
+	protected List<TableMetaData> readTableMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		return PGCatalogReader.readTables(connection, catalog, schemaSearchPattern(schemaSpec, connection, schema), tablePattern);
+	}
+	
+	@Override
+	protected List<ColumnMetaData> readColumnMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tablePattern) throws SQLException
+	{
+		return PGCatalogReader.readColumns(connection, catalog, schemaSearchPattern(schemaSpec, connection, schema), tablePattern);
+	}
+	
+	@Override
+	protected void loadPrimaryKeyMetaData(Connection connection, SchemaSpec schemaSpec, SchemaMetaDataSnapshot schemaSnapshot, TableMetaData table) throws SQLException
+	{
+		synchronized(table)
+		{
+			if(table.isPrimaryKeyLoaded())
+			{
+				return;
+			}
+			long rows = PGCatalogReader.readPrimaryKeys
+			(
+				connection, schemaSearchPattern(schemaSpec, connection, schemaSnapshot.getSchema()), 
+				table.getTableName(), Collections.singletonList(table)
+			);
+			schemaSnapshot.countMetaDataQuery(rows);
+			table.setPrimaryKeyLoaded(true);
+		}
+	}
+	
+	@Override
+	protected List<ForeignKeyMetaData> readForeignKeyMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
+	{
+		return PGCatalogReader.readForeignKeys(connection, schemaSearchPattern(schemaSpec, connection, schema), tableName);
+	}
+	
+	@Override
+	protected List<IndexMetaData> readIndexMetaData(Connection connection, SchemaSpec schemaSpec, String catalog, String schema, String tableName) throws SQLException
+	{
+		return PGCatalogReader.readIndices(connection, schemaSearchPattern(schemaSpec, connection, schema), tableName);
+	}
+	
 	@Override
 	public Blob createBlob(Connection connection) throws SQLException
 	{
@@ -293,7 +520,7 @@ public class PGDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 			return null;
 		}
 		org.postgresql.core.BaseConnection nativeConnection = connection.unwrap(org.postgresql.core.BaseConnection.class);
-		return new LargeObjectBlob(nativeConnection,oid);
+		return new LargeObjectBlob(nativeConnection,oid).setCopyOnWrite(largeObjectReferenceCount);
 	}
 
 	@Override
@@ -305,7 +532,7 @@ public class PGDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 			return null;
 		}
 		org.postgresql.core.BaseConnection nativeConnection = connection.unwrap(org.postgresql.core.BaseConnection.class);
-		return new LargeObjectBlob(nativeConnection,oid);
+		return new LargeObjectBlob(nativeConnection,oid).setCopyOnWrite(largeObjectReferenceCount);
 	}
 	
 		@Override
@@ -318,52 +545,291 @@ public class PGDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 		}
 		
 		LargeObjectBlob loBlob = (LargeObjectBlob)blob;
+		if(largeObjectReferenceCount)
+		{
+			referenceLargeObject(connection, loBlob);
+			preparedStatement.setLong(parameterIndex, loBlob.getOID());
+			return;
+		}
 		if(! loBlob.isWritable())
 		{
 			
+			preparedStatement.setLong(parameterIndex, copyLargeObject(connection, loBlob));
+			return;
+		}
+		long oid = loBlob.getOID();
+		preparedStatement.setLong(parameterIndex, oid);
+	}
+	
+	/**
+	 * create a copy of large object. The copy runs server side with lo_get / lo_put (since PostgreSQL 9.4), 
+	 * content is not transferred to client.
+	 * 
+	 * @param connection underlying connection
+	 * @param source large object to copy
+	 * 
+	 * @return oid of copy
+	 * @throws SQLException
+	 */
+	protected long copyLargeObject(Connection connection, LargeObjectBlob source) throws SQLException
+	{
+		return source.copy();
+	}
+	
+	/**
+	 * Getter for reference counted large object mode
+	 * 
+	 * @return true, if large objects are shared by reference count, otherwise false
+	 */
+	public boolean isLargeObjectReferenceCount()
+	{
+		return largeObjectReferenceCount;
+	}
+	
+	/**
+	 * Setter for reference counted large object mode. In this mode {@link PGDatabaseSchemaProvider#setBlob(Connection, PreparedStatement, Blob, int)} 
+	 * binds read-only large objects without copy and increments the reference count in table {@link PGDatabaseSchemaProvider#TABLE_LARGE_OBJECT_REFERENCE}. 
+	 * {@link PGDatabaseSchemaProvider#cleanBlob(Connection, Blob)} decrements the reference count and unlinks the large object, if no reference remains. 
+	 * Fetched large objects are copied on first write. After the modified blob replaces the original value of row, the original large object 
+	 * has to be released by {@link PGDatabaseSchemaProvider#releaseReplacedBlob(Connection, Blob)}. Requires PostgreSQL 9.5 or higher. 
+	 * 
+	 * @param largeObjectReferenceCount true, to share large objects by reference count
+	 * @return driver
+	 */
+	public PGDatabaseSchemaProvider setLargeObjectReferenceCount(boolean largeObjectReferenceCount)
+	{
+		this.largeObjectReferenceCount = largeObjectReferenceCount;
+		return this;
+	}
+	
+	/**
+	 * release original large object of {@code blob}, which is replaced by copy on write. The reference count of original 
+	 * large object is decremented, the large object is unlinked, if no reference remains. Call this method after 
+	 * the modified blob is bound to the row of the original large object. Blobs without replaced large object are ignored.
+	 * 
+	 * @param connection underlying connection
+	 * @param blob modified blob
+	 * @throws SQLException
+	 */
+	public void releaseReplacedBlob(Connection connection, Blob blob) throws SQLException
+	{
+		if(blob == null)
+		{
+			return;
+		}
+		
+		LargeObjectBlob loBlob = (LargeObjectBlob)blob;
+		long replacedOID = loBlob.getReplacedOID();
+		if(replacedOID < 0L)
+		{
+			return;
+		}
+		
+		if((! largeObjectReferenceCount) || dereferenceLargeObject(connection, replacedOID))
+		{
 			org.postgresql.core.BaseConnection nativeConnection = connection.unwrap(org.postgresql.core.BaseConnection.class);
-			LargeObjectManager lobj = nativeConnection.getLargeObjectAPI();
-			LargeObject largeObject = lobj.open(loBlob.getOID(), LargeObjectManager.READ);
-			LargeObjectBlob deepCopy = new LargeObjectBlob(nativeConnection);
-			OutputStream os = null;
-			InputStream is = null;
-			
+			nativeConnection.getLargeObjectAPI().delete(replacedOID);
+		}
+		loBlob.clearReplacedOID();
+	}
+	
+	/**
+	 * Getter for dbms schema of bookkeeping table
+	 * 
+	 * @return dbms schema of bookkeeping table or null, if current schema of connection is used
+	 */
+	public String getLargeObjectReferenceSchema()
+	{
+		return largeObjectReferenceSchema;
+	}
+	
+	/**
+	 * Setter for dbms schema of bookkeeping table
+	 * 
+	 * @param largeObjectReferenceSchema dbms schema of bookkeeping table or null, to use current schema of connection
+	 * @return driver
+	 */
+	public PGDatabaseSchemaProvider setLargeObjectReferenceSchema(String largeObjectReferenceSchema)
+	{
+		this.largeObjectReferenceSchema = largeObjectReferenceSchema;
+		return this;
+	}
+	
+	/**
+	 * create bookkeeping table of reference counted large objects, if not exists. The existence is cached, 
+	 * after the creating transaction is committed.
+	 * 
+	 * @param connection underlying connection
+	 * 
+	 * @return schema qualified name of bookkeeping table
+	 * @throws SQLException
+	 */
+	protected String checkLargeObjectReferenceTable(Connection connection) throws SQLException
+	{
+		String schema = this.largeObjectReferenceSchema == null ? connection.getSchema() : this.largeObjectReferenceSchema;
+		String referenceTable = schema + "." + TABLE_LARGE_OBJECT_REFERENCE;
+		String key = connection.getMetaData().getURL() + "|" + referenceTable;
+		if(largeObjectReferenceTableIndex.contains(key))
+		{
+			return referenceTable;
+		}
+		
+		PreparedStatement prepStat = connection.prepareStatement
+		(
+			"CREATE TABLE IF NOT EXISTS " + referenceTable + " (" + 
+				COLUMN_LARGE_OBJECT_OID + " OID NOT NULL PRIMARY KEY, " + 
+				COLUMN_REFERENCE_COUNT + " INTEGER NOT NULL)"
+		);
+		try
+		{
+			prepStat.executeUpdate();
+		}
+		finally
+		{
 			try
 			{
-				is = largeObject.getInputStream();
-				os = deepCopy.setBinaryStream(1);
-				
-				byte[] buffer = new byte[1080];
-				int len;
-				
-				while((len = is.read(buffer)) > 0)
-				{
-					os.write(buffer, 0, len);
-				}
-				
-				os.flush();
-				loBlob = deepCopy;
+				prepStat.close();
 			}
-			catch (Exception e) 
+			catch (Exception e) {}
+		}
+		
+		// ddl is transactional: table created by open transaction is lost on rollback
+		
+		if(connection.getAutoCommit())
+		{
+			largeObjectReferenceTableIndex.add(key);
+			return referenceTable;
+		}
+		
+		prepStat = connection.prepareStatement
+		(
+			"SELECT CAST(C.XMIN AS TEXT) <> CAST(TXID_CURRENT() % 4294967296 AS TEXT) FROM PG_CATALOG.PG_CLASS C WHERE C.OID = TO_REGCLASS(?) "
+		);
+		ResultSet resultSet = null;
+		try
+		{
+			prepStat.setString(1, referenceTable);
+			resultSet = prepStat.executeQuery();
+			if(resultSet.next() && resultSet.getBoolean(1))
 			{
-				if(e instanceof SQLException)
-				{
-					throw (SQLException)e;
-				}
-				throw new SQLException(e.getMessage(), e);
+				largeObjectReferenceTableIndex.add(key);
 			}
-			finally
+		}
+		finally
+		{
+			try
+			{
+				resultSet.close();
+			}
+			catch (Exception e) {}
+			try
 			{
-				try {is.close();}catch (Exception e) {}
-				try {os.close();}catch (Exception e) {}
-				try {deepCopy.free();}catch (Exception e) {}
-				try {largeObject.close();}catch (Exception e) {}
+				prepStat.close();
 			}
+			catch (Exception e) {}
 		}
-		long oid = loBlob.getOID();
-		preparedStatement.setLong(parameterIndex, oid);
+		return referenceTable;
 	}
+	
+	/**
+	 * increment reference count of large object
+	 * 
+	 * @param connection underlying connection
+	 * @param loBlob large object
+	 * @throws SQLException
+	 */
+	protected void referenceLargeObject(Connection connection, LargeObjectBlob loBlob) throws SQLException
+	{
+		String referenceTable = checkLargeObjectReferenceTable(connection);
+		
+		// large objects fetched from table without bookkeeping entry are referenced at least by origin row
 		
+		PreparedStatement prepStat = connection.prepareStatement
+		(
+			"INSERT INTO " + referenceTable + " AS R (" + COLUMN_LARGE_OBJECT_OID + ", " + COLUMN_REFERENCE_COUNT + ") VALUES (?, ?) " + 
+			"ON CONFLICT (" + COLUMN_LARGE_OBJECT_OID + ") DO UPDATE SET " + COLUMN_REFERENCE_COUNT + " = R." + COLUMN_REFERENCE_COUNT + " + 1"
+		);
+		try
+		{
+			prepStat.setLong(1, loBlob.getOID());
+			prepStat.setInt(2, loBlob.isWritable() ? 1 : 2);
+			prepStat.executeUpdate();
+		}
+		finally
+		{
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * decrement reference count of large object
+	 * 
+	 * @param connection underlying connection
+	 * @param oid oid of large object
+	 * 
+	 * @return true, if no reference remains and large object has to unlink, otherwise false
+	 * @throws SQLException
+	 */
+	protected boolean dereferenceLargeObject(Connection connection, long oid) throws SQLException
+	{
+		String referenceTable = checkLargeObjectReferenceTable(connection);
+		
+		PreparedStatement prepStat = connection.prepareStatement
+		(
+			"UPDATE " + referenceTable + " SET " + COLUMN_REFERENCE_COUNT + " = " + COLUMN_REFERENCE_COUNT + " - 1 " + 
+			"WHERE " + COLUMN_LARGE_OBJECT_OID + " = ? RETURNING " + COLUMN_REFERENCE_COUNT
+		);
+		ResultSet resultSet = null;
+		try
+		{
+			prepStat.setLong(1, oid);
+			resultSet = prepStat.executeQuery();
+			if(! resultSet.next())
+			{
+				// not shared
+				
+				return true;
+			}
+			if(resultSet.getInt(1) > 0)
+			{
+				return false;
+			}
+		}
+		finally
+		{
+			try
+			{
+				resultSet.close();
+			}
+			catch (Exception e) {}
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+		
+		prepStat = connection.prepareStatement("DELETE FROM " + referenceTable + " WHERE " + COLUMN_LARGE_OBJECT_OID + " = ? ");
+		try
+		{
+			prepStat.setLong(1, oid);
+			prepStat.executeUpdate();
+		}
+		finally
+		{
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+		return true;
+	}
+	
 	@Override
 	public boolean requireCleanBlob(Connection connection)
 	{
@@ -379,9 +845,337 @@ public class PGDatabaseSchemaProvider extends DefaultDatabaseSchemaDriver implem
 		}
 		
 		LargeObjectBlob loBlob = (LargeObjectBlob)blob;
+		if(largeObjectReferenceCount && (! dereferenceLargeObject(connection, loBlob.getOID())))
+		{
+			return;
+		}
 		
 		org.postgresql.core.BaseConnection nativeConnection = connection.unwrap(org.postgresql.core.BaseConnection.class);
 		LargeObjectManager lobj = nativeConnection.getLargeObjectAPI();
 		lobj.delete(loBlob.getOID());
 	}
+	
+	@Override
+	public void cleanBlobs(Connection connection, Collection<Blob> blobs) throws SQLException
+	{
+		if((blobs == null) || blobs.isEmpty())
+		{
+			return;
+		}
+		
+		Map<Long,Integer> oidIndex = new LinkedHashMap<Long,Integer>();
+		for(Blob blob : blobs)
+		{
+			if(blob == null)
+			{
+				continue;
+			}
+			oidIndex.merge(((LargeObjectBlob)blob).getOID(), 1, Integer::sum);
+		}
+		
+		if(largeObjectReferenceCount)
+		{
+			unlinkLargeObjects(connection, dereferenceLargeObjects(connection, oidIndex));
+		}
+		else
+		{
+			unlinkLargeObjects(connection, new ArrayList<Long>(oidIndex.keySet()));
+		}
+	}
+	
+	/**
+	 * unlink large objects in batches of {@link PGDatabaseSchemaProvider#LARGE_OBJECT_UNLINK_BATCH_SIZE}
+	 * 
+	 * @param connection underlying connection
+	 * @param oidList oids of large objects to unlink
+	 * @throws SQLException
+	 */
+	protected void unlinkLargeObjects(Connection connection, List<Long> oidList) throws SQLException
+	{
+		if(oidList.isEmpty())
+		{
+			return;
+		}
+		
+		PreparedStatement prepStat = connection.prepareStatement("SELECT lo_unlink(CAST(U.O AS OID)) FROM unnest(?) AS U(O) ");
+		try
+		{
+			for(int i = 0; i < oidList.size(); i += LARGE_OBJECT_UNLINK_BATCH_SIZE)
+			{
+				Array oidArray = connection.createArrayOf("int8", oidList.subList(i, Math.min(oidList.size(), i + LARGE_OBJECT_UNLINK_BATCH_SIZE)).toArray());
+				try
+				{
+					prepStat.setArray(1, oidArray);
+					ResultSet resultSet = prepStat.executeQuery();
+					resultSet.close();
+				}
+				finally
+				{
+					try
+					{
+						oidArray.free();
+					}
+					catch (Exception e) {}
+				}
+			}
+		}
+		finally
+		{
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * decrement reference counts of multiple large objects
+	 * 
+	 * @param connection underlying connection
+	 * @param oidIndex count of dereferences by oid
+	 * 
+	 * @return oids of large objects without remaining reference
+	 * @throws SQLException
+	 */
+	protected List<Long> dereferenceLargeObjects(Connection connection, Map<Long,Integer> oidIndex) throws SQLException
+	{
+		String referenceTable = checkLargeObjectReferenceTable(connection);
+		
+		// objects without bookkeeping entry are not shared
+		
+		Set<Long> unlinkSet = new LinkedHashSet<Long>(oidIndex.keySet());
+		List<Long> oidList = new ArrayList<Long>(oidIndex.keySet());
+		
+		PreparedStatement prepStat = connection.prepareStatement
+		(
+			"UPDATE " + referenceTable + " R SET " + COLUMN_REFERENCE_COUNT + " = R." + COLUMN_REFERENCE_COUNT + " - D.N " + 
+			"FROM unnest(CAST(? AS BIGINT[]), CAST(? AS INTEGER[])) AS D(O, N) WHERE R." + COLUMN_LARGE_OBJECT_OID + " = CAST(D.O AS OID) " + 
+			"RETURNING CAST(R." + COLUMN_LARGE_OBJECT_OID + " AS BIGINT), R." + COLUMN_REFERENCE_COUNT
+		);
+		try
+		{
+			for(int i = 0; i < oidList.size(); i += LARGE_OBJECT_UNLINK_BATCH_SIZE)
+			{
+				List<Long> chunk = oidList.subList(i, Math.min(oidList.size(), i + LARGE_OBJECT_UNLINK_BATCH_SIZE));
+				Integer[] counts = new Integer[chunk.size()];
+				for(int j = 0; j < counts.length; j++)
+				{
+					counts[j] = oidIndex.get(chunk.get(j));
+				}
+				
+				Array oidArray = connection.createArrayOf("int8", chunk.toArray());
+				Array countArray = connection.createArrayOf("int4", counts);
+				ResultSet resultSet = null;
+				try
+				{
+					prepStat.setArray(1, oidArray);
+					prepStat.setArray(2, countArray);
+					resultSet = prepStat.executeQuery();
+					while(resultSet.next())
+					{
+						if(resultSet.getInt(2) > 0)
+						{
+							unlinkSet.remove(resultSet.getLong(1));
+						}
+					}
+				}
+				finally
+				{
+					try
+					{
+						resultSet.close();
+					}
+					catch (Exception e) {}
+					try
+					{
+						oidArray.free();
+					}
+					catch (Exception e) {}
+					try
+					{
+						countArray.free();
+					}
+					catch (Exception e) {}
+				}
+			}
+		}
+		finally
+		{
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+		
+		List<Long> unlinkList = new ArrayList<Long>(unlinkSet);
+		deleteLargeObjectReferences(connection, referenceTable, unlinkList);
+		return unlinkList;
+	}
+	
+	/**
+	 * remove bookkeeping entries of large objects in batches of {@link PGDatabaseSchemaProvider#LARGE_OBJECT_UNLINK_BATCH_SIZE}
+	 * 
+	 * @param connection underlying connection
+	 * @param referenceTable schema qualified name of bookkeeping table
+	 * @param oidList oids of large objects
+	 * @throws SQLException
+	 */
+	protected void deleteLargeObjectReferences(Connection connection, String referenceTable, List<Long> oidList) throws SQLException
+	{
+		if(oidList.isEmpty())
+		{
+			return;
+		}
+		
+		PreparedStatement prepStat = connection.prepareStatement
+		(
+			"DELETE FROM " + referenceTable + " WHERE " + COLUMN_LARGE_OBJECT_OID + " IN (SELECT CAST(U.O AS OID) FROM unnest(?) AS U(O)) "
+		);
+		try
+		{
+			for(int i = 0; i < oidList.size(); i += LARGE_OBJECT_UNLINK_BATCH_SIZE)
+			{
+				Array oidArray = connection.createArrayOf("int8", oidList.subList(i, Math.min(oidList.size(), i + LARGE_OBJECT_UNLINK_BATCH_SIZE)).toArray());
+				try
+				{
+					prepStat.setArray(1, oidArray);
+					prepStat.executeUpdate();
+				}
+				finally
+				{
+					try
+					{
+						oidArray.free();
+					}
+					catch (Exception e) {}
+				}
+			}
+		}
+		finally
+		{
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * Unlinks large objects, which are not referenced by any oid or lo column (similar to vacuumlo). 
+	 * Large objects are global objects of database, so all user tables are scanned, not only tables of one schema specification.
+	 * Bookkeeping tables of reference counted mode are not scanned, their entries of unlinked large objects are removed. 
+	 * Large objects must not be created and referenced in separate transactions while sweeping.
+	 */
+	@Override
+	public long cleanOrphanBlobs(Connection connection) throws SQLException
+	{
+		List<String> referenceList = new ArrayList<String>();
+		List<String> bookkeepingList = new ArrayList<String>();
+		PreparedStatement prepStat = connection.prepareStatement
+		(
+			"SELECT N.NSPNAME, C.RELNAME, A.ATTNAME FROM PG_CATALOG.PG_ATTRIBUTE A " + 
+			"JOIN PG_CATALOG.PG_CLASS C ON C.OID = A.ATTRELID " + 
+			"JOIN PG_CATALOG.PG_NAMESPACE N ON N.OID = C.RELNAMESPACE " + 
+			"JOIN PG_CATALOG.PG_TYPE T ON T.OID = A.ATTTYPID " + 
+			"WHERE A.ATTNUM > 0 AND NOT A.ATTISDROPPED AND C.RELKIND IN ('r', 'm') AND T.TYPNAME IN ('oid', 'lo') " + 
+			"AND N.NSPNAME NOT IN ('pg_catalog', 'information_schema') AND N.NSPNAME NOT LIKE 'pg_toast%' "
+		);
+		ResultSet resultSet = null;
+		try
+		{
+			resultSet = prepStat.executeQuery();
+			while(resultSet.next())
+			{
+				String table = quotedIdentifier(resultSet.getString(1)) + "." + quotedIdentifier(resultSet.getString(2));
+				if
+				(
+					TABLE_LARGE_OBJECT_REFERENCE.equalsIgnoreCase(resultSet.getString(2)) && 
+					COLUMN_LARGE_OBJECT_OID.equalsIgnoreCase(resultSet.getString(3))
+				)
+				{
+					// bookkeeping entries are no references
+					
+					bookkeepingList.add(table);
+					continue;
+				}
+				referenceList.add
+				(
+					"NOT EXISTS (SELECT 1 FROM " + table + " X " + 
+					"WHERE X." + quotedIdentifier(resultSet.getString(3)) + " = M.OID) "
+				);
+			}
+		}
+		finally
+		{
+			try
+			{
+				resultSet.close();
+			}
+			catch (Exception e) {}
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+		
+		StringBuilder sql = new StringBuilder("SELECT CAST(M.OID AS BIGINT) FROM PG_CATALOG.PG_LARGEOBJECT_METADATA M ");
+		for(int i = 0; i < referenceList.size(); i++)
+		{
+			sql.append(i == 0 ? "WHERE " : "AND ");
+			sql.append(referenceList.get(i));
+		}
+		
+		List<Long> orphanList = new ArrayList<Long>();
+		prepStat = connection.prepareStatement(sql.toString());
+		resultSet = null;
+		try
+		{
+			resultSet = prepStat.executeQuery();
+			while(resultSet.next())
+			{
+				orphanList.add(resultSet.getLong(1));
+			}
+		}
+		finally
+		{
+			try
+			{
+				resultSet.close();
+			}
+			catch (Exception e) {}
+			try
+			{
+				prepStat.close();
+			}
+			catch (Exception e) {}
+		}
+		
+		for(String bookkeepingTable : bookkeepingList)
+		{
+			deleteLargeObjectReferences(connection, bookkeepingTable, orphanList);
+		}
+		unlinkLargeObjects(connection, orphanList);
+		return orphanList.size();
+	}
+	
+	private static String quotedIdentifier(String name)
+	{
+		return "\"" + name.replace("\"", "\"\"") + "\"";
+	}
+	
+	@Override
+	public long writeBlob(Connection connection, Blob blob, long pos, InputStream inputStream, int chunkSize) throws SQLException
+	{
+		return ((LargeObjectBlob)blob).write(pos, inputStream, blobChunkSize(chunkSize));
+	}
+	
+	@Override
+	public long readBlob(Connection connection, Blob blob, long pos, OutputStream outputStream, int chunkSize) throws SQLException
+	{
+		return ((LargeObjectBlob)blob).read(pos, outputStream, blobChunkSize(chunkSize));
+	}
 }
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized.Parameters;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.junit.PaxExamParameterized;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerSuite;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.inject.Inject;
+
+
+@RunWith(PaxExamParameterized.class)
+@ExamReactorStrategy(PerSuite.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DBSchemaClusterLock
+{
+	
+	
+	public static final String DOMAIN = "CLUSTERLOCKDOMAIN";
+	public static final String LOCK_TABLE = "SODEAC_SCHEMA_LOCK";
+	public static final int NODE_COUNT = 2;
+	
+	public static List<Object[]> connectionList = null;
+	public static final Map<String,Boolean> createdSchema = new HashMap<String,Boolean>();
+	
+	@Inject
+	private IDatabaseSchemaProcessor databaseSchemaProcessor;
+	
+	@Parameters
+    public static List<Object[]> connections()
+    {
+    	if(connectionList != null)
+    	{
+    		return connectionList;
+    	}
+    	return connectionList = Statics.connections(createdSchema);
+    }
+	
+	
+	public DBSchemaClusterLock(Callable<TestConnection> connectionFactory)
+	{
+		this.testConnectionFactory = connectionFactory;
+	}
+	
+	Callable<TestConnection> testConnectionFactory = null;
+	TestConnection testConnection = null;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		this.testConnection = testConnectionFactory.call();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(! this.testConnection.enabled)
+		{
+			return;
+		}
+		if(this.testConnection.connection != null)
+		{
+			try
+			{
+				this.testConnection.connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private SchemaSpec createSpec(boolean additionalColumn)
+	{
+		SchemaSpec spec = new SchemaSpec(DOMAIN);
+		spec.setDbmsSchemaName(testConnection.dbmsSchemaName);
+		spec.setClusterLock(true);
+		
+		TableSpec table = spec.addTable("ClusterLockTable");
+		
+		ColumnSpec columnId = table.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+		columnId.setPrimaryKey();
+		
+		ColumnSpec columnName = table.addColumn("Name", IColumnType.ColumnType.VARCHAR.toString(),true,128);
+		table.addColumnIndex("idx_clusterlock", columnName.getName(), false);
+		
+		if(additionalColumn)
+		{
+			table.addColumn("Description", IColumnType.ColumnType.VARCHAR.toString(),true,256);
+		}
+		return spec;
+	}
+	
+	private long lockCount(Connection connection) throws SQLException
+	{
+		// drivers with dbms locks do not use lock table
+		
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		SchemaSpec lockSpec = new SchemaSpec(DOMAIN + ".lock", testConnection.dbmsSchemaName);
+		TableSpec lockTable = lockSpec.addTable(LOCK_TABLE);
+		if(! driver.tableExists(connection, lockSpec, lockTable, new HashMap<String,Object>()))
+		{
+			return 0L;
+		}
+		
+		String tableName = (testConnection.dbmsSchemaName == null) || testConnection.dbmsSchemaName.isEmpty() ? LOCK_TABLE : testConnection.dbmsSchemaName + "." + LOCK_TABLE;
+		PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM " + tableName + " WHERE SCHEMA_DOMAIN = ? ");
+		try
+		{
+			preparedStatement.setString(1, DOMAIN);
+			ResultSet resultSet = preparedStatement.executeQuery();
+			try
+			{
+				resultSet.next();
+				return resultSet.getLong(1);
+			}
+			finally 
+			{
+				try
+				{
+					resultSet.close();
+				}
+				catch (Exception e) {}
+			}
+		}
+		finally 
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	@Test
+	public void test000101CheckWithClusterLock() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(false);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertTrue("cluster lock should be acquired", metrics.getPhaseTimes().containsKey(SchemaCheckMetrics.PHASE_CLUSTER_LOCK));
+		assertEquals("cluster lock should be released", 0L, lockCount(connection));
+	}
+	
+	@Test
+	public void test000102ConcurrentChecks() throws Exception
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(true);
+		
+		// each node checks with own connection
+		
+		boolean[] results = new boolean[NODE_COUNT];
+		Exception[] exceptions = new Exception[NODE_COUNT];
+		Thread[] nodes = new Thread[NODE_COUNT];
+		for(int i = 0; i < NODE_COUNT; i++)
+		{
+			final int node = i;
+			nodes[i] = new Thread(() -> 
+			{
+				TestConnection nodeConnection = null;
+				try
+				{
+					nodeConnection = testConnectionFactory.call();
+					results[node] = databaseSchemaProcessor.checkSchemaSpec(createSpec(true), nodeConnection.connection);
+				}
+				catch (Exception e) 
+				{
+					exceptions[node] = e;
+				}
+				finally 
+				{
+					if((nodeConnection != null) && (nodeConnection.connection != null))
+					{
+						try
+						{
+							nodeConnection.connection.close();
+						}
+						catch (Exception e) {}
+					}
+				}
+			});
+			nodes[i].start();
+		}
+		for(Thread nodeThread : nodes)
+		{
+			nodeThread.join();
+		}
+		
+		for(int i = 0; i < NODE_COUNT; i++)
+		{
+			if(exceptions[i] != null)
+			{
+				throw exceptions[i];
+			}
+			assertTrue("schema check of node " + i + " should succeed", results[i]);
+		}
+		
+		TableSpec table = spec.getTable("ClusterLockTable");
+		for(ColumnSpec column : table.getColumnList())
+		{
+			assertTrue("column " + column.getName() + " should exist", driver.columnExists(connection, spec, table, column, new HashMap<String,Object>()));
+		}
+		assertEquals("all cluster locks should be released", 0L, lockCount(connection));
+	}
+	
+	@Configuration
+	public static Option[] config()
+	{
+		return Statics.config();
+	}
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized.Parameters;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.junit.PaxExamParameterized;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerSuite;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.inject.Inject;
+
+
+@RunWith(PaxExamParameterized.class)
+@ExamReactorStrategy(PerSuite.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DBSchemaColumnBatch
+{
+	
+	
+	public static final String DOMAIN = "COLUMNBATCHDOMAIN";
+	
+	public static List<Object[]> connectionList = null;
+	public static final Map<String,Boolean> createdSchema = new HashMap<String,Boolean>();
+	
+	@Inject
+	private IDatabaseSchemaProcessor databaseSchemaProcessor;
+	
+	@Parameters
+    public static List<Object[]> connections()
+    {
+    	if(connectionList != null)
+    	{
+    		return connectionList;
+    	}
+    	return connectionList = Statics.connections(createdSchema);
+    }
+	
+	
+	public DBSchemaColumnBatch(Callable<TestConnection> connectionFactory)
+	{
+		this.testConnectionFactory = connectionFactory;
+	}
+	
+	Callable<TestConnection> testConnectionFactory = null;
+	TestConnection testConnection = null;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		this.testConnection = testConnectionFactory.call();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(! this.testConnection.enabled)
+		{
+			return;
+		}
+		if(this.testConnection.connection != null)
+		{
+			try
+			{
+				this.testConnection.connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private SchemaSpec createSpec(boolean additionalColumns, int varcharSize)
+	{
+		SchemaSpec spec = new SchemaSpec(DOMAIN);
+		spec.setDbmsSchemaName(testConnection.dbmsSchemaName);
+		
+		TableSpec table = spec.addTable("ColumnBatchTable");
+		
+		ColumnSpec columnId = table.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+		columnId.setPrimaryKey();
+		
+		table.addColumn("Name", IColumnType.ColumnType.VARCHAR.toString(),true,varcharSize);
+		table.addColumn("Street", IColumnType.ColumnType.VARCHAR.toString(),true,varcharSize);
+		
+		if(additionalColumns)
+		{
+			table.addColumn("Description", IColumnType.ColumnType.VARCHAR.toString(),true,256);
+			table.addColumn("Amount", IColumnType.ColumnType.BIGINT.toString(),true);
+			table.addColumn("Created", IColumnType.ColumnType.TIMESTAMP.toString(),true);
+		}
+		return spec;
+	}
+	
+	@Test
+	public void test000101CreateTable() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(false, 64);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+	}
+	
+	@Test
+	public void test000102AddColumns() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(true, 64);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		TableSpec table = spec.getTable("ColumnBatchTable");
+		for(ColumnSpec column : table.getColumnList())
+		{
+			assertTrue("column " + column.getName() + " should exist", driver.columnExists(connection, spec, table, column, new HashMap<String,Object>()));
+		}
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("new columns should be created by one driver call", 1L, TestTools.getDriverCallCount(metrics, "createColumns"));
+		assertEquals("new columns should not be created one by one", 0L, TestTools.getDriverCallCount(metrics, "createColumn"));
+	}
+	
+	@Test
+	public void test000103UpdateColumnProperties() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(true, 128);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		TableSpec table = spec.getTable("ColumnBatchTable");
+		for(ColumnSpec column : table.getColumnList())
+		{
+			Map<String,Object> columnProperties = new HashMap<String,Object>();
+			assertTrue("column " + column.getName() + " should exist", driver.columnExists(connection, spec, table, column, columnProperties));
+			assertTrue("column " + column.getName() + " should be valid", driver.isValidColumnProperties(connection, spec, table, column, columnProperties));
+		}
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("invalid columns should be updated by one driver call", 1L, TestTools.getDriverCallCount(metrics, "setValidColumnProperties"));
+		assertEquals("no column should be created", 0L, TestTools.getDriverCallCount(metrics, "createColumns"));
+	}
+	
+	@Test
+	public void test000104CheckUnchanged() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(true, 128);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("unchanged schema should not be updated", 0L, TestTools.getUpdateCallCount(metrics));
+	}
+	
+	@Configuration
+	public static Option[] config()
+	{
+		return Statics.config();
+	}
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized.Parameters;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.junit.PaxExamParameterized;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerSuite;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.inject.Inject;
+
+
+@RunWith(PaxExamParameterized.class)
+@ExamReactorStrategy(PerSuite.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DBSchemaFingerprint
+{
+	
+	
+	public static final String DOMAIN = "FINGERPRINTDOMAIN";
+	public static final int TABLE_COUNT = 3;
+	
+	public static List<Object[]> connectionList = null;
+	public static final Map<String,Boolean> createdSchema = new HashMap<String,Boolean>();
+	
+	@Inject
+	private IDatabaseSchemaProcessor databaseSchemaProcessor;
+	
+	@Parameters
+    public static List<Object[]> connections()
+    {
+    	if(connectionList != null)
+    	{
+    		return connectionList;
+    	}
+    	return connectionList = Statics.connections(createdSchema);
+    }
+	
+	
+	public DBSchemaFingerprint(Callable<TestConnection> connectionFactory)
+	{
+		this.testConnectionFactory = connectionFactory;
+	}
+	
+	Callable<TestConnection> testConnectionFactory = null;
+	TestConnection testConnection = null;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		this.testConnection = testConnectionFactory.call();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(! this.testConnection.enabled)
+		{
+			return;
+		}
+		if(this.testConnection.connection != null)
+		{
+			try
+			{
+				this.testConnection.connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private SchemaSpec createSpec(boolean additionalColumn)
+	{
+		SchemaSpec spec = new SchemaSpec(DOMAIN);
+		spec.setDbmsSchemaName(testConnection.dbmsSchemaName);
+		spec.setSkipUnchanged(true);
+		
+		for(int i = 0; i < TABLE_COUNT; i++)
+		{
+			TableSpec table = spec.addTable("FingerprintTable" + i);
+			
+			ColumnSpec columnId = table.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+			columnId.setPrimaryKey();
+			
+			ColumnSpec columnName = table.addColumn("Name", IColumnType.ColumnType.VARCHAR.toString(),true,128);
+			table.addColumnIndex("idx_fingerprint" + i, columnName.getName(), false);
+			
+			if(additionalColumn && (i == (TABLE_COUNT - 1)))
+			{
+				table.addColumn("Description", IColumnType.ColumnType.VARCHAR.toString(),true,256);
+			}
+		}
+		return spec;
+	}
+	
+	private void assertSkippedIfSupported(Connection connection, SchemaSpec spec) throws SQLException
+	{
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("unchanged schema should not be updated", 0L, TestTools.getUpdateCallCount(metrics));
+		
+		if(driver.getCatalogChangeMarker(connection, spec) == null)
+		{
+			// driver without catalog change marker always runs complete check
+			
+			assertEquals("check should run without catalog change marker", 1L, TestTools.getDriverCallCount(metrics, "prepareSchemaCheck"));
+		}
+		else
+		{
+			assertEquals("unchanged check should be skipped", 0L, TestTools.getDriverCallCount(metrics, "prepareSchemaCheck"));
+		}
+	}
+	
+	@Test
+	public void test000101CreateTables() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(false);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("first check should not be skipped", 1L, TestTools.getDriverCallCount(metrics, "prepareSchemaCheck"));
+		assertEquals("all tables should be created", (long)TABLE_COUNT, TestTools.getDriverCallCount(metrics, "createTable"));
+	}
+	
+	@Test
+	public void test000102CheckUnchanged() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(false);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		assertSkippedIfSupported(connection, spec);
+	}
+	
+	@Test
+	public void test000103AddColumn() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(true);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("changed specification should not be skipped", 1L, TestTools.getDriverCallCount(metrics, "prepareSchemaCheck"));
+		assertEquals("new column should be created", 1L, TestTools.getDriverCallCount(metrics, "createColumns"));
+	}
+	
+	@Test
+	public void test000104CheckUnchangedAfterAddColumn() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(true);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		assertSkippedIfSupported(connection, spec);
+	}
+	
+	@Configuration
+	public static Option[] config()
+	{
+		return Statics.config();
+	}
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized.Parameters;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.junit.PaxExamParameterized;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerSuite;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
+import org.sodeac.dbschema.api.IndexSpec;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.inject.Inject;
+
+
+@RunWith(PaxExamParameterized.class)
+@ExamReactorStrategy(PerSuite.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DBSchemaForeignKeyIndex
+{
+	
+	
+	public static final String DOMAIN = "FKINDEXDOMAIN";
+	
+	public static List<Object[]> connectionList = null;
+	public static final Map<String,Boolean> createdSchema = new HashMap<String,Boolean>();
+	
+	@Inject
+	private IDatabaseSchemaProcessor databaseSchemaProcessor;
+	
+	@Parameters
+    public static List<Object[]> connections()
+    {
+    	if(connectionList != null)
+    	{
+    		return connectionList;
+    	}
+    	return connectionList = Statics.connections(createdSchema);
+    }
+	
+	
+	public DBSchemaForeignKeyIndex(Callable<TestConnection> connectionFactory)
+	{
+		this.testConnectionFactory = connectionFactory;
+	}
+	
+	Callable<TestConnection> testConnectionFactory = null;
+	TestConnection testConnection = null;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		this.testConnection = testConnectionFactory.call();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(! this.testConnection.enabled)
+		{
+			return;
+		}
+		if(this.testConnection.connection != null)
+		{
+			try
+			{
+				this.testConnection.connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private SchemaSpec createSpec()
+	{
+		SchemaSpec spec = new SchemaSpec(DOMAIN);
+		spec.setDbmsSchemaName(testConnection.dbmsSchemaName);
+		spec.setForeignKeyAutoIndex(true);
+		
+		TableSpec tableMaster = spec.addTable("FkIndexMaster");
+		ColumnSpec columnMasterId = tableMaster.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+		columnMasterId.setPrimaryKey();
+		
+		TableSpec tableDetail = spec.addTable("FkIndexDetail");
+		ColumnSpec columnDetailId = tableDetail.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+		columnDetailId.setPrimaryKey();
+		
+		// index is created automatically
+		
+		ColumnSpec columnMaster = tableDetail.addColumn("MasterId", IColumnType.ColumnType.CHAR.toString(),true,36);
+		columnMaster.setForeignKey("fk_fkindex_master", "FkIndexMaster", "Id");
+		
+		// column is covered by explicit index
+		
+		ColumnSpec columnCovered = tableDetail.addColumn("CoveredMasterId", IColumnType.ColumnType.CHAR.toString(),true,36);
+		columnCovered.setForeignKey("fk_fkindex_covered", "FkIndexMaster", "Id");
+		tableDetail.addColumnIndex("idx_fkindex_covered", columnCovered.getName(), false);
+		
+		// automatic index is disabled for foreign key
+		
+		ColumnSpec columnNoIndex = tableDetail.addColumn("NoIndexMasterId", IColumnType.ColumnType.CHAR.toString(),true,36);
+		columnNoIndex.setForeignKey("fk_fkindex_noindex", "FkIndexMaster", "Id");
+		columnNoIndex.getForeignKey().setAutoIndex(false);
+		
+		return spec;
+	}
+	
+	private boolean indexExists(Connection connection, SchemaSpec spec, String columnName, String indexName) throws SQLException
+	{
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		TableSpec table = spec.getTable("FkIndexDetail");
+		return driver.isValidIndex(connection, spec, table, new IndexSpec(table, indexName, table.getColumn(columnName)), new HashMap<String,Object>());
+	}
+	
+	@Test
+	public void test000101CreateForeignKeyIndex() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec();
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("explicit index and one foreign key index should be created", 2L, TestTools.getDriverCallCount(metrics, "setValidIndex"));
+		assertEquals("all foreign keys should be created", 3L, TestTools.getDriverCallCount(metrics, "setValidForeignKey"));
+		
+		assertTrue("foreign key index should exist", indexExists(connection, spec, "MasterId", "IX_fk_fkindex_master"));
+		assertTrue("explicit index should exist", indexExists(connection, spec, "CoveredMasterId", "idx_fkindex_covered"));
+		assertFalse("covered foreign key column should not get additional index", indexExists(connection, spec, "CoveredMasterId", "IX_fk_fkindex_covered"));
+		assertFalse("disabled foreign key index should not exist", indexExists(connection, spec, "NoIndexMasterId", "IX_fk_fkindex_noindex"));
+	}
+	
+	@Test
+	public void test000102CheckUnchanged() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec();
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("existing foreign key index should be detected", 0L, TestTools.getUpdateCallCount(metrics));
+	}
+	
+	@Configuration
+	public static Option[] config()
+	{
+		return Statics.config();
+	}
+}
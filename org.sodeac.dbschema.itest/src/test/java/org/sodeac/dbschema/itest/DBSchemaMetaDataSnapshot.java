@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized.Parameters;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.junit.PaxExamParameterized;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerSuite;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.inject.Inject;
+
+
+@RunWith(PaxExamParameterized.class)
+@ExamReactorStrategy(PerSuite.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DBSchemaMetaDataSnapshot
+{
+	
+	
+	public static final String DOMAIN = "SNAPSHOTDOMAIN";
+	public static final int TABLE_COUNT = 20;
+	
+	public static List<Object[]> connectionList = null;
+	public static final Map<String,Boolean> createdSchema = new HashMap<String,Boolean>();
+	
+	@Inject
+	private IDatabaseSchemaProcessor databaseSchemaProcessor;
+	
+	@Parameters
+    public static List<Object[]> connections()
+    {
+    	if(connectionList != null)
+    	{
+    		return connectionList;
+    	}
+    	return connectionList = Statics.connections(createdSchema);
+    }
+	
+	
+	public DBSchemaMetaDataSnapshot(Callable<TestConnection> connectionFactory)
+	{
+		this.testConnectionFactory = connectionFactory;
+	}
+	
+	Callable<TestConnection> testConnectionFactory = null;
+	TestConnection testConnection = null;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		this.testConnection = testConnectionFactory.call();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(! this.testConnection.enabled)
+		{
+			return;
+		}
+		if(this.testConnection.connection != null)
+		{
+			try
+			{
+				this.testConnection.connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private SchemaSpec createSpec(int tableCount, boolean additionalColumn)
+	{
+		SchemaSpec spec = new SchemaSpec(DOMAIN);
+		spec.setDbmsSchemaName(testConnection.dbmsSchemaName);
+		
+		for(int i = 0; i < tableCount; i++)
+		{
+			TableSpec table = spec.addTable("SnapshotTable" + i);
+			
+			ColumnSpec columnId = table.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+			columnId.setPrimaryKey();
+			
+			ColumnSpec columnName = table.addColumn("Name", IColumnType.ColumnType.VARCHAR.toString(),true,128);
+			table.addColumnIndex("idx_snapshot" + i, columnName.getName(), false);
+			
+			if(i > 0)
+			{
+				ColumnSpec columnParent = table.addColumn("ParentId", IColumnType.ColumnType.CHAR.toString(),true,36);
+				columnParent.setForeignKey("fk_snapshot" + i, "SnapshotTable0", "Id");
+			}
+			
+			if(additionalColumn && (i == (tableCount - 1)))
+			{
+				table.addColumn("Description", IColumnType.ColumnType.VARCHAR.toString(),true,256);
+			}
+		}
+		return spec;
+	}
+	
+	@Test
+	public void test000101CreateTables() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(TABLE_COUNT, false);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("all tables should be created", (long)TABLE_COUNT, TestTools.getDriverCallCount(metrics, "createTable"));
+	}
+	
+	@Test
+	public void test000102CheckUnchanged() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(TABLE_COUNT, false);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("snapshot should detect all existing objects", 0L, TestTools.getUpdateCallCount(metrics));
+		assertTrue("metadata should be read by snapshot", metrics.getMetaDataQueryCount() > 0L);
+	}
+	
+	@Test
+	public void test000103AddColumn() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(TABLE_COUNT, true);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("only new column should be created", 1L, TestTools.getUpdateCallCount(metrics));
+		assertEquals("new column should be created", 1L, TestTools.getDriverCallCount(metrics, "createColumns"));
+	}
+	
+	@Test
+	public void test000104CheckUnchangedAfterAddColumn() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(TABLE_COUNT, true);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("snapshot should detect new column", 0L, TestTools.getUpdateCallCount(metrics));
+	}
+	
+	@Test
+	public void test000105BulkQueriesIndependentOfTableCount() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		if(! "H2".equalsIgnoreCase(driver.getType(connection)))
+		{
+			return;
+		}
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(createSpec(TABLE_COUNT, true), connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("unchanged schema should not be updated", 0L, TestTools.getUpdateCallCount(metrics));
+		long allTablesQueryCount = metrics.getMetaDataQueryCount();
+		
+		// first tables are unchanged subset of all tables
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(createSpec(2, false), connection));
+		
+		metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("unchanged schema should not be updated", 0L, TestTools.getUpdateCallCount(metrics));
+		assertEquals("bulk metadata queries should not depend on table count", allTablesQueryCount, metrics.getMetaDataQueryCount());
+	}
+	
+	@Configuration
+	public static Option[] config()
+	{
+		return Statics.config();
+	}
+}
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized.Parameters;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.junit.PaxExamParameterized;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerSuite;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+import org.sodeac.dbschema.api.SchemaCheckResult;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+
+
+@RunWith(PaxExamParameterized.class)
+@ExamReactorStrategy(PerSuite.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DBSchemaParallelCheck
+{
+	
+	
+	public static final String DOMAIN = "PARALLELDOMAIN";
+	public static final String ASYNC_DOMAIN = "PARALLELASYNCDOMAIN";
+	public static final int TABLE_COUNT = 12;
+	public static final int PARALLELISM = 4;
+	
+	public static List<Object[]> connectionList = null;
+	public static final Map<String,Boolean> createdSchema = new HashMap<String,Boolean>();
+	
+	@Inject
+	private IDatabaseSchemaProcessor databaseSchemaProcessor;
+	
+	@Parameters
+    public static List<Object[]> connections()
+    {
+    	if(connectionList != null)
+    	{
+    		return connectionList;
+    	}
+    	return connectionList = Statics.connections(createdSchema);
+    }
+	
+	
+	public DBSchemaParallelCheck(Callable<TestConnection> connectionFactory)
+	{
+		this.testConnectionFactory = connectionFactory;
+	}
+	
+	Callable<TestConnection> testConnectionFactory = null;
+	TestConnection testConnection = null;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		this.testConnection = testConnectionFactory.call();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(! this.testConnection.enabled)
+		{
+			return;
+		}
+		if(this.testConnection.connection != null)
+		{
+			try
+			{
+				this.testConnection.connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private SchemaSpec createSpec(String domain, String tablePrefix)
+	{
+		SchemaSpec spec = new SchemaSpec(domain);
+		spec.setDbmsSchemaName(testConnection.dbmsSchemaName);
+		
+		for(int i = 0; i < TABLE_COUNT; i++)
+		{
+			TableSpec table = spec.addTable(tablePrefix + i);
+			
+			ColumnSpec columnId = table.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+			columnId.setPrimaryKey();
+			
+			ColumnSpec columnName = table.addColumn("Name", IColumnType.ColumnType.VARCHAR.toString(),true,128);
+			table.addColumnIndex("idx_" + tablePrefix + i, columnName.getName(), false);
+			
+			table.addColumn("Amount", IColumnType.ColumnType.BIGINT.toString(),true);
+			
+			if(i > 0)
+			{
+				// foreign keys are created after primary keys of all tables exist
+				
+				ColumnSpec columnParent = table.addColumn("ParentId", IColumnType.ColumnType.CHAR.toString(),true,36);
+				columnParent.setForeignKey("fk_" + tablePrefix + i, tablePrefix + (i - 1), "Id");
+			}
+		}
+		return spec;
+	}
+	
+	@Test
+	public void test000101ParallelCreateTables() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(DOMAIN, "ParallelTable");
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, new TestDataSource(testConnectionFactory), PARALLELISM));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("all tables should be created", (long)TABLE_COUNT, TestTools.getDriverCallCount(metrics, "createTable"));
+		assertEquals("all foreign keys should be created", (long)(TABLE_COUNT - 1), TestTools.getDriverCallCount(metrics, "setValidForeignKey"));
+	}
+	
+	@Test
+	public void test000102ParallelCheckUnchanged() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		
+		SchemaSpec spec = createSpec(DOMAIN, "ParallelTable");
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, new TestDataSource(testConnectionFactory), PARALLELISM));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("parallel check should not update unchanged schema", 0L, TestTools.getUpdateCallCount(metrics));
+	}
+	
+	@Test
+	public void test000103SequentialCheckUnchanged() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		
+		SchemaSpec spec = createSpec(DOMAIN, "ParallelTable");
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		SchemaCheckMetrics metrics = databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN);
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("sequential check should not update schema created by parallel check", 0L, TestTools.getUpdateCallCount(metrics));
+	}
+	
+	@Test
+	public void test000201AsyncCreateTables() throws Exception
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(ASYNC_DOMAIN, "AsyncTable");
+		
+		SchemaCheckResult result = databaseSchemaProcessor.checkSchemaSpecAsync(spec, new TestDataSource(testConnectionFactory), PARALLELISM).toCompletableFuture().get();
+		assertNotNull("result should exist", result);
+		assertEquals("result should belong to domain", ASYNC_DOMAIN, result.getDomain());
+		assertTrue("schema should be usable: " + result.getUnusableExceptionList(), result.isUsable());
+		assertFalse("schema check should not be terminated", result.isTerminated());
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		
+		SchemaCheckMetrics metrics = result.getMetrics();
+		assertNotNull("metrics should exist", metrics);
+		assertEquals("all tables should be created", (long)TABLE_COUNT, TestTools.getDriverCallCount(metrics, "createTable"));
+		assertEquals("all foreign keys should be created", (long)(TABLE_COUNT - 1), TestTools.getDriverCallCount(metrics, "setValidForeignKey"));
+	}
+	
+	@Test
+	public void test000202AsyncCheckUnchangedWithExecutor() throws Exception
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		
+		SchemaSpec spec = createSpec(ASYNC_DOMAIN, "AsyncTable");
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			SchemaCheckResult result = databaseSchemaProcessor.checkSchemaSpecAsync(spec, new TestDataSource(testConnectionFactory), PARALLELISM, executor).toCompletableFuture().get();
+			assertNotNull("result should exist", result);
+			assertEquals("result should belong to domain", ASYNC_DOMAIN, result.getDomain());
+			assertTrue("schema should be usable: " + result.getUnusableExceptionList(), result.isUsable());
+			
+			SchemaCheckMetrics metrics = result.getMetrics();
+			assertNotNull("metrics should exist", metrics);
+			assertEquals("async check should not update unchanged schema", 0L, TestTools.getUpdateCallCount(metrics));
+		}
+		finally 
+		{
+			executor.shutdown();
+		}
+	}
+	
+	@Configuration
+	public static Option[] config()
+	{
+		return Statics.config();
+	}
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Parameterized.Parameters;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.junit.PaxExamParameterized;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerSuite;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
+import org.sodeac.dbschema.api.ObjectType;
+import org.sodeac.dbschema.api.SchemaChange;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.inject.Inject;
+
+
+@RunWith(PaxExamParameterized.class)
+@ExamReactorStrategy(PerSuite.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DBSchemaPlan
+{
+	
+	
+	public static final String DOMAIN = "PLANDOMAIN";
+	
+	public static List<Object[]> connectionList = null;
+	public static final Map<String,Boolean> createdSchema = new HashMap<String,Boolean>();
+	
+	@Inject
+	private IDatabaseSchemaProcessor databaseSchemaProcessor;
+	
+	@Parameters
+    public static List<Object[]> connections()
+    {
+    	if(connectionList != null)
+    	{
+    		return connectionList;
+    	}
+    	return connectionList = Statics.connections(createdSchema);
+    }
+	
+	
+	public DBSchemaPlan(Callable<TestConnection> connectionFactory)
+	{
+		this.testConnectionFactory = connectionFactory;
+	}
+	
+	Callable<TestConnection> testConnectionFactory = null;
+	TestConnection testConnection = null;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		this.testConnection = testConnectionFactory.call();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		if(! this.testConnection.enabled)
+		{
+			return;
+		}
+		if(this.testConnection.connection != null)
+		{
+			try
+			{
+				this.testConnection.connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private SchemaSpec createSpec(boolean additionalColumn)
+	{
+		SchemaSpec spec = new SchemaSpec(DOMAIN);
+		spec.setDbmsSchemaName(testConnection.dbmsSchemaName);
+		
+		TableSpec tableMaster = spec.addTable("PlanMaster");
+		ColumnSpec columnMasterId = tableMaster.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+		columnMasterId.setPrimaryKey();
+		tableMaster.addColumn("Name", IColumnType.ColumnType.VARCHAR.toString(),true,128);
+		
+		TableSpec tableDetail = spec.addTable("PlanDetail");
+		ColumnSpec columnDetailId = tableDetail.addColumn("Id", IColumnType.ColumnType.CHAR.toString(),false,36);
+		columnDetailId.setPrimaryKey();
+		ColumnSpec columnMaster = tableDetail.addColumn("MasterId", IColumnType.ColumnType.CHAR.toString(),true,36);
+		columnMaster.setForeignKey("fk_plan_master", "PlanMaster", "Id");
+		
+		if(additionalColumn)
+		{
+			tableDetail.addColumn("Description", IColumnType.ColumnType.VARCHAR.toString(),true,256);
+		}
+		return spec;
+	}
+	
+	private SchemaChange findChange(List<SchemaChange> schemaChangeList, SchemaChange.Operation operation, ObjectType objectType, String tableName, String objectName)
+	{
+		for(SchemaChange schemaChange : schemaChangeList)
+		{
+			if(schemaChange.getOperation() != operation)
+			{
+				continue;
+			}
+			if(schemaChange.getObjectType() != objectType)
+			{
+				continue;
+			}
+			if(! tableName.equals(schemaChange.getTableName()))
+			{
+				continue;
+			}
+			if((objectName != null) && (! objectName.equals(schemaChange.getObjectName())))
+			{
+				continue;
+			}
+			return schemaChange;
+		}
+		return null;
+	}
+	
+	@Test
+	public void test000101PlanNewTables() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(false);
+		
+		List<SchemaChange> schemaChangeList = databaseSchemaProcessor.planSchemaSpec(spec, connection);
+		assertNotNull("plan should exist", schemaChangeList);
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertNotNull("table " + table.getName() + " should be planned", findChange(schemaChangeList, SchemaChange.Operation.CREATE, ObjectType.TABLE, table.getName(), null));
+			for(ColumnSpec column : table.getColumnList())
+			{
+				assertNotNull("column " + column.getName() + " should be planned", findChange(schemaChangeList, SchemaChange.Operation.CREATE, ObjectType.COLUMN, table.getName(), column.getName()));
+			}
+		}
+		assertNotNull("foreign key should be planned", findChange(schemaChangeList, SchemaChange.Operation.UPDATE, ObjectType.COLUMN_FOREIGN_KEY, "PlanDetail", "fk_plan_master"));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertFalse("table " + table.getName() + " should not be created by plan", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		assertNull("plan should not publish metrics", databaseSchemaProcessor.getSchemaCheckMetrics(DOMAIN));
+	}
+	
+	@Test
+	public void test000102CheckAndPlanUnchanged() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(false);
+		
+		assertTrue("schema check should succeed", databaseSchemaProcessor.checkSchemaSpec(spec, connection));
+		
+		for(TableSpec table : spec.getListTableSpec())
+		{
+			assertTrue("table " + table.getName() + " should exist", driver.tableExists(connection, spec, table, new HashMap<String,Object>()));
+		}
+		
+		List<SchemaChange> schemaChangeList = databaseSchemaProcessor.planSchemaSpec(spec, connection);
+		assertNotNull("plan should exist", schemaChangeList);
+		assertEquals("unchanged schema should not plan changes: " + schemaChangeList, 0, schemaChangeList.size());
+	}
+	
+	@Test
+	public void test000103PlanAddColumn() throws SQLException, ClassNotFoundException, IOException
+	{
+		if(! testConnection.enabled)
+		{
+			return;
+		}
+		Connection connection = testConnection.connection;
+		IDatabaseSchemaDriver driver = databaseSchemaProcessor.getDatabaseSchemaDriver(connection);
+		
+		SchemaSpec spec = createSpec(true);
+		TableSpec tableDetail = spec.getTable("PlanDetail");
+		ColumnSpec columnDescription = tableDetail.getColumn("Description");
+		
+		List<SchemaChange> schemaChangeList = databaseSchemaProcessor.planSchemaSpec(spec, connection);
+		assertNotNull("plan should exist", schemaChangeList);
+		assertEquals("only new column should be planned: " + schemaChangeList, 1, schemaChangeList.size());
+		assertNotNull("new column should be planned", findChange(schemaChangeList, SchemaChange.Operation.CREATE, ObjectType.COLUMN, "PlanDetail", "Description"));
+		
+		assertFalse("column should not be created by plan", driver.columnExists(connection, spec, tableDetail, columnDescription, new HashMap<String,Object>()));
+	}
+	
+	@Configuration
+	public static Option[] config()
+	{
+		return Statics.config();
+	}
+}
@@ -27,7 +27,14 @@ import org.junit.runners.Suite;
 	DBSchemaKeys.class,
 	DBSchemaColumnProperties.class,
 	DBSchemaDisableChecks.class,
-	DBSchemaTableTemplate.class
+	DBSchemaTableTemplate.class,
+	DBSchemaMetaDataSnapshot.class,
+	DBSchemaParallelCheck.class,
+	DBSchemaFingerprint.class,
+	DBSchemaPlan.class,
+	DBSchemaColumnBatch.class,
+	DBSchemaForeignKeyIndex.class,
+	DBSchemaClusterLock.class
 })
 public class SuiteTest
 {
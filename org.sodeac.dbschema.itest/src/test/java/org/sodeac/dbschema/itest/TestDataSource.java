@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.itest;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+public class TestDataSource implements DataSource
+{
+	private Callable<TestConnection> testConnectionFactory = null;
+	private PrintWriter logWriter = null;
+	private int loginTimeout = 0;
+	
+	public TestDataSource(Callable<TestConnection> testConnectionFactory)
+	{
+		super();
+		this.testConnectionFactory = testConnectionFactory;
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException
+	{
+		try
+		{
+			return testConnectionFactory.call().connection;
+		}
+		catch (SQLException e)
+		{
+			throw e;
+		}
+		catch (Exception e)
+		{
+			throw new SQLException(e.getMessage(), e);
+		}
+	}
+	
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException
+	{
+		return getConnection();
+	}
+	
+	@Override
+	public PrintWriter getLogWriter() throws SQLException
+	{
+		return logWriter;
+	}
+	
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException
+	{
+		this.logWriter = out;
+	}
+	
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException
+	{
+		this.loginTimeout = seconds;
+	}
+	
+	@Override
+	public int getLoginTimeout() throws SQLException
+	{
+		return loginTimeout;
+	}
+	
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException
+	{
+		throw new SQLFeatureNotSupportedException();
+	}
+	
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException
+	{
+		if(iface.isInstance(this))
+		{
+			return iface.cast(this);
+		}
+		throw new SQLException("not a wrapper for " + iface);
+	}
+	
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException
+	{
+		return iface.isInstance(this);
+	}
+}
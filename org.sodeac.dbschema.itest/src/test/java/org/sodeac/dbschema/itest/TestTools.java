@@ -15,13 +15,21 @@ import static org.ops4j.pax.exam.CoreOptions.bundle;
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Map;
 
 import org.ops4j.pax.exam.options.ProvisionOption;
 import org.ops4j.pax.exam.util.PathUtils;
 import org.osgi.framework.Bundle;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
 
 public class TestTools
 {
+	public static final String[] UPDATE_DRIVER_CALLS = new String[]
+	{
+		"createTable", "createColumn", "createColumns", "setValidColumnProperties", "setPrimaryKey", 
+		"setValidIndex", "setValidForeignKey", "validateForeignKey"
+	};
+	
 	public static ProvisionOption<?> reactorBundle(String artifactId, String version) 
 	{
 		String fileName = String.format("%s/../%s/target/%s-%s.jar", PathUtils.getBaseDir(), artifactId, artifactId,version);
@@ -91,6 +99,26 @@ public class TestTools
 		}
 	}
 	
+	public static long getDriverCallCount(SchemaCheckMetrics metrics, String method)
+	{
+		Long count = metrics.getDriverCallCounts().get(method);
+		return count == null ? 0L : count.longValue();
+	}
+	
+	public static long getUpdateCallCount(SchemaCheckMetrics metrics)
+	{
+		long count = 0L;
+		Map<String,Long> driverCallCounts = metrics.getDriverCallCounts();
+		for(String method : UPDATE_DRIVER_CALLS)
+		{
+			if(driverCallCounts.get(method) != null)
+			{
+				count += driverCallCounts.get(method).longValue();
+			}
+		}
+		return count;
+	}
+	
 	public static String getSchemaName()
 	{
 		try
@@ -10,15 +10,25 @@
  *******************************************************************************/
 package org.sodeac.dbschema.impl;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.SchemaChange;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
 import org.sodeac.dbschema.api.SchemaUnusableException;
 
 public class CheckProperties
 {
-	private boolean interrupted = false;
-	private List<SchemaUnusableException> unusableExceptionList = new ArrayList<SchemaUnusableException>();
+	private volatile boolean interrupted = false;
+	private List<SchemaUnusableException> unusableExceptionList = new CopyOnWriteArrayList<SchemaUnusableException>();
+	private Map<String,Object> schemaProperties = new HashMap<String,Object>();
+	private List<SchemaChange> schemaChangeList = null;
+	private SchemaCheckMetrics metrics = null;
+	private List<ColumnSpec> foreignKeyValidationList = new CopyOnWriteArrayList<ColumnSpec>();
+	private Map<String,Object> schemaLockProperties = null;
 
 	public boolean isInterrupted()
 	{
@@ -37,4 +47,76 @@ public class CheckProperties
 	{
 		this.unusableExceptionList = unusableExceptionList;
 	}
+	
+	public Map<String, Object> getSchemaProperties()
+	{
+		return schemaProperties;
+	}
+	
+	public List<ColumnSpec> getForeignKeyValidationList()
+	{
+		return foreignKeyValidationList;
+	}
+	
+	public Map<String, Object> getSchemaLockProperties()
+	{
+		return schemaLockProperties;
+	}
+	public void setSchemaLockProperties(Map<String, Object> schemaLockProperties)
+	{
+		this.schemaLockProperties = schemaLockProperties;
+	}
+	
+	public List<SchemaChange> getSchemaChangeList()
+	{
+		return schemaChangeList;
+	}
+	public void setSchemaChangeList(List<SchemaChange> schemaChangeList)
+	{
+		this.schemaChangeList = schemaChangeList;
+	}
+	
+	public boolean isPlanOnly()
+	{
+		return schemaChangeList != null;
+	}
+	
+	public SchemaCheckMetrics getMetrics()
+	{
+		return metrics;
+	}
+	public void setMetrics(SchemaCheckMetrics metrics)
+	{
+		this.metrics = metrics;
+		this.schemaProperties.put(SchemaCheckMetrics.PROPERTY_KEY, metrics);
+	}
+	
+	/**
+	 * record call of driver method
+	 * 
+	 * @param method name of driver method
+	 * @param start start time of call by {@link System#nanoTime()}
+	 * @param ddl true, if driver method executes ddl operations
+	 */
+	public void addDriverCall(String method, long start, boolean ddl)
+	{
+		if(metrics != null)
+		{
+			metrics.addDriverCall(method, System.nanoTime() - start, ddl);
+		}
+	}
+	
+	/**
+	 * record wall time of processing phase
+	 * 
+	 * @param phase name of phase
+	 * @param start start time of phase by {@link System#nanoTime()}
+	 */
+	public void addPhaseTime(String phase, long start)
+	{
+		if(metrics != null)
+		{
+			metrics.addPhaseTime(phase, System.nanoTime() - start);
+		}
+	}
 }
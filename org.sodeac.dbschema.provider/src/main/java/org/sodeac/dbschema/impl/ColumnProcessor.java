@@ -13,9 +13,9 @@ package org.sodeac.dbschema.impl;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
-import java.util.Dictionary;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -23,7 +23,6 @@ import org.osgi.service.log.LogService;
 import org.sodeac.dbschema.api.ActionType;
 import org.sodeac.dbschema.api.ColumnSpec;
 import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
-import org.sodeac.dbschema.api.IDatabaseSchemaUpdateListener;
 import org.sodeac.dbschema.api.ObjectType;
 import org.sodeac.dbschema.api.PhaseType;
 import org.sodeac.dbschema.api.SchemaSpec;
@@ -31,38 +30,16 @@ import org.sodeac.dbschema.api.TableSpec;
 
 public class ColumnProcessor
 {
-	public static ColumnTracker checkColumnDefinition(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, String databaseID, Map<String,Object> tableProperties, CheckProperties checkProperties)
+	public static ColumnTracker checkColumnDefinition(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, String databaseID, Map<String,Object> tableProperties, List<ColumnTracker> pendingColumnTrackerList, CheckProperties checkProperties)
 	{
 		ColumnTracker columnTracker = new ColumnTracker();
 		columnTracker.setColumnSpec(column);
+		UpdateEventContext eventContext = UpdateEventContext.forColumn(schemaProcessor, connection, driver, schema, table, column, databaseID, checkProperties);
 		try
 		{
-			if(table.getUpdateListenerList() != null)
+			if((eventContext != null) && (! eventContext.fire(ActionType.CHECK, ObjectType.COLUMN, PhaseType.PRE, null, "Column.Check.Pre")))
 			{
-				Dictionary<ObjectType, Object> objects = new Hashtable<>();
-				objects.put(ObjectType.SCHEMA, schema);
-				objects.put(ObjectType.TABLE, table);
-				objects.put(ObjectType.COLUMN, column);
-				for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-				{
-					try
-					{
-						updateListener.onAction(ActionType.CHECK, ObjectType.COLUMN, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-					}
-					catch(SQLException e)
-					{
-						schemaProcessor.logSQLException(e);
-					}
-					catch (Exception e) 
-					{
-						schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Column.Check.Pre ", checkProperties);
-					}
-					
-					if(checkProperties.isInterrupted())
-					{
-						return columnTracker;
-					}
-				}
+				return columnTracker;
 			}
 			
 			Map<String,Object> columnProperties = new HashMap<String, Object>(); 
@@ -74,48 +51,37 @@ public class ColumnProcessor
 				}
 			}
 			columnTracker.setColumnProperties(columnProperties);
+			long callStart = System.nanoTime();
 			columnTracker.setExits(driver.columnExists(connection, schema, table,column, columnProperties));
+			checkProperties.addDriverCall("columnExists", callStart, false);
 				
 			if(! columnTracker.isExits())
 			{
-				if((schemaProcessor.logService != null) && schema.getLogUpdates())
+				if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 				{
 					schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=createcolumn)(database=" + databaseID + ")(object=" + table.getName() + "." + column.getName() + ")} create column " + table.getName().toUpperCase() + "." + column.getName());
 				}
 					
-				if(table.getUpdateListenerList() != null)
+				if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN, PhaseType.PRE, null, "Column.Insert.Pre")))
 				{
-					Dictionary<ObjectType, Object> objects = new Hashtable<>();
-					objects.put(ObjectType.SCHEMA, schema);
-					objects.put(ObjectType.TABLE, table);
-					objects.put(ObjectType.COLUMN, column);
-					for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-					{
-						try
-						{
-							updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-						}
-						catch(SQLException e)
-						{
-							schemaProcessor.logSQLException(e);
-						}
-						catch (Exception e) 
-						{
-							schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Column.Insert.Pre ", checkProperties);
-						}
-						
-						if(checkProperties.isInterrupted())
-						{
-							return columnTracker;
-						}
-					}
+					return columnTracker;
+				}
+				
+				if(pendingColumnTrackerList != null)
+				{
+					// created together with all other new columns of table
+					
+					pendingColumnTrackerList.add(columnTracker);
+					return columnTracker;
 				}
 				
 				Exception exc= null;
 				
 				try
 				{
+					callStart = System.nanoTime();
 					driver.createColumn(connection, schema, table, column, columnProperties);
+					checkProperties.addDriverCall("createColumn", callStart, true);
 					
 					columnTracker.setExits(true);
 					columnTracker.setCreated(true);
@@ -138,32 +104,9 @@ public class ColumnProcessor
 				
 				if(columnTracker.isCreated())
 				{
-					if(table.getUpdateListenerList() != null)
+					if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN, PhaseType.POST, exc, "Column.Insert.Post")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Column.Insert.Post ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return columnTracker;
-							}
-						}
+						return columnTracker;
 					}
 				}
 			}
@@ -182,32 +125,9 @@ public class ColumnProcessor
 			return columnTracker;
 		}
 		
-		if(table.getUpdateListenerList() != null)
+		if((eventContext != null) && (! eventContext.fire(ActionType.CHECK, ObjectType.COLUMN, PhaseType.POST, null, "Column.Check.Post")))
 		{
-			Dictionary<ObjectType, Object> objects = new Hashtable<>();
-			objects.put(ObjectType.SCHEMA, schema);
-			objects.put(ObjectType.TABLE, table);
-			objects.put(ObjectType.COLUMN, column);
-			for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-			{
-				try
-				{
-					updateListener.onAction(ActionType.CHECK, ObjectType.COLUMN, PhaseType.POST, connection, databaseID, objects, driver,  null);
-				}
-				catch(SQLException e)
-				{
-					schemaProcessor.logSQLException(e);
-				}
-				catch (Exception e) 
-				{
-					schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Column.Check.Post",  checkProperties);
-				}
-				
-				if(checkProperties.isInterrupted())
-				{
-					return columnTracker;
-				}
-			}
+			return columnTracker;
 		}
 			
 		try
@@ -232,7 +152,7 @@ public class ColumnProcessor
 		return columnTracker;
 	}
 	
-	public static void checkColumnProperties(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, ColumnTracker columnTracker, String databaseID, Map<String,Object> columnProperties, CheckProperties checkProperties)
+	public static void checkColumnProperties(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, ColumnTracker columnTracker, String databaseID, Map<String,Object> columnProperties, List<ColumnTracker> pendingColumnTrackerList, CheckProperties checkProperties)
 	{
 		if(! columnTracker.isExits())
 		{
@@ -240,160 +160,81 @@ public class ColumnProcessor
 		}
 		try
 		{
+			long callStart = System.nanoTime();
 			boolean columnPropertiesValid = driver.isValidColumnProperties(connection, schema, table, column, columnProperties);
+			checkProperties.addDriverCall("isValidColumnProperties", callStart, false);
 			
 			if(! columnPropertiesValid)
 			{
+				UpdateEventContext eventContext = UpdateEventContext.forColumn(schemaProcessor, connection, driver, schema, table, column, databaseID, checkProperties);
+				
 				if(columnProperties.get("INVALID_NULLABLE") != null)
 				{
-					if((schemaProcessor.logService != null) && schema.getLogUpdates())
+					if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 					{
 						schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=setnullable)(database=" + databaseID + ")(object=" + table.getName() + "." + column.getName() + ")} set nullable " + table.getName() + "." + column.getName() + " " + column.getNullable());
 					}
 					
-					if(table.getUpdateListenerList() != null)
+					if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_NULLABLE, PhaseType.PRE, null, "Nullable.Pre")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_NULLABLE, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Nullable.Pre ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
 				}
 				
 				if(columnProperties.get("INVALID_SIZE") != null)
 				{
-					if((schemaProcessor.logService != null) && schema.getLogUpdates())
+					if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 					{
 						schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=setcolsize)(database=" + databaseID + ")(object=" + table.getName() + "." + column.getName() + ")} set colsize " + table.getName() + "." + column.getName() + " " + column.getSize());
 					}
 					
-					if(table.getUpdateListenerList() != null)
+					if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_SIZE, PhaseType.PRE, null, "Size.Pre")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_SIZE, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Size.Pre ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
 				}
 					
 					
 				if(columnProperties.get("INVALID_TYPE") != null)
 				{
-					if((schemaProcessor.logService != null) && schema.getLogUpdates())
+					if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 					{
 						schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=setcoltype)(database=" + databaseID + ")(object=" + table.getName() + "." + column.getName() + ")} set type " + table.getName() + "." + column.getName() + " " + column.getColumntype());
 					}
-					if(table.getUpdateListenerList() != null)
+					if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_TYPE, PhaseType.PRE, null, "Type.Pre")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_TYPE, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Type.Pre ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
 				}
 					
 				if(columnProperties.get("INVALID_DEFAULT") != null)
 				{
-					if((schemaProcessor.logService != null) && schema.getLogUpdates())
+					if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 					{
 						schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=setcoldefaultvalue)(database=" + databaseID + ")(object=" + table.getName() + "." + column.getName() + ")} set nullable " + table.getName() + "." + column.getName() + " " + column.getDefaultValue());
 					}
 					
-					if(table.getUpdateListenerList() != null)
+					if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_DEFAULT_VALUE, PhaseType.PRE, null, "defaultvalue.Pre")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_DEFAULT_VALUE, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.defaultvalue.Pre ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
 				}
+				
+				if(pendingColumnTrackerList != null)
+				{
+					// updated together with all other invalid columns of table
 					
+					pendingColumnTrackerList.add(columnTracker);
+					return;
+				}
 					
 				Exception exc = null;
 				
 				try
 				{
+					callStart = System.nanoTime();
 					driver.setValidColumnProperties(connection, schema, table, column, columnProperties);
+					checkProperties.addDriverCall("setValidColumnProperties", callStart, true);
 				}
 				catch(SQLException e)
 				{
@@ -411,119 +252,26 @@ public class ColumnProcessor
 					return;
 				}
 				
-				if(table.getUpdateListenerList() != null)
+				if(eventContext != null)
 				{
-					if(columnProperties.get("INVALID_NULLABLE") != null)
+					if((columnProperties.get("INVALID_NULLABLE") != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_NULLABLE, PhaseType.POST, exc, "Nullable.Post")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_NULLABLE, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Nullable.Post ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
-						
-					if(columnProperties.get("INVALID_SIZE") != null)
+					
+					if((columnProperties.get("INVALID_SIZE") != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_SIZE, PhaseType.POST, exc, "Size.Post")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_SIZE, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Size.Post ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
-						
-							
-					if(columnProperties.get("INVALID_TYPE") != null)
+					
+					if((columnProperties.get("INVALID_TYPE") != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_TYPE, PhaseType.POST, exc, "Type.Post")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_TYPE, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.Type.Post ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
-							
-					if(columnProperties.get("INVALID_DEFAULT") != null)
+					
+					if((columnProperties.get("INVALID_DEFAULT") != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_DEFAULT_VALUE, PhaseType.POST, exc, "defaultvalue.Post")))
 					{
-						Dictionary<ObjectType, Object> objects = new Hashtable<>();
-						objects.put(ObjectType.SCHEMA, schema);
-						objects.put(ObjectType.TABLE, table);
-						objects.put(ObjectType.COLUMN, column);
-						for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-						{
-							try
-							{
-								updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_DEFAULT_VALUE, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-							}
-							catch(SQLException e)
-							{
-								schemaProcessor.logSQLException(e);
-							}
-							catch (Exception e) 
-							{
-								schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.defaultvalu.Post ", checkProperties);
-							}
-							
-							if(checkProperties.isInterrupted())
-							{
-								return;
-							}
-						}
+						return;
 					}
 				}
 				
@@ -554,6 +302,131 @@ public class ColumnProcessor
 		}
 	}
 	
+	public static void createColumns(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, List<ColumnTracker> columnTrackerList, String databaseID, CheckProperties checkProperties)
+	{
+		List<ColumnSpec> columnSpecList = new ArrayList<ColumnSpec>();
+		List<Map<String,Object>> columnPropertiesList = new ArrayList<Map<String,Object>>();
+		for(ColumnTracker columnTracker : columnTrackerList)
+		{
+			columnSpecList.add(columnTracker.getColumnSpec());
+			columnPropertiesList.add(columnTracker.getColumnProperties());
+		}
+		
+		try
+		{
+			long callStart = System.nanoTime();
+			driver.createColumns(connection, schema, table, columnSpecList, columnPropertiesList);
+			checkProperties.addDriverCall("createColumns", callStart, true);
+			
+			for(ColumnTracker columnTracker : columnTrackerList)
+			{
+				columnTracker.setExits(true);
+				columnTracker.setCreated(true);
+			}
+		}
+		catch(SQLException e)
+		{
+			schemaProcessor.logSQLException(e);
+		}
+		catch (Exception e) 
+		{
+			schemaProcessor.logError(e, schema,  "Columns of " + table.getName() + " can not create ",  checkProperties);
+		}
+		
+		clearWarnings(schemaProcessor, connection);
+	}
+	
+	public static void setValidColumnProperties(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, List<ColumnTracker> columnTrackerList, String databaseID, CheckProperties checkProperties)
+	{
+		List<ColumnSpec> columnSpecList = new ArrayList<ColumnSpec>();
+		List<Map<String,Object>> columnPropertiesList = new ArrayList<Map<String,Object>>();
+		for(ColumnTracker columnTracker : columnTrackerList)
+		{
+			columnSpecList.add(columnTracker.getColumnSpec());
+			columnPropertiesList.add(columnTracker.getColumnProperties());
+		}
+		
+		try
+		{
+			long callStart = System.nanoTime();
+			driver.setValidColumnProperties(connection, schema, table, columnSpecList, columnPropertiesList);
+			checkProperties.addDriverCall("setValidColumnProperties", callStart, true);
+		}
+		catch(SQLException e)
+		{
+			schemaProcessor.logSQLException(e);
+		}
+		catch (Exception e) 
+		{
+			schemaProcessor.logError(e, schema,  "Column properties for " + table.getName() + " can not update", checkProperties);
+		}
+		
+		clearWarnings(schemaProcessor, connection);
+	}
+	
+	public static boolean validateColumnKey(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, String databaseID, CheckProperties checkProperties)
+	{
+		if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
+		{
+			schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=validateforeignkey)(database=" + databaseID + ")(object=" + table.getName() + "." + column.getName() + ")} validate foreignkey " + table.getName() + "." + column.getName());
+		}
+		
+		UpdateEventContext eventContext = UpdateEventContext.forColumn(schemaProcessor, connection, driver, schema, table, column, databaseID, checkProperties);
+		if(eventContext != null)
+		{
+			eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_FOREIGN_KEY_VALIDATION, PhaseType.PRE, null, "FKValidation.Pre");
+		}
+		
+		Exception exc = null;
+		try
+		{
+			long callStart = System.nanoTime();
+			driver.validateForeignKey(connection, schema, table, column, new HashMap<String,Object>());
+			checkProperties.addDriverCall("validateForeignKey", callStart, true);
+		}
+		catch(SQLException e)
+		{
+			exc = e;
+			schemaProcessor.logSQLException(e);
+		}
+		catch (Exception e) 
+		{
+			exc = e;
+			schemaProcessor.logError(e, schema,  "Column foreign key for " + table.getName() + "." + column.getName() + " can not validate", checkProperties);
+		}
+		
+		if(eventContext != null)
+		{
+			eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_FOREIGN_KEY_VALIDATION, PhaseType.POST, exc, "FKValidation.Post");
+		}
+		
+		clearWarnings(schemaProcessor, connection);
+		
+		return exc == null;
+	}
+	
+	private static void clearWarnings(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection)
+	{
+		try
+		{
+			SQLWarning warning = connection.getWarnings();
+			if(warning != null)
+			{
+				schemaProcessor.logSQLException(warning);
+			}
+			connection.clearWarnings();
+		}
+		catch(SQLException e)
+		{
+			schemaProcessor.logSQLException(e);
+			try
+			{
+				connection.clearWarnings();
+			}
+			catch(Exception e2){}
+		}
+	}
+	
 	public static void createColumnKeys(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, ColumnTracker columnTracker, String databaseID, Map<String,Object> columnProperties, CheckProperties checkProperties)
 	{
 		if(! columnTracker.isExits())
@@ -562,47 +435,45 @@ public class ColumnProcessor
 		}
 		try
 		{
+			long callStart = System.nanoTime();
 			boolean foreinKeyValid = driver.isValidForeignKey(connection, schema, table, column, columnTracker.getColumnProperties());
+			checkProperties.addDriverCall("isValidForeignKey", callStart, false);
+			if
+			(
+				foreinKeyValid && (columnTracker.getColumnProperties().remove("UNVALIDATED_FK") != null) && 
+				(column.getForeignKey() != null) && column.getForeignKey().getDeferredValidation()
+			)
+			{
+				// validation of previous check is failed or interrupted
+				
+				checkProperties.getForeignKeyValidationList().add(column);
+			}
 			if(! foreinKeyValid)
 			{
-				if((schemaProcessor.logService != null) && schema.getLogUpdates())
+				UpdateEventContext eventContext = UpdateEventContext.forColumn(schemaProcessor, connection, driver, schema, table, column, databaseID, checkProperties);
+				
+				if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 				{
 					schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=createforeignkey)(database=" + databaseID + ")(object=" + table.getName() + "." + column.getName() + ")} create foreignkey " + table.getName() + "." + column.getName());
 				}
 				
-				if(table.getUpdateListenerList() != null)
+				if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_FOREIGN_KEY, PhaseType.PRE, null, "FK.Pre")))
 				{
-					Dictionary<ObjectType, Object> objects = new Hashtable<>();
-					objects.put(ObjectType.SCHEMA, schema);
-					objects.put(ObjectType.TABLE, table);
-					objects.put(ObjectType.COLUMN, column);
-					for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-					{
-						try
-						{
-							updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_FOREIGN_KEY, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-						}
-						catch(SQLException e)
-						{
-							schemaProcessor.logSQLException(e);
-						}
-						catch (Exception e) 
-						{
-							schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.FK.Pre ", checkProperties);
-						}
-						
-						if(checkProperties.isInterrupted())
-						{
-							return;
-						}
-					}
+					return;
 				}
 				
 				Exception exc = null;
 				
 				try
 				{
+					callStart = System.nanoTime();
 					driver.setValidForeignKey(connection, schema, table, column, columnProperties);
+					checkProperties.addDriverCall("setValidForeignKey", callStart, true);
+					
+					if((column.getForeignKey() != null) && column.getForeignKey().getDeferredValidation())
+					{
+						checkProperties.getForeignKeyValidationList().add(column);
+					}
 				}
 				catch(SQLException e)
 				{
@@ -620,32 +491,9 @@ public class ColumnProcessor
 					return;
 				}
 				
-				if(table.getUpdateListenerList() != null)
+				if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.COLUMN_FOREIGN_KEY, PhaseType.POST, exc, "FK.Post")))
 				{
-					Dictionary<ObjectType, Object> objects = new Hashtable<>();
-					objects.put(ObjectType.SCHEMA, schema);
-					objects.put(ObjectType.TABLE, table);
-					objects.put(ObjectType.COLUMN, column);
-					for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-					{
-						try
-						{
-							updateListener.onAction(ActionType.UPDATE, ObjectType.COLUMN_FOREIGN_KEY, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-						}
-						catch(SQLException e)
-						{
-							schemaProcessor.logSQLException(e);
-						}
-						catch (Exception e) 
-						{
-							schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener.FK.Post", checkProperties);
-						}
-						
-						if(checkProperties.isInterrupted())
-						{
-							return;
-						}
-					}
+					return;
 				}
 			}
 			
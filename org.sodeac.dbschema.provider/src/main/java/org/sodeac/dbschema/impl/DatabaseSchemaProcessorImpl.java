@@ -15,9 +15,27 @@ import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.util.ArrayList;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
 
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
@@ -28,6 +46,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.log.LogService;
+import org.sodeac.dbschema.api.IDatabaseSchemaMetricsListener;
 import org.sodeac.dbschema.api.IDatabaseSchemaProcessor;
 import org.sodeac.dbschema.api.IDatabaseSchemaUpdateListener;
 import org.sodeac.dbschema.api.ActionType;
@@ -36,6 +55,9 @@ import org.sodeac.dbschema.api.IColumnType;
 import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
 import org.sodeac.dbschema.api.ObjectType;
 import org.sodeac.dbschema.api.PhaseType;
+import org.sodeac.dbschema.api.SchemaChange;
+import org.sodeac.dbschema.api.SchemaCheckMetrics;
+import org.sodeac.dbschema.api.SchemaCheckResult;
 import org.sodeac.dbschema.api.SchemaSpec;
 import org.sodeac.dbschema.api.SchemaUnusableException;
 import org.sodeac.dbschema.api.TableSpec;
@@ -51,6 +73,7 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 	
 	private DriverManager<IDatabaseSchemaDriver> schemaDriverList = new DriverManager<IDatabaseSchemaDriver>();
 	private DriverManager<IColumnType> columnDriverList = new DriverManager<IColumnType>();
+	private volatile DriverSelectionCache driverSelectionCache = new DriverSelectionCache(-1L, -1L);
 	
 	@Reference(cardinality=ReferenceCardinality.MULTIPLE,policy=ReferencePolicy.DYNAMIC)
 	public void bindSchemaDriver(IDatabaseSchemaDriver type, ServiceReference<IDatabaseSchemaDriver> serviceReference)
@@ -62,6 +85,19 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 		this.schemaDriverList.remove(type,serviceReference);
 	}
 	
+	private List<IDatabaseSchemaMetricsListener> metricsListenerList = new CopyOnWriteArrayList<IDatabaseSchemaMetricsListener>();
+	private Map<String,SchemaCheckMetrics> metricsIndex = new ConcurrentHashMap<String,SchemaCheckMetrics>();
+	
+	@Reference(cardinality=ReferenceCardinality.MULTIPLE,policy=ReferencePolicy.DYNAMIC)
+	public void bindMetricsListener(IDatabaseSchemaMetricsListener metricsListener)
+	{
+		this.metricsListenerList.add(metricsListener);
+	}
+	public void unbindMetricsListener(IDatabaseSchemaMetricsListener metricsListener)
+	{
+		this.metricsListenerList.remove(metricsListener);
+	}
+	
 	@Reference(cardinality=ReferenceCardinality.MULTIPLE,policy=ReferencePolicy.DYNAMIC)
 	public void bindColumnType(IColumnType type, ServiceReference<IColumnType> serviceReference)
 	{
@@ -82,11 +118,71 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 	private void deactivate(ComponentContext context)
 	{
 		this.context = null;
+		
+		synchronized (this)
+		{
+			this.deactivated = true;
+			for(Entry<CheckProperties,Future<?>> validationTask : this.foreignKeyValidationIndex.entrySet())
+			{
+				validationTask.getKey().setInterrupted(true);
+				validationTask.getValue().cancel(true);
+			}
+			this.foreignKeyValidationIndex.clear();
+			
+			if(this.asyncExecutor != null)
+			{
+				this.asyncExecutor.shutdown();
+				this.asyncExecutor = null;
+			}
+		}
+	}
+	
+	private volatile ExecutorService asyncExecutor = null;
+	private volatile boolean deactivated = false;
+	private Map<CheckProperties,Future<?>> foreignKeyValidationIndex = new ConcurrentHashMap<CheckProperties,Future<?>>();
+	
+	private ExecutorService getAsyncExecutor()
+	{
+		ExecutorService executor = this.asyncExecutor;
+		if(executor != null)
+		{
+			return executor;
+		}
+		synchronized (this)
+		{
+			if(this.asyncExecutor == null)
+			{
+				AtomicInteger threadCounter = new AtomicInteger();
+				this.asyncExecutor = Executors.newCachedThreadPool(runnable ->
+				{
+					Thread thread = new Thread(runnable, "sodeac-dbschema-check-" + threadCounter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			return this.asyncExecutor;
+		}
 	}
 	
 	@Override
 	public IDatabaseSchemaDriver getDatabaseSchemaDriver(Connection connection) throws SQLException
 	{
+		DriverSelectionCache cache = this.driverSelectionCache;
+		long schemaDriverVersion = this.schemaDriverList.getVersion();
+		long columnDriverVersion = this.columnDriverList.getVersion();
+		if(! cache.isValid(schemaDriverVersion, columnDriverVersion))
+		{
+			cache = new DriverSelectionCache(schemaDriverVersion, columnDriverVersion);
+			this.driverSelectionCache = cache;
+		}
+		
+		String signature = DriverSelectionCache.signature(connection.getMetaData());
+		IDatabaseSchemaDriver cachedDriver = cache.getDriver(signature);
+		if(cachedDriver != null)
+		{
+			return cachedDriver;
+		}
+		
 		int currentLevel = -1;
 		IDatabaseSchemaDriver currentDriver = null;
 		for(IDatabaseSchemaDriver driver : this.schemaDriverList.getDriverList())
@@ -105,6 +201,7 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 		if(currentDriver != null)
 		{
 			currentDriver.setColumnDriverList(this.columnDriverList.getDriverList());
+			cache.putDriver(signature, currentDriver);
 		}
 		
 		return currentDriver;
@@ -112,6 +209,229 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 		
 	@Override
 	public boolean checkSchemaSpec(SchemaSpec schemaSpec, Connection connection) throws SQLException
+	{
+		return checkSchemaSpec(schemaSpec, connection, null, null, new CheckProperties());
+	}
+	
+	@Override
+	public List<SchemaChange> planSchemaSpec(SchemaSpec schemaSpec, Connection connection) throws SQLException
+	{
+		List<SchemaChange> schemaChangeList = new ArrayList<SchemaChange>();
+		
+		CheckProperties checkProperties = new CheckProperties();
+		checkProperties.setSchemaChangeList(schemaChangeList);
+		
+		checkSchemaSpec(schemaSpec, connection, null, null, checkProperties);
+		
+		return schemaChangeList;
+	}
+	
+	@Override
+	public CompletionStage<SchemaCheckResult> checkSchemaSpecAsync(SchemaSpec schemaSpec, DataSource dataSource, int parallelism)
+	{
+		return checkSchemaSpecAsync(schemaSpec, dataSource, parallelism, getAsyncExecutor());
+	}
+	
+	@Override
+	public CompletionStage<SchemaCheckResult> checkSchemaSpecAsync(SchemaSpec schemaSpec, DataSource dataSource, int parallelism, Executor executor)
+	{
+		CheckProperties checkProperties = new CheckProperties();
+		CompletableFuture<SchemaCheckResult> future = new CompletableFuture<SchemaCheckResult>()
+		{
+			@Override
+			public boolean cancel(boolean mayInterruptIfRunning)
+			{
+				// running check stops at next interruption point like with TerminateException
+				
+				checkProperties.setInterrupted(true);
+				return super.cancel(mayInterruptIfRunning);
+			}
+		};
+		
+		try
+		{
+			executor.execute(() ->
+			{
+				if(future.isDone())
+				{
+					return;
+				}
+				try
+				{
+					boolean usable = checkSchemaSpec(schemaSpec, dataSource, parallelism, checkProperties);
+					future.complete
+					(
+						new SchemaCheckResult
+						(
+							schemaSpec == null ? null : schemaSpec.getDomain(), usable, checkProperties.isInterrupted(), 
+							checkProperties.getMetrics(), new ArrayList<SchemaUnusableException>(checkProperties.getUnusableExceptionList())
+						)
+					);
+				}
+				catch (Throwable e) 
+				{
+					future.completeExceptionally(e);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) 
+		{
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+	
+	@Override
+	public boolean checkSchemaSpec(SchemaSpec schemaSpec, DataSource dataSource, int parallelism) throws SQLException
+	{
+		return checkSchemaSpec(schemaSpec, dataSource, parallelism, new CheckProperties());
+	}
+	
+	/**
+	 * create or update a database schema by specification objects with connections of {@code dataSource}
+	 * 
+	 * @param schemaSpec schema specification
+	 * @param dataSource datasource to get connections
+	 * @param parallelism count of parallel connections
+	 * @param checkProperties properties of schema check
+	 * @return false, if process is interrupted, otherwise true
+	 * 
+	 * @throws SQLException
+	 */
+	protected boolean checkSchemaSpec(SchemaSpec schemaSpec, DataSource dataSource, int parallelism, CheckProperties checkProperties) throws SQLException
+	{
+		if(dataSource == null)
+		{
+			return false;
+		}
+		
+		ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+		Connection connection = dataSource.getConnection();
+		try
+		{
+			boolean valid = checkSchemaSpec(schemaSpec, connection, dataSource, pool, checkProperties);
+			commit(connection);
+			return valid;
+		}
+		finally 
+		{
+			if(pool != null)
+			{
+				pool.shutdown();
+			}
+			try
+			{
+				connection.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * create or update a database schema by specification objects. If {@code pool} is defined, table related phases
+	 * are processed parallel with worker connections from {@code dataSource}. Each phase is completed, before next phase starts.
+	 * 
+	 * @param schemaSpec schema specification
+	 * @param connection main connection
+	 * @param dataSource datasource to get worker connections, or null
+	 * @param pool pool of worker threads, or null to process all phases with main connection
+	 * @param checkProperties properties of schema check. In plan-only mode, ddl operations are recorded instead of executed.
+	 * @return false, if process is interrupted, otherwise true
+	 * 
+	 * @throws SQLException
+	 */
+	protected boolean checkSchemaSpec(SchemaSpec schemaSpec, Connection connection, DataSource dataSource, ForkJoinPool pool, CheckProperties checkProperties) throws SQLException
+	{
+		if((schemaSpec == null) || (schemaSpec.getDomain() == null) || schemaSpec.getDomain().isEmpty())
+		{
+			return false;
+		}
+		
+		long start = System.nanoTime();
+		checkProperties.setMetrics(new SchemaCheckMetrics(schemaSpec.getDomain()));
+		
+		IDatabaseSchemaDriver lockDriver = null;
+		Map<String,Object> lockProperties = null;
+		try
+		{
+			if(schemaSpec.getClusterLock() && (! checkProperties.isPlanOnly()))
+			{
+				// concurrent nodes wait and reuse stored fingerprint of first node
+				
+				lockDriver = this.getDatabaseSchemaDriver(connection);
+				if(lockDriver != null)
+				{
+					long lockStart = System.nanoTime();
+					SchemaLockProcessor.acquire(this, connection, lockDriver, schemaSpec, lockProperties = new HashMap<String,Object>());
+					checkProperties.setSchemaLockProperties(lockProperties);
+					checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_CLUSTER_LOCK, lockStart);
+				}
+			}
+			return processSchemaSpec(schemaSpec, connection, dataSource, pool, checkProperties);
+		}
+		finally 
+		{
+			if(lockProperties != null)
+			{
+				try
+				{
+					if(dataSource != null)
+					{
+						// changes of own main connection have to be visible, before waiting nodes continue
+						commit(connection);
+					}
+					SchemaLockProcessor.release(this, connection, lockDriver, schemaSpec, lockProperties);
+				}
+				catch(SQLException e)
+				{
+					logSQLException(e);
+				}
+			}
+			checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_TOTAL, start);
+			publishSchemaCheckMetrics(schemaSpec, checkProperties);
+		}
+	}
+	
+	@Override
+	public SchemaCheckMetrics getSchemaCheckMetrics(String domain)
+	{
+		if(domain == null)
+		{
+			return null;
+		}
+		return this.metricsIndex.get(domain);
+	}
+	
+	/**
+	 * publish metrics of completed schema check to all registered {@link IDatabaseSchemaMetricsListener}
+	 * 
+	 * @param schemaSpec schema specification
+	 * @param checkProperties properties of schema check
+	 */
+	protected void publishSchemaCheckMetrics(SchemaSpec schemaSpec, CheckProperties checkProperties)
+	{
+		SchemaCheckMetrics metrics = checkProperties.getMetrics();
+		if((metrics == null) || checkProperties.isPlanOnly())
+		{
+			return;
+		}
+		
+		this.metricsIndex.put(metrics.getDomain(), metrics);
+		
+		for(IDatabaseSchemaMetricsListener metricsListener : this.metricsListenerList)
+		{
+			try
+			{
+				metricsListener.onSchemaCheckMetrics(metrics);
+			}
+			catch (Exception e) 
+			{
+				this.logError(e, schemaSpec, "Error on MetricsListener " + schemaSpec.getDomain(), checkProperties);
+			}
+		}
+	}
+	
+	protected boolean processSchemaSpec(SchemaSpec schemaSpec, Connection connection, DataSource dataSource, ForkJoinPool pool, CheckProperties checkProperties) throws SQLException
 	{
 		
 		if(schemaSpec == null)
@@ -127,19 +447,56 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 			return false;
 		}
 		
-		CheckProperties checkProperties = new CheckProperties();
 		String domain = schemaSpec.getDomain();
 		
 		
-		IDatabaseSchemaDriver driver = this.getDatabaseSchemaDriver(connection);
+		IDatabaseSchemaDriver schemaDriver = this.getDatabaseSchemaDriver(connection);
 		
-		if(driver == null)
+		if(schemaDriver == null)
 		{
 			return false;
 		}
 		
+		IDatabaseSchemaDriver driver = checkProperties.isPlanOnly() ? new PlanningSchemaDriver(schemaDriver, checkProperties.getSchemaChangeList()) : schemaDriver;
 		
-		if(schemaSpec.getUpdateListenerList() != null)
+		String fingerprint = null;
+		if(schemaSpec.getSkipUnchanged())
+		{
+			try
+			{
+				fingerprint = FingerprintProcessor.computeFingerprint(schemaSpec, schemaDriver);
+				if(FingerprintProcessor.isUnchanged(this, connection, schemaDriver, schemaSpec, fingerprint))
+				{
+					return true;
+				}
+			}
+			catch(SQLException e)
+			{
+				logSQLException(e);
+			}
+			catch (Exception e) 
+			{
+				this.logError(e, schemaSpec, "Error on check fingerprint " + schemaSpec.getDomain(), checkProperties);
+			}
+		}
+		
+		try
+		{
+			long callStart = System.nanoTime();
+			driver.prepareSchemaCheck(connection, schemaSpec, checkProperties.getSchemaProperties());
+			checkProperties.addDriverCall("prepareSchemaCheck", callStart, false);
+		}
+		catch(SQLException e)
+		{
+			logSQLException(e);
+		}
+		catch (Exception e) 
+		{
+			this.logError(e, schemaSpec, "Error on prepare schema check " + schemaSpec.getDomain(), checkProperties);
+		}
+		
+		
+		if((schemaSpec.getUpdateListenerList() != null) && (! checkProperties.isPlanOnly()))
 		{
 			
 			Dictionary<ObjectType, Object> objects = new Hashtable<>();
@@ -159,56 +516,89 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 		
 		List<TableTracker> tableTrackerList = new ArrayList<TableTracker>();
 		
+		long phaseStart = System.nanoTime();
+		
 		// create tables
 		
 		if(schemaSpec.getListTableSpec() != null)
 		{
-			for(TableSpec tableSpec : schemaSpec.getListTableSpec())
+			List<TableSpec> tableSpecList = schemaSpec.getListTableSpec();
+			TableTracker[] tableTrackers = new TableTracker[tableSpecList.size()];
+			
+			processTables(tableTrackers.length, connection, dataSource, pool, schemaSpec, checkProperties, (tableConnection, index) ->
 			{
 				try
 				{
-					tableTrackerList.add(TableProcessor.checkTableDefinition(this, connection, driver, schemaSpec, tableSpec, domain, checkProperties));
+					tableTrackers[index] = TableProcessor.checkTableDefinition(this, tableConnection, driver, schemaSpec, tableSpecList.get(index), domain, checkProperties);
 				}
 				catch (Exception e) 
 				{
 					this.logError(e, schemaSpec, "Error on checkSchema " + schemaSpec.getDomain(), checkProperties);
 				}
-				if(checkProperties.isInterrupted())
+			});
+			checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_TABLES, phaseStart);
+			
+			for(TableTracker tableTracker : tableTrackers)
+			{
+				if(tableTracker != null)
 				{
-					return checkProperties.getUnusableExceptionList().isEmpty();
+					tableTrackerList.add(tableTracker);
 				}
 			}
+			
+			if(checkProperties.isInterrupted())
+			{
+				return checkProperties.getUnusableExceptionList().isEmpty();
+			}
 		}
 		
 		// create columns
 		
-		for(TableTracker tableTracker : tableTrackerList)
+		phaseStart = System.nanoTime();
+		processTables(tableTrackerList.size(), connection, dataSource, pool, schemaSpec, checkProperties, (tableConnection, index) ->
 		{
+			TableTracker tableTracker = tableTrackerList.get(index);
 			if(tableTracker.isExits())
 			{
 				if(tableTracker.getTableSpec().getColumnList() != null)
 				{
+					// without update listeners all new columns of table are created by one ddl statement
+					
+					List<ColumnTracker> pendingColumnTrackerList = isColumnBatchEnabled(tableTracker.getTableSpec(), checkProperties) ? new ArrayList<ColumnTracker>() : null;
+					
 					for(ColumnSpec columnSpec : tableTracker.getTableSpec().getColumnList())
 					{
 						tableTracker.getColumnTrackerList().add(ColumnProcessor.checkColumnDefinition
 						(
-							this, connection, driver, schemaSpec, tableTracker.getTableSpec(), columnSpec, domain, tableTracker.getTableProperties(), checkProperties
+							this, tableConnection, driver, schemaSpec, tableTracker.getTableSpec(), columnSpec, domain, tableTracker.getTableProperties(), pendingColumnTrackerList, checkProperties
 						));
 						
 						if(checkProperties.isInterrupted())
 						{
-							return checkProperties.getUnusableExceptionList().isEmpty();
+							return;
 						}
 					}
+					
+					if((pendingColumnTrackerList != null) && (! pendingColumnTrackerList.isEmpty()))
+					{
+						ColumnProcessor.createColumns(this, tableConnection, driver, schemaSpec, tableTracker.getTableSpec(), pendingColumnTrackerList, domain, checkProperties);
+					}
 				}
 			}
+		});
+		checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_COLUMNS, phaseStart);
+		
+		if(checkProperties.isInterrupted())
+		{
+			return checkProperties.getUnusableExceptionList().isEmpty();
 		}
 		
 		// schema convert phase
 		
+		phaseStart = System.nanoTime();
 		try
 		{
-			if(schemaSpec.getUpdateListenerList() != null)
+			if((schemaSpec.getUpdateListenerList() != null) && (! checkProperties.isPlanOnly()))
 			{
 				Dictionary<ObjectType, Object> objects = new Hashtable<>();
 				objects.put(ObjectType.SCHEMA, schemaSpec);
@@ -293,6 +683,7 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 		{
 			this.logError(e, schemaSpec, "Error on schema ConvertPhase " + schemaSpec.getDomain(), checkProperties);
 		}
+		checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_CONVERT_SCHEMA, phaseStart);
 		
 		if(checkProperties.isInterrupted())
 		{
@@ -320,69 +711,103 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 		
 		// column properties
 		
-		for(TableTracker tableTracker : tableTrackerList)
+		phaseStart = System.nanoTime();
+		processTables(tableTrackerList.size(), connection, dataSource, pool, schemaSpec, checkProperties, (tableConnection, index) ->
 		{
+			TableTracker tableTracker = tableTrackerList.get(index);
 			if(tableTracker.isExits())
 			{
 				if(tableTracker.getTableSpec().getColumnList() != null)
 				{
-					for(ColumnTracker columnTracker : tableTracker.getColumnTrackerList())
+					// without update listeners all invalid columns of table are updated by one ddl statement
+					
+					List<ColumnTracker> pendingColumnTrackerList = isColumnBatchEnabled(tableTracker.getTableSpec(), checkProperties) ? new ArrayList<ColumnTracker>() : null;
+					
+					boolean[] backupNullable = new boolean[tableTracker.getColumnTrackerList().size()];
+					for(int i = 0; i < backupNullable.length; i++)
 					{
-						if(columnTracker.isExits())
+						ColumnTracker columnTracker = tableTracker.getColumnTrackerList().get(i);
+						backupNullable[i] = columnTracker.getColumnSpec().getNullable();
+						if(schemaSpec.getSkipChecks() && columnTracker.isExits())
 						{
-							boolean backupNullable = columnTracker.getColumnSpec().getNullable();
-							if(schemaSpec.getSkipChecks())
-							{
-								columnTracker.getColumnSpec().setNullable(true);
-							}
-							try
+							columnTracker.getColumnSpec().setNullable(true);
+						}
+					}
+					try
+					{
+						for(ColumnTracker columnTracker : tableTracker.getColumnTrackerList())
+						{
+							if(columnTracker.isExits())
 							{
 								ColumnProcessor.checkColumnProperties
 								(
-									this, connection, driver, schemaSpec, tableTracker.getTableSpec(), columnTracker.getColumnSpec(), columnTracker, domain, columnTracker.getColumnProperties(),checkProperties
+									this, tableConnection, driver, schemaSpec, tableTracker.getTableSpec(), columnTracker.getColumnSpec(), columnTracker, domain, columnTracker.getColumnProperties(), pendingColumnTrackerList, checkProperties
 								);
 							}
-							finally 
+							if(checkProperties.isInterrupted())
 							{
-								if(schemaSpec.getSkipChecks())
-								{
-									columnTracker.getColumnSpec().setNullable(backupNullable);
-								}
+								return;
 							}
 						}
-						if(checkProperties.isInterrupted())
+						
+						if((pendingColumnTrackerList != null) && (! pendingColumnTrackerList.isEmpty()))
 						{
-							return checkProperties.getUnusableExceptionList().isEmpty();
+							ColumnProcessor.setValidColumnProperties(this, tableConnection, driver, schemaSpec, tableTracker.getTableSpec(), pendingColumnTrackerList, domain, checkProperties);
+						}
+					}
+					finally 
+					{
+						if(schemaSpec.getSkipChecks())
+						{
+							for(int i = 0; i < backupNullable.length; i++)
+							{
+								tableTracker.getColumnTrackerList().get(i).getColumnSpec().setNullable(backupNullable[i]);
+							}
 						}
 					}
 				}
 			}
+		});
+		checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_COLUMN_PROPERTIES, phaseStart);
+		
+		if(checkProperties.isInterrupted())
+		{
+			return checkProperties.getUnusableExceptionList().isEmpty();
 		}
 		
 		if(! schemaSpec.getSkipChecks())
 		{
-			for(TableTracker tableTracker : tableTrackerList)
+			// primary keys and indices of each table
+			
+			phaseStart = System.nanoTime();
+			processTables(tableTrackerList.size(), connection, dataSource, pool, schemaSpec, checkProperties, (tableConnection, index) ->
 			{
+				TableTracker tableTracker = tableTrackerList.get(index);
 				if(tableTracker.isExits())
 				{
-					TableProcessor.createTableKeys(this, connection, driver, schemaSpec, tableTracker.getTableSpec(), tableTracker, domain, checkProperties);
+					TableProcessor.createTableKeys(this, tableConnection, driver, schemaSpec, tableTracker.getTableSpec(), tableTracker, domain, checkProperties);
 					
 					if(checkProperties.isInterrupted())
 					{
-						return checkProperties.getUnusableExceptionList().isEmpty();
+						return;
 					}
 					
-					TableProcessor.createTableIndices(this, connection, driver, schemaSpec, tableTracker.getTableSpec(), tableTracker, domain, checkProperties);
-					
-					if(checkProperties.isInterrupted())
-					{
-						return checkProperties.getUnusableExceptionList().isEmpty();
-					}
+					TableProcessor.createTableIndices(this, tableConnection, driver, schemaSpec, tableTracker.getTableSpec(), tableTracker, domain, checkProperties);
 				}
+			});
+			checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_KEYS_AND_INDICES, phaseStart);
+			
+			if(checkProperties.isInterrupted())
+			{
+				return checkProperties.getUnusableExceptionList().isEmpty();
 			}
 			
-			for(TableTracker tableTracker : tableTrackerList)
+			// foreign keys require primary keys of all referenced tables
+			
+			phaseStart = System.nanoTime();
+			processTables(tableTrackerList.size(), connection, dataSource, pool, schemaSpec, checkProperties, (tableConnection, index) ->
 			{
+				TableTracker tableTracker = tableTrackerList.get(index);
 				if(tableTracker.isExits())
 				{
 					if(tableTracker.getTableSpec().getColumnList() != null)
@@ -393,23 +818,31 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 							{
 								ColumnProcessor.createColumnKeys
 								(
-									this, connection, driver, schemaSpec, tableTracker.getTableSpec(), columnTracker.getColumnSpec(), columnTracker, domain, columnTracker.getColumnProperties(), checkProperties
+									this, tableConnection, driver, schemaSpec, tableTracker.getTableSpec(), columnTracker.getColumnSpec(), columnTracker, domain, columnTracker.getColumnProperties(), checkProperties
 								);
 								
 								if(checkProperties.isInterrupted())
 								{
-									return checkProperties.getUnusableExceptionList().isEmpty();
+									return;
 								}
 							}
 						}
 					}
 				}
+			});
+			checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_FOREIGN_KEYS, phaseStart);
+			
+			if(checkProperties.isInterrupted())
+			{
+				return checkProperties.getUnusableExceptionList().isEmpty();
 			}
 		}
 		
+		phaseStart = System.nanoTime();
 		try
 		{
-			driver.dropDummyColumns(connection, schemaSpec);
+			driver.dropDummyColumns(connection, schemaSpec, checkProperties.getSchemaProperties());
+			checkProperties.addDriverCall("dropDummyColumns", phaseStart, true);
 		}
 		catch(SQLException e)
 		{
@@ -419,13 +852,14 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 		{
 			this.logError(e, schemaSpec, "Error on drop dummy columns " + schemaSpec.getDomain(), checkProperties);
 		}
+		checkProperties.addPhaseTime(SchemaCheckMetrics.PHASE_DROP_DUMMY_COLUMNS, phaseStart);
 		
 		if(checkProperties.isInterrupted())
 		{
 			return checkProperties.getUnusableExceptionList().isEmpty();
 		}
 		
-		if(schemaSpec.getUpdateListenerList() != null)
+		if((schemaSpec.getUpdateListenerList() != null) && (! checkProperties.isPlanOnly()))
 		{
 			
 			Dictionary<ObjectType, Object> objects = new Hashtable<>();
@@ -452,9 +886,359 @@ public class DatabaseSchemaProcessorImpl implements IDatabaseSchemaProcessor
 			}
 		}
 		
+		if((! checkProperties.isInterrupted()) && checkProperties.getUnusableExceptionList().isEmpty())
+		{
+			validateForeignKeys(connection, dataSource, driver, schemaDriver, schemaSpec, fingerprint, checkProperties);
+		}
+		
 		return checkProperties.getUnusableExceptionList().isEmpty();
 	}
 	
+	/**
+	 * store fingerprint of completed schema check, so next check with unchanged specification is skipped
+	 * 
+	 * @param connection connection to store fingerprint
+	 * @param schemaDriver database schema driver
+	 * @param schemaSpec schema specification
+	 * @param fingerprint fingerprint of specification or null
+	 * @param checkProperties properties of schema check
+	 */
+	protected void storeFingerprint(Connection connection, IDatabaseSchemaDriver schemaDriver, SchemaSpec schemaSpec, String fingerprint, CheckProperties checkProperties)
+	{
+		if((fingerprint == null) || checkProperties.isPlanOnly() || checkProperties.isInterrupted() || (! checkProperties.getUnusableExceptionList().isEmpty()))
+		{
+			return;
+		}
+		try
+		{
+			FingerprintProcessor.storeFingerprint(this, connection, schemaDriver, schemaSpec, fingerprint);
+		}
+		catch(SQLException e)
+		{
+			logSQLException(e);
+		}
+		catch (Exception e) 
+		{
+			this.logError(e, schemaSpec, "Error on store fingerprint " + schemaSpec.getDomain(), checkProperties);
+		}
+	}
+	
+	/**
+	 * remove stored fingerprint, so next check with unchanged specification is not skipped
+	 * 
+	 * @param connection connection to remove fingerprint
+	 * @param schemaDriver database schema driver
+	 * @param schemaSpec schema specification
+	 * @param fingerprint fingerprint of specification or null
+	 * @param checkProperties properties of schema check
+	 */
+	protected void invalidateFingerprint(Connection connection, IDatabaseSchemaDriver schemaDriver, SchemaSpec schemaSpec, String fingerprint, CheckProperties checkProperties)
+	{
+		if((fingerprint == null) || checkProperties.isPlanOnly())
+		{
+			return;
+		}
+		try
+		{
+			FingerprintProcessor.removeFingerprint(connection, schemaDriver, schemaSpec);
+		}
+		catch(SQLException e)
+		{
+			logSQLException(e);
+		}
+		catch (Exception e) 
+		{
+			this.logError(e, schemaSpec, "Error on remove fingerprint " + schemaSpec.getDomain(), checkProperties);
+		}
+	}
+	
+	/**
+	 * validate existing rows of foreign keys, created with deferred validation. If {@code dataSource} is defined, 
+	 * the validation runs in background with own connection, while the schema is already usable. 
+	 * Otherwise foreign keys are validated with main connection. Progress is reported to update listeners of tables 
+	 * with {@link ObjectType#COLUMN_FOREIGN_KEY_VALIDATION}. Background validations store the fingerprint before validation starts, 
+	 * so concurrent and following checks are skipped. Failed or interrupted validations remove the fingerprint, 
+	 * so they are repeated by next check. Validations with main connection store the fingerprint after all foreign keys are validated.
+	 * 
+	 * @param connection main connection
+	 * @param dataSource datasource to get validation connection, or null
+	 * @param driver database schema driver
+	 * @param schemaDriver database schema driver to store fingerprint
+	 * @param schemaSpec schema specification
+	 * @param fingerprint fingerprint of specification or null
+	 * @param checkProperties properties of schema check
+	 */
+	protected void validateForeignKeys(Connection connection, DataSource dataSource, IDatabaseSchemaDriver driver, IDatabaseSchemaDriver schemaDriver, SchemaSpec schemaSpec, String fingerprint, CheckProperties checkProperties)
+	{
+		List<ColumnSpec> validationList = new ArrayList<ColumnSpec>(checkProperties.getForeignKeyValidationList());
+		if(validationList.isEmpty())
+		{
+			storeFingerprint(connection, schemaDriver, schemaSpec, fingerprint, checkProperties);
+			return;
+		}
+		
+		if((dataSource == null) || checkProperties.isPlanOnly())
+		{
+			boolean validated = true;
+			for(ColumnSpec column : validationList)
+			{
+				validated = ColumnProcessor.validateColumnKey(this, connection, driver, schemaSpec, column.getTableSpec(), column, schemaSpec.getDomain(), checkProperties) && validated;
+			}
+			if(validated)
+			{
+				storeFingerprint(connection, schemaDriver, schemaSpec, fingerprint, checkProperties);
+			}
+			return;
+		}
+		
+		// schema is usable, cluster lock waiters and following checks can skip
+		
+		storeFingerprint(connection, schemaDriver, schemaSpec, fingerprint, checkProperties);
+		
+		// created foreign keys have to be visible for validation connection
+		
+		try
+		{
+			commit(connection);
+		}
+		catch(SQLException e)
+		{
+			logSQLException(e);
+		}
+		
+		// background validation has own interrupt state, stopped by deactivate
+		
+		CheckProperties validationProperties = new CheckProperties();
+		validationProperties.setMetrics(checkProperties.getMetrics());
+		
+		Runnable validationTask = () ->
+		{
+			Connection validationConnection = null;
+			try
+			{
+				boolean validated = true;
+				validationConnection = dataSource.getConnection();
+				for(ColumnSpec column : validationList)
+				{
+					if(validationProperties.isInterrupted())
+					{
+						break;
+					}
+					validated = ColumnProcessor.validateColumnKey(this, validationConnection, driver, schemaSpec, column.getTableSpec(), column, schemaSpec.getDomain(), validationProperties) && validated;
+					commit(validationConnection);
+				}
+				if(validated && (! validationProperties.isInterrupted()))
+				{
+					// validation changes catalog change marker
+					
+					storeFingerprint(validationConnection, schemaDriver, schemaSpec, fingerprint, validationProperties);
+				}
+				else
+				{
+					invalidateFingerprint(validationConnection, schemaDriver, schemaSpec, fingerprint, validationProperties);
+				}
+				commit(validationConnection);
+			}
+			catch(SQLException e)
+			{
+				logSQLException(e);
+			}
+			catch (Exception e) 
+			{
+				this.logError(e, schemaSpec, "Error on foreign key validation " + schemaSpec.getDomain(), validationProperties);
+			}
+			finally 
+			{
+				if(validationConnection != null)
+				{
+					try
+					{
+						validationConnection.close();
+					}
+					catch (Exception e) {}
+				}
+			}
+		};
+		
+		synchronized (this)
+		{
+			if(this.deactivated)
+			{
+				return;
+			}
+			try
+			{
+				CompletableFuture<Void> future = CompletableFuture.runAsync(validationTask, getAsyncExecutor());
+				this.foreignKeyValidationIndex.put(validationProperties, future);
+				future.whenComplete((result, throwable) -> this.foreignKeyValidationIndex.remove(validationProperties));
+			}
+			catch (RejectedExecutionException e) 
+			{
+				this.logError(e, schemaSpec, "Error on schedule foreign key validation " + schemaSpec.getDomain(), checkProperties);
+			}
+		}
+	}
+	
+	/**
+	 * process all tables of one check phase. Without {@code pool} all tables are processed sequential with main connection.
+	 * Otherwise workers of {@code pool} process the tables with own connections of {@code dataSource}. 
+	 * The method returns, if all tables are processed or the check is interrupted.
+	 * 
+	 * @param count count of tables
+	 * @param connection main connection
+	 * @param dataSource datasource to get worker connections
+	 * @param pool pool of worker threads
+	 * @param schemaSpec schema specification
+	 * @param checkProperties properties of schema check
+	 * @param tableTask task to process one table
+	 */
+	protected void processTables(int count, Connection connection, DataSource dataSource, ForkJoinPool pool, SchemaSpec schemaSpec, CheckProperties checkProperties, TableTask tableTask)
+	{
+		if((pool == null) || (dataSource == null) || (count < 2))
+		{
+			for(int index = 0; index < count; index++)
+			{
+				tableTask.run(connection, index);
+				
+				if(checkProperties.isInterrupted())
+				{
+					return;
+				}
+				
+				refreshSchemaLock(connection, schemaSpec, checkProperties);
+			}
+			return;
+		}
+		
+		// worker connections have to see all changes of main connection
+		
+		try
+		{
+			commit(connection);
+		}
+		catch(SQLException e)
+		{
+			logSQLException(e);
+		}
+		
+		AtomicInteger nextIndex = new AtomicInteger(0);
+		List<Future<Object>> workerList = new ArrayList<Future<Object>>();
+		
+		for(int i = 0; i < Math.min(pool.getParallelism(), count); i++)
+		{
+			workerList.add(pool.submit(() ->
+			{
+				Connection workerConnection = dataSource.getConnection();
+				try
+				{
+					int index;
+					while((! checkProperties.isInterrupted()) && ((index = nextIndex.getAndIncrement()) < count))
+					{
+						tableTask.run(workerConnection, index);
+					}
+					commit(workerConnection);
+				}
+				finally 
+				{
+					try
+					{
+						workerConnection.close();
+					}
+					catch (Exception e) {}
+				}
+				return null;
+			}));
+		}
+		
+		for(Future<Object> worker : workerList)
+		{
+			try
+			{
+				while(! awaitWorker(worker))
+				{
+					// main connection is idle while workers are running
+					
+					refreshSchemaLock(connection, schemaSpec, checkProperties);
+				}
+			}
+			catch (InterruptedException e) 
+			{
+				Thread.currentThread().interrupt();
+				this.logError(new TerminateException("schema check interrupted", e), schemaSpec, "Interrupted on parallel schema check " + schemaSpec.getDomain(), checkProperties);
+			}
+			catch (ExecutionException e) 
+			{
+				if(e.getCause() instanceof SQLException)
+				{
+					logSQLException((SQLException)e.getCause());
+				}
+				else
+				{
+					this.logError(e.getCause(), schemaSpec, "Error on parallel schema check " + schemaSpec.getDomain(), checkProperties);
+				}
+			}
+		}
+	}
+	
+	private boolean awaitWorker(Future<Object> worker) throws InterruptedException, ExecutionException
+	{
+		try
+		{
+			worker.get(SchemaLockProcessor.LOCK_REFRESH_INTERVAL, TimeUnit.MILLISECONDS);
+			return true;
+		}
+		catch (TimeoutException e) 
+		{
+			return false;
+		}
+	}
+	
+	/**
+	 * refresh lock table entry of running schema check, if schema is locked by lock table
+	 * 
+	 * @param connection main connection
+	 * @param schemaSpec schema specification
+	 * @param checkProperties properties of schema check
+	 */
+	protected void refreshSchemaLock(Connection connection, SchemaSpec schemaSpec, CheckProperties checkProperties)
+	{
+		try
+		{
+			SchemaLockProcessor.refresh(this, connection, schemaSpec, checkProperties.getSchemaLockProperties());
+		}
+		catch(SQLException e)
+		{
+			logSQLException(e);
+		}
+	}
+	
+	/**
+	 * commit connection, if auto commit is disabled
+	 * 
+	 * @param connection connection to commit
+	 * 
+	 * @throws SQLException
+	 */
+	protected void commit(Connection connection) throws SQLException
+	{
+		if(! connection.getAutoCommit())
+		{
+			connection.commit();
+		}
+	}
+	
+	/**
+	 * Column changes of table can be combined to one ddl statement, if no update listener requires notifications for each single column.
+	 * 
+	 * @param tableSpec table specification
+	 * @param checkProperties properties of schema check
+	 * @return true, if column changes can be combined
+	 */
+	protected boolean isColumnBatchEnabled(TableSpec tableSpec, CheckProperties checkProperties)
+	{
+		return (tableSpec.getUpdateListenerList() == null) || tableSpec.getUpdateListenerList().isEmpty() || checkProperties.isPlanOnly();
+	}
+	
 	protected void logSQLException(SQLException e)
 	{
 		if(this.logService == null)
@@ -49,6 +49,12 @@ public class DefaultColumnTypeImpl implements IColumnType
 		return typeList;
 	}
 	
+	@Override
+	public boolean isApplicabilityCacheable()
+	{
+		return true;
+	}
+	
 
 	@Override
 	public String getTypeExpression
@@ -30,6 +30,7 @@ public class DriverManager<T>
 	
 	private Lock lock = null;
 	private volatile List<T> driverList = new ArrayList<T>();
+	private volatile long version = 0L;
 	private List<Reference> referenceList = new ArrayList<Reference>();
 	
 	public void add(T service, ServiceReference<T> serviceReference)
@@ -58,14 +59,13 @@ public class DriverManager<T>
 			List<Reference> toRemove = new ArrayList<Reference>();
 			for(Reference ref : referenceList)
 			{
-				if(ref == service)
+				if(ref.service == service)
 				{
 					toRemove.add(ref);
 				}
 			}
 			for(Reference rm : toRemove)
 			{
-				System.out.println("RM " + rm.service);
 				referenceList.remove(rm);
 			}
 			reCreateDriverList();
@@ -128,6 +128,7 @@ public class DriverManager<T>
 		}
 		
 		this.driverList = newDriverList;
+		this.version++;
 	}
 	
 	private class Reference
@@ -140,4 +141,14 @@ public class DriverManager<T>
 	{
 		return driverList;
 	}
+	
+	/**
+	 * Getter for version of driver list. The version increases with each add and remove.
+	 * 
+	 * @return version of driver list
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
 }
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.impl;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+
+/**
+ * Cache of selected schema drivers by jdbc url and database product. The cache is valid for one version of schema driver list and column driver list.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class DriverSelectionCache
+{
+	private long schemaDriverVersion = 0L;
+	private long columnDriverVersion = 0L;
+	private Map<String,IDatabaseSchemaDriver> driverIndex = new ConcurrentHashMap<String,IDatabaseSchemaDriver>();
+	
+	public DriverSelectionCache(long schemaDriverVersion, long columnDriverVersion)
+	{
+		super();
+		this.schemaDriverVersion = schemaDriverVersion;
+		this.columnDriverVersion = columnDriverVersion;
+	}
+	
+	/**
+	 *
+	 * @param schemaDriverVersion current version of schema driver list
+	 * @param columnDriverVersion current version of column driver list
+	 * @return true, if cache is build for current versions of driver lists
+	 */
+	public boolean isValid(long schemaDriverVersion, long columnDriverVersion)
+	{
+		return (this.schemaDriverVersion == schemaDriverVersion) && (this.columnDriverVersion == columnDriverVersion);
+	}
+	
+	public IDatabaseSchemaDriver getDriver(String signature)
+	{
+		return driverIndex.get(signature);
+	}
+	
+	public void putDriver(String signature, IDatabaseSchemaDriver driver)
+	{
+		driverIndex.put(signature, driver);
+	}
+	
+	/**
+	 * create signature of database connection
+	 *
+	 * @param metaData meta data of connection
+	 * @return signature of database connection
+	 * @throws SQLException
+	 */
+	public static String signature(DatabaseMetaData metaData) throws SQLException
+	{
+		return metaData.getURL() + "|" + metaData.getDatabaseProductName() + "|" + metaData.getDatabaseProductVersion();
+	}
+}
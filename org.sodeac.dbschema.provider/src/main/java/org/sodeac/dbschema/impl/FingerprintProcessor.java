@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.ForeignKeySpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IndexSpec;
+import org.sodeac.dbschema.api.PrimaryKeySpec;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+/**
+ * Calculates, loads and stores fingerprints of schema specifications to skip unchanged schema checks
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class FingerprintProcessor
+{
+	/**
+	 * name of bookkeeping table
+	 */
+	public static final String TABLE_FINGERPRINT 		= "SODEAC_SCHEMA_FINGERPRINT"	;
+	
+	public static final String COLUMN_SCHEMA_DOMAIN 	= "SCHEMA_DOMAIN"				;
+	public static final String COLUMN_FINGERPRINT 		= "FINGERPRINT"					;
+	public static final String COLUMN_CATALOG_MARKER 	= "CATALOG_MARKER"				;
+	public static final String COLUMN_CHECK_TIMESTAMP 	= "CHECK_TIMESTAMP"				;
+	
+	/**
+	 * calculate stable hash over specification tree and driver type
+	 *
+	 * @param schemaSpec schema specification
+	 * @param driver used schema driver
+	 *
+	 * @return fingerprint as hex string
+	 */
+	public static String computeFingerprint(SchemaSpec schemaSpec, IDatabaseSchemaDriver driver)
+	{
+		StringBuilder builder = new StringBuilder();
+		
+		append(builder, "driver", driver.getClass().getName());
+		append(builder, "domain", schemaSpec.getDomain());
+		append(builder, "schema", schemaSpec.getDbmsSchemaName());
+		append(builder, "tablespacedata", schemaSpec.getTableSpaceData());
+		append(builder, "tablespaceindex", schemaSpec.getTableSpaceIndex());
+		append(builder, "skipchecks", schemaSpec.getSkipChecks());
+		append(builder, "fkautoindex", schemaSpec.getForeignKeyAutoIndex());
+		
+		if(schemaSpec.getListTableSpec() != null)
+		{
+			for(TableSpec tableSpec : schemaSpec.getListTableSpec())
+			{
+				append(builder, "table", tableSpec.getName());
+				append(builder, "quoted", tableSpec.getQuotedName());
+				append(builder, "schema", tableSpec.getDbmsSchemaName());
+				append(builder, "tablespace", tableSpec.getTableSpace());
+				
+				if(tableSpec.getColumnList() != null)
+				{
+					for(ColumnSpec columnSpec : tableSpec.getColumnList())
+					{
+						append(builder, "column", columnSpec.getName());
+						append(builder, "quoted", columnSpec.getQuotedName());
+						append(builder, "type", columnSpec.getColumntype());
+						append(builder, "nullable", columnSpec.getNullable());
+						append(builder, "size", columnSpec.getSize());
+						append(builder, "default", columnSpec.getDefaultValue());
+						append(builder, "defaultfunction", columnSpec.getDefaultValueByFunction());
+						
+						PrimaryKeySpec primaryKeySpec = columnSpec.getPrimaryKey();
+						if(primaryKeySpec != null)
+						{
+							append(builder, "pk", primaryKeySpec.getConstraintName());
+							append(builder, "index", primaryKeySpec.getIndexName());
+							append(builder, "quoted", primaryKeySpec.getQuotedName());
+							append(builder, "tablespace", primaryKeySpec.getTableSpace());
+						}
+						
+						ForeignKeySpec foreignKeySpec = columnSpec.getForeignKey();
+						if(foreignKeySpec != null)
+						{
+							append(builder, "fk", foreignKeySpec.getConstraintName());
+							append(builder, "quoted", foreignKeySpec.getQuotedKeyName());
+							append(builder, "reftable", foreignKeySpec.getTableName());
+							append(builder, "quoted", foreignKeySpec.getQuotedRefTableName());
+							append(builder, "refcolumn", foreignKeySpec.getReferencedColumnName());
+							append(builder, "quoted", foreignKeySpec.getQuotedRefColumnName());
+							append(builder, "autoindex", foreignKeySpec.getAutoIndex());
+							append(builder, "deferredvalidation", foreignKeySpec.getDeferredValidation());
+						}
+					}
+				}
+				
+				if(tableSpec.getColumnIndexList() != null)
+				{
+					for(IndexSpec indexSpec : tableSpec.getColumnIndexList())
+					{
+						append(builder, "index", indexSpec.getIndexName());
+						append(builder, "quoted", indexSpec.getQuotedName());
+						append(builder, "unique", indexSpec.getUnique());
+						append(builder, "includecontext", indexSpec.getIncludeContext());
+						append(builder, "tablespace", indexSpec.getTableSpace());
+						append(builder, "online", indexSpec.getOnline());
+						append(builder, "paralleldegree", indexSpec.getParallelDegree());
+						if(indexSpec.getColumns() != null)
+						{
+							for(ColumnSpec columnSpec : indexSpec.getColumns())
+							{
+								append(builder, "column", columnSpec.getName());
+							}
+						}
+					}
+				}
+			}
+		}
+		
+		return sha256(builder.toString());
+	}
+	
+	/**
+	 * checks stored fingerprint and stored catalog change marker
+	 *
+	 * @param schemaProcessor schema processor
+	 * @param connection used connection
+	 * @param driver used schema driver
+	 * @param schemaSpec schema specification
+	 * @param fingerprint current fingerprint of schema specification
+	 *
+	 * @return true, if stored fingerprint and stored catalog change marker matches current values, otherwise false
+	 *
+	 * @throws SQLException
+	 */
+	public static boolean isUnchanged(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schemaSpec, String fingerprint) throws SQLException
+	{
+		SchemaSpec bookkeepingSpec = createBookkeepingSchemaSpec(schemaSpec);
+		TableSpec bookkeepingTableSpec = bookkeepingSpec.getTable(TABLE_FINGERPRINT);
+		
+		if(! driver.tableExists(connection, bookkeepingSpec, bookkeepingTableSpec, new HashMap<String,Object>()))
+		{
+			return false;
+		}
+		
+		String catalogMarker = driver.getCatalogChangeMarker(connection, schemaSpec);
+		if(catalogMarker == null)
+		{
+			return false;
+		}
+		
+		PreparedStatement preparedStatement = connection.prepareStatement
+		(
+			"SELECT " + COLUMN_FINGERPRINT + ", " + COLUMN_CATALOG_MARKER + " FROM " + tableName(bookkeepingSpec) + " WHERE " + COLUMN_SCHEMA_DOMAIN + " = ? "
+		);
+		try
+		{
+			preparedStatement.setString(1, schemaSpec.getDomain());
+			ResultSet resultSet = preparedStatement.executeQuery();
+			try
+			{
+				if(! resultSet.next())
+				{
+					return false;
+				}
+				return fingerprint.equals(resultSet.getString(1)) && sha256(catalogMarker).equals(resultSet.getString(2));
+			}
+			finally
+			{
+				try
+				{
+					resultSet.close();
+				}
+				catch (Exception e) {}
+			}
+		}
+		finally
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * store fingerprint and current catalog change marker after successful schema check. Creates bookkeeping table, if not exists.
+	 * Nothing is stored, if driver does not support catalog change markers.
+	 *
+	 * @param schemaProcessor schema processor
+	 * @param connection used connection
+	 * @param driver used schema driver
+	 * @param schemaSpec schema specification
+	 * @param fingerprint current fingerprint of schema specification
+	 *
+	 * @throws SQLException
+	 */
+	public static void storeFingerprint(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schemaSpec, String fingerprint) throws SQLException
+	{
+		SchemaSpec bookkeepingSpec = createBookkeepingSchemaSpec(schemaSpec);
+		TableSpec bookkeepingTableSpec = bookkeepingSpec.getTable(TABLE_FINGERPRINT);
+		
+		// without catalog change marker stored fingerprint is never used
+		
+		String catalogMarker = driver.getCatalogChangeMarker(connection, schemaSpec);
+		if(catalogMarker == null)
+		{
+			return;
+		}
+		
+		if(! driver.tableExists(connection, bookkeepingSpec, bookkeepingTableSpec, new HashMap<String,Object>()))
+		{
+			if(! schemaProcessor.checkSchemaSpec(bookkeepingSpec, connection))
+			{
+				return;
+			}
+			
+			// marker after creating bookkeeping table
+			
+			catalogMarker = driver.getCatalogChangeMarker(connection, schemaSpec);
+			if(catalogMarker == null)
+			{
+				return;
+			}
+		}
+		
+		Timestamp checkTimestamp = new Timestamp(System.currentTimeMillis());
+		
+		PreparedStatement preparedStatement = connection.prepareStatement
+		(
+			"UPDATE " + tableName(bookkeepingSpec) + " SET " + COLUMN_FINGERPRINT + " = ?, " + COLUMN_CATALOG_MARKER + " = ?, " + COLUMN_CHECK_TIMESTAMP + " = ? WHERE " + COLUMN_SCHEMA_DOMAIN + " = ? "
+		);
+		try
+		{
+			preparedStatement.setString(1, fingerprint);
+			preparedStatement.setString(2, sha256(catalogMarker));
+			preparedStatement.setTimestamp(3, checkTimestamp);
+			preparedStatement.setString(4, schemaSpec.getDomain());
+			if(preparedStatement.executeUpdate() > 0)
+			{
+				return;
+			}
+		}
+		finally
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+		
+		preparedStatement = connection.prepareStatement
+		(
+			"INSERT INTO " + tableName(bookkeepingSpec) + " (" + COLUMN_SCHEMA_DOMAIN + ", " + COLUMN_FINGERPRINT + ", " + COLUMN_CATALOG_MARKER + ", " + COLUMN_CHECK_TIMESTAMP + ") VALUES (?, ?, ?, ?) "
+		);
+		try
+		{
+			preparedStatement.setString(1, schemaSpec.getDomain());
+			preparedStatement.setString(2, fingerprint);
+			preparedStatement.setString(3, sha256(catalogMarker));
+			preparedStatement.setTimestamp(4, checkTimestamp);
+			preparedStatement.executeUpdate();
+		}
+		finally
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * remove stored fingerprint of {@code schemaSpec} domain, so next check is not skipped
+	 *
+	 * @param connection used connection
+	 * @param driver used schema driver
+	 * @param schemaSpec schema specification
+	 *
+	 * @throws SQLException
+	 */
+	public static void removeFingerprint(Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schemaSpec) throws SQLException
+	{
+		SchemaSpec bookkeepingSpec = createBookkeepingSchemaSpec(schemaSpec);
+		TableSpec bookkeepingTableSpec = bookkeepingSpec.getTable(TABLE_FINGERPRINT);
+		
+		if(! driver.tableExists(connection, bookkeepingSpec, bookkeepingTableSpec, new HashMap<String,Object>()))
+		{
+			return;
+		}
+		
+		PreparedStatement preparedStatement = connection.prepareStatement
+		(
+			"DELETE FROM " + tableName(bookkeepingSpec) + " WHERE " + COLUMN_SCHEMA_DOMAIN + " = ? "
+		);
+		try
+		{
+			preparedStatement.setString(1, schemaSpec.getDomain());
+			preparedStatement.executeUpdate();
+		}
+		finally
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	/**
+	 * create specification of bookkeeping table in dbms schema of {@code schemaSpec}
+	 *
+	 * @param schemaSpec schema specification to check
+	 *
+	 * @return specification of bookkeeping schema
+	 */
+	public static SchemaSpec createBookkeepingSchemaSpec(SchemaSpec schemaSpec)
+	{
+		SchemaSpec bookkeepingSpec = new SchemaSpec(schemaSpec.getDomain() + ".fingerprint", schemaSpec.getDbmsSchemaName());
+		bookkeepingSpec.setTableSpaceData(schemaSpec.getTableSpaceData());
+		bookkeepingSpec.setTableSpaceIndex(schemaSpec.getTableSpaceIndex());
+		bookkeepingSpec.setLogUpdates(schemaSpec.getLogUpdates());
+		
+		TableSpec tableSpec = bookkeepingSpec.addTable(TABLE_FINGERPRINT);
+		tableSpec.addColumn(COLUMN_SCHEMA_DOMAIN, IColumnType.ColumnType.VARCHAR.toString(), false, 255).setPrimaryKey();
+		tableSpec.addColumn(COLUMN_FINGERPRINT, IColumnType.ColumnType.CHAR.toString(), false, 64);
+		tableSpec.addColumn(COLUMN_CATALOG_MARKER, IColumnType.ColumnType.CHAR.toString(), false, 64);
+		tableSpec.addColumn(COLUMN_CHECK_TIMESTAMP, IColumnType.ColumnType.TIMESTAMP.toString(), false);
+		
+		return bookkeepingSpec;
+	}
+	
+	private static String tableName(SchemaSpec bookkeepingSpec)
+	{
+		if((bookkeepingSpec.getDbmsSchemaName() == null) || bookkeepingSpec.getDbmsSchemaName().isEmpty())
+		{
+			return TABLE_FINGERPRINT;
+		}
+		return bookkeepingSpec.getDbmsSchemaName() + "." + TABLE_FINGERPRINT;
+	}
+	
+	private static void append(StringBuilder builder, String key, Object value)
+	{
+		String stringValue = value == null ? "" : value.toString();
+		builder.append(key);
+		builder.append(value == null ? "#" : "=");
+		builder.append(stringValue.length());
+		builder.append(':');
+		builder.append(stringValue);
+		builder.append(';');
+	}
+	
+	private static String sha256(String value)
+	{
+		try
+		{
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = messageDigest.digest(value.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hexBuilder = new StringBuilder(hash.length * 2);
+			for(byte b : hash)
+			{
+				hexBuilder.append(String.format("%02x", b & 0xff));
+			}
+			return hexBuilder.toString();
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
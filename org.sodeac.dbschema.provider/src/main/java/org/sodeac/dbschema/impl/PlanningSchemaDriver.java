@@ -0,0 +1,418 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.impl;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IndexSpec;
+import org.sodeac.dbschema.api.ObjectType;
+import org.sodeac.dbschema.api.SchemaChange;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+/**
+ * Schema driver for dry-run. Checks are delegated to underlying driver, ddl operations are recorded as {@link SchemaChange}.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class PlanningSchemaDriver implements IDatabaseSchemaDriver
+{
+	private IDatabaseSchemaDriver driver = null;
+	private List<SchemaChange> schemaChangeList = null;
+	private Set<TableSpec> createdTableSet = new HashSet<TableSpec>();
+	private Set<TableSpec> createdColumnTableSet = new HashSet<TableSpec>();
+	
+	public PlanningSchemaDriver(IDatabaseSchemaDriver driver, List<SchemaChange> schemaChangeList)
+	{
+		super();
+		this.driver = driver;
+		this.schemaChangeList = schemaChangeList;
+	}
+	
+	/**
+	 * Getter for underlying driver
+	 *
+	 * @return underlying driver
+	 */
+	public IDatabaseSchemaDriver getDriver()
+	{
+		return driver;
+	}
+	
+	protected synchronized SchemaChange record(SchemaChange.Operation operation, ObjectType objectType, String dbmsSchemaName, String tableName, String objectName)
+	{
+		SchemaChange schemaChange = new SchemaChange()
+			.setSequence(schemaChangeList.size() + 1)
+			.setOperation(operation)
+			.setObjectType(objectType)
+			.setDbmsSchemaName(dbmsSchemaName)
+			.setTableName(tableName)
+			.setObjectName(objectName);
+		schemaChangeList.add(schemaChange);
+		return schemaChange;
+	}
+	
+	protected String dbmsSchemaName(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec) throws SQLException
+	{
+		if((tableSpec != null) && (tableSpec.getDbmsSchemaName() != null) && (! tableSpec.getDbmsSchemaName().isEmpty()))
+		{
+			return tableSpec.getDbmsSchemaName();
+		}
+		if((schemaSpec.getDbmsSchemaName() != null) && (! schemaSpec.getDbmsSchemaName().isEmpty()))
+		{
+			return schemaSpec.getDbmsSchemaName();
+		}
+		return connection.getSchema();
+	}
+	
+	@Override
+	public int handle(Connection connection) throws SQLException
+	{
+		return driver.handle(connection);
+	}
+	
+	@Override
+	public String getType(Connection connection) throws SQLException
+	{
+		return driver.getType(connection);
+	}
+	
+	@Override
+	public void setColumnDriverList(List<IColumnType> columnDriverList)
+	{
+		driver.setColumnDriverList(columnDriverList);
+	}
+	
+	@Override
+	public void prepareSchemaCheck(Connection connection, SchemaSpec schemaSpec, Map<String, Object> schemaProperties) throws SQLException
+	{
+		driver.prepareSchemaCheck(connection, schemaSpec, schemaProperties);
+	}
+	
+	@Override
+	public void createSchema(Connection connection, String schemaName, Map<String, Object> properties) throws SQLException
+	{
+		record(SchemaChange.Operation.CREATE, ObjectType.SCHEMA, schemaName, null, null);
+	}
+	
+	@Override
+	public boolean schemaExists(Connection connection, String schemaName) throws SQLException
+	{
+		return driver.schemaExists(connection, schemaName);
+	}
+	
+	@Override
+	public void dropSchema(Connection connection, String schemaName, Map<String, Object> properties) throws SQLException
+	{
+		record(SchemaChange.Operation.DROP, ObjectType.SCHEMA, schemaName, null, null);
+	}
+	
+	@Override
+	public boolean tableExists(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, Map<String, Object> tableProperties) throws SQLException
+	{
+		return driver.tableExists(connection, schemaSpec, tableSpec, tableProperties);
+	}
+	
+	@Override
+	public void createTable(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, Map<String, Object> tableProperties) throws SQLException
+	{
+		record(SchemaChange.Operation.CREATE, ObjectType.TABLE, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), null);
+		synchronized(createdTableSet)
+		{
+			createdTableSet.add(tableSpec);
+		}
+	}
+	
+	@Override
+	public boolean primaryKeyExists(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, Map<String, Object> tableProperties) throws SQLException
+	{
+		return driver.primaryKeyExists(connection, schemaSpec, tableSpec, tableProperties);
+	}
+	
+	@Override
+	public void setPrimaryKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, Map<String, Object> tableProperties) throws SQLException
+	{
+		String constraintName = null;
+		for(ColumnSpec columnSpec : tableSpec.getColumnList())
+		{
+			if(columnSpec.getPrimaryKey() != null)
+			{
+				constraintName = columnSpec.getPrimaryKey().getConstraintName();
+				break;
+			}
+		}
+		record(SchemaChange.Operation.UPDATE, ObjectType.TABLE_PRIMARY_KEY, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), constraintName);
+	}
+	
+	@Override
+	public boolean columnExists(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		return driver.columnExists(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
+	}
+	
+	@Override
+	public String determineColumnType(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		return driver.determineColumnType(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
+	}
+	
+	@Override
+	public void createColumn(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		record(SchemaChange.Operation.CREATE, ObjectType.COLUMN, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), columnSpec.getName())
+			.addDetail(columnSpec.getColumntype());
+		synchronized(createdTableSet)
+		{
+			createdColumnTableSet.add(tableSpec);
+		}
+	}
+	
+	@Override
+	public void dropColumn(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, String columnName, boolean quoted) throws SQLException
+	{
+		record(SchemaChange.Operation.DROP, ObjectType.COLUMN, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), columnName);
+	}
+	
+	@Override
+	public boolean isValidColumnProperties(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		return driver.isValidColumnProperties(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
+	}
+	
+	@Override
+	public void setValidColumnProperties(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		SchemaChange schemaChange = record(SchemaChange.Operation.UPDATE, ObjectType.COLUMN, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), columnSpec.getName());
+		for(Entry<String, Object> entry : columnProperties.entrySet())
+		{
+			if(entry.getKey().startsWith("INVALID_") && Boolean.TRUE.equals(entry.getValue()))
+			{
+				schemaChange.addDetail(entry.getKey());
+			}
+		}
+	}
+	
+	@Override
+	public boolean isValidForeignKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		return driver.isValidForeignKey(connection, schemaSpec, tableSpec, columnSpec, columnProperties);
+	}
+	
+	@Override
+	public void setValidForeignKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		record
+		(
+			columnSpec.getForeignKey() == null ? SchemaChange.Operation.DROP : SchemaChange.Operation.UPDATE, ObjectType.COLUMN_FOREIGN_KEY,
+			dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(),
+			columnSpec.getForeignKey() == null ? columnSpec.getName() : columnSpec.getForeignKey().getConstraintName()
+		);
+	}
+	
+	@Override
+	public void validateForeignKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, ColumnSpec columnSpec, Map<String, Object> columnProperties) throws SQLException
+	{
+		if((columnSpec.getForeignKey() == null) || (! columnSpec.getForeignKey().getDeferredValidation()))
+		{
+			return;
+		}
+		record(SchemaChange.Operation.UPDATE, ObjectType.COLUMN_FOREIGN_KEY_VALIDATION, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), columnSpec.getForeignKey().getConstraintName());
+	}
+	
+	@Override
+	public void dropForeignKey(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, String keyName, boolean quoted) throws SQLException
+	{
+		record(SchemaChange.Operation.DROP, ObjectType.COLUMN_FOREIGN_KEY, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), keyName);
+	}
+	
+	@Override
+	public boolean isValidIndex(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> indexProperties) throws SQLException
+	{
+		return driver.isValidIndex(connection, schemaSpec, tableSpec, indexSpec, indexProperties);
+	}
+	
+	@Override
+	public void setValidIndex(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, IndexSpec indexSpec, Map<String, Object> indexProperties) throws SQLException
+	{
+		record(SchemaChange.Operation.UPDATE, ObjectType.TABLE_INDEX, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), indexSpec.getIndexName());
+	}
+	
+	@Override
+	public void dropIndex(Connection connection, SchemaSpec schemaSpec, TableSpec tableSpec, String indexName, boolean quoted) throws SQLException
+	{
+		record(SchemaChange.Operation.DROP, ObjectType.TABLE_INDEX, dbmsSchemaName(connection, schemaSpec, tableSpec), tableSpec.getName(), indexName);
+	}
+	
+	@Override
+	public void dropDummyColumns(Connection connection, SchemaSpec schemaSpec) throws SQLException
+	{
+		if(! driver.tableRequiresColumn())
+		{
+			return;
+		}
+		
+		// new tables are created with dummy column, which is dropped after creating first column
+		
+		synchronized(createdTableSet)
+		{
+			for(TableSpec tableSpec : schemaSpec.getListTableSpec())
+			{
+				if(createdTableSet.contains(tableSpec) && createdColumnTableSet.contains(tableSpec))
+				{
+					dropColumn(connection, schemaSpec, tableSpec, IDatabaseSchemaDriver.REQUIRED_DEFAULT_COLUMN, false);
+				}
+			}
+		}
+	}
+	
+	@Override
+	public void dropDummyColumns(Connection connection, SchemaSpec schemaSpec, Map<String, Object> schemaProperties) throws SQLException
+	{
+		dropDummyColumns(connection, schemaSpec);
+	}
+	
+	@Override
+	public String getCatalogChangeMarker(Connection connection, SchemaSpec schemaSpec) throws SQLException
+	{
+		return driver.getCatalogChangeMarker(connection, schemaSpec);
+	}
+	
+	@Override
+	public int getMaxObjectNameLength(Connection connection) throws SQLException
+	{
+		return driver.getMaxObjectNameLength(connection);
+	}
+	
+	@Override
+	public String getFunctionExpression(String function)
+	{
+		return driver.getFunctionExpression(function);
+	}
+	
+	@Override
+	public boolean tableRequiresColumn()
+	{
+		return driver.tableRequiresColumn();
+	}
+	
+	@Override
+	public String catalogSearchPattern(SchemaSpec schemaSpec, Connection connection, String catalog)
+	{
+		return driver.catalogSearchPattern(schemaSpec, connection, catalog);
+	}
+	
+	@Override
+	public String schemaSearchPattern(SchemaSpec schemaSpec, Connection connection, String schema)
+	{
+		return driver.schemaSearchPattern(schemaSpec, connection, schema);
+	}
+	
+	@Override
+	public String objectSearchPattern(SchemaSpec schemaSpec, Connection connection, String name, boolean quoted, String type)
+	{
+		return driver.objectSearchPattern(schemaSpec, connection, name, quoted, type);
+	}
+	
+	@Override
+	public String objectNameGuidelineFormat(SchemaSpec schemaSpec, Connection connection, String name, String type)
+	{
+		return driver.objectNameGuidelineFormat(schemaSpec, connection, name, type);
+	}
+	
+	@Override
+	public char quotedChar()
+	{
+		return driver.quotedChar();
+	}
+	
+	@Override
+	public Blob createBlob(Connection connection) throws SQLException
+	{
+		throw new SQLException("blobs are not supported in dry-run");
+	}
+	
+	@Override
+	public Blob getBlob(Connection connection, ResultSet resultSet, int columnIndex) throws SQLException
+	{
+		return driver.getBlob(connection, resultSet, columnIndex);
+	}
+	
+	@Override
+	public Blob getBlob(Connection connection, ResultSet resultSet, String columnLabel) throws SQLException
+	{
+		return driver.getBlob(connection, resultSet, columnLabel);
+	}
+	
+	@Override
+	public void setBlob(Connection connection, PreparedStatement preparedStatement, Blob blob, int parameterIndex) throws SQLException
+	{
+		throw new SQLException("blobs are not supported in dry-run");
+	}
+	
+	@Override
+	public boolean requireCleanBlob(Connection connection)
+	{
+		return driver.requireCleanBlob(connection);
+	}
+	
+	@Override
+	public void cleanBlob(Connection connection, Blob blob) throws SQLException
+	{
+		throw new SQLException("blobs are not supported in dry-run");
+	}
+	
+	@Override
+	public long cleanOrphanBlobs(Connection connection) throws SQLException
+	{
+		throw new SQLException("blobs are not supported in dry-run");
+	}
+	
+	@Override
+	public long writeBlob(Connection connection, Blob blob, long pos, InputStream inputStream, int chunkSize) throws SQLException
+	{
+		throw new SQLException("blobs are not supported in dry-run");
+	}
+	
+	@Override
+	public long writeBlob(Connection connection, Blob blob, long pos, ReadableByteChannel channel, int chunkSize) throws SQLException
+	{
+		throw new SQLException("blobs are not supported in dry-run");
+	}
+	
+	@Override
+	public long readBlob(Connection connection, Blob blob, long pos, OutputStream outputStream, int chunkSize) throws SQLException
+	{
+		return driver.readBlob(connection, blob, pos, outputStream, chunkSize);
+	}
+	
+	@Override
+	public long readBlob(Connection connection, Blob blob, long pos, WritableByteChannel channel, int chunkSize) throws SQLException
+	{
+		return driver.readBlob(connection, blob, pos, channel, chunkSize);
+	}
+}
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.sodeac.dbschema.api.IColumnType;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+/**
+ * Serializes schema checks of one domain across multiple nodes. Uses dbms locks of driver, if supported, otherwise a lock table.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class SchemaLockProcessor
+{
+	/**
+	 * name of lock table
+	 */
+	public static final String TABLE_LOCK 				= "SODEAC_SCHEMA_LOCK"	;
+	
+	public static final String COLUMN_SCHEMA_DOMAIN 	= "SCHEMA_DOMAIN"		;
+	public static final String COLUMN_LOCK_OWNER 		= "LOCK_OWNER"			;
+	public static final String COLUMN_LOCK_TIMESTAMP 	= "LOCK_TIMESTAMP"		;
+	
+	/**
+	 * entries of lock table older than expiration (compared with database time) are left by crashed nodes and removed
+	 */
+	public static final long LOCK_EXPIRATION 			= 60L * 60L * 1000L		;
+	public static final long LOCK_POLL_INTERVAL 		= 500L					;
+	
+	/**
+	 * running checks refresh timestamp of lock table entry after refresh interval
+	 */
+	public static final long LOCK_REFRESH_INTERVAL 		= 60L * 1000L			;
+	
+	private static final String PROPERTY_DRIVER_LOCK 	= "SCHEMA_LOCK_DRIVER"	;
+	private static final String PROPERTY_LOCK_OWNER 	= "SCHEMA_LOCK_OWNER"	;
+	private static final String PROPERTY_LOCK_REFRESH 	= "SCHEMA_LOCK_REFRESH"	;
+	
+	/**
+	 * acquire exclusive lock for checks of {@code schemaSpec} domain. Blocks until lock is granted.
+	 *
+	 * @param schemaProcessor schema processor
+	 * @param connection main connection of schema check
+	 * @param driver used schema driver
+	 * @param schemaSpec schema specification
+	 * @param lockProperties properties to store working parameter for release
+	 *
+	 * @throws SQLException
+	 */
+	public static void acquire(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schemaSpec, Map<String,Object> lockProperties) throws SQLException
+	{
+		if(driver.acquireSchemaLock(connection, schemaSpec, lockProperties))
+		{
+			lockProperties.put(PROPERTY_DRIVER_LOCK, true);
+			return;
+		}
+		
+		SchemaSpec lockSpec = createLockSchemaSpec(schemaSpec);
+		TableSpec lockTableSpec = lockSpec.getTable(TABLE_LOCK);
+		
+		if(! driver.tableExists(connection, lockSpec, lockTableSpec, new HashMap<String,Object>()))
+		{
+			// concurrent nodes may fail to create lock table, the insert below decides
+			
+			schemaProcessor.checkSchemaSpec(lockSpec, connection);
+			commit(connection);
+		}
+		
+		String owner = UUID.randomUUID().toString();
+		while(true)
+		{
+			// expiration is computed with database time, clocks of nodes may differ
+			
+			Timestamp databaseTime = queryDatabaseTime(connection, lockSpec, schemaSpec.getDomain());
+			if(databaseTime != null)
+			{
+				executeUpdate
+				(
+					connection, "DELETE FROM " + tableName(lockSpec) + " WHERE " + COLUMN_SCHEMA_DOMAIN + " = ? AND " + COLUMN_LOCK_TIMESTAMP + " < ? ",
+					schemaSpec.getDomain(), new Timestamp(databaseTime.getTime() - LOCK_EXPIRATION)
+				);
+			}
+			
+			try
+			{
+				executeUpdate
+				(
+					connection, "INSERT INTO " + tableName(lockSpec) + " (" + COLUMN_SCHEMA_DOMAIN + ", " + COLUMN_LOCK_OWNER + ", " + COLUMN_LOCK_TIMESTAMP + ") VALUES (?, ?, CURRENT_TIMESTAMP) ",
+					schemaSpec.getDomain(), owner
+				);
+				commit(connection);
+				lockProperties.put(PROPERTY_LOCK_OWNER, owner);
+				lockProperties.put(PROPERTY_LOCK_REFRESH, System.nanoTime());
+				return;
+			}
+			catch(SQLException e)
+			{
+				// integrity constraint violation: lock is held by another node
+				
+				if((e.getSQLState() == null) || (! e.getSQLState().startsWith("23")))
+				{
+					throw e;
+				}
+			}
+			
+			try
+			{
+				Thread.sleep(LOCK_POLL_INTERVAL);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new SQLException("interrupted while waiting for schema lock " + schemaSpec.getDomain(), e);
+			}
+		}
+	}
+	
+	/**
+	 * refresh timestamp of lock table entry, if refresh interval is elapsed. Locks of driver are held by dbms session and need no refresh.
+	 * Uncommitted changes of {@code connection} are committed with refresh.
+	 *
+	 * @param schemaProcessor schema processor
+	 * @param connection main connection of schema check
+	 * @param schemaSpec schema specification
+	 * @param lockProperties working parameter of acquire or null
+	 *
+	 * @throws SQLException lock entry is removed by another node
+	 */
+	public static void refresh(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, SchemaSpec schemaSpec, Map<String,Object> lockProperties) throws SQLException
+	{
+		if(lockProperties == null)
+		{
+			return;
+		}
+		
+		String owner = (String)lockProperties.get(PROPERTY_LOCK_OWNER);
+		if(owner == null)
+		{
+			return;
+		}
+		
+		Long lastRefresh = (Long)lockProperties.get(PROPERTY_LOCK_REFRESH);
+		long now = System.nanoTime();
+		if((lastRefresh != null) && ((now - lastRefresh.longValue()) < (LOCK_REFRESH_INTERVAL * 1000000L)))
+		{
+			return;
+		}
+		
+		SchemaSpec lockSpec = createLockSchemaSpec(schemaSpec);
+		int count = executeUpdate
+		(
+			connection, "UPDATE " + tableName(lockSpec) + " SET " + COLUMN_LOCK_TIMESTAMP + " = CURRENT_TIMESTAMP WHERE " + COLUMN_SCHEMA_DOMAIN + " = ? AND " + COLUMN_LOCK_OWNER + " = ? ",
+			schemaSpec.getDomain(), owner
+		);
+		commit(connection);
+		lockProperties.put(PROPERTY_LOCK_REFRESH, now);
+		
+		if(count == 0)
+		{
+			throw new SQLException("schema lock " + schemaSpec.getDomain() + " is expired and removed by another node");
+		}
+	}
+	
+	/**
+	 * release lock acquired by {@link SchemaLockProcessor#acquire(DatabaseSchemaProcessorImpl, Connection, IDatabaseSchemaDriver, SchemaSpec, Map)}
+	 *
+	 * @param schemaProcessor schema processor
+	 * @param connection main connection of schema check
+	 * @param driver used schema driver
+	 * @param schemaSpec schema specification
+	 * @param lockProperties working parameter of acquire
+	 *
+	 * @throws SQLException
+	 */
+	public static void release(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schemaSpec, Map<String,Object> lockProperties) throws SQLException
+	{
+		if(Boolean.TRUE.equals(lockProperties.get(PROPERTY_DRIVER_LOCK)))
+		{
+			driver.releaseSchemaLock(connection, schemaSpec, lockProperties);
+			return;
+		}
+		
+		String owner = (String)lockProperties.get(PROPERTY_LOCK_OWNER);
+		if(owner == null)
+		{
+			return;
+		}
+		
+		SchemaSpec lockSpec = createLockSchemaSpec(schemaSpec);
+		executeUpdate
+		(
+			connection, "DELETE FROM " + tableName(lockSpec) + " WHERE " + COLUMN_SCHEMA_DOMAIN + " = ? AND " + COLUMN_LOCK_OWNER + " = ? ",
+			schemaSpec.getDomain(), owner
+		);
+		commit(connection);
+	}
+	
+	/**
+	 * create specification of lock table in dbms schema of {@code schemaSpec}
+	 *
+	 * @param schemaSpec schema specification to check
+	 *
+	 * @return specification of lock schema
+	 */
+	public static SchemaSpec createLockSchemaSpec(SchemaSpec schemaSpec)
+	{
+		SchemaSpec lockSpec = new SchemaSpec(schemaSpec.getDomain() + ".lock", schemaSpec.getDbmsSchemaName());
+		lockSpec.setTableSpaceData(schemaSpec.getTableSpaceData());
+		lockSpec.setTableSpaceIndex(schemaSpec.getTableSpaceIndex());
+		lockSpec.setLogUpdates(schemaSpec.getLogUpdates());
+		
+		TableSpec tableSpec = lockSpec.addTable(TABLE_LOCK);
+		tableSpec.addColumn(COLUMN_SCHEMA_DOMAIN, IColumnType.ColumnType.VARCHAR.toString(), false, 255).setPrimaryKey();
+		tableSpec.addColumn(COLUMN_LOCK_OWNER, IColumnType.ColumnType.CHAR.toString(), false, 36);
+		tableSpec.addColumn(COLUMN_LOCK_TIMESTAMP, IColumnType.ColumnType.TIMESTAMP.toString(), false);
+		
+		return lockSpec;
+	}
+	
+	private static String tableName(SchemaSpec lockSpec)
+	{
+		if((lockSpec.getDbmsSchemaName() == null) || lockSpec.getDbmsSchemaName().isEmpty())
+		{
+			return TABLE_LOCK;
+		}
+		return lockSpec.getDbmsSchemaName() + "." + TABLE_LOCK;
+	}
+	
+	private static Timestamp queryDatabaseTime(Connection connection, SchemaSpec lockSpec, String domain) throws SQLException
+	{
+		// lock table is used as dual table, without entry of domain nothing has to be removed
+		
+		PreparedStatement preparedStatement = connection.prepareStatement("SELECT CURRENT_TIMESTAMP FROM " + tableName(lockSpec) + " WHERE " + COLUMN_SCHEMA_DOMAIN + " = ? ");
+		try
+		{
+			preparedStatement.setString(1, domain);
+			ResultSet resultSet = preparedStatement.executeQuery();
+			try
+			{
+				return resultSet.next() ? resultSet.getTimestamp(1) : null;
+			}
+			finally
+			{
+				try
+				{
+					resultSet.close();
+				}
+				catch (Exception e) {}
+			}
+		}
+		finally
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private static int executeUpdate(Connection connection, String sql, Object... parameters) throws SQLException
+	{
+		PreparedStatement preparedStatement = connection.prepareStatement(sql);
+		try
+		{
+			for(int i = 0; i < parameters.length; i++)
+			{
+				preparedStatement.setObject(i + 1, parameters[i]);
+			}
+			return preparedStatement.executeUpdate();
+		}
+		finally
+		{
+			try
+			{
+				preparedStatement.close();
+			}
+			catch (Exception e) {}
+		}
+	}
+	
+	private static void commit(Connection connection) throws SQLException
+	{
+		if(! connection.getAutoCommit())
+		{
+			connection.commit();
+		}
+	}
+}
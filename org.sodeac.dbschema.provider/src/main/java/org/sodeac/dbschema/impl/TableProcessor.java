@@ -13,16 +13,17 @@ package org.sodeac.dbschema.impl;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
-import java.util.Dictionary;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.osgi.service.log.LogService;
 import org.sodeac.dbschema.api.ActionType;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.ForeignKeySpec;
 import org.sodeac.dbschema.api.IndexSpec;
 import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
-import org.sodeac.dbschema.api.IDatabaseSchemaUpdateListener;
 import org.sodeac.dbschema.api.ObjectType;
 import org.sodeac.dbschema.api.PhaseType;
 import org.sodeac.dbschema.api.SchemaSpec;
@@ -34,77 +35,38 @@ public class TableProcessor
 	{
 		TableTracker tableTracker = new TableTracker();
 		tableTracker.setTableSpec(table);
+		UpdateEventContext eventContext = UpdateEventContext.forTable(schemaProcessor, connection, driver, schema, table, databaseID, checkProperties);
 		try
 		{
-			if(table.getUpdateListenerList() != null)
+			if((eventContext != null) && (! eventContext.fire(ActionType.CHECK, ObjectType.TABLE, PhaseType.PRE, null, "Table.Check.Pre")))
 			{
-				Dictionary<ObjectType, Object> objects = new Hashtable<>();
-				objects.put(ObjectType.SCHEMA, schema);
-				objects.put(ObjectType.TABLE, table);
-				for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-				{
-					try
-					{
-						updateListener.onAction(ActionType.CHECK, ObjectType.TABLE, PhaseType.PRE, connection, databaseID, objects, driver, null);
-					}
-					catch(SQLException e)
-					{
-						schemaProcessor.logSQLException(e);
-					}
-					catch (Exception e) 
-					{
-						schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Error on UpdateListener.Table.Check.Pre ", checkProperties);
-					}
-					
-					if(checkProperties.isInterrupted())
-					{
-						return tableTracker;
-					}
-				}
+				return tableTracker;
 			}
 			
-			Map<String,Object> tableProperties = new HashMap<String, Object>(); 
+			Map<String,Object> tableProperties = new HashMap<String, Object>(checkProperties.getSchemaProperties()); 
 			tableTracker.setTableProperties(tableProperties);
+			long callStart = System.nanoTime();
 			tableTracker.setExits(driver.tableExists(connection, schema, table, tableProperties));
+			checkProperties.addDriverCall("tableExists", callStart, false);
 			if(! tableTracker.isExits())
 			{
-				if((schemaProcessor.logService != null) && schema.getLogUpdates())
+				if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 				{
 					schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO, "{(type=updatedbmodel)(action=createtable)(database=" + databaseID + ")(object=" + table.getName() + ")} create table " + table.getName());
 				}
 					
-				if(table.getUpdateListenerList() != null)
+				if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.TABLE, PhaseType.PRE, null, "Table.Insert.Pre")))
 				{
-					Dictionary<ObjectType, Object> objects = new Hashtable<>();
-					objects.put(ObjectType.SCHEMA, schema);
-					objects.put(ObjectType.TABLE, table);
-					for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-					{
-						try
-						{
-							updateListener.onAction(ActionType.UPDATE, ObjectType.TABLE, PhaseType.PRE, connection, databaseID, objects, driver, null);
-						}
-						catch(SQLException e)
-						{
-							schemaProcessor.logSQLException(e);
-						}
-						catch (Exception e) 
-						{
-							schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Error on UpdateListener.Table.Insert.Pre ", checkProperties);
-						}
-						
-						if(checkProperties.isInterrupted())
-						{
-							return tableTracker;
-						}
-					}
+					return tableTracker;
 				}
 				
 				Exception exc= null;
 				
 				try
 				{
+					callStart = System.nanoTime();
 					driver.createTable(connection, schema, table, tableProperties);
+					checkProperties.addDriverCall("createTable", callStart, true);
 					
 					tableTracker.setCreated(true);
 					tableTracker.setExits(true);
@@ -125,31 +87,9 @@ public class TableProcessor
 					return tableTracker;
 				}
 					
-				if(table.getUpdateListenerList() != null)
+				if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.TABLE, PhaseType.POST, exc, "Table.Insert.Post")))
 				{
-					Dictionary<ObjectType, Object> objects = new Hashtable<>();
-					objects.put(ObjectType.SCHEMA, schema);
-					objects.put(ObjectType.TABLE, table);
-					for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-					{
-						try
-						{
-							updateListener.onAction(ActionType.UPDATE, ObjectType.TABLE, PhaseType.POST, connection, databaseID, objects, driver, exc);
-						}
-						catch(SQLException e)
-						{
-							schemaProcessor.logSQLException(e);
-						}
-						catch (Exception e) 
-						{
-							schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Error on UpdateListener.Table.Insert.Post ", checkProperties);
-						}
-						
-						if(checkProperties.isInterrupted())
-						{
-							return tableTracker;
-						}
-					}
+					return tableTracker;
 				}
 			}
 		}
@@ -167,31 +107,9 @@ public class TableProcessor
 			return tableTracker;
 		}
 		
-		if(table.getUpdateListenerList() != null)
+		if((eventContext != null) && (! eventContext.fire(ActionType.CHECK, ObjectType.TABLE, PhaseType.POST, null, "Table.Check.Post")))
 		{
-			Dictionary<ObjectType, Object> objects = new Hashtable<>();
-			objects.put(ObjectType.SCHEMA, schema);
-			objects.put(ObjectType.TABLE, table);
-			for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-			{
-				try
-				{
-					updateListener.onAction(ActionType.CHECK, ObjectType.TABLE, PhaseType.POST, connection, databaseID, objects, driver, null);
-				}
-				catch(SQLException e)
-				{
-					schemaProcessor.logSQLException(e);
-				}
-				catch (Exception e) 
-				{
-					schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Error on UpdateListener.Table.Check.Post",checkProperties);
-				}
-				
-				if(checkProperties.isInterrupted())
-				{
-					return tableTracker;
-				}
-			}
+			return tableTracker;
 		}
 			
 		try
@@ -225,46 +143,30 @@ public class TableProcessor
 		
 		try
 		{
+			long callStart = System.nanoTime();
 			boolean pkExists = driver.primaryKeyExists(connection, schema, table, tableTracker.getTableProperties());
+			checkProperties.addDriverCall("primaryKeyExists", callStart, false);
 			if(! pkExists)
 			{
-				if((schemaProcessor.logService != null) && schema.getLogUpdates())
+				UpdateEventContext eventContext = UpdateEventContext.forTable(schemaProcessor, connection, driver, schema, table, databaseID, checkProperties);
+				
+				if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 				{
 					schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO,  "{(type=updatedbmodel)(action=createprimarykey)(database=" + databaseID + ")(object=" + table.getName() + ")} create primarykey " + table.getName() );
 				}
 					
-				if(table.getUpdateListenerList() != null)
+				if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.TABLE_PRIMARY_KEY, PhaseType.PRE, null, "PrimaryKey.Pre")))
 				{
-					Dictionary<ObjectType, Object> objects = new Hashtable<>();
-					objects.put(ObjectType.SCHEMA, schema);
-					objects.put(ObjectType.TABLE, table);
-					for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-					{
-						try
-						{
-							updateListener.onAction(ActionType.UPDATE, ObjectType.TABLE_PRIMARY_KEY, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-						}
-						catch(SQLException e)
-						{
-							schemaProcessor.logSQLException(e);
-						}
-						catch (Exception e) 
-						{
-							schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Error on UpdateListener.PrimaryKey.Pre ",  checkProperties);
-						}
-						
-						if(checkProperties.isInterrupted())
-						{
-							return;
-						}
-					}
+					return;
 				}
 				
 				Exception exc= null;
 				
 				try
 				{
+					callStart = System.nanoTime();
 					driver.setPrimaryKey(connection, schema, table, tableTracker.getTableProperties());
+					checkProperties.addDriverCall("setPrimaryKey", callStart, true);
 				}
 				catch(SQLException e)
 				{
@@ -282,31 +184,9 @@ public class TableProcessor
 					return;
 				}
 						
-				if(table.getUpdateListenerList() != null)
+				if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.TABLE_PRIMARY_KEY, PhaseType.POST, exc, "PrimaryKey.Post")))
 				{
-					Dictionary<ObjectType, Object> objects = new Hashtable<>();
-					objects.put(ObjectType.SCHEMA, schema);
-					objects.put(ObjectType.TABLE, table);
-					for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-					{
-						try
-						{
-							updateListener.onAction(ActionType.UPDATE, ObjectType.TABLE_PRIMARY_KEY, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-						}
-						catch(SQLException e)
-						{
-							schemaProcessor.logSQLException(e);
-						}
-						catch (Exception e) 
-						{
-							schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Error on UpdateListener.PrimaryKey.Post ",  checkProperties);
-						}
-						
-						if(checkProperties.isInterrupted())
-						{
-							return;
-						}
-					}
+					return;
 				}
 			}
 		}
@@ -344,6 +224,83 @@ public class TableProcessor
 		}
 	}
 	
+	/**
+	 * create index specifications for foreign key columns with enabled auto index, if column is not covered by primary key or specified index
+	 * 
+	 * @param schema schema specification
+	 * @param table table specification
+	 * @param maxNameLength maximum length of index names or 0, if length is not limited
+	 * @return list of index specifications
+	 */
+	public static List<IndexSpec> foreignKeyIndexList(SchemaSpec schema, TableSpec table, int maxNameLength)
+	{
+		List<IndexSpec> indexList = new ArrayList<IndexSpec>();
+		if(table.getColumnList() == null)
+		{
+			return indexList;
+		}
+		
+		for(ColumnSpec column : table.getColumnList())
+		{
+			ForeignKeySpec foreignKeySpec = column.getForeignKey();
+			if((foreignKeySpec == null) || (foreignKeySpec.getConstraintName() == null) || foreignKeySpec.getConstraintName().isEmpty())
+			{
+				continue;
+			}
+			
+			boolean autoIndex = foreignKeySpec.getAutoIndex() == null ? schema.getForeignKeyAutoIndex() : foreignKeySpec.getAutoIndex().booleanValue();
+			if((! autoIndex) || (column.getPrimaryKey() != null))
+			{
+				continue;
+			}
+			
+			boolean covered = false;
+			if(table.getColumnIndexList() != null)
+			{
+				for(IndexSpec indexSpec : table.getColumnIndexList())
+				{
+					if((indexSpec.getColumns() != null) && (! indexSpec.getColumns().isEmpty()) && indexSpec.getColumns().get(0).getName().equalsIgnoreCase(column.getName()))
+					{
+						covered = true;
+						break;
+					}
+				}
+			}
+			if(covered)
+			{
+				continue;
+			}
+			
+			// existing indices of dbms, which start with foreign key column, are detected by driver 
+			
+			indexList.add
+			(
+				new IndexSpec(table, foreignKeyIndexName(foreignKeySpec.getConstraintName(), maxNameLength), column)
+					.setQuotedName(foreignKeySpec.getQuotedKeyName())
+					.setCoverable(true)
+			);
+		}
+		return indexList;
+	}
+	
+	/**
+	 * create name of index for foreign key column. Names exceeding {@code maxNameLength} are shortened and get a hash of constraint name as suffix.
+	 * 
+	 * @param constraintName name of foreign key
+	 * @param maxNameLength maximum length of index names or 0, if length is not limited
+	 * @return name of index
+	 */
+	public static String foreignKeyIndexName(String constraintName, int maxNameLength)
+	{
+		String indexName = "IX_" + constraintName;
+		if((maxNameLength < 1) || (indexName.length() <= maxNameLength))
+		{
+			return indexName;
+		}
+		String hash = String.format("%08X", constraintName.hashCode());
+		return indexName.substring(0, Math.max(0, maxNameLength - hash.length() - 1)) + "_" + hash;
+	}
+	
 	public static void createTableIndices(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, TableTracker tableTracker, String databaseID, CheckProperties checkProperties)
 	{
 		if(! tableTracker.isExits())
@@ -353,55 +310,44 @@ public class TableProcessor
 		
 		try
 		{
+			List<IndexSpec> indexList = new ArrayList<IndexSpec>();
 			if(table.getColumnIndexList() != null)
 			{
-				for(IndexSpec indexSpec : table.getColumnIndexList())
+				indexList.addAll(table.getColumnIndexList());
+			}
+			indexList.addAll(foreignKeyIndexList(schema, table, driver.getMaxObjectNameLength(connection)));
+			
+			if(! indexList.isEmpty())
+			{
+				for(IndexSpec indexSpec : indexList)
 				{
 					try
 					{
-						Map<String,Object> columnIndexProperties = new HashMap<String,Object>();
+						Map<String,Object> columnIndexProperties = new HashMap<String,Object>(checkProperties.getSchemaProperties());
+						long callStart = System.nanoTime();
 						boolean indexExists = driver.isValidIndex(connection, schema, table, indexSpec, columnIndexProperties);
+						checkProperties.addDriverCall("isValidIndex", callStart, false);
 						
 						if(! indexExists)
 						{
+							UpdateEventContext eventContext = UpdateEventContext.forIndex(schemaProcessor, connection, driver, schema, table, indexSpec, databaseID, checkProperties);
 							
-							if((schemaProcessor.logService != null) && schema.getLogUpdates())
+							if((schemaProcessor.logService != null) && schema.getLogUpdates() && (! checkProperties.isPlanOnly()))
 							{
 								schemaProcessor.logService.log(schemaProcessor.context == null ? null : schemaProcessor.context.getServiceReference(), LogService.LOG_INFO,  "{(type=updatedbmodel)(action=createindex)(database=" + databaseID + ")(object=" + table.getName() + ")} create index " + indexSpec.getIndexName() );
 							}
 							
-							if(table.getUpdateListenerList() != null)
+							if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.TABLE_INDEX, PhaseType.PRE, null, "Index.Pre")))
 							{
-								Dictionary<ObjectType, Object> objects = new Hashtable<>();
-								objects.put(ObjectType.SCHEMA, schema);
-								objects.put(ObjectType.TABLE, table);
-								objects.put(ObjectType.TABLE_INDEX, indexSpec);
-								for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-								{
-									try
-									{
-										updateListener.onAction(ActionType.UPDATE, ObjectType.TABLE_INDEX, PhaseType.PRE, connection, databaseID, objects, driver,  null);
-									}
-									catch(SQLException e)
-									{
-										schemaProcessor.logSQLException(e);
-									}
-									catch (Exception e) 
-									{
-										schemaProcessor.logError(e, schema,  "Table " + table.getName() + " Error on UpdateListener.Index.Pre", checkProperties);
-									}
-									
-									if(checkProperties.isInterrupted())
-									{
-										return;
-									}
-								}
+								return;
 							}
 							
 							Exception exc = null;
 							try
 							{
+								callStart = System.nanoTime();
 								driver.setValidIndex(connection, schema, table, indexSpec, columnIndexProperties);
+								checkProperties.addDriverCall("setValidIndex", callStart, true);
 							}
 							catch(SQLException e)
 							{
@@ -419,32 +365,9 @@ public class TableProcessor
 								return;
 							}
 							
-							if(table.getUpdateListenerList() != null)
+							if((eventContext != null) && (! eventContext.fire(ActionType.UPDATE, ObjectType.TABLE_INDEX, PhaseType.POST, exc, "Index.Post")))
 							{
-								Dictionary<ObjectType, Object> objects = new Hashtable<>();
-								objects.put(ObjectType.SCHEMA, schema);
-								objects.put(ObjectType.TABLE, table);
-								objects.put(ObjectType.TABLE_INDEX, indexSpec);
-								for(IDatabaseSchemaUpdateListener updateListener : table.getUpdateListenerList())
-								{
-									try
-									{
-										updateListener.onAction(ActionType.UPDATE, ObjectType.TABLE_INDEX, PhaseType.POST, connection, databaseID, objects, driver,  exc);
-									}
-									catch(SQLException e)
-									{
-										schemaProcessor.logSQLException(e);
-									}
-									catch (Exception e) 
-									{
-										schemaProcessor.logError(e, schema, "Table " + table.getName() + " Error on UpdateListener.Index.Post", checkProperties);
-									}
-									
-									if(checkProperties.isInterrupted())
-									{
-										return;
-									}
-								}
+								return;
 							}
 						}
 					}
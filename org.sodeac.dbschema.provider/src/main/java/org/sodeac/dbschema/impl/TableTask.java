@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.impl;
+
+import java.sql.Connection;
+
+/**
+ * Task to process one table in a phase of schema check
+ * 
+ * @author Sebastian Palarus
+ *
+ */
+@FunctionalInterface
+public interface TableTask
+{
+	/**
+	 * process table with index {@code index}
+	 * 
+	 * @param connection connection of current worker
+	 * @param index index of table
+	 */
+	public void run(Connection connection, int index);
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.sodeac.dbschema.api.ActionType;
+import org.sodeac.dbschema.api.ColumnSpec;
+import org.sodeac.dbschema.api.IDatabaseSchemaDriver;
+import org.sodeac.dbschema.api.IDatabaseSchemaUpdateListener;
+import org.sodeac.dbschema.api.IndexSpec;
+import org.sodeac.dbschema.api.ObjectType;
+import org.sodeac.dbschema.api.PhaseType;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+/**
+ * Dispatches update listener events of a table, a column or an index.
+ * Factory methods return null, if table has no update listeners, so processors skip all listener work.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public class UpdateEventContext
+{
+	private DatabaseSchemaProcessorImpl schemaProcessor = null;
+	private Connection connection = null;
+	private IDatabaseSchemaDriver driver = null;
+	private SchemaSpec schema = null;
+	private TableSpec table = null;
+	private ColumnSpec column = null;
+	private List<IDatabaseSchemaUpdateListener> updateListenerList = null;
+	private String databaseID = null;
+	private CheckProperties checkProperties = null;
+	private UpdateEventObjects objects = null;
+	
+	private UpdateEventContext(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, String databaseID, CheckProperties checkProperties)
+	{
+		super();
+		this.schemaProcessor = schemaProcessor;
+		this.connection = connection;
+		this.driver = driver;
+		this.schema = schema;
+		this.table = table;
+		this.column = column;
+		this.updateListenerList = table.getUpdateListenerList();
+		this.databaseID = databaseID;
+		this.checkProperties = checkProperties;
+	}
+	
+	/**
+	 *
+	 * @param table table specification
+	 * @param checkProperties properties of current schema check
+	 *
+	 * @return true, if listeners of {@code table} have to be notified, otherwise false
+	 */
+	public static boolean hasUpdateListener(TableSpec table, CheckProperties checkProperties)
+	{
+		return (table.getUpdateListenerList() != null) && (! table.getUpdateListenerList().isEmpty()) && (! checkProperties.isPlanOnly());
+	}
+	
+	/**
+	 * create event context for table events
+	 *
+	 * @return event context or null, if table has no update listener
+	 */
+	public static UpdateEventContext forTable(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, String databaseID, CheckProperties checkProperties)
+	{
+		if(! hasUpdateListener(table, checkProperties))
+		{
+			return null;
+		}
+		UpdateEventContext eventContext = new UpdateEventContext(schemaProcessor, connection, driver, schema, table, null, databaseID, checkProperties);
+		eventContext.objects = UpdateEventObjects.of(schema, table, null, null);
+		return eventContext;
+	}
+	
+	/**
+	 * create event context for column events
+	 *
+	 * @return event context or null, if table has no update listener
+	 */
+	public static UpdateEventContext forColumn(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, ColumnSpec column, String databaseID, CheckProperties checkProperties)
+	{
+		if(! hasUpdateListener(table, checkProperties))
+		{
+			return null;
+		}
+		UpdateEventContext eventContext = new UpdateEventContext(schemaProcessor, connection, driver, schema, table, column, databaseID, checkProperties);
+		eventContext.objects = UpdateEventObjects.of(schema, table, ObjectType.COLUMN, column);
+		return eventContext;
+	}
+	
+	/**
+	 * create event context for index events
+	 *
+	 * @return event context or null, if table has no update listener
+	 */
+	public static UpdateEventContext forIndex(DatabaseSchemaProcessorImpl schemaProcessor, Connection connection, IDatabaseSchemaDriver driver, SchemaSpec schema, TableSpec table, IndexSpec indexSpec, String databaseID, CheckProperties checkProperties)
+	{
+		if(! hasUpdateListener(table, checkProperties))
+		{
+			return null;
+		}
+		UpdateEventContext eventContext = new UpdateEventContext(schemaProcessor, connection, driver, schema, table, null, databaseID, checkProperties);
+		eventContext.objects = UpdateEventObjects.of(schema, table, ObjectType.TABLE_INDEX, indexSpec);
+		return eventContext;
+	}
+	
+	/**
+	 * notify all update listeners of table. Errors of listeners are logged.
+	 *
+	 * @param actionType type of action
+	 * @param objectType type of object
+	 * @param phaseType phase
+	 * @param exception exception of update or null
+	 * @param eventName name of event for error messages
+	 *
+	 * @return false, if schema check is interrupted, otherwise true
+	 */
+	public boolean fire(ActionType actionType, ObjectType objectType, PhaseType phaseType, Exception exception, String eventName)
+	{
+		UpdateEventObjects eventObjects = objects.forEvent();
+		for(IDatabaseSchemaUpdateListener updateListener : updateListenerList)
+		{
+			try
+			{
+				updateListener.onAction(actionType, objectType, phaseType, connection, databaseID, eventObjects, driver, exception);
+			}
+			catch(SQLException e)
+			{
+				schemaProcessor.logSQLException(e);
+			}
+			catch (Exception e)
+			{
+				schemaProcessor.logError(e, schema, errorMessage(eventName), checkProperties);
+			}
+			
+			if(checkProperties.isInterrupted())
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private String errorMessage(String eventName)
+	{
+		if(column == null)
+		{
+			return "Table " + table.getName() + " Error on UpdateListener." + eventName;
+		}
+		return "Table " + table.getName() + " Col " + column.getName() + " Error on UpdateListener." + eventName;
+	}
+}
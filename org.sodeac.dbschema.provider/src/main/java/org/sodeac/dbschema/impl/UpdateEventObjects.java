@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.dbschema.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+
+import org.sodeac.dbschema.api.ObjectType;
+import org.sodeac.dbschema.api.SchemaSpec;
+import org.sodeac.dbschema.api.TableSpec;
+
+/**
+ * Objects dictionary of update listener events, backed by {@link EnumMap}. The entries of processed object are shared by all events,
+ * each event gets its own dictionary by {@link UpdateEventObjects#forEvent()}. Listeners can modify the dictionary of event like 
+ * a {@link java.util.Hashtable}, the shared entries are copied on first write. Equals any {@link java.util.Hashtable} with same entries.
+ *
+ * @author Sebastian Palarus
+ *
+ */
+public final class UpdateEventObjects extends Dictionary<ObjectType, Object> implements Map<ObjectType, Object>
+{
+	private final Map<ObjectType, Object> sharedObjects;
+	private EnumMap<ObjectType, Object> objects = null;
+	
+	private UpdateEventObjects(Map<ObjectType, Object> sharedObjects)
+	{
+		super();
+		this.sharedObjects = sharedObjects;
+	}
+	
+	/**
+	 * create objects dictionary
+	 *
+	 * @param schema schema specification
+	 * @param table table specification or null
+	 * @param detailType type of detail object (column or index) or null
+	 * @param detail detail object or null
+	 *
+	 * @return objects dictionary
+	 */
+	public static UpdateEventObjects of(SchemaSpec schema, TableSpec table, ObjectType detailType, Object detail)
+	{
+		EnumMap<ObjectType, Object> objects = new EnumMap<ObjectType, Object>(ObjectType.class);
+		objects.put(ObjectType.SCHEMA, schema);
+		if(table != null)
+		{
+			objects.put(ObjectType.TABLE, table);
+		}
+		if((detailType != null) && (detail != null))
+		{
+			objects.put(detailType, detail);
+		}
+		return new UpdateEventObjects(Collections.unmodifiableMap(objects));
+	}
+	
+	/**
+	 * create dictionary for one event. Modifications of listeners are not visible in other events.
+	 *
+	 * @return objects dictionary of event
+	 */
+	public UpdateEventObjects forEvent()
+	{
+		return new UpdateEventObjects(this.sharedObjects);
+	}
+	
+	private Map<ObjectType, Object> readable()
+	{
+		return objects == null ? sharedObjects : objects;
+	}
+	
+	private Map<ObjectType, Object> writable()
+	{
+		if(objects == null)
+		{
+			// copy on first write
+			
+			objects = new EnumMap<ObjectType, Object>(ObjectType.class);
+			objects.putAll(sharedObjects);
+		}
+		return objects;
+	}
+	
+	@Override
+	public int size()
+	{
+		return readable().size();
+	}
+	
+	@Override
+	public boolean isEmpty()
+	{
+		return readable().isEmpty();
+	}
+	
+	@Override
+	public Enumeration<ObjectType> keys()
+	{
+		return Collections.enumeration(readable().keySet());
+	}
+	
+	@Override
+	public Enumeration<Object> elements()
+	{
+		return Collections.enumeration(readable().values());
+	}
+	
+	@Override
+	public Object get(Object key)
+	{
+		return readable().get(key);
+	}
+	
+	@Override
+	public boolean containsKey(Object key)
+	{
+		return readable().containsKey(key);
+	}
+	
+	@Override
+	public boolean containsValue(Object value)
+	{
+		return readable().containsValue(value);
+	}
+	
+	@Override
+	public Set<ObjectType> keySet()
+	{
+		return writable().keySet();
+	}
+	
+	@Override
+	public Collection<Object> values()
+	{
+		return writable().values();
+	}
+	
+	@Override
+	public Set<Entry<ObjectType, Object>> entrySet()
+	{
+		return writable().entrySet();
+	}
+	
+	@Override
+	public Object put(ObjectType key, Object value)
+	{
+		// null keys and values are rejected like Hashtable
+		
+		if((key == null) || (value == null))
+		{
+			throw new NullPointerException();
+		}
+		return writable().put(key, value);
+	}
+	
+	@Override
+	public Object remove(Object key)
+	{
+		if(! readable().containsKey(key))
+		{
+			return null;
+		}
+		return writable().remove(key);
+	}
+	
+	@Override
+	public void putAll(Map<? extends ObjectType, ? extends Object> m)
+	{
+		for(Entry<? extends ObjectType, ? extends Object> entry : m.entrySet())
+		{
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	@Override
+	public void clear()
+	{
+		if(readable().isEmpty())
+		{
+			return;
+		}
+		writable().clear();
+	}
+	
+	@Override
+	public boolean equals(Object obj)
+	{
+		if(obj == this)
+		{
+			return true;
+		}
+		if(! (obj instanceof Map))
+		{
+			return false;
+		}
+		return readable().equals(obj);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return readable().hashCode();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return readable().toString();
+	}
+}